@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.benchmark;
+
+import io.confluent.ksql.function.AggregateFunctionInitArguments;
+import io.confluent.ksql.function.KsqlAggregateFunction;
+import io.confluent.ksql.function.udaf.Udaf;
+import io.confluent.ksql.function.udaf.array.CollectSetUdaf;
+import io.confluent.ksql.function.udaf.topk.TopKAggregateFunctionFactory;
+import io.confluent.ksql.function.udaf.topkdistinct.TopkDistinctAggFunctionFactory;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks the per-record cost of the TOPK, TOPKDISTINCT and COLLECT_SET aggregates as the
+ * size of their state grows.
+ *
+ * <p>Each invocation starts from a fresh copy of a full aggregate, as it would be after being
+ * read back from the state store, so the copy is included in every result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(3)
+public class AggregateFunctionBenchmark {
+
+  @State(Scope.Thread)
+  public static class AggregateState {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private KsqlAggregateFunction<Integer, List<Integer>, List<Integer>> topk;
+    private KsqlAggregateFunction<Integer, List<Integer>, List<Integer>> topkDistinct;
+    private Udaf<Integer, List<Integer>, List<Integer>> collectSet;
+
+    // Even values, descending, so odd values land between existing entries:
+    private List<Integer> fullTopK;
+    private List<Integer> fullSet;
+    private List<Integer> otherSet;
+    private SplittableRandom random;
+
+    @SuppressWarnings("unchecked")
+    @Setup(Level.Iteration)
+    public void setUp() {
+      final AggregateFunctionInitArguments initArgs = new AggregateFunctionInitArguments(0, size);
+
+      topk = (KsqlAggregateFunction<Integer, List<Integer>, List<Integer>>)
+          new TopKAggregateFunctionFactory()
+              .createAggregateFunction(Collections.singletonList(SqlTypes.INTEGER), initArgs);
+      topkDistinct = (KsqlAggregateFunction<Integer, List<Integer>, List<Integer>>)
+          new TopkDistinctAggFunctionFactory()
+              .createAggregateFunction(Collections.singletonList(SqlTypes.INTEGER), initArgs);
+      collectSet = CollectSetUdaf.createCollectSetInt();
+
+      fullTopK = IntStream.range(0, size)
+          .mapToObj(i -> (size - i) * 2)
+          .collect(Collectors.toList());
+      fullSet = IntStream.range(0, size).boxed().collect(Collectors.toList());
+      otherSet = IntStream.range(size / 2, size + size / 2).boxed().collect(Collectors.toList());
+      random = new SplittableRandom(0);
+    }
+
+    private int nextInTopKRange() {
+      return random.nextInt(size * 2 + 2);
+    }
+  }
+
+  @Benchmark
+  public List<Integer> topk(final AggregateState state) {
+    return state.topk.aggregate(state.nextInTopKRange(), new ArrayList<>(state.fullTopK));
+  }
+
+  @Benchmark
+  public List<Integer> topkDistinct(final AggregateState state) {
+    return state.topkDistinct
+        .aggregate(state.nextInTopKRange(), new ArrayList<>(state.fullTopK));
+  }
+
+  @Benchmark
+  public List<Integer> collectSetExistingValue(final AggregateState state) {
+    return state.collectSet
+        .aggregate(state.random.nextInt(state.size), new ArrayList<>(state.fullSet));
+  }
+
+  @Benchmark
+  public List<Integer> collectSetMerge(final AggregateState state) {
+    return state.collectSet.merge(new ArrayList<>(state.fullSet), state.otherSet);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder()
+        .include(AggregateFunctionBenchmark.class.getSimpleName())
+        .build();
+
+    new Runner(opt).run();
+  }
+}
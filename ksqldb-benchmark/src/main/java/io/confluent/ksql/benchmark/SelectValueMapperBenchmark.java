@@ -0,0 +1,154 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.benchmark;
+
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.expression.tree.ArithmeticBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.plan.SelectExpression;
+import io.confluent.ksql.execution.transform.KsqlTransformer;
+import io.confluent.ksql.execution.transform.select.SelectValueMapperFactory;
+import io.confluent.ksql.function.InternalFunctionRegistry;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.Operator;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares evaluating a projection with one generated evaluator per expression against
+ * evaluating it with a single fused, generated method ({@code ksql.codegen.fused.enabled}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 4, time = 10)
+@Measurement(iterations = 4, time = 10)
+@Threads(4)
+@Fork(3)
+public class SelectValueMapperBenchmark {
+
+  @State(Scope.Thread)
+  public static class SelectState {
+
+    @Param({"10", "40"})
+    public int columns;
+
+    @Param({"false", "true"})
+    public boolean fused;
+
+    private KsqlTransformer<Object, GenericRow> transformer;
+    private GenericRow row;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      final LogicalSchema.Builder schemaBuilder = LogicalSchema.builder()
+          .keyColumn(ColumnName.of("K"), SqlTypes.STRING);
+
+      row = new GenericRow(columns);
+      for (int i = 0; i < columns; i++) {
+        schemaBuilder.valueColumn(column(i), SqlTypes.BIGINT);
+        row.append((long) i);
+      }
+
+      final KsqlConfig ksqlConfig = new KsqlConfig(ImmutableMap.of(
+          KsqlConfig.KSQL_CODEGEN_FUSED_ENABLED_CONFIG, fused
+      ));
+
+      transformer = SelectValueMapperFactory.create(
+          selectExpressions(columns),
+          schemaBuilder.build(),
+          ksqlConfig,
+          new InternalFunctionRegistry()
+      ).getTransformer(errorMessage -> { });
+    }
+
+    /**
+     * A mix of plain column references, arithmetic and comparisons, where some expressions
+     * share the sub-expression {@code C0 * 2}.
+     */
+    private static List<SelectExpression> selectExpressions(final int columns) {
+      final Expression c0Times2 = new ArithmeticBinaryExpression(
+          Operator.MULTIPLY, columnRef(0), new IntegerLiteral(2));
+
+      final List<SelectExpression> selects = new ArrayList<>(columns);
+      for (int i = 0; i < columns; i++) {
+        final Expression expression;
+        switch (i % 4) {
+          case 0:
+            expression = columnRef(i);
+            break;
+          case 1:
+            expression = new ArithmeticBinaryExpression(Operator.ADD, columnRef(i), columnRef(0));
+            break;
+          case 2:
+            expression = new ArithmeticBinaryExpression(Operator.ADD, c0Times2, columnRef(i));
+            break;
+          default:
+            expression = new ComparisonExpression(
+                ComparisonExpression.Type.GREATER_THAN, c0Times2, columnRef(i));
+            break;
+        }
+        selects.add(SelectExpression.of(ColumnName.of("OUT" + i), expression));
+      }
+      return selects;
+    }
+
+    private static ColumnName column(final int index) {
+      return ColumnName.of("C" + index);
+    }
+
+    private static Expression columnRef(final int index) {
+      return new UnqualifiedColumnReferenceExp(column(index));
+    }
+  }
+
+  @Benchmark
+  public GenericRow select(final SelectState state) {
+    return state.transformer.transform(null, state.row, null);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder()
+        .include(SelectValueMapperBenchmark.class.getSimpleName())
+        .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -28,6 +28,7 @@ import io.confluent.ksql.serde.FormatFactory;
 import io.confluent.ksql.serde.FormatInfo;
 import io.confluent.ksql.serde.GenericRowSerDe;
 import io.confluent.ksql.serde.avro.AvroFormat;
+import io.confluent.ksql.serde.json.KsqlJsonDeserializer;
 import io.confluent.ksql.util.KsqlConfig;
 import java.io.InputStream;
 import java.nio.file.Path;
@@ -115,7 +116,11 @@ public class SerdeBenchmark {
     GenericRow row;
     byte[] bytes;
 
-    @Param({"JSON", "Avro"})
+    /**
+     * {@code JSON_TREE} deserializes JSON via a {@code JsonNode} tree and a {@code Struct}, as
+     * the {@code JSON} format did before rows were deserialized directly, for comparison.
+     */
+    @Param({"JSON", "JSON_TREE", "Avro"})
     public String serializationFormat;
 
     @Setup(Level.Iteration)
@@ -125,6 +130,9 @@ public class SerdeBenchmark {
         case "JSON":
           serde = getJsonSerde(rowState.schema);
           break;
+        case "JSON_TREE":
+          serde = getJsonTreeSerde(rowState.schema);
+          break;
         case "Avro":
           serde = getAvroSerde(rowState.schema);
           break;
@@ -146,6 +154,22 @@ public class SerdeBenchmark {
       return Serdes.serdeFrom(serializer, deserializer);
     }
 
+    private static Serde<GenericRow> getJsonTreeSerde(
+        final org.apache.kafka.connect.data.Schema schema) {
+      final Serializer<GenericRow> serializer = getJsonSerdeHelper(schema).serializer();
+      final KsqlJsonDeserializer structDeserializer = new KsqlJsonDeserializer(
+          PersistenceSchema.from((ConnectSchema) convertFieldNamesToUppercase(schema), false),
+          false
+      );
+      final Deserializer<GenericRow> deserializer = (topic, bytes) -> {
+        final Struct struct = (Struct) structDeserializer.deserialize(topic, bytes);
+        final GenericRow row = new GenericRow(struct.schema().fields().size());
+        struct.schema().fields().forEach(field -> row.append(struct.get(field)));
+        return row;
+      };
+      return Serdes.serdeFrom(serializer, deserializer);
+    }
+
     private static org.apache.kafka.connect.data.Schema convertFieldNamesToUppercase(
         final org.apache.kafka.connect.data.Schema schema) {
       SchemaBuilder builder = SchemaBuilder.struct();
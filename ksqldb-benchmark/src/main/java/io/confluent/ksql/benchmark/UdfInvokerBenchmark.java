@@ -115,6 +115,14 @@ public class UdfInvokerBenchmark {
     return (Integer) state.varargs.evaluate(vargs);
   }
 
+  @Benchmark
+  public int invokeSimpleDirect(final UdfInvokerState state) {
+    // The call site generated for UDFs on the server's class path:
+    return (Integer) state.simpleMethod(((int) ((Integer) simpleArg)));
+  }
+
+  static Object simpleArg = 1;
+
   static Object[] vargs = new Object[]{1, 1L, 2L, 3L, 4L, 5L};
   static long[] vargs2 = new long[] {1L, 2L, 3L, 4L, 5L};
 
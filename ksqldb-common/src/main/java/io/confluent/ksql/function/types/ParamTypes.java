@@ -35,6 +35,7 @@ public final class ParamTypes {
   public static final IntegerType INTEGER = IntegerType.INSTANCE;
   public static final DoubleType DOUBLE = DoubleType.INSTANCE;
   public static final StringType STRING = StringType.INSTANCE;
+  public static final BytesType BYTES = BytesType.INSTANCE;
   public static final LongType LONG = LongType.INSTANCE;
   public static final ParamType DECIMAL = DecimalType.INSTANCE;
 
@@ -103,6 +104,7 @@ public final class ParamTypes {
         || base == SqlBaseType.BOOLEAN  && declared instanceof BooleanType
         || base == SqlBaseType.DOUBLE   && declared instanceof DoubleType
         || base == SqlBaseType.DECIMAL  && declared instanceof DecimalType
+        || base == SqlBaseType.BYTES    && declared instanceof BytesType
         || allowCast && base.canImplicitlyCast(functionToSqlBaseConverter().toBaseType(declared));
     // CHECKSTYLE_RULES.ON: BooleanExpressionComplexity
   }
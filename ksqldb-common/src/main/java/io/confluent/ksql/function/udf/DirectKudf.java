@@ -0,0 +1,35 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function.udf;
+
+import java.lang.reflect.Method;
+
+/**
+ * A {@link Kudf} backed by a single UDF method, which generated code may call directly, with
+ * typed arguments, rather than through {@link #evaluate(Object...)}.
+ */
+public interface DirectKudf extends Kudf {
+
+  /**
+   * @return the UDF instance to call {@link #method()} on.
+   */
+  Object instance();
+
+  /**
+   * @return the UDF method.
+   */
+  Method method();
+}
@@ -223,8 +223,10 @@ public final class SchemaConverters {
       return handler.apply(schema);
     }
 
-    private static SqlDecimal handleBytes(final Schema schema) {
-      DecimalUtil.requireDecimal(schema);
+    private static SqlType handleBytes(final Schema schema) {
+      if (!DecimalUtil.isDecimal(schema)) {
+        return SqlTypes.BYTES;
+      }
       return SqlDecimal.of(DecimalUtil.precision(schema), DecimalUtil.scale(schema));
     }
 
@@ -258,6 +260,7 @@ public final class SchemaConverters {
             .put(SqlBaseType.INTEGER, t -> SchemaBuilder.int32().optional())
             .put(SqlBaseType.BIGINT, t -> SchemaBuilder.int64().optional())
             .put(SqlBaseType.DOUBLE, t -> SchemaBuilder.float64().optional())
+            .put(SqlBaseType.BYTES, t -> SchemaBuilder.bytes().optional())
             .put(SqlBaseType.DECIMAL, t -> ConnectFromSqlConverter.fromSqlDecimal((SqlDecimal) t))
             .put(SqlBaseType.ARRAY, t -> ConnectFromSqlConverter.fromSqlArray((SqlArray) t))
             .put(SqlBaseType.MAP, t -> ConnectFromSqlConverter.fromSqlMap((SqlMap) t))
@@ -319,6 +322,7 @@ public final class SchemaConverters {
         .put(Long.class, SqlBaseType.BIGINT)
         .put(Double.class, SqlBaseType.DOUBLE)
         .put(String.class, SqlBaseType.STRING)
+        .put(byte[].class, SqlBaseType.BYTES)
         .put(BigDecimal.class, SqlBaseType.DECIMAL)
         .put(List.class, SqlBaseType.ARRAY)
         .put(Map.class, SqlBaseType.MAP)
@@ -360,6 +364,7 @@ public final class SchemaConverters {
             .put(ParamTypes.INTEGER, SqlTypes.INTEGER)
             .put(ParamTypes.LONG, SqlTypes.BIGINT)
             .put(ParamTypes.DOUBLE, SqlTypes.DOUBLE)
+            .put(ParamTypes.BYTES, SqlTypes.BYTES)
             .build();
 
     @Override
@@ -398,6 +403,7 @@ public final class SchemaConverters {
             .put(ParamTypes.LONG, SqlBaseType.BIGINT)
             .put(ParamTypes.DOUBLE, SqlBaseType.DOUBLE)
             .put(ParamTypes.DECIMAL, SqlBaseType.DECIMAL)
+            .put(ParamTypes.BYTES, SqlBaseType.BYTES)
             .build();
 
     @Override
@@ -42,6 +42,7 @@ public final class SqlTypeWalker {
       .put(SqlBaseType.BIGINT, (v, t) -> v.visitBigInt((SqlPrimitiveType) t))
       .put(SqlBaseType.DOUBLE, (v, t) -> v.visitDouble((SqlPrimitiveType) t))
       .put(SqlBaseType.STRING, (v, t) -> v.visitString((SqlPrimitiveType) t))
+      .put(SqlBaseType.BYTES, (v, t) -> v.visitBytes((SqlPrimitiveType) t))
       .put(SqlBaseType.DECIMAL, (v, t) -> v.visitDecimal((SqlDecimal) t))
       .put(SqlBaseType.ARRAY, SqlTypeWalker::visitArray)
       .put(SqlBaseType.MAP, SqlTypeWalker::visitMap)
@@ -81,6 +82,10 @@ public final class SqlTypeWalker {
       return visitPrimitive(type);
     }
 
+    default S visitBytes(final SqlPrimitiveType type) {
+      return visitPrimitive(type);
+    }
+
     default S visitDecimal(final SqlDecimal type) {
       return visitType(type);
     }
@@ -15,6 +15,7 @@
 
 package io.confluent.ksql.util;
 
+import static io.confluent.ksql.configdef.ConfigValidators.oneOrMore;
 import static io.confluent.ksql.configdef.ConfigValidators.zeroOrPositive;
 
 import com.google.common.base.Splitter;
@@ -145,6 +146,15 @@ public class KsqlConfig extends AbstractConfig {
 
   public static final String KSQL_INSERT_INTO_VALUES_ENABLED = "ksql.insert.into.values.enabled";
 
+  public static final String KSQL_INSERT_INTO_VALUES_PRODUCER_POOL_SIZE_CONFIG =
+      "ksql.insert.into.values.producer.pool.size";
+  public static final int KSQL_INSERT_INTO_VALUES_PRODUCER_POOL_SIZE_DEFAULT = 16;
+  public static final String KSQL_INSERT_INTO_VALUES_PRODUCER_POOL_SIZE_DOC = "The maximum "
+      + "number of producers kept open for INSERT INTO ... VALUES statements. Producers are "
+      + "pooled per user principal and set of producer properties, and closed once idle or "
+      + "evicted. Set to 0 to create, and close, a producer for each statement. This is a "
+      + "server-level setting: it can not be overridden by a statement or session.";
+
   public static final String DEFAULT_EXT_DIR = "ext";
 
   public static final String KSQL_SECURITY_EXTENSION_CLASS = "ksql.security.extension.class";
@@ -152,6 +162,22 @@ public class KsqlConfig extends AbstractConfig {
   public static final String KSQL_SECURITY_EXTENSION_DOC = "A KSQL security extension class that "
       + "provides authorization to KSQL servers.";
 
+  public static final String KSQL_SERVICE_CONTEXT_CACHE_SIZE_CONFIG =
+      "ksql.service.context.cache.size";
+  public static final int KSQL_SERVICE_CONTEXT_CACHE_SIZE_DEFAULT = 100;
+  public static final String KSQL_SERVICE_CONTEXT_CACHE_SIZE_DOC = "The maximum number of "
+      + "service contexts, i.e. the Kafka admin, Schema Registry and other clients used to "
+      + "handle a request, kept open for reuse by later requests. Service contexts are cached "
+      + "per user principal and authorization header. Set to 0 to create, and close, the "
+      + "clients for each request.";
+
+  public static final String KSQL_SERVICE_CONTEXT_CACHE_TTL_MS_CONFIG =
+      "ksql.service.context.cache.ttl.ms";
+  public static final long KSQL_SERVICE_CONTEXT_CACHE_TTL_MS_DEFAULT = 600_000L;
+  public static final String KSQL_SERVICE_CONTEXT_CACHE_TTL_MS_DOC = "How long a cached "
+      + "service context is reused for, after which it is closed once no request is using it. "
+      + "This bounds how long a user's clients live after their credentials change.";
+
   public static final String KSQL_ENABLE_TOPIC_ACCESS_VALIDATOR = "ksql.access.validator.enable";
   public static final String KSQL_ACCESS_VALIDATOR_ON = "on";
   public static final String KSQL_ACCESS_VALIDATOR_OFF = "off";
@@ -203,8 +229,124 @@ public class KsqlConfig extends AbstractConfig {
   public static final String KSQL_QUERY_PULL_MAX_QPS_DOC = "The maximum qps allowed for pull "
       + "queries. Once the limit is hit, queries will fail immediately";
 
+  public static final String KSQL_QUERY_PULL_PLAN_CACHE_SIZE_CONFIG =
+      "ksql.query.pull.plan.cache.size";
+  public static final Integer KSQL_QUERY_PULL_PLAN_CACHE_SIZE_DEFAULT = 1000;
+  public static final String KSQL_QUERY_PULL_PLAN_CACHE_SIZE_DOC = "The maximum number of "
+      + "compiled pull query plans to cache. Plans are keyed on the shape of the statement, "
+      + "with the literals in the WHERE clause removed, so queries that differ only in the key "
+      + "they look up share a plan. Set to 0 to disable the cache.";
+
+  public static final String KSQL_QUERY_PULL_ROUTING_POLICY_CONFIG =
+      "ksql.query.pull.routing.policy";
+  public static final String KSQL_QUERY_PULL_ROUTING_POLICY_DEFAULT = "ACTIVE_FIRST";
+  public static final String KSQL_QUERY_PULL_ROUTING_POLICY_DOC = "How a pull query chooses "
+      + "between the hosts that can serve it. \"ACTIVE_FIRST\" tries the active host, then "
+      + "standbys in increasing order of lag. \"ROUND_ROBIN\" rotates through the hosts on "
+      + "successive queries. \"LEAST_OUTSTANDING\" prefers the host with the fewest requests "
+      + "in flight from this server, then the host with the lowest observed median latency. "
+      + "Standbys are only considered if " + KSQL_QUERY_PULL_ENABLE_STANDBY_READS + " is true, "
+      + "and only hosts within the allowed offset lag are considered.";
+
+  public static final String KSQL_QUERY_PULL_HEDGE_ENABLED_CONFIG =
+      "ksql.query.pull.hedge.enabled";
+  public static final boolean KSQL_QUERY_PULL_HEDGE_ENABLED_DEFAULT = false;
+  public static final String KSQL_QUERY_PULL_HEDGE_ENABLED_DOC = "If true, a pull query that "
+      + "has not been answered by its chosen host within the hedge delay is also sent to the "
+      + "next host that can serve it, and the first answer is used. See "
+      + "ksql.query.pull.hedge.delay.ms.";
+
+  public static final String KSQL_QUERY_PULL_HEDGE_DELAY_MS_CONFIG =
+      "ksql.query.pull.hedge.delay.ms";
+  public static final Long KSQL_QUERY_PULL_HEDGE_DELAY_MS_DEFAULT = 0L;
+  public static final String KSQL_QUERY_PULL_HEDGE_DELAY_MS_DOC = "How long to wait for a "
+      + "host to answer a pull query before hedging. If 0, the delay is the 95th percentile of "
+      + "the latencies recently observed from the host, and requests are not hedged until "
+      + "enough latencies have been observed.";
+
+  public static final String KSQL_QUERY_PULL_HEDGE_THREADS_CONFIG =
+      "ksql.query.pull.hedge.threads";
+  public static final int KSQL_QUERY_PULL_HEDGE_THREADS_DEFAULT = 4;
+  public static final String KSQL_QUERY_PULL_HEDGE_THREADS_DOC = "The number of threads used to "
+      + "send hedged pull query requests, which bounds how many can be in flight at once. A "
+      + "request is not hedged if no thread is free before its chosen host answers.";
+
+  public static final String KSQL_CODEGEN_FUSED_ENABLED_CONFIG = "ksql.codegen.fused.enabled";
+  public static final boolean KSQL_CODEGEN_FUSED_ENABLED_DEFAULT = false;
+  public static final String KSQL_CODEGEN_FUSED_ENABLED_DOC = "If true, all the expressions of "
+      + "a projection or filter are compiled into a single generated method, which reads each "
+      + "referenced column once and evaluates common sub-expressions once per row. If false, "
+      + "a separate evaluator is generated and invoked for each expression.";
+
+  public static final String KSQL_QUERY_PUSH_SHARED_ENABLED_CONFIG =
+      "ksql.query.push.shared.enabled";
+  public static final boolean KSQL_QUERY_PUSH_SHARED_ENABLED_DEFAULT = false;
+  public static final String KSQL_QUERY_PUSH_SHARED_ENABLED_DOC = "If true, push queries that "
+      + "only filter and project a single stream share one Kafka Streams application per "
+      + "source, with each query's filter and projection applied to the shared stream. This "
+      + "means each record is consumed and deserialized once, however many push queries read "
+      + "it. Only push queries whose auto.offset.reset is latest are shared, as push queries "
+      + "joining a shared source only receive records consumed after they start. A shared "
+      + "push query whose queue is full is disconnected, rather than blocking the others, if "
+      + "the queue overflow policy is BLOCK. If false, each push query runs its own Kafka "
+      + "Streams application.";
+
+  public static final String KSQL_QUERY_PUSH_QUEUE_OVERFLOW_POLICY_CONFIG =
+      "ksql.query.push.queue.overflow.policy";
+  public static final String KSQL_QUERY_PUSH_QUEUE_OVERFLOW_POLICY_DEFAULT = "BLOCK";
+  public static final String KSQL_QUERY_PUSH_QUEUE_OVERFLOW_POLICY_DOC = "What a push query "
+      + "does when its queue of rows awaiting delivery to the client is full. BLOCK stalls the "
+      + "stream thread until there is space; DROP_OLDEST discards the oldest queued row; "
+      + "DROP_NEWEST discards the new row; DISCONNECT fails the query and disconnects the client.";
+
+  public static final String KSQL_AVRO_NATIVE_SERDE_ENABLED_CONFIG =
+      "ksql.avro.native.serde.enabled";
+  public static final boolean KSQL_AVRO_NATIVE_SERDE_ENABLED_DEFAULT = false;
+  public static final String KSQL_AVRO_NATIVE_SERDE_ENABLED_DOC = "If true, AVRO values with "
+      + "multiple columns are decoded directly into rows and encoded directly from rows, "
+      + "rather than via the Connect data API. The writer schema of each schema id is resolved "
+      + "against the columns of the source once, and then cached. If false, values are "
+      + "converted through Connect's AvroConverter.";
+
+  public static final String KSQL_INTERNAL_TOPICS_BINARY_FORMAT_ENABLED_CONFIG =
+      "ksql.internal.topics.binary.format.enabled";
+  public static final String KSQL_INTERNAL_TOPICS_BINARY_FORMAT_ENABLED_DOC = "If true, new "
+      + "queries write the values of their repartition topics, aggregate state stores and "
+      + "changelog topics in a compact, positional binary format, rather than the value format "
+      + "of their source. The format is recorded in the query's plan, so changing this "
+      + "setting does not affect existing queries.";
+
+  public static final String KSQL_SOURCE_PROJECTION_PUSHDOWN_ENABLED_CONFIG =
+      "ksql.source.projection.pushdown.enabled";
+  public static final String KSQL_SOURCE_PROJECTION_PUSHDOWN_ENABLED_DOC = "If true, new "
+      + "queries that read from a single source, and do not select all of its columns, only "
+      + "deserialize the value columns they reference. JSON and DELIMITED values, and AVRO "
+      + "values if " + KSQL_AVRO_NATIVE_SERDE_ENABLED_CONFIG + " is set, skip the remaining "
+      + "columns, which are then not checked against their declared types. The columns "
+      + "are recorded in the query's plan, so changing this setting does not affect existing "
+      + "queries.";
+
   public static final Collection<CompatibilityBreakingConfigDef> COMPATIBLY_BREAKING_CONFIG_DEFS
-      = ImmutableList.of();
+      = ImmutableList.of(
+          new CompatibilityBreakingConfigDef(
+              KSQL_INTERNAL_TOPICS_BINARY_FORMAT_ENABLED_CONFIG,
+              Type.BOOLEAN,
+              false,
+              false,
+              Importance.LOW,
+              Optional.of(SemanticVersion.of(6, 0, 0)),
+              KSQL_INTERNAL_TOPICS_BINARY_FORMAT_ENABLED_DOC
+          ),
+          new CompatibilityBreakingConfigDef(
+              KSQL_SOURCE_PROJECTION_PUSHDOWN_ENABLED_CONFIG,
+              Type.BOOLEAN,
+              false,
+              false,
+              Importance.LOW,
+              Optional.of(SemanticVersion.of(6, 0, 0)),
+              KSQL_SOURCE_PROJECTION_PUSHDOWN_ENABLED_DOC
+          )
+      );
 
   public static final String KSQL_SHUTDOWN_TIMEOUT_MS_CONFIG =
       "ksql.streams.shutdown.timeout.ms";
@@ -487,12 +629,33 @@ public class KsqlConfig extends AbstractConfig {
             true,
             ConfigDef.Importance.LOW,
             "Enable the INSERT INTO ... VALUES functionality."
+        ).define(
+            KSQL_INSERT_INTO_VALUES_PRODUCER_POOL_SIZE_CONFIG,
+            Type.INT,
+            KSQL_INSERT_INTO_VALUES_PRODUCER_POOL_SIZE_DEFAULT,
+            zeroOrPositive(),
+            ConfigDef.Importance.LOW,
+            KSQL_INSERT_INTO_VALUES_PRODUCER_POOL_SIZE_DOC
         ).define(
             KSQL_SECURITY_EXTENSION_CLASS,
             Type.CLASS,
             KSQL_SECURITY_EXTENSION_DEFAULT,
             ConfigDef.Importance.LOW,
             KSQL_SECURITY_EXTENSION_DOC
+        ).define(
+            KSQL_SERVICE_CONTEXT_CACHE_SIZE_CONFIG,
+            Type.INT,
+            KSQL_SERVICE_CONTEXT_CACHE_SIZE_DEFAULT,
+            zeroOrPositive(),
+            ConfigDef.Importance.LOW,
+            KSQL_SERVICE_CONTEXT_CACHE_SIZE_DOC
+        ).define(
+            KSQL_SERVICE_CONTEXT_CACHE_TTL_MS_CONFIG,
+            Type.LONG,
+            KSQL_SERVICE_CONTEXT_CACHE_TTL_MS_DEFAULT,
+            oneOrMore(),
+            ConfigDef.Importance.LOW,
+            KSQL_SERVICE_CONTEXT_CACHE_TTL_MS_DOC
         ).define(
             KSQL_WRAP_SINGLE_VALUES,
             ConfigDef.Type.BOOLEAN,
@@ -633,6 +796,74 @@ public class KsqlConfig extends AbstractConfig {
             Importance.LOW,
             KSQL_QUERY_PULL_MAX_QPS_DOC
         )
+        .define(
+            KSQL_QUERY_PULL_PLAN_CACHE_SIZE_CONFIG,
+            Type.INT,
+            KSQL_QUERY_PULL_PLAN_CACHE_SIZE_DEFAULT,
+            zeroOrPositive(),
+            Importance.LOW,
+            KSQL_QUERY_PULL_PLAN_CACHE_SIZE_DOC
+        )
+        .define(
+            KSQL_QUERY_PULL_ROUTING_POLICY_CONFIG,
+            Type.STRING,
+            KSQL_QUERY_PULL_ROUTING_POLICY_DEFAULT,
+            ValidString.in("ACTIVE_FIRST", "ROUND_ROBIN", "LEAST_OUTSTANDING"),
+            Importance.LOW,
+            KSQL_QUERY_PULL_ROUTING_POLICY_DOC
+        )
+        .define(
+            KSQL_QUERY_PULL_HEDGE_ENABLED_CONFIG,
+            Type.BOOLEAN,
+            KSQL_QUERY_PULL_HEDGE_ENABLED_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_PULL_HEDGE_ENABLED_DOC
+        )
+        .define(
+            KSQL_QUERY_PULL_HEDGE_DELAY_MS_CONFIG,
+            Type.LONG,
+            KSQL_QUERY_PULL_HEDGE_DELAY_MS_DEFAULT,
+            zeroOrPositive(),
+            Importance.LOW,
+            KSQL_QUERY_PULL_HEDGE_DELAY_MS_DOC
+        )
+        .define(
+            KSQL_QUERY_PULL_HEDGE_THREADS_CONFIG,
+            Type.INT,
+            KSQL_QUERY_PULL_HEDGE_THREADS_DEFAULT,
+            oneOrMore(),
+            Importance.LOW,
+            KSQL_QUERY_PULL_HEDGE_THREADS_DOC
+        )
+        .define(
+            KSQL_CODEGEN_FUSED_ENABLED_CONFIG,
+            Type.BOOLEAN,
+            KSQL_CODEGEN_FUSED_ENABLED_DEFAULT,
+            Importance.LOW,
+            KSQL_CODEGEN_FUSED_ENABLED_DOC
+        )
+        .define(
+            KSQL_QUERY_PUSH_SHARED_ENABLED_CONFIG,
+            Type.BOOLEAN,
+            KSQL_QUERY_PUSH_SHARED_ENABLED_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_PUSH_SHARED_ENABLED_DOC
+        )
+        .define(
+            KSQL_QUERY_PUSH_QUEUE_OVERFLOW_POLICY_CONFIG,
+            Type.STRING,
+            KSQL_QUERY_PUSH_QUEUE_OVERFLOW_POLICY_DEFAULT,
+            ValidString.in("BLOCK", "DROP_OLDEST", "DROP_NEWEST", "DISCONNECT"),
+            Importance.LOW,
+            KSQL_QUERY_PUSH_QUEUE_OVERFLOW_POLICY_DOC
+        )
+        .define(
+            KSQL_AVRO_NATIVE_SERDE_ENABLED_CONFIG,
+            Type.BOOLEAN,
+            KSQL_AVRO_NATIVE_SERDE_ENABLED_DEFAULT,
+            Importance.LOW,
+            KSQL_AVRO_NATIVE_SERDE_ENABLED_DOC
+        )
         .withClientSslSupport();
 
     for (final CompatibilityBreakingConfigDef compatibilityBreakingConfigDef
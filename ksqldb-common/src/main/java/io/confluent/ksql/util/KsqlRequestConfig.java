@@ -32,6 +32,14 @@ public class KsqlRequestConfig extends AbstractConfig {
   private static final String KSQL_REQUEST_QUERY_PULL_SKIP_FORWARDING_DOC =
       "Controls whether a ksql host forwards a pull query request to another host";
 
+  public static final String KSQL_REQUEST_QUERY_PULL_PARTITIONS =
+      "request.ksql.query.pull.partitions";
+  public static final String KSQL_REQUEST_QUERY_PULL_PARTITIONS_DEFAULT = "";
+  private static final String KSQL_REQUEST_QUERY_PULL_PARTITIONS_DOC =
+      "Comma separated list of the partitions a forwarded pull query scan should be restricted "
+          + "to. An empty list indicates all partitions. A forwarded scan returns its rows in key "
+          + "order, with the key of each row as an extra last column";
+
   public static final String KSQL_REQUEST_INTERNAL_REQUEST =
       "request.ksql.internal.request";
   public static final boolean KSQL_REQUEST_INTERNAL_REQUEST_DEFAULT = false;
@@ -46,6 +54,12 @@ public class KsqlRequestConfig extends AbstractConfig {
             KSQL_REQUEST_QUERY_PULL_SKIP_FORWARDING_DEFAULT,
             ConfigDef.Importance.MEDIUM,
             KSQL_REQUEST_QUERY_PULL_SKIP_FORWARDING_DOC
+        ).define(
+            KSQL_REQUEST_QUERY_PULL_PARTITIONS,
+            Type.STRING,
+            KSQL_REQUEST_QUERY_PULL_PARTITIONS_DEFAULT,
+            ConfigDef.Importance.LOW,
+            KSQL_REQUEST_QUERY_PULL_PARTITIONS_DOC
         ).define(
             KSQL_REQUEST_INTERNAL_REQUEST,
             Type.BOOLEAN,
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A bounded cache of resources that must be closed, and that may be in use when evicted.
+ *
+ * <p>Resources are handed out as {@link Lease leases}. A resource removed from the cache, whether
+ * by eviction, invalidation or {@link #invalidateAll()}, is closed once every lease of it has been
+ * closed. A resource is never handed out once it has been closed.
+ *
+ * <p>The size and expiry of the cache are set by the {@link CacheBuilder} passed in. Expired
+ * resources are only evicted when the cache is used, or {@link #cleanUp()} is called.
+ *
+ * @param <K> the key type.
+ * @param <V> the resource type.
+ */
+@ThreadSafe
+public final class LeaseCache<K, V> {
+
+  private final String resourceName;
+  private final Consumer<? super V> closer;
+  private final Runnable evictionListener;
+  private final Cache<K, Entry<V>> cache;
+
+  /**
+   * @param resourceName the name of the resource, used in error messages.
+   * @param cacheBuilder the builder configured with the size and expiry of the cache.
+   * @param closer called to close a resource.
+   * @param evictionListener called when a resource is evicted due to size or expiry.
+   */
+  public LeaseCache(
+      final String resourceName,
+      final CacheBuilder<Object, Object> cacheBuilder,
+      final Consumer<? super V> closer,
+      final Runnable evictionListener
+  ) {
+    this.resourceName = Objects.requireNonNull(resourceName, "resourceName");
+    this.closer = Objects.requireNonNull(closer, "closer");
+    this.evictionListener = Objects.requireNonNull(evictionListener, "evictionListener");
+    this.cache = cacheBuilder
+        .removalListener(this::onRemoval)
+        .build();
+  }
+
+  /**
+   * Get a lease of the resource for a key, creating the resource if necessary.
+   *
+   * <p>Each returned lease must be closed once the resource is no longer in use.
+   *
+   * @param key the key.
+   * @param factory the factory used to create any new resource.
+   * @return the lease.
+   */
+  public Lease<V> acquire(final K key, final Supplier<? extends V> factory) {
+    while (true) {
+      final Entry<V> entry;
+      try {
+        entry = cache.get(key, () -> new Entry<>(factory.get()));
+      } catch (final ExecutionException | UncheckedExecutionException e) {
+        throw new KsqlException("Failed to create " + resourceName, e.getCause());
+      }
+
+      // The resource may have been evicted, and closed, since it was retrieved:
+      if (entry.retain()) {
+        return new Lease<>(this, key, entry);
+      }
+    }
+  }
+
+  /**
+   * Evict any resources that have expired.
+   */
+  public void cleanUp() {
+    cache.cleanUp();
+  }
+
+  /**
+   * Remove every resource. Those not in use are closed immediately, the rest once released.
+   *
+   * <p>The cache remains usable: resources acquired later are cached as before.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+    cache.cleanUp();
+  }
+
+  @VisibleForTesting
+  public long size() {
+    cache.cleanUp();
+    return cache.size();
+  }
+
+  private void onRemoval(final RemovalNotification<K, Entry<V>> notification) {
+    if (notification.wasEvicted()) {
+      evictionListener.run();
+    }
+
+    notification.getValue().evict(closer);
+  }
+
+  /**
+   * A resource acquired from the cache, which is released back to the cache on close.
+   *
+   * @param <V> the resource type.
+   */
+  public static final class Lease<V> implements AutoCloseable {
+
+    private final LeaseCache<?, V> owner;
+    private final Object key;
+    private final Entry<V> entry;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Lease(final LeaseCache<?, V> owner, final Object key, final Entry<V> entry) {
+      this.owner = owner;
+      this.key = key;
+      this.entry = entry;
+    }
+
+    public V get() {
+      return entry.resource;
+    }
+
+    /**
+     * Remove the resource from the cache, e.g. because it has failed.
+     *
+     * <p>The resource is closed once every lease of it is closed.
+     */
+    public void invalidate() {
+      owner.cache.asMap().remove(key, entry);
+    }
+
+    /**
+     * Release the resource. Subsequent calls have no effect.
+     */
+    @Override
+    public void close() {
+      if (released.compareAndSet(false, true)) {
+        entry.release(owner.closer);
+      }
+    }
+  }
+
+  private static final class Entry<V> {
+
+    private final V resource;
+    private int references;
+    private boolean evicted;
+    private boolean closed;
+
+    Entry(final V resource) {
+      this.resource = Objects.requireNonNull(resource, "resource");
+    }
+
+    synchronized boolean retain() {
+      if (closed) {
+        return false;
+      }
+
+      references++;
+      return true;
+    }
+
+    synchronized void release(final Consumer<? super V> closer) {
+      references--;
+      maybeClose(closer);
+    }
+
+    synchronized void evict(final Consumer<? super V> closer) {
+      evicted = true;
+      maybeClose(closer);
+    }
+
+    private void maybeClose(final Consumer<? super V> closer) {
+      if (evicted && references == 0 && !closed) {
+        closed = true;
+        closer.accept(resource);
+      }
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A small, bounded, per-thread cache.
+ *
+ * <p>Each thread has its own least-recently-used map, so lookups need no synchronization.
+ * Intended for caching values that are expensive to build from a key that changes rarely,
+ * e.g. compiled regular expressions built from a pattern held in a column.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+public final class ThreadLocalCache<K, V> {
+
+  private final Function<K, V> loader;
+  private final ThreadLocal<Map<K, V>> cache;
+
+  public ThreadLocalCache(final int maxSize, final Function<K, V> loader) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+    }
+
+    this.loader = requireNonNull(loader, "loader");
+    this.cache = ThreadLocal.withInitial(() -> new LinkedHashMap<K, V>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+        return size() > maxSize;
+      }
+    });
+  }
+
+  /**
+   * Get the value for the supplied {@code key}, loading it if it is not cached by this thread.
+   *
+   * @param key the key.
+   * @return the value.
+   */
+  public V get(final K key) {
+    return cache.get().computeIfAbsent(key, loader);
+  }
+}
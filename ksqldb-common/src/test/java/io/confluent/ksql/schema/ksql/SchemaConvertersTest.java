@@ -62,6 +62,7 @@ public class SchemaConvertersTest {
   private static final Schema CONNECT_BIGINT_SCHEMA = SchemaBuilder.int64().optional().build();
   private static final Schema CONNECT_DOUBLE_SCHEMA = SchemaBuilder.float64().optional().build();
   private static final Schema CONNECT_STRING_SCHEMA = SchemaBuilder.string().optional().build();
+  private static final Schema CONNECT_BYTES_SCHEMA = SchemaBuilder.bytes().optional().build();
 
   private static final BiMap<SqlType, Schema> SQL_TO_LOGICAL = ImmutableBiMap.<SqlType, Schema>builder()
       .put(SqlTypes.BOOLEAN, CONNECT_BOOLEAN_SCHEMA)
@@ -69,6 +70,7 @@ public class SchemaConvertersTest {
       .put(SqlTypes.BIGINT, CONNECT_BIGINT_SCHEMA)
       .put(SqlTypes.DOUBLE, CONNECT_DOUBLE_SCHEMA)
       .put(SqlTypes.STRING, CONNECT_STRING_SCHEMA)
+      .put(SqlTypes.BYTES, CONNECT_BYTES_SCHEMA)
       .put(SqlArray.of(SqlTypes.INTEGER), SchemaBuilder
           .array(Schema.OPTIONAL_INT32_SCHEMA)
           .optional()
@@ -96,6 +98,7 @@ public class SchemaConvertersTest {
       .put(SqlBaseType.BIGINT, Long.class)
       .put(SqlBaseType.DOUBLE, Double.class)
       .put(SqlBaseType.STRING, String.class)
+      .put(SqlBaseType.BYTES, byte[].class)
       .put(SqlBaseType.DECIMAL, BigDecimal.class)
       .put(SqlBaseType.ARRAY, List.class)
       .put(SqlBaseType.MAP, Map.class)
@@ -109,6 +112,7 @@ public class SchemaConvertersTest {
       .put(SqlTypes.BIGINT, ParamTypes.LONG)
       .put(SqlTypes.DOUBLE, ParamTypes.DOUBLE)
       .put(SqlTypes.STRING, ParamTypes.STRING)
+      .put(SqlTypes.BYTES, ParamTypes.BYTES)
       .put(SqlArray.of(SqlTypes.INTEGER), ArrayType.of(ParamTypes.INTEGER))
       .put(SqlDecimal.of(2, 1), ParamTypes.DECIMAL)
       .put(SqlMap.of(SqlTypes.INTEGER), MapType.of(ParamTypes.INTEGER))
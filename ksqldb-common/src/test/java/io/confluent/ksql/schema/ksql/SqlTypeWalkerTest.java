@@ -121,6 +121,20 @@ public class SqlTypeWalkerTest {
     assertThat(result, is("Expected"));
   }
 
+  @Test
+  public void shouldVisitBytes() {
+    // Given:
+    final SqlPrimitiveType type = SqlTypes.BYTES;
+    when(visitor.visitBytes(any())).thenReturn("Expected");
+
+    // When:
+    final String result = SqlTypeWalker.visit(type, visitor);
+
+    // Then:
+    verify(visitor).visitBytes(same(type));
+    assertThat(result, is("Expected"));
+  }
+
   @Test
   public void shouldVisitDecimal() {
     // Given:
@@ -326,7 +340,8 @@ public class SqlTypeWalkerTest {
         SqlTypes.INTEGER,
         SqlTypes.BIGINT,
         SqlTypes.DOUBLE,
-        SqlTypes.STRING
+        SqlTypes.STRING,
+        SqlTypes.BYTES
     );
   }
 
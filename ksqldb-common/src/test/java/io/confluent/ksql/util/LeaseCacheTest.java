@@ -0,0 +1,198 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LeaseCacheTest {
+
+  private static final Duration EXPIRY = Duration.ofMinutes(10);
+
+  @Mock
+  private Supplier<String> factory;
+  @Mock
+  private Consumer<String> closer;
+  @Mock
+  private Runnable evictionListener;
+  @Mock
+  private Ticker ticker;
+  private LeaseCache<String, String> cache;
+
+  @Before
+  public void setUp() {
+    when(factory.get()).thenReturn("first", "second");
+    when(ticker.read()).thenReturn(0L);
+
+    cache = new LeaseCache<>(
+        "thing",
+        CacheBuilder.newBuilder()
+            .maximumSize(1)
+            .expireAfterAccess(EXPIRY.toMillis(), TimeUnit.MILLISECONDS)
+            .ticker(ticker),
+        closer,
+        evictionListener
+    );
+  }
+
+  @Test
+  public void shouldReuseResourceForSameKey() {
+    // Given:
+    cache.acquire("a", factory).close();
+
+    // When:
+    final LeaseCache.Lease<String> lease = cache.acquire("a", factory);
+
+    // Then:
+    assertThat(lease.get(), is("first"));
+    verify(factory, times(1)).get();
+    verify(closer, never()).accept(any());
+  }
+
+  @Test
+  public void shouldCloseEvictedResourceIfNotInUse() {
+    // Given:
+    cache.acquire("a", factory).close();
+
+    // When:
+    final LeaseCache.Lease<String> lease = cache.acquire("b", factory);
+
+    // Then:
+    assertThat(lease.get(), is("second"));
+    verify(closer).accept("first");
+    verify(evictionListener).run();
+  }
+
+  @Test
+  public void shouldNotCloseEvictedResourceUntilReleased() {
+    // Given:
+    final LeaseCache.Lease<String> lease = cache.acquire("a", factory);
+
+    // When:
+    cache.acquire("b", factory).close();
+
+    // Then:
+    verify(evictionListener).run();
+    verify(closer, never()).accept("first");
+
+    // When:
+    lease.close();
+
+    // Then:
+    verify(closer).accept("first");
+  }
+
+  @Test
+  public void shouldOnlyReleaseOnceIfLeaseClosedTwice() {
+    // Given:
+    final LeaseCache.Lease<String> lease = cache.acquire("a", factory);
+    final LeaseCache.Lease<String> other = cache.acquire("a", factory);
+    lease.close();
+    lease.close();
+
+    // When:
+    cache.acquire("b", factory).close();
+
+    // Then:
+    verify(closer, never()).accept("first");
+    other.close();
+    verify(closer).accept("first");
+  }
+
+  @Test
+  public void shouldCreateNewResourceAfterInvalidate() {
+    // Given:
+    final LeaseCache.Lease<String> lease = cache.acquire("a", factory);
+
+    // When:
+    lease.invalidate();
+
+    // Then:
+    verify(closer, never()).accept(any());
+    lease.close();
+    verify(closer).accept("first");
+    verify(evictionListener, never()).run();
+    assertThat(cache.acquire("a", factory).get(), is("second"));
+  }
+
+  @Test
+  public void shouldEvictExpiredResourceOnCleanUp() {
+    // Given:
+    cache.acquire("a", factory).close();
+    when(ticker.read()).thenReturn(EXPIRY.toNanos());
+
+    // When:
+    cache.cleanUp();
+
+    // Then:
+    verify(closer).accept("first");
+    verify(evictionListener).run();
+    assertThat(cache.size(), is(0L));
+  }
+
+  @Test
+  public void shouldCloseResourceInUseOnceReleasedAfterInvalidateAll() {
+    // Given:
+    final LeaseCache.Lease<String> lease = cache.acquire("a", factory);
+
+    // When:
+    cache.invalidateAll();
+
+    // Then:
+    assertThat(cache.size(), is(0L));
+    verify(closer, never()).accept(any());
+    lease.close();
+    verify(closer).accept("first");
+    verify(evictionListener, never()).run();
+  }
+
+  @Test
+  public void shouldThrowIfResourceCanNotBeCreated() {
+    // Given:
+    final Supplier<String> failing = () -> {
+      throw new IllegalStateException("boom");
+    };
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> cache.acquire("a", failing)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), is("Failed to create thing"));
+    assertThat(e.getCause().getMessage(), is("boom"));
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ThreadLocalCacheTest {
+
+  private AtomicInteger loads;
+  private ThreadLocalCache<String, Object> cache;
+
+  @Before
+  public void setUp() {
+    loads = new AtomicInteger();
+    cache = new ThreadLocalCache<>(2, key -> {
+      loads.incrementAndGet();
+      return new Object();
+    });
+  }
+
+  @Test
+  public void shouldLoadOnceForRepeatedKey() {
+    // When:
+    final Object first = cache.get("a");
+    final Object second = cache.get("a");
+
+    // Then:
+    assertThat(second, is(sameInstance(first)));
+    assertThat(loads.get(), is(1));
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsed() {
+    // Given:
+    final Object a = cache.get("a");
+    cache.get("b");
+    cache.get("a");
+
+    // When:
+    cache.get("c");
+
+    // Then:
+    assertThat(cache.get("a"), is(sameInstance(a)));
+    assertThat(loads.get(), is(3));
+    cache.get("b");
+    assertThat(loads.get(), is(4));
+  }
+
+  @Test
+  public void shouldNotShareValuesBetweenThreads() throws Exception {
+    // Given:
+    final Object value = cache.get("a");
+
+    // When:
+    final Object other = CompletableFuture.supplyAsync(() -> cache.get("a")).get();
+
+    // Then:
+    assertThat(other, is(not(sameInstance(value))));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldThrowOnNonPositiveSize() {
+    new ThreadLocalCache<String, Object>(0, key -> key);
+  }
+}
@@ -32,6 +32,7 @@ import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
 import io.confluent.ksql.parser.tree.ExecutableDdlStatement;
 import io.confluent.ksql.query.QueryExecutor;
 import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.query.SharedTopologyRegistry;
 import io.confluent.ksql.query.id.QueryIdGenerator;
 import io.confluent.ksql.services.SandboxedServiceContext;
 import io.confluent.ksql.services.ServiceContext;
@@ -62,6 +63,7 @@ final class EngineContext {
   private final KsqlParser parser;
   private final BiConsumer<ServiceContext, QueryMetadata> outerOnQueryCloseCallback;
   private final Map<QueryId, PersistentQueryMetadata> persistentQueries;
+  private final SharedTopologyRegistry sharedTopologies;
 
   static EngineContext create(
       final ServiceContext serviceContext,
@@ -95,6 +97,7 @@ final class EngineContext {
     this.outerOnQueryCloseCallback = requireNonNull(onQueryCloseCallback, "onQueryCloseCallback");
     this.ddlCommandExec = new DdlCommandExec(metaStore);
     this.persistentQueries = new ConcurrentHashMap<>();
+    this.sharedTopologies = new SharedTopologyRegistry();
     this.processingLogContext = requireNonNull(processingLogContext, "processingLogContext");
     this.parser = requireNonNull(parser, "parser");
   }
@@ -172,7 +175,8 @@ final class EngineContext {
         processingLogContext,
         serviceContext,
         metaStore,
-        this::unregisterQuery
+        this::unregisterQuery,
+        sharedTopologies
     );
   }
 
@@ -16,14 +16,18 @@
 package io.confluent.ksql.engine;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Streams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.KsqlExecutionContext;
 import io.confluent.ksql.exception.KsqlTopicAuthorizationException;
 import io.confluent.ksql.execution.codegen.CodeGenRunner;
 import io.confluent.ksql.execution.codegen.ExpressionMetadata;
+import io.confluent.ksql.execution.ddl.commands.KsqlTopic;
 import io.confluent.ksql.execution.expression.tree.Expression;
 import io.confluent.ksql.execution.expression.tree.NullLiteral;
 import io.confluent.ksql.execution.expression.tree.VisitParentExpressionVisitor;
@@ -57,14 +61,24 @@ import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlConstants;
 import io.confluent.ksql.util.KsqlException;
 import io.confluent.ksql.util.KsqlStatementException;
+import io.confluent.ksql.util.LeaseCache;
 import io.confluent.ksql.util.ReservedInternalTopics;
+import io.confluent.ksql.util.SandboxUtil;
+import java.security.Principal;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -75,6 +89,7 @@ import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.acl.AclOperation;
+import org.apache.kafka.common.errors.ApiException;
 import org.apache.kafka.common.errors.TopicAuthorizationException;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.connect.data.Struct;
@@ -87,15 +102,32 @@ public class InsertValuesExecutor {
 
   private static final Logger LOG = LoggerFactory.getLogger(InsertValuesExecutor.class);
   private static final Duration MAX_SEND_TIMEOUT = Duration.ofSeconds(5);
+  private static final Duration PRODUCER_IDLE_TIMEOUT = Duration.ofMinutes(10);
+  private static final Duration PRODUCER_POOL_CLEAN_UP_INTERVAL = Duration.ofMinutes(1);
+  private static final int MAX_CACHED_SERDES = 1000;
 
   private final LongSupplier clock;
   private final boolean canBeDisabledByConfig;
-  private final RecordProducer producer;
+  private final Optional<RecordProducer> producer;
   private final ValueSerdeFactory valueSerdeFactory;
   private final KeySerdeFactory keySerdeFactory;
+  private final Cache<SerdeKey, Serde<Struct>> keySerdes = CacheBuilder.newBuilder()
+      .maximumSize(MAX_CACHED_SERDES)
+      .build();
+  private final Cache<SerdeKey, Serde<GenericRow>> valueSerdes = CacheBuilder.newBuilder()
+      .maximumSize(MAX_CACHED_SERDES)
+      .build();
+  private ProducerPool producerPool; // Guarded by this.
+  private ScheduledExecutorService producerPoolCleaner; // Guarded by this.
 
   public InsertValuesExecutor() {
-    this(true, InsertValuesExecutor::sendRecord);
+    this(
+        Optional.empty(),
+        true,
+        System::currentTimeMillis,
+        new GenericKeySerDe(),
+        new GenericRowSerDe()
+    );
   }
 
   public interface RecordProducer {
@@ -113,7 +145,7 @@ public class InsertValuesExecutor {
       final RecordProducer producer
   ) {
     this(
-        producer,
+        Optional.of(producer),
         canBeDisabledByConfig,
         System::currentTimeMillis,
         new GenericKeySerDe(),
@@ -127,11 +159,11 @@ public class InsertValuesExecutor {
       final KeySerdeFactory keySerdeFactory,
       final ValueSerdeFactory valueSerdeFactory
   ) {
-    this(InsertValuesExecutor::sendRecord, true, clock, keySerdeFactory, valueSerdeFactory);
+    this(Optional.empty(), true, clock, keySerdeFactory, valueSerdeFactory);
   }
 
   private InsertValuesExecutor(
-      final RecordProducer producer,
+      final Optional<RecordProducer> producer,
       final boolean canBeDisabledByConfig,
       final LongSupplier clock,
       final KeySerdeFactory keySerdeFactory,
@@ -158,24 +190,52 @@ public class InsertValuesExecutor {
 
     final DataSource dataSource = getDataSource(config, metaStore, insertValues);
 
-    final ProducerRecord<byte[], byte[]> record =
-        buildRecord(statement, metaStore, dataSource, serviceContext);
+    final Optional<Principal> userPrincipal = sessionProperties.getUserPrincipal();
+
+    final List<ProducerRecord<byte[], byte[]>> records =
+        buildRecords(statement, metaStore, dataSource, serviceContext, userPrincipal);
+
+    // The pool is shared by all statements, so its size is taken from the server's config only:
+    final int producerPoolSize = statement.getConfig()
+        .getInt(KsqlConfig.KSQL_INSERT_INTO_VALUES_PRODUCER_POOL_SIZE_CONFIG);
 
+    final Map<Integer, Exception> failures;
     try {
-      producer.sendRecord(record, serviceContext, config.getProducerClientConfigProps());
-    } catch (final TopicAuthorizationException e) {
+      failures = sendRecords(records, serviceContext, userPrincipal, config, producerPoolSize);
+    } catch (final Exception e) {
+      throw new KsqlException(createInsertFailedExceptionMessage(insertValues), e);
+    }
+
+    if (failures.isEmpty()) {
+      return;
+    }
+
+    final String message = records.size() == 1
+        ? createInsertFailedExceptionMessage(insertValues)
+        : createInsertFailedExceptionMessage(insertValues)
+            + " Failed to write row(s) " + failedRowNumbers(failures)
+            + " of " + records.size() + ". All other rows were written.";
+
+    final Exception cause = failures.values().iterator().next();
+    if (cause instanceof TopicAuthorizationException) {
       // TopicAuthorizationException does not give much detailed information about why it failed,
       // except which topics are denied. Here we just add the ACL to make the error message
       // consistent with other authorization error messages.
       final Exception rootCause = new KsqlTopicAuthorizationException(
           AclOperation.WRITE,
-          e.unauthorizedTopics()
+          ((TopicAuthorizationException) cause).unauthorizedTopics()
       );
 
-      throw new KsqlException(createInsertFailedExceptionMessage(insertValues), rootCause);
-    } catch (final Exception e) {
-      throw new KsqlException(createInsertFailedExceptionMessage(insertValues), e);
+      throw new KsqlException(message, rootCause);
     }
+
+    throw new KsqlException(message, cause);
+  }
+
+  private static List<Integer> failedRowNumbers(final Map<Integer, Exception> failures) {
+    return failures.keySet().stream()
+        .map(idx -> idx + 1)
+        .collect(Collectors.toList());
   }
 
   private static DataSource getDataSource(
@@ -202,11 +262,12 @@ public class InsertValuesExecutor {
     return dataSource;
   }
 
-  private ProducerRecord<byte[], byte[]> buildRecord(
+  private List<ProducerRecord<byte[], byte[]>> buildRecords(
       final ConfiguredStatement<InsertValues> statement,
       final MetaStore metaStore,
       final DataSource dataSource,
-      final ServiceContext serviceContext
+      final ServiceContext serviceContext,
+      final Optional<Principal> userPrincipal
   ) {
     throwIfDisabled(statement.getConfig());
 
@@ -214,15 +275,56 @@ public class InsertValuesExecutor {
     final KsqlConfig config = statement.getConfig()
         .cloneWithPropertyOverwrite(statement.getConfigOverrides());
 
+    final PhysicalSchema physicalSchema = PhysicalSchema.from(
+        dataSource.getSchema(),
+        dataSource.getSerdeOptions()
+    );
+
+    final SerdeKey serdeKey = new SerdeKey(
+        userPrincipal.map(Principal::getName),
+        dataSource.getKsqlTopic(),
+        physicalSchema,
+        statement.getConfigOverrides()
+    );
+
+    final List<List<Expression>> rows = insertValues.getRows();
+    final List<ProducerRecord<byte[], byte[]>> records = new ArrayList<>(rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      final String rowPrefix = rows.size() == 1 ? " " : " Row " + (i + 1) + ": ";
+      records.add(buildRecord(
+          statement, rows.get(i), rowPrefix, metaStore, dataSource, physicalSchema, serdeKey,
+          config, serviceContext));
+    }
+    return records;
+  }
+
+  // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
+  private ProducerRecord<byte[], byte[]> buildRecord(
+      final ConfiguredStatement<InsertValues> statement,
+      final List<Expression> values,
+      final String rowPrefix,
+      final MetaStore metaStore,
+      final DataSource dataSource,
+      final PhysicalSchema physicalSchema,
+      final SerdeKey serdeKey,
+      final KsqlConfig config,
+      final ServiceContext serviceContext
+  ) {
+    // CHECKSTYLE_RULES.ON: ParameterNumberCheck
+    final InsertValues insertValues = statement.getStatement();
+
     try {
       final RowData row = extractRow(
           insertValues,
+          values,
           dataSource,
           metaStore,
           config);
 
-      final byte[] key = serializeKey(row.key, dataSource, config, serviceContext);
-      final byte[] value = serializeValue(row.value, dataSource, config, serviceContext);
+      final byte[] key = serializeKey(
+          row.key, dataSource, physicalSchema, serdeKey, config, serviceContext);
+      final byte[] value = serializeValue(
+          row.value, dataSource, physicalSchema, serdeKey, config, serviceContext);
 
       final String topicName = dataSource.getKafkaTopicName();
 
@@ -235,7 +337,7 @@ public class InsertValuesExecutor {
       );
     } catch (final Exception e) {
       throw new KsqlStatementException(
-          createInsertFailedExceptionMessage(insertValues) + " " + e.getMessage(),
+          createInsertFailedExceptionMessage(insertValues) + rowPrefix + e.getMessage(),
           statement.getStatementText(),
           e);
     }
@@ -256,12 +358,13 @@ public class InsertValuesExecutor {
 
   private RowData extractRow(
       final InsertValues insertValues,
+      final List<Expression> valueExps,
       final DataSource dataSource,
       final FunctionRegistry functionRegistry,
       final KsqlConfig config
   ) {
     final List<ColumnName> columns = insertValues.getColumns().isEmpty()
-        ? implicitColumns(dataSource, insertValues.getValues())
+        ? implicitColumns(dataSource, valueExps)
         : insertValues.getColumns();
 
     final LogicalSchema schemaWithRowTime = withRowTime(dataSource.getSchema());
@@ -273,7 +376,7 @@ public class InsertValuesExecutor {
     }
 
     final Map<ColumnName, Object> values = resolveValues(
-        insertValues, columns, schemaWithRowTime, functionRegistry, config);
+        valueExps, columns, schemaWithRowTime, functionRegistry, config);
 
     handleExplicitKeyField(
         values,
@@ -363,7 +466,7 @@ public class InsertValuesExecutor {
   }
 
   private static Map<ColumnName, Object> resolveValues(
-      final InsertValues insertValues,
+      final List<Expression> valueExps,
       final List<ColumnName> columns,
       final LogicalSchema schema,
       final FunctionRegistry functionRegistry,
@@ -373,7 +476,7 @@ public class InsertValuesExecutor {
     for (int i = 0; i < columns.size(); i++) {
       final ColumnName column = columns.get(i);
       final SqlType columnType = columnType(column, schema);
-      final Expression valueExp = insertValues.getValues().get(i);
+      final Expression valueExp = valueExps.get(i);
 
       final Object value =
           new ExpressionResolver(columnType, column, schema, functionRegistry, config)
@@ -421,22 +524,20 @@ public class InsertValuesExecutor {
   private byte[] serializeKey(
       final Struct keyValue,
       final DataSource dataSource,
+      final PhysicalSchema physicalSchema,
+      final SerdeKey serdeKey,
       final KsqlConfig config,
       final ServiceContext serviceContext
   ) {
-    final PhysicalSchema physicalSchema = PhysicalSchema.from(
-        dataSource.getSchema(),
-        dataSource.getSerdeOptions()
-    );
-
-    final Serde<Struct> keySerde = keySerdeFactory.create(
-        dataSource.getKsqlTopic().getKeyFormat().getFormatInfo(),
-        physicalSchema.keySchema(),
-        config,
-        serviceContext.getSchemaRegistryClientFactory(),
-        "",
-        NoopProcessingLogContext.INSTANCE
-    );
+    final Serde<Struct> keySerde =
+        cachedSerde(keySerdes, serdeKey, serviceContext, () -> keySerdeFactory.create(
+            dataSource.getKsqlTopic().getKeyFormat().getFormatInfo(),
+            physicalSchema.keySchema(),
+            config,
+            serviceContext.getSchemaRegistryClientFactory(),
+            "",
+            NoopProcessingLogContext.INSTANCE
+        ));
 
     try {
       return keySerde
@@ -450,22 +551,20 @@ public class InsertValuesExecutor {
   private byte[] serializeValue(
       final GenericRow row,
       final DataSource dataSource,
+      final PhysicalSchema physicalSchema,
+      final SerdeKey serdeKey,
       final KsqlConfig config,
       final ServiceContext serviceContext
   ) {
-    final PhysicalSchema physicalSchema = PhysicalSchema.from(
-        dataSource.getSchema(),
-        dataSource.getSerdeOptions()
-    );
-
-    final Serde<GenericRow> valueSerde = valueSerdeFactory.create(
-        dataSource.getKsqlTopic().getValueFormat().getFormatInfo(),
-        physicalSchema.valueSchema(),
-        config,
-        serviceContext.getSchemaRegistryClientFactory(),
-        "",
-        NoopProcessingLogContext.INSTANCE
-    );
+    final Serde<GenericRow> valueSerde =
+        cachedSerde(valueSerdes, serdeKey, serviceContext, () -> valueSerdeFactory.create(
+            dataSource.getKsqlTopic().getValueFormat().getFormatInfo(),
+            physicalSchema.valueSchema(),
+            config,
+            serviceContext.getSchemaRegistryClientFactory(),
+            "",
+            NoopProcessingLogContext.INSTANCE
+        ));
 
     final String topicName = dataSource.getKafkaTopicName();
 
@@ -493,39 +592,164 @@ public class InsertValuesExecutor {
     }
   }
 
-  private static void sendRecord(
-      final ProducerRecord<byte[], byte[]> record,
+  private static <T> Serde<T> cachedSerde(
+      final Cache<SerdeKey, Serde<T>> cache,
+      final SerdeKey key,
       final ServiceContext serviceContext,
-      final Map<String, Object> producerProps
+      final Supplier<Serde<T>> factory
   ) {
-    // for now, just create a new producer each time
-    final Producer<byte[], byte[]> producer = serviceContext
-        .getKafkaClientSupplier()
-        .getProducer(producerProps);
+    // Sandboxed serdes use a schema registry client that registers nothing, so must not be
+    // cached for use by real statements:
+    if (SandboxUtil.isSandbox(serviceContext)) {
+      return factory.get();
+    }
 
-    final Future<RecordMetadata> producerCallResult;
+    final Serde<T> cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
 
-    try {
-      producerCallResult = producer.send(record);
-    } finally {
-      producer.close(MAX_SEND_TIMEOUT);
+    final Serde<T> serde = factory.get();
+    cache.put(key, serde);
+    return serde;
+  }
+
+  /**
+   * Send the supplied {@code records} and wait for them to be acknowledged.
+   *
+   * @return the failure of each record that failed, keyed by its index in {@code records}.
+   */
+  private Map<Integer, Exception> sendRecords(
+      final List<ProducerRecord<byte[], byte[]>> records,
+      final ServiceContext serviceContext,
+      final Optional<Principal> userPrincipal,
+      final KsqlConfig config,
+      final int poolSize
+  ) {
+    final Map<String, Object> producerProps = config.getProducerClientConfigProps();
+
+    if (producer.isPresent()) {
+      final Map<Integer, Exception> failures = new TreeMap<>();
+      for (int i = 0; i < records.size(); i++) {
+        try {
+          producer.get().sendRecord(records.get(i), serviceContext, producerProps);
+        } catch (final Exception e) {
+          failures.put(i, e);
+        }
+      }
+      return failures;
     }
 
-    try {
-      // Check if the producer failed to write to the topic. This can happen if the
-      // ServiceContext does not have write permissions.
-      producerCallResult.get();
-    } catch (final ExecutionException e) {
-      if (e.getCause() instanceof RuntimeException) {
-        throw (RuntimeException) e.getCause();
+    // Sandboxed producers send nothing, so must not be pooled for use by real statements:
+    if (poolSize == 0 || SandboxUtil.isSandbox(serviceContext)) {
+      final Producer<byte[], byte[]> producer = serviceContext
+          .getKafkaClientSupplier()
+          .getProducer(producerProps);
+
+      final List<Future<RecordMetadata>> acks;
+      try {
+        acks = send(producer, records);
+      } finally {
+        producer.close(MAX_SEND_TIMEOUT);
       }
-      throw new RuntimeException(e);
-    } catch (final InterruptedException e) {
-      Thread.currentThread().interrupt();
-      throw new RuntimeException(e);
+
+      return awaitAcks(acks);
+    }
+
+    try (LeaseCache.Lease<Producer<byte[], byte[]>> lease =
+        producerPool(poolSize).acquire(userPrincipal, serviceContext, producerProps)) {
+
+      // All records are sent before waiting on any ack, so they can be batched by the producer:
+      final Map<Integer, Exception> failures = awaitAcks(send(lease.get(), records));
+
+      // Failures other than errors returned by the brokers may mean the producer is unusable:
+      if (failures.values().stream().anyMatch(e -> !(e instanceof ApiException))) {
+        lease.invalidate();
+      }
+
+      return failures;
     }
   }
 
+  private synchronized ProducerPool producerPool(final int poolSize) {
+    if (producerPool == null) {
+      final ProducerPool pool =
+          new ProducerPool(poolSize, PRODUCER_IDLE_TIMEOUT, MAX_SEND_TIMEOUT);
+
+      producerPoolCleaner = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setDaemon(true)
+          .setNameFormat("insert-values-producer-pool-cleaner-%d")
+          .build());
+
+      producerPoolCleaner.scheduleAtFixedRate(
+          pool::cleanUp,
+          PRODUCER_POOL_CLEAN_UP_INTERVAL.toMillis(),
+          PRODUCER_POOL_CLEAN_UP_INTERVAL.toMillis(),
+          TimeUnit.MILLISECONDS
+      );
+
+      producerPool = pool;
+    }
+    return producerPool;
+  }
+
+  /**
+   * Close any pooled producers, e.g. on shutdown.
+   *
+   * <p>Producers in use by a statement are closed once it completes. The executor remains usable:
+   * later statements create a new pool.
+   */
+  public synchronized void close() {
+    if (producerPool == null) {
+      return;
+    }
+
+    producerPoolCleaner.shutdownNow();
+    producerPool.close();
+    producerPoolCleaner = null;
+    producerPool = null;
+  }
+
+  private static List<Future<RecordMetadata>> send(
+      final Producer<byte[], byte[]> producer,
+      final List<ProducerRecord<byte[], byte[]>> records
+  ) {
+    final List<Future<RecordMetadata>> acks = new ArrayList<>(records.size());
+    for (final ProducerRecord<byte[], byte[]> record : records) {
+      try {
+        acks.add(producer.send(record));
+      } catch (final RuntimeException e) {
+        final CompletableFuture<RecordMetadata> failed = new CompletableFuture<>();
+        failed.completeExceptionally(e);
+        acks.add(failed);
+      }
+    }
+    return acks;
+  }
+
+  private static Map<Integer, Exception> awaitAcks(final List<Future<RecordMetadata>> acks) {
+    final Map<Integer, Exception> failures = new TreeMap<>();
+    for (int i = 0; i < acks.size(); i++) {
+      try {
+        // Check if the producer failed to write to the topic. This can happen if the
+        // ServiceContext does not have write permissions.
+        final RecordMetadata metadata = acks.get(i).get();
+        if (metadata != null) {
+          LOG.debug("Inserted row {} into {}-{} at offset {}",
+              i + 1, metadata.topic(), metadata.partition(), metadata.offset());
+        }
+      } catch (final ExecutionException e) {
+        failures.put(i, e.getCause() instanceof RuntimeException
+            ? (RuntimeException) e.getCause()
+            : new RuntimeException(e));
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        failures.put(i, new RuntimeException(e));
+      }
+    }
+    return failures;
+  }
+
   private static final class RowData {
 
     final long ts;
@@ -543,6 +767,46 @@ public class InsertValuesExecutor {
     }
   }
 
+  private static final class SerdeKey {
+
+    private final Optional<String> principal;
+    private final KsqlTopic topic;
+    private final PhysicalSchema schema;
+    private final Map<String, Object> configOverrides;
+
+    SerdeKey(
+        final Optional<String> principal,
+        final KsqlTopic topic,
+        final PhysicalSchema schema,
+        final Map<String, Object> configOverrides
+    ) {
+      this.principal = Objects.requireNonNull(principal, "principal");
+      this.topic = Objects.requireNonNull(topic, "topic");
+      this.schema = Objects.requireNonNull(schema, "schema");
+      this.configOverrides = new HashMap<>(configOverrides);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final SerdeKey that = (SerdeKey) o;
+      return principal.equals(that.principal)
+          && topic.equals(that.topic)
+          && schema.equals(that.schema)
+          && configOverrides.equals(that.configOverrides);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(principal, topic, schema, configOverrides);
+    }
+  }
+
   private static class ExpressionResolver extends VisitParentExpressionVisitor<Object, Void> {
 
     private static final Supplier<String> IGNORED_MSG = () -> "";
@@ -34,6 +34,7 @@ import io.confluent.ksql.parser.tree.QueryContainer;
 import io.confluent.ksql.parser.tree.Statement;
 import io.confluent.ksql.planner.plan.ConfiguredKsqlPlan;
 import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.query.QueueStats;
 import io.confluent.ksql.query.id.QueryIdGenerator;
 import io.confluent.ksql.schema.registry.SchemaRegistryUtil;
 import io.confluent.ksql.services.ServiceContext;
@@ -248,7 +249,9 @@ public class KsqlEngine implements KsqlExecutionContext, Closeable {
             statement.getConfigOverrides()
         )
         .executeQuery(statement, rowConsumer);
-    registerQuery(query);
+    registerQuery(query, rowConsumer instanceof QueueStats
+        ? Optional.of((QueueStats) rowConsumer)
+        : Optional.empty());
     return query;
   }
 
@@ -276,6 +279,11 @@ public class KsqlEngine implements KsqlExecutionContext, Closeable {
     engineMetrics.registerQuery(query);
   }
 
+  private void registerQuery(final QueryMetadata query, final Optional<QueueStats> queueStats) {
+    allLiveQueries.add(query);
+    engineMetrics.registerQuery(query, queueStats);
+  }
+
   private void unregisterQuery(final ServiceContext serviceContext, final QueryMetadata query) {
     final String applicationId = query.getQueryApplicationId();
 
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.engine;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import io.confluent.ksql.schema.utils.Pair;
+import io.confluent.ksql.services.ServiceContext;
+import io.confluent.ksql.util.LeaseCache;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.Producer;
+
+/**
+ * A bounded pool of the producers used by INSERT INTO ... VALUES statements.
+ *
+ * <p>Producers are pooled per user principal and set of producer properties, as the producers of
+ * different users are created with different credentials. The least recently used producer is
+ * evicted once the pool is full, and producers idle for longer than the idle timeout are also
+ * evicted. Evicted producers are closed once no statement is using them.
+ *
+ * <p>Idle producers are only evicted when the pool is used, or {@link #cleanUp()} is called, so
+ * the owner of the pool should call it periodically.
+ */
+final class ProducerPool {
+
+  private final LeaseCache<Pair<Optional<String>, Map<String, Object>>, Producer<byte[], byte[]>>
+      producers;
+
+  ProducerPool(final int maxSize, final Duration idleTimeout, final Duration closeTimeout) {
+    this(maxSize, idleTimeout, closeTimeout, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  ProducerPool(
+      final int maxSize,
+      final Duration idleTimeout,
+      final Duration closeTimeout,
+      final Ticker ticker
+  ) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+    }
+
+    Objects.requireNonNull(closeTimeout, "closeTimeout");
+    this.producers = new LeaseCache<>(
+        "producer",
+        CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterAccess(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .ticker(ticker),
+        producer -> producer.close(closeTimeout),
+        () -> { }
+    );
+  }
+
+  /**
+   * Get a producer, creating it if necessary.
+   *
+   * <p>Each call must be matched by a call to {@link LeaseCache.Lease#close()}.
+   *
+   * @param userPrincipal the principal of the user the producer is for.
+   * @param serviceContext the service context of the user, used to create any new producer.
+   * @param producerProps the producer properties.
+   * @return the lease of the producer.
+   */
+  LeaseCache.Lease<Producer<byte[], byte[]>> acquire(
+      final Optional<Principal> userPrincipal,
+      final ServiceContext serviceContext,
+      final Map<String, Object> producerProps
+  ) {
+    return producers.acquire(
+        Pair.of(userPrincipal.map(Principal::getName), new HashMap<>(producerProps)),
+        () -> serviceContext.getKafkaClientSupplier().getProducer(producerProps)
+    );
+  }
+
+  /**
+   * Evict any producers that have been idle for longer than the idle timeout.
+   */
+  void cleanUp() {
+    producers.cleanUp();
+  }
+
+  /**
+   * Evict every producer. Those not in use are closed immediately, the rest once released.
+   *
+   * <p>The pool remains usable: producers acquired later are pooled as before.
+   */
+  void close() {
+    producers.invalidateAll();
+  }
+
+  @VisibleForTesting
+  long size() {
+    return producers.size();
+  }
+}
@@ -17,6 +17,7 @@ package io.confluent.ksql.function;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.TypeVariable;
 
@@ -51,6 +52,9 @@ public class DynamicFunctionInvoker implements FunctionInvoker {
     try {
       final Object[] extractedArgs = extractArgs(args);
       return method.invoke(udf, extractedArgs);
+    } catch (final InvocationTargetException e) {
+      // Wraps anything the UDF throws, including errors, so it fails the record, not the thread:
+      throw new KsqlFunctionException("Failed to invoke function " + method, e.getCause());
     } catch (final Exception e) {
       throw new KsqlFunctionException("Failed to invoke function " + method, e);
     }
@@ -72,8 +76,12 @@ public class DynamicFunctionInvoker implements FunctionInvoker {
 
     // Need to convert to array of component type - Method.invoke requires this
     final Object val = Array.newInstance(componentType, source.length - start);
-    for (int i = start; i < source.length; i++) {
-      Array.set(val, i - start, source[i]);
+    if (componentType.isPrimitive()) {
+      for (int i = start; i < source.length; i++) {
+        Array.set(val, i - start, source[i]);
+      }
+    } else {
+      System.arraycopy(source, start, val, 0, source.length - start);
     }
     args[start] = val;
 
@@ -19,21 +19,26 @@ import io.confluent.ksql.function.types.ParamType;
 import io.confluent.ksql.function.udf.UdfMetadata;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.util.KsqlException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class UdafAggregateFunctionFactory extends AggregateFunctionFactory {
 
-  private final UdfIndex<UdafFactoryInvoker> udfIndex;
+  // Factory methods can be overloaded on their initialisation arguments, so are indexed
+  // by the number of init args they take:
+  private final Map<Integer, UdfIndex<UdafFactoryInvoker>> udfIndexes = new HashMap<>();
 
   UdafAggregateFunctionFactory(
       final UdfMetadata metadata,
       final List<UdafFactoryInvoker> factoryList
   ) {
     super(metadata);
-    udfIndex = new UdfIndex<>(metadata.getName(), false);
-    factoryList.forEach(udfIndex::addFunction);
+    factoryList.forEach(invoker -> udfIndexes
+        .computeIfAbsent(invoker.initArgCount(), k -> new UdfIndex<>(metadata.getName(), false))
+        .addFunction(invoker));
   }
 
   @Override
@@ -41,6 +46,12 @@ public class UdafAggregateFunctionFactory extends AggregateFunctionFactory {
       final List<SqlType> argTypeList,
       final AggregateFunctionInitArguments initArgs
   ) {
+    final UdfIndex<UdafFactoryInvoker> udfIndex = udfIndexes.get(initArgs.argsSize());
+    if (udfIndex == null) {
+      throw new KsqlException("There is no aggregate function with name='" + getName()
+          + "' that takes " + initArgs.argsSize() + " initialisation argument(s)");
+    }
+
     final UdafFactoryInvoker creator = udfIndex.getFunction(argTypeList);
     if (creator == null) {
       throw new KsqlException("There is no aggregate function with name='" + getName()
@@ -55,9 +66,11 @@ public class UdafAggregateFunctionFactory extends AggregateFunctionFactory {
 
   @Override
   public synchronized List<List<ParamType>> supportedArgs() {
-    return udfIndex.values()
+    return udfIndexes.values()
         .stream()
+        .flatMap(udfIndex -> udfIndex.values().stream())
         .map(UdafFactoryInvoker::parameters)
+        .distinct()
         .collect(Collectors.toList());
   }
 }
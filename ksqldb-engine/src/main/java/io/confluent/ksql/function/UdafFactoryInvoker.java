@@ -110,6 +110,13 @@ class UdafFactoryInvoker implements FunctionSignature {
     }
   }
 
+  /**
+   * @return the number of literal initialisation arguments the factory method takes.
+   */
+  int initArgCount() {
+    return method.getParameterCount();
+  }
+
   @Override
   public FunctionName name() {
     return functionName;
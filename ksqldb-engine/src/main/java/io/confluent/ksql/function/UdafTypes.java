@@ -18,6 +18,7 @@ package io.confluent.ksql.function;
 import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.execution.function.UdfUtil;
 import io.confluent.ksql.function.types.ParamType;
+import io.confluent.ksql.function.types.ParamTypes;
 import io.confluent.ksql.schema.ksql.SchemaConverters;
 import io.confluent.ksql.schema.ksql.SqlTypeParser;
 import io.confluent.ksql.util.KsqlException;
@@ -78,7 +79,9 @@ class UdafTypes {
     outputType = type.getActualTypeArguments()[2];
 
     validateTypes(inputType);
-    validateTypes(aggregateType);
+    if (!isBytes(aggregateType)) {
+      validateTypes(aggregateType);
+    }
     validateTypes(outputType);
   }
 
@@ -90,6 +93,9 @@ class UdafTypes {
 
   ParamType getAggregateSchema(final String aggSchema) {
     validateStructAnnotation(aggregateType, aggSchema, "aggregateSchema");
+    if (isBytes(aggregateType) && aggSchema.isEmpty()) {
+      return ParamTypes.BYTES;
+    }
     return getSchemaFromType(aggregateType, aggSchema);
   }
 
@@ -117,6 +123,11 @@ class UdafTypes {
             sqlTypeParser.parse(schema).getSqlType());
   }
 
+  // BYTES is only supported as the aggregate, which is internal to a query, e.g. a sketch:
+  private static boolean isBytes(final Type type) {
+    return type.equals(byte[].class);
+  }
+
   private Type getRawType(final Type type) {
     if (type instanceof ParameterizedType) {
       return ((ParameterizedType) type).getRawType();
@@ -17,6 +17,7 @@ package io.confluent.ksql.function;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.confluent.ksql.function.types.ParamType;
+import io.confluent.ksql.function.udf.DirectPluggableUdf;
 import io.confluent.ksql.function.udf.Kudf;
 import io.confluent.ksql.function.udf.PluggableUdf;
 import io.confluent.ksql.function.udf.Udf;
@@ -27,6 +28,7 @@ import io.confluent.ksql.schema.ksql.SqlTypeParser;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -164,7 +166,7 @@ public class UdfLoader {
         parameters,
         FunctionName.of(functionName.toUpperCase()),
         udfClass,
-        getUdfFactory(method, udfDescriptionAnnotation, functionName, invoker, sensorName),
+        getUdfFactory(method, udfDescriptionAnnotation, functionName, invoker, sensorName, path),
         udfAnnotation.description(),
         path,
         method.isVarArgs()
@@ -176,8 +178,14 @@ public class UdfLoader {
       final UdfDescription udfDescriptionAnnotation,
       final String functionName,
       final FunctionInvoker invoker,
-      final String sensorName
+      final String sensorName,
+      final String path
   ) {
+    // UDFs on the server's own class path are trusted, so generated code may call them directly:
+    final boolean direct = path.equals(KsqlScalarFunction.INTERNAL_PATH)
+        && !method.isVarArgs()
+        && !Modifier.isStatic(method.getModifiers());
+
     return ksqlConfig -> {
       final Object actualUdf = FunctionLoaderUtils.instantiateFunctionInstance(
           method.getDeclaringClass(), udfDescriptionAnnotation.name());
@@ -185,7 +193,9 @@ public class UdfLoader {
         ((Configurable) actualUdf)
             .configure(ksqlConfig.getKsqlFunctionsConfigProps(functionName));
       }
-      final PluggableUdf theUdf = new PluggableUdf(invoker, actualUdf);
+      final PluggableUdf theUdf = direct
+          ? new DirectPluggableUdf(invoker, actualUdf, method)
+          : new PluggableUdf(invoker, actualUdf);
       return metrics.<Kudf>map(m -> new UdfMetricProducer(
           m.getSensor(sensorName),
           theUdf,
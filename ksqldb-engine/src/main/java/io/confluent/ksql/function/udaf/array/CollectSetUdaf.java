@@ -19,7 +19,9 @@ import com.google.common.collect.Lists;
 import io.confluent.ksql.function.udaf.Udaf;
 import io.confluent.ksql.function.udaf.UdafDescription;
 import io.confluent.ksql.function.udaf.UdafFactory;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @UdafDescription(name = "collect_set", 
     description = "Gather all of the distinct values from an input grouping into a single Array."
@@ -51,11 +53,13 @@ public final class CollectSetUdaf {
 
       @Override
       public List<T> merge(final List<T> aggOne, final List<T> aggTwo) {
+        // Index the first set once, rather than scanning it for every entry of the second:
+        final Set<T> seen = new HashSet<>(aggOne);
         for (final T thisEntry : aggTwo) {
           if (aggOne.size() == LIMIT) {
             break;
           }
-          if (!aggOne.contains(thisEntry)) {
+          if (seen.add(thisEntry)) {
             aggOne.add(thisEntry);
           }
         }
@@ -21,6 +21,7 @@ import com.google.common.primitives.Ints;
 import io.confluent.ksql.function.udaf.Udaf;
 import io.confluent.ksql.function.udaf.UdafDescription;
 import io.confluent.ksql.function.udaf.UdafFactory;
+import io.confluent.ksql.function.udaf.hll.HllSketch;
 import java.util.List;
 
 @UdafDescription(
@@ -31,21 +32,22 @@ public final class CountDistinct {
 
   static final String DESCRIPTION = "This function returns the number of items found in a group. "
       + "The implementation is probabilistic with a typical accuracy (standard error) of less "
-      + "than 1%.";
+      + "than 1%. An optional second argument sets the HyperLogLog precision, between "
+      + HllSketch.MIN_PRECISION + " and " + HllSketch.MAX_PRECISION + ", and stores the "
+      + "aggregate as a compact sketch.";
 
-  // magic number causes accuracy < .01 - we can consider making
-  // this configurable if the need arises
+  // magic number causes accuracy < .01 - the sketch form takes
+  // the precision as an argument instead
   private static final int M = 1 << 14;
   private static final int LOG_2_M = 14;
 
   private CountDistinct() {
   }
 
-  // NOTE: since our UDAF framework requires the aggregate values to
-  // be serializable, and we don't support serialization of native int[],
-  // this implementation can be optimized by avoiding conversions between
-  // int[] and List<Integer> - since RegisterSet requires an int[], we would
-  // need to duplicate a lot of code to get this to be zero-copy
+  // NOTE: this implementation converts between int[] and List<Integer> on
+  // every update. It is kept, unchanged, because the aggregate state of existing
+  // queries is stored as an ARRAY<INT>. Queries that supply a precision use the
+  // zero-copy byte[] sketch below instead.
   private static <T> Udaf<T, List<Integer>, Long> countDistinct() {
     return new Udaf<T, List<Integer>, Long>() {
 
@@ -90,9 +92,46 @@ public final class CountDistinct {
     return new HyperLogLog(LOG_2_M, set);
   }
 
+  // The aggregate is a HyperLogLog sketch packed into a byte[], which is updated in place
+  // rather than copied on every record:
+  private static <T> Udaf<T, byte[], Long> countDistinct(final int precision) {
+    return new Udaf<T, byte[], Long>() {
+
+      @Override
+      public byte[] initialize() {
+        return HllSketch.create(precision);
+      }
+
+      @Override
+      public byte[] aggregate(final T current, final byte[] aggregate) {
+        if (current == null) {
+          return aggregate;
+        }
+
+        HllSketch.add(aggregate, current);
+        return aggregate;
+      }
+
+      @Override
+      public byte[] merge(final byte[] aggOne, final byte[] aggTwo) {
+        return HllSketch.merge(aggOne, aggTwo);
+      }
+
+      @Override
+      public Long map(final byte[] agg) {
+        return HllSketch.estimate(agg);
+      }
+    };
+  }
+
   @UdafFactory(description = "Count distinct")
   public static <T> Udaf<T, List<Integer>, Long> distinct() {
     return countDistinct();
   }
 
+  @UdafFactory(description = "Count distinct using a HyperLogLog sketch of the given precision")
+  public static <T> Udaf<T, byte[], Long> distinct(final Integer precision) {
+    return countDistinct(HllSketch.checkPrecision(precision));
+  }
+
 }
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function.udaf.hll;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.confluent.ksql.util.KsqlException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A HyperLogLog sketch held in a plain {@code byte[]}, so that it can be stored as the
+ * {@code BYTES} intermediate state of an aggregate and updated in place.
+ *
+ * <p>The first byte holds the precision {@code p}. It is followed by {@code 2^p} registers
+ * of 5 bits each, packed back to back. Sketches of different precision can be merged: the
+ * result has the lower of the two precisions.
+ */
+public final class HllSketch {
+
+  public static final int MIN_PRECISION = 4;
+  public static final int MAX_PRECISION = 16;
+
+  private static final int HEADER_SIZE = 1;
+  private static final int REGISTER_BITS = 5;
+  private static final int REGISTER_MASK = (1 << REGISTER_BITS) - 1;
+
+  private static final HashFunction HASH = Hashing.murmur3_128();
+
+  private HllSketch() {
+  }
+
+  /**
+   * Create an empty sketch.
+   *
+   * @param precision the number of bits used to pick a register.
+   * @return the sketch.
+   */
+  public static byte[] create(final int precision) {
+    checkPrecision(precision);
+
+    final byte[] sketch = new byte[sizeOf(precision)];
+    sketch[0] = (byte) precision;
+    return sketch;
+  }
+
+  /**
+   * Validate a precision supplied as an aggregate function's initialisation argument.
+   *
+   * @param precision the precision.
+   * @return the precision.
+   * @throws KsqlException if the precision is null or out of range.
+   */
+  public static int checkPrecision(final Integer precision) {
+    if (precision == null || precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new KsqlException("HyperLogLog precision must be between "
+          + MIN_PRECISION + " and " + MAX_PRECISION + ", got: " + precision);
+    }
+    return precision;
+  }
+
+  /**
+   * Add a value to the sketch, updating it in place.
+   *
+   * <p>Byte arrays are hashed by content; all other values by their string representation.
+   *
+   * @param sketch the sketch to update.
+   * @param value the non-null value to add.
+   */
+  public static void add(final byte[] sketch, final Object value) {
+    final int precision = precision(sketch);
+    final byte[] bytes = value instanceof byte[]
+        ? (byte[]) value
+        : value.toString().getBytes(StandardCharsets.UTF_8);
+
+    final long hash = HASH.hashBytes(bytes).asLong();
+    final int index = (int) (hash >>> (Long.SIZE - precision));
+    final int rank = Math.min(
+        Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1,
+        REGISTER_MASK
+    );
+
+    if (rank > get(sketch, index)) {
+      set(sketch, index, rank);
+    }
+  }
+
+  /**
+   * Merge two sketches.
+   *
+   * <p>If both sketches have the same precision {@code target} is updated in place and
+   * returned. Otherwise a new sketch with the lower precision is returned.
+   *
+   * @param target the sketch to merge into.
+   * @param other the sketch to merge from, which is not modified.
+   * @return the merged sketch.
+   */
+  public static byte[] merge(final byte[] target, final byte[] other) {
+    final int targetPrecision = precision(target);
+    final int otherPrecision = precision(other);
+
+    if (targetPrecision == otherPrecision) {
+      mergeInto(target, other, 0);
+      return target;
+    }
+
+    if (targetPrecision < otherPrecision) {
+      mergeInto(target, other, otherPrecision - targetPrecision);
+      return target;
+    }
+
+    final byte[] result = other.clone();
+    mergeInto(result, target, targetPrecision - otherPrecision);
+    return result;
+  }
+
+  /**
+   * @param sketch the sketch.
+   * @return the estimated number of distinct values added to the sketch.
+   */
+  public static long estimate(final byte[] sketch) {
+    final int precision = precision(sketch);
+    final int registers = 1 << precision;
+
+    double sum = 0;
+    int zeros = 0;
+    for (int i = 0; i < registers; i++) {
+      final int rank = get(sketch, i);
+      sum += 1.0 / (1L << rank);
+      if (rank == 0) {
+        zeros++;
+      }
+    }
+
+    final double estimate = alpha(registers) * registers * registers / sum;
+    if (estimate <= 2.5 * registers && zeros != 0) {
+      // Linear counting is more accurate for small cardinalities:
+      return Math.round(registers * Math.log((double) registers / zeros));
+    }
+    return Math.round(estimate);
+  }
+
+  /**
+   * @param sketch the sketch.
+   * @return the precision of the sketch.
+   * @throws KsqlException if {@code sketch} is not a valid sketch.
+   */
+  public static int precision(final byte[] sketch) {
+    if (sketch.length < HEADER_SIZE) {
+      throw new KsqlException("Invalid HyperLogLog sketch: empty");
+    }
+
+    final int precision = sketch[0];
+    if (precision < MIN_PRECISION
+        || precision > MAX_PRECISION
+        || sketch.length != sizeOf(precision)) {
+      throw new KsqlException("Invalid HyperLogLog sketch: precision=" + precision
+          + ", size=" + sketch.length);
+    }
+    return precision;
+  }
+
+  private static void mergeInto(final byte[] target, final byte[] other, final int shift) {
+    final int otherRegisters = 1 << precision(other);
+    for (int i = 0; i < otherRegisters; i++) {
+      final int value = get(other, i);
+      if (value == 0) {
+        continue;
+      }
+
+      // When folding down to a lower precision the bits dropped from the index become
+      // the leading bits of the rank:
+      final int index = i >>> shift;
+      final int dropped = i & ((1 << shift) - 1);
+      final int rank = dropped == 0
+          ? shift + value
+          : Integer.numberOfLeadingZeros(dropped) - (Integer.SIZE - shift) + 1;
+
+      if (rank > get(target, index)) {
+        set(target, index, Math.min(rank, REGISTER_MASK));
+      }
+    }
+  }
+
+  private static int get(final byte[] sketch, final int index) {
+    final int bit = index * REGISTER_BITS;
+    final int offset = HEADER_SIZE + (bit >>> 3);
+    final int shift = bit & 7;
+
+    int word = sketch[offset] & 0xFF;
+    if (shift + REGISTER_BITS > Byte.SIZE) {
+      word |= (sketch[offset + 1] & 0xFF) << Byte.SIZE;
+    }
+    return (word >>> shift) & REGISTER_MASK;
+  }
+
+  private static void set(final byte[] sketch, final int index, final int value) {
+    final int bit = index * REGISTER_BITS;
+    final int offset = HEADER_SIZE + (bit >>> 3);
+    final int shift = bit & 7;
+
+    sketch[offset] = (byte) ((sketch[offset] & ~(REGISTER_MASK << shift)) | (value << shift));
+    if (shift + REGISTER_BITS > Byte.SIZE) {
+      final int high = shift - (Byte.SIZE - REGISTER_BITS);
+      final int highMask = REGISTER_MASK >>> (REGISTER_BITS - high);
+      sketch[offset + 1] = (byte) ((sketch[offset + 1] & ~highMask)
+          | (value >>> (REGISTER_BITS - high)));
+    }
+  }
+
+  private static int sizeOf(final int precision) {
+    return HEADER_SIZE + (((1 << precision) * REGISTER_BITS) + 7) / 8;
+  }
+
+  private static double alpha(final int registers) {
+    switch (registers) {
+      case 16:
+        return 0.673;
+      case 32:
+        return 0.697;
+      case 64:
+        return 0.709;
+      default:
+        return 0.7213 / (1 + 1.079 / registers);
+    }
+  }
+}
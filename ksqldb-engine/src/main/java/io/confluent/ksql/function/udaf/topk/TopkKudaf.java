@@ -20,7 +20,6 @@ import io.confluent.ksql.function.ParameterInfo;
 import io.confluent.ksql.function.types.ParamType;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -77,13 +76,29 @@ public class TopkKudaf<T extends Comparable<? super T>>
       }
     }
 
+    // The aggregate is kept sorted in descending order, so rather than re-sorting it, binary
+    // search for the insertion point. Equal values keep their arrival order:
+    int low = 0;
+    int high = currentSize;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (aggregateValue.get(mid).compareTo(currentValue) >= 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
     if (currentSize == topKSize) {
-      aggregateValue.set(currentSize - 1, currentValue);
+      // Shift lower values down, dropping the smallest, without resizing the list:
+      for (int i = currentSize - 1; i > low; i--) {
+        aggregateValue.set(i, aggregateValue.get(i - 1));
+      }
+      aggregateValue.set(low, currentValue);
     } else {
-      aggregateValue.add(currentValue);
+      aggregateValue.add(low, currentValue);
     }
 
-    aggregateValue.sort(Comparator.reverseOrder());
     return aggregateValue;
   }
 
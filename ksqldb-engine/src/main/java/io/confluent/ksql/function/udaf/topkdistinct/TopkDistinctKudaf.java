@@ -22,7 +22,6 @@ import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -71,17 +70,33 @@ public class TopkDistinctKudaf<T extends Comparable<? super T>>
       return aggregateValue;
     }
 
-    if (aggregateValue.contains(currentValue)) {
+    // The aggregate is kept sorted in descending order, so a binary search both finds any
+    // existing copy of the value and the point at which to insert it:
+    int low = 0;
+    int high = currentSize;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (aggregateValue.get(mid).compareTo(currentValue) > 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    if (low < currentSize && aggregateValue.get(low).compareTo(currentValue) == 0) {
       return aggregateValue;
     }
 
     if (currentSize == tkVal) {
-      aggregateValue.set(currentSize - 1, currentValue);
+      // Shift lower values down, dropping the smallest, without resizing the list:
+      for (int i = currentSize - 1; i > low; i--) {
+        aggregateValue.set(i, aggregateValue.get(i - 1));
+      }
+      aggregateValue.set(low, currentValue);
     } else {
-      aggregateValue.add(currentValue);
+      aggregateValue.add(low, currentValue);
     }
 
-    aggregateValue.sort(Comparator.reverseOrder());
     return aggregateValue;
   }
 
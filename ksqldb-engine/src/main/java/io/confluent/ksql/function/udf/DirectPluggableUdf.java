@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function.udf;
+
+import io.confluent.ksql.function.FunctionInvoker;
+import java.lang.reflect.Method;
+import java.util.Objects;
+
+/**
+ * A {@link PluggableUdf} that generated code may bypass, calling the UDF method directly.
+ *
+ * <p>Direct calls skip the {@link io.confluent.ksql.security.ExtensionSecurityManager} checks
+ * made by {@link #evaluate(Object...)}, so this must only wrap trusted UDFs, i.e. those on the
+ * server's own class path.
+ */
+public final class DirectPluggableUdf extends PluggableUdf implements DirectKudf {
+
+  private final Object instance;
+  private final Method method;
+
+  public DirectPluggableUdf(
+      final FunctionInvoker udfInvoker,
+      final Object actualUdf,
+      final Method method
+  ) {
+    super(udfInvoker, actualUdf);
+    this.instance = Objects.requireNonNull(actualUdf, "actualUdf");
+    this.method = Objects.requireNonNull(method, "method");
+  }
+
+  @Override
+  public Object instance() {
+    return instance;
+  }
+
+  @Override
+  public Method method() {
+    return method;
+  }
+}
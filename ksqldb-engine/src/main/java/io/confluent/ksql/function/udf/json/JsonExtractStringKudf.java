@@ -15,9 +15,19 @@
 
 package io.confluent.ksql.function.udf.json;
 
+import static com.fasterxml.jackson.core.JsonToken.END_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.FIELD_NAME;
+import static com.fasterxml.jackson.core.JsonToken.START_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_NULL;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_STRING;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.execution.function.UdfUtil;
 import io.confluent.ksql.function.KsqlFunctionException;
@@ -28,11 +38,30 @@ import io.confluent.ksql.util.json.JsonPathTokenizer;
 import java.io.IOException;
 import java.util.List;
 
+/**
+ * Extracts the value at a JSON path from a JSON document.
+ *
+ * <p>A document is first read as a token stream rather than parsed into a tree: values not on
+ * the path are skipped without being materialized, and only the value at the path is ever built
+ * into a {@link JsonNode}. As with a tree, the whole document is read, so malformed content
+ * anywhere fails and, where a field is duplicated, the last occurrence wins.
+ *
+ * <p>Queries often extract several paths from the same column of a row. The last document seen
+ * is remembered per-thread and, if the next extraction on the thread is from the same document,
+ * the document is parsed into a tree once and the tree is used for it and any further
+ * extractions from that document. This relies on the expressions of a projection being evaluated
+ * one row at a time, on one thread, and being passed the same column value instance, so a
+ * document is read at most twice per row however many paths are extracted from it. Extractions
+ * that alternate between columns fall back to streaming each document once per path.
+ */
 public class JsonExtractStringKudf implements Kudf {
 
   private static final ObjectReader OBJECT_READER = UdfJsonMapper.INSTANCE.get().reader();
   public static final FunctionName FUNCTION_NAME = FunctionName.of("EXTRACTJSONFIELD");
 
+  private static final ThreadLocal<LastDocument> LAST_DOCUMENT =
+      ThreadLocal.withInitial(LastDocument::new);
+
   private List<String> tokens = null;
 
   @Override
@@ -45,8 +74,93 @@ public class JsonExtractStringKudf implements Kudf {
       return null;
     }
 
-    JsonNode currentNode = parseJsonDoc(args[0]);
+    final String jsonString = args[0].toString();
+    try {
+      final LastDocument last = LAST_DOCUMENT.get();
+      if (last.document != args[0]) {
+        last.reads++;
+        last.document = args[0];
+        last.tree = null;
+        return extract(jsonString);
+      }
+
+      if (last.tree == null) {
+        last.reads++;
+        last.tree = OBJECT_READER.readTree(jsonString);
+      }
+      return extract(last.tree);
+    } catch (final IOException e) {
+      throw new KsqlFunctionException("Invalid JSON format:" + jsonString, e);
+    }
+  }
+
+  /**
+   * @return the number of times documents have been read on the current thread, whether streamed
+   *     or parsed into a tree.
+   */
+  @VisibleForTesting
+  public static long documentReads() {
+    return LAST_DOCUMENT.get().reads;
+  }
+
+  private Object extract(final String jsonString) throws IOException {
+    try (JsonParser parser = OBJECT_READER.getFactory().createParser(jsonString)) {
+      if (parser.nextToken() == null) {
+        // No content: extract as the tree parser would, from a missing node:
+        return extract(OBJECT_READER.readTree(jsonString));
+      }
+
+      return extract(parser, 0);
+    }
+  }
+
+  /**
+   * Extracts the value at the path, from the {@code depth}'th token on, from the value the parser
+   * is at, leaving the parser at the last token of that value.
+   *
+   * @return the extracted value, or {@code null} if there is no value at the path.
+   */
+  private Object extract(final JsonParser parser, final int depth) throws IOException {
+    final JsonToken current = parser.currentToken();
+    if (depth == tokens.size()) {
+      return materialize(parser);
+    }
+
+    final String token = tokens.get(depth);
+    Object result = null;
+
+    if (current == START_OBJECT) {
+      while (parser.nextToken() == FIELD_NAME) {
+        final String fieldName = parser.getCurrentName();
+        parser.nextToken();
+        if (token.equals(fieldName)) {
+          // Not returned yet, as any later field of the same name replaces this one:
+          result = extract(parser, depth + 1);
+        } else {
+          parser.skipChildren();
+        }
+      }
+    } else if (current == START_ARRAY) {
+      final int index = index(token);
+      for (int i = 0; nextElement(parser); i++) {
+        if (i == index) {
+          result = extract(parser, depth + 1);
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+
+    return result;
+  }
+
+  private Object extract(final JsonNode root) {
+    JsonNode currentNode = root;
     for (final String token : tokens) {
+      if (currentNode == null) {
+        return null;
+      }
+
       if (currentNode instanceof ArrayNode) {
         try {
           final int index = Integer.parseInt(token);
@@ -57,10 +171,10 @@ public class JsonExtractStringKudf implements Kudf {
       } else {
         currentNode = currentNode.get(token);
       }
+    }
 
-      if (currentNode == null) {
-        return null;
-      }
+    if (currentNode == null) {
+      return null;
     }
 
     if (currentNode.isTextual()) {
@@ -70,6 +184,33 @@ public class JsonExtractStringKudf implements Kudf {
     }
   }
 
+  private static Object materialize(final JsonParser parser) throws IOException {
+    final JsonToken current = parser.currentToken();
+    if (current == VALUE_STRING) {
+      return parser.getText();
+    }
+
+    if (current == VALUE_NULL) {
+      return "null";
+    }
+
+    final JsonNode node = OBJECT_READER.readTree(parser);
+    return node.toString();
+  }
+
+  private static boolean nextElement(final JsonParser parser) throws IOException {
+    final JsonToken element = parser.nextToken();
+    return element != null && element != END_ARRAY;
+  }
+
+  private static int index(final String token) {
+    try {
+      return Integer.parseInt(token);
+    } catch (final NumberFormatException e) {
+      return -1;
+    }
+  }
+
   private void ensureInitialized(final Object[] args) {
     if (tokens != null) {
       return;
@@ -84,12 +225,10 @@ public class JsonExtractStringKudf implements Kudf {
     tokens = ImmutableList.copyOf(tokenizer);
   }
 
-  private static JsonNode parseJsonDoc(final Object arg) {
-    final String jsonString = arg.toString();
-    try {
-      return OBJECT_READER.readTree(jsonString);
-    } catch (final IOException e) {
-      throw new KsqlFunctionException("Invalid JSON format:" + jsonString, e);
-    }
+  private static final class LastDocument {
+
+    private Object document;
+    private JsonNode tree;
+    private long reads;
   }
 }
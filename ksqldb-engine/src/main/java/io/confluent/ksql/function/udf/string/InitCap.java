@@ -29,6 +29,9 @@ import java.util.regex.Pattern;
     description = "Capitalizes the first letter of each word in a string and the rest lowercased."
         + " Words are delimited by whitespace.")
 public class InitCap {
+
+  private static final Pattern WORD = Pattern.compile("[^\\s]+\\s*");
+
   @Udf(description = "Returns the string with the the first letter"
       + " of each word capitalized and the rest lowercased")
   public String initcap(
@@ -39,8 +42,7 @@ public class InitCap {
       return null;
     }
 
-    final Pattern pattern = Pattern.compile("[^\\s]+\\s*");
-    final Matcher matcher = pattern.matcher(str.toLowerCase());
+    final Matcher matcher = WORD.matcher(str.toLowerCase());
     String initCapped = "";
     while (matcher.find()) {
       final String part = matcher.group();
@@ -19,6 +19,7 @@ import io.confluent.ksql.function.udf.Udf;
 import io.confluent.ksql.function.udf.UdfDescription;
 import io.confluent.ksql.function.udf.UdfParameter;
 import io.confluent.ksql.util.KsqlConstants;
+import io.confluent.ksql.util.ThreadLocalCache;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,6 +28,15 @@ import java.util.regex.Pattern;
     author = KsqlConstants.CONFLUENT_AUTHOR,
     description = "extract the first subtring matched by a regex pattern")
 public class RegexpExtract {
+
+  private static final int MAX_CACHED_PATTERNS = 64;
+
+  private static final ThreadLocalCache<String, Pattern> CACHE =
+      new ThreadLocalCache<>(MAX_CACHED_PATTERNS, Pattern::compile);
+
+  // Each call site has its own instance, so a constant pattern is compiled only once:
+  private volatile CompiledPattern last;
+
   @Udf(description = "Returns first substring of the input that matches the given regex pattern")
   public String regexpExtract(
       @UdfParameter(description = "The regex pattern") final String pattern,
@@ -47,7 +57,7 @@ public class RegexpExtract {
       return null;
     }
 
-    final Pattern p = Pattern.compile(pattern);
+    final Pattern p = compile(pattern);
     final Matcher m = p.matcher(input);
 
     if (group > m.groupCount()) {
@@ -55,4 +65,26 @@ public class RegexpExtract {
     }
     return m.find() ? m.group(group) : null;
   }
+
+  private Pattern compile(final String pattern) {
+    final CompiledPattern cached = last;
+    if (cached != null && cached.regex.equals(pattern)) {
+      return cached.pattern;
+    }
+
+    final Pattern compiled = CACHE.get(pattern);
+    last = new CompiledPattern(pattern, compiled);
+    return compiled;
+  }
+
+  private static final class CompiledPattern {
+
+    private final String regex;
+    private final Pattern pattern;
+
+    CompiledPattern(final String regex, final Pattern pattern) {
+      this.regex = regex;
+      this.pattern = pattern;
+    }
+  }
 }
@@ -17,8 +17,10 @@ package io.confluent.ksql.internal;
 
 import io.confluent.ksql.engine.KsqlEngine;
 import io.confluent.ksql.metrics.MetricCollectors;
+import io.confluent.ksql.query.QueueStats;
 import io.confluent.ksql.util.QueryMetadata;
 import io.confluent.ksql.util.ReservedInternalTopics;
+import io.confluent.ksql.util.TransientQueryMetadata;
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -140,6 +142,17 @@ public class KsqlEngineMetrics implements Closeable {
   }
 
   public void registerQuery(final QueryMetadata query) {
+    final Optional<QueueStats> queueStats = query instanceof TransientQueryMetadata
+        ? Optional.of(((TransientQueryMetadata) query).getRowQueue())
+        : Optional.empty();
+
+    registerQuery(query, queueStats);
+  }
+
+  /**
+   * Register a query, along with the stats of the queue of rows awaiting delivery to its client.
+   */
+  public void registerQuery(final QueryMetadata query, final Optional<QueueStats> queueStats) {
     final String metricsPrefix = metricGroupPrefix.equals(DEFAULT_METRIC_GROUP_PREFIX)
         ? ""
         : metricGroupPrefix;
@@ -150,6 +163,7 @@ public class KsqlEngineMetrics implements Closeable {
         query.getQueryApplicationId()
     );
 
+    queueStats.ifPresent(listener::addQueueMetrics);
     query.registerQueryStateListener(listener);
   }
 
@@ -15,8 +15,12 @@
 
 package io.confluent.ksql.internal;
 
+import io.confluent.ksql.query.QueueStats;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.apache.kafka.common.MetricName;
 import org.apache.kafka.common.metrics.Gauge;
 import org.apache.kafka.common.metrics.Metrics;
@@ -25,7 +29,10 @@ import org.apache.kafka.streams.KafkaStreams.StateListener;
 
 public class QueryStateListener implements StateListener {
   private final Metrics metrics;
+  private final String groupName;
+  private final Map<String, String> tags;
   private final MetricName metricName;
+  private final List<MetricName> queueMetricNames = new CopyOnWriteArrayList<>();
   private volatile String state = "-";
 
   QueryStateListener(
@@ -36,11 +43,13 @@ public class QueryStateListener implements StateListener {
     Objects.requireNonNull(groupPrefix, "groupPrefix");
     Objects.requireNonNull(queryApplicationId, "queryApplicationId");
     this.metrics = Objects.requireNonNull(metrics, "metrics cannot be null.");
+    this.groupName = groupPrefix + "ksql-queries";
+    this.tags = Collections.singletonMap("status", queryApplicationId);
     this.metricName = metrics.metricName(
         "query-status",
-        groupPrefix + "ksql-queries",
+        groupName,
         "The current status of the given query.",
-        Collections.singletonMap("status", queryApplicationId));
+        tags);
 
     this.metrics.addMetric(metricName, (Gauge<String>)(config, now) -> state);
   }
@@ -50,7 +59,38 @@ public class QueryStateListener implements StateListener {
     state = newState.toString();
   }
 
+  /**
+   * Register metrics for the queue of rows awaiting delivery to the client of a push query.
+   *
+   * <p>The metrics are removed when the listener is closed.
+   */
+  public void addQueueMetrics(final QueueStats queueStats) {
+    addQueueMetric(
+        "push-queue-depth",
+        "The number of rows awaiting delivery to the client of the given query.",
+        (config, now) -> queueStats.size());
+    addQueueMetric(
+        "push-queue-dropped-rows-total",
+        "The number of rows of the given query dropped because the client was too slow.",
+        (config, now) -> queueStats.droppedCount());
+    addQueueMetric(
+        "push-queue-blocked-time-ms-total",
+        "The time the given query spent blocked waiting for the client to consume rows.",
+        (config, now) -> queueStats.blockedTimeMs());
+  }
+
   public void close() {
     metrics.removeMetric(metricName);
+    queueMetricNames.forEach(metrics::removeMetric);
+  }
+
+  private void addQueueMetric(
+      final String name,
+      final String description,
+      final Gauge<? extends Number> gauge
+  ) {
+    final MetricName queueMetricName = metrics.metricName(name, groupName, description, tags);
+    metrics.addMetric(queueMetricName, gauge);
+    queueMetricNames.add(queueMetricName);
   }
 }
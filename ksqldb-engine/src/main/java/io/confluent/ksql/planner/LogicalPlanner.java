@@ -476,7 +476,8 @@ public class LogicalPlanner {
 
   private PlanNode buildSourceNode() {
     if (!analysis.isJoin()) {
-      return buildNonJoinNode(analysis.getFrom());
+      final AliasedDataSource from = analysis.getFrom();
+      return buildNonJoinNode(from, projectedColumns(from));
     }
 
     final List<JoinInfo> joinInfo = analysis.getJoin();
@@ -532,14 +533,26 @@ public class LogicalPlanner {
     );
   }
 
-  private DataSourceNode buildNonJoinNode(final AliasedDataSource dataSource) {
+  private static DataSourceNode buildNonJoinNode(
+      final AliasedDataSource dataSource,
+      final Optional<List<ColumnName>> projectedColumns
+  ) {
     return new DataSourceNode(
         new PlanNodeId("KsqlTopic"),
         dataSource.getDataSource(),
-        dataSource.getAlias()
+        dataSource.getAlias(),
+        projectedColumns
     );
   }
 
+  private Optional<List<ColumnName>> projectedColumns(final AliasedDataSource dataSource) {
+    if (!ksqlConfig.getBoolean(KsqlConfig.KSQL_SOURCE_PROJECTION_PUSHDOWN_ENABLED_CONFIG)) {
+      return Optional.empty();
+    }
+
+    return SourceProjection.of(analysis, dataSource.getDataSource());
+  }
+
   private static Optional<ColumnName> getSelectAliasMatching(
       final BiFunction<Expression, ColumnName, Boolean> matcher,
       final List<SelectExpression> projection
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.planner;
+
+import io.confluent.ksql.analyzer.ImmutableAnalysis;
+import io.confluent.ksql.execution.expression.tree.QualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.expression.tree.TraversalExpressionVisitor;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.timestamp.TimestampColumn;
+import io.confluent.ksql.metastore.model.DataSource;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.parser.tree.SelectItem;
+import io.confluent.ksql.parser.tree.SingleColumn;
+import io.confluent.ksql.schema.ksql.Column;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Determines which value columns of a query's source the query references, so that the others
+ * need not be deserialized.
+ */
+final class SourceProjection {
+
+  private SourceProjection() {
+  }
+
+  /**
+   * Get the value columns of the single source of a query that the query references.
+   *
+   * <p>As well as the columns referenced by the query's expressions, the source's timestamp
+   * column and key field, if any, are always included.
+   *
+   * @param analysis the analysis of a query that is not a join.
+   * @param source the source of the query.
+   * @return the referenced value columns, in the order of the source's schema, or empty if the
+   *     query references all of them.
+   */
+  static Optional<List<ColumnName>> of(
+      final ImmutableAnalysis analysis,
+      final DataSource source
+  ) {
+    final Set<ColumnName> referenced = new HashSet<>();
+    final ColumnCollector collector = new ColumnCollector(referenced);
+
+    for (final SelectItem selectItem : analysis.getSelectItems()) {
+      if (!(selectItem instanceof SingleColumn)) {
+        // e.g. SELECT *:
+        return Optional.empty();
+      }
+
+      collector.process(((SingleColumn) selectItem).getExpression(), null);
+    }
+
+    analysis.getWhereExpression()
+        .ifPresent(exp -> collector.process(exp, null));
+    analysis.getGroupBy()
+        .ifPresent(groupBy -> groupBy.getGroupingExpressions()
+            .forEach(exp -> collector.process(exp, null)));
+    analysis.getPartitionBy()
+        .ifPresent(partitionBy -> collector.process(partitionBy.getExpression(), null));
+    analysis.getHavingExpression()
+        .ifPresent(exp -> collector.process(exp, null));
+
+    source.getTimestampColumn()
+        .map(TimestampColumn::getColumn)
+        .ifPresent(referenced::add);
+    source.getKeyField().ref()
+        .ifPresent(referenced::add);
+
+    final List<Column> valueColumns = source.getSchema().value();
+    final List<ColumnName> projected = valueColumns.stream()
+        .map(Column::name)
+        .filter(referenced::contains)
+        .collect(Collectors.toList());
+
+    return projected.size() == valueColumns.size()
+        ? Optional.empty()
+        : Optional.of(projected);
+  }
+
+  private static final class ColumnCollector extends TraversalExpressionVisitor<Void> {
+
+    private final Set<ColumnName> columns;
+
+    ColumnCollector(final Set<ColumnName> columns) {
+      this.columns = columns;
+    }
+
+    @Override
+    public Void visitUnqualifiedColumnReference(
+        final UnqualifiedColumnReferenceExp node,
+        final Void context
+    ) {
+      columns.add(node.getColumnName());
+      return null;
+    }
+
+    @Override
+    public Void visitQualifiedColumnReference(
+        final QualifiedColumnReferenceExp node,
+        final Void context
+    ) {
+      columns.add(node.getColumnName());
+      return null;
+    }
+  }
+}
@@ -168,9 +168,13 @@ public class AggregateNode extends PlanNode {
     final SchemaKStream<?> preSelected =
         selectRequiredInputColumns(sourceSchemaKStream, internalSchema, contextStacker, builder);
 
-    final SchemaKGroupedStream grouped = groupBy(contextStacker, preSelected);
+    final ValueFormat internalFormat =
+        InternalFormats.valueFormat(builder.getKsqlConfig(), valueFormat);
 
-    SchemaKTable<?> aggregated = aggregate(grouped, internalSchema, contextStacker);
+    final SchemaKGroupedStream grouped = groupBy(contextStacker, preSelected, internalFormat);
+
+    SchemaKTable<?> aggregated =
+        aggregate(grouped, internalSchema, contextStacker, internalFormat);
 
     aggregated = applyHavingFilter(aggregated, contextStacker);
 
@@ -197,7 +201,8 @@ public class AggregateNode extends PlanNode {
   private SchemaKTable<?> aggregate(
       final SchemaKGroupedStream grouped,
       final InternalSchema internalSchema,
-      final Stacker contextStacker
+      final Stacker contextStacker,
+      final ValueFormat internalFormat
   ) {
     final List<FunctionCall> functions = internalSchema.updateFunctionList(functionList);
 
@@ -212,7 +217,7 @@ public class AggregateNode extends PlanNode {
         requiredColumnNames,
         functions,
         windowExpression,
-        valueFormat,
+        internalFormat,
         aggregationContext
     );
   }
@@ -237,10 +242,11 @@ public class AggregateNode extends PlanNode {
 
   private SchemaKGroupedStream groupBy(
       final Stacker contextStacker,
-      final SchemaKStream<?> preSelected
+      final SchemaKStream<?> preSelected,
+      final ValueFormat internalFormat
   ) {
     return preSelected.groupBy(
-        valueFormat,
+        internalFormat,
         groupBy.getGroupingExpressions(),
         groupBy.getAlias(),
         contextStacker.push(GROUP_BY_OP_NAME)
@@ -45,6 +45,7 @@ public class DataSourceNode extends PlanNode {
 
   private final DataSource dataSource;
   private final KeyField keyField;
+  private final Optional<ImmutableList<ColumnName>> projectedColumns;
   private final SchemaKStreamFactory schemaKStreamFactory;
 
   public DataSourceNode(
@@ -52,13 +53,30 @@ public class DataSourceNode extends PlanNode {
       final DataSource dataSource,
       final SourceName alias
   ) {
-    this(id, dataSource, alias, SchemaKSourceFactory::buildSource);
+    this(id, dataSource, alias, Optional.empty());
+  }
+
+  /**
+   * @param id the id of the node.
+   * @param dataSource the source.
+   * @param alias the alias of the source.
+   * @param projectedColumns the value columns of the source that the query references, if known.
+   *     Only these columns need be deserialized.
+   */
+  public DataSourceNode(
+      final PlanNodeId id,
+      final DataSource dataSource,
+      final SourceName alias,
+      final Optional<List<ColumnName>> projectedColumns
+  ) {
+    this(id, dataSource, alias, projectedColumns, SchemaKSourceFactory::buildSource);
   }
 
   DataSourceNode(
       final PlanNodeId id,
       final DataSource dataSource,
       final SourceName alias,
+      final Optional<List<ColumnName>> projectedColumns,
       final SchemaKStreamFactory schemaKStreamFactory
   ) {
     super(id, dataSource.getDataSourceType(), buildSchema(dataSource), Optional.of(alias));
@@ -67,6 +85,8 @@ public class DataSourceNode extends PlanNode {
     this.keyField = dataSource.getKeyField()
         .validateKeyExistsIn(getSchema());
 
+    this.projectedColumns = requireNonNull(projectedColumns, "projectedColumns")
+        .map(ImmutableList::copyOf);
     this.schemaKStreamFactory = requireNonNull(schemaKStreamFactory, "schemaKStreamFactory");
   }
 
@@ -79,6 +99,10 @@ public class DataSourceNode extends PlanNode {
     return dataSource;
   }
 
+  public Optional<List<ColumnName>> getProjectedColumns() {
+    return projectedColumns.map(ImmutableList::copyOf);
+  }
+
   public SourceName getAlias() {
     return getSourceName().orElseThrow(IllegalStateException::new);
   }
@@ -113,7 +137,8 @@ public class DataSourceNode extends PlanNode {
         builder,
         dataSource,
         contextStacker.push(SOURCE_OP_NAME),
-        keyField
+        keyField,
+        getProjectedColumns()
     );
   }
 
@@ -168,7 +193,8 @@ public class DataSourceNode extends PlanNode {
         KsqlQueryBuilder builder,
         DataSource dataSource,
         QueryContext.Stacker contextStacker,
-        KeyField keyField
+        KeyField keyField,
+        Optional<List<ColumnName>> projectedColumns
     );
   }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.planner.plan;
+
+import io.confluent.ksql.serde.ValueFormat;
+import io.confluent.ksql.serde.internal.InternalFormat;
+import io.confluent.ksql.util.KsqlConfig;
+
+/**
+ * Determines the formats used for a query's internal topics.
+ */
+final class InternalFormats {
+
+  private InternalFormats() {
+  }
+
+  /**
+   * Get the value format to use for the repartition and changelog topics of an operation.
+   *
+   * @param ksqlConfig the query's config.
+   * @param sourceFormat the value format of the operation's source.
+   * @return the internal value format.
+   */
+  static ValueFormat valueFormat(final KsqlConfig ksqlConfig, final ValueFormat sourceFormat) {
+    return ksqlConfig.getBoolean(KsqlConfig.KSQL_INTERNAL_TOPICS_BINARY_FORMAT_ENABLED_CONFIG)
+        ? ValueFormat.of(InternalFormat.FORMAT_INFO)
+        : sourceFormat;
+  }
+}
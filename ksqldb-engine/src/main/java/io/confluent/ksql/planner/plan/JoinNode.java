@@ -211,11 +211,14 @@ public class JoinNode extends PlanNode {
       return ((SchemaKTable<K>) schemaKStream);
     }
 
-    static ValueFormat getFormatForSource(final PlanNode sourceNode) {
-      return sourceNode.getTheSourceNode()
-          .getDataSource()
-          .getKsqlTopic()
-          .getValueFormat();
+    ValueFormat getFormatForSource(final PlanNode sourceNode) {
+      return InternalFormats.valueFormat(
+          builder.getKsqlConfig(),
+          sourceNode.getTheSourceNode()
+              .getDataSource()
+              .getKsqlTopic()
+              .getValueFormat()
+      );
     }
   }
 
@@ -28,7 +28,7 @@ import org.apache.kafka.streams.KeyValue;
  * thread that is servicing the client request reads from the queue and writes to the client
  * socket.
  */
-public interface BlockingRowQueue {
+public interface BlockingRowQueue extends QueueStats {
 
   /**
    * Sets the limit handler that will be called when any row limit is reached.
@@ -59,8 +59,19 @@ public interface BlockingRowQueue {
    *
    * @see BlockingQueue#size()
    */
+  @Override
   int size();
 
+  @Override
+  default long droppedCount() {
+    return 0;
+  }
+
+  @Override
+  default long blockedTimeMs() {
+    return 0;
+  }
+
   /**
    * Close the queue.
    */
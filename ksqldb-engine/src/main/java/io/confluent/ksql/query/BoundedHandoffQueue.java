@@ -0,0 +1,309 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded queue handing rows from the stream threads of a push query to the thread delivering
+ * them to the client.
+ *
+ * <p>Adding and removing items is lock-free. Only producers blocked by a full queue under the
+ * {@link QueueOverflowPolicy#BLOCK} policy, and consumers waiting in
+ * {@link #poll(long, TimeUnit)}, take a monitor.
+ *
+ * <p>Rather than having the consumer poll the queue, a {@link #setDataListener data listener} is
+ * invoked when an item is added to a queue the consumer has found empty.
+ *
+ * @param <T> the type of the items.
+ */
+public final class BoundedHandoffQueue<T> implements QueueStats {
+
+  private static final Runnable NO_OP = () -> { };
+
+  private final Queue<T> items = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicBoolean signalled = new AtomicBoolean();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicLong blockedNanos = new AtomicLong();
+  private final Object notFull = new Object();
+  private final Object notEmpty = new Object();
+  private final int capacity;
+  private final QueueOverflowPolicy overflowPolicy;
+  private final long blockTimeoutMs;
+
+  private final AtomicInteger waitingProducers = new AtomicInteger();
+  private final AtomicInteger waitingConsumers = new AtomicInteger();
+
+  private volatile Runnable dataListener = NO_OP;
+  private volatile boolean closed;
+  private volatile boolean disconnected;
+
+  /**
+   * @param capacity the maximum number of items in the queue.
+   * @param overflowPolicy what to do when the queue is full.
+   * @param blockTimeoutMs the maximum time a blocked producer waits before rechecking the queue.
+   */
+  public BoundedHandoffQueue(
+      final int capacity,
+      final QueueOverflowPolicy overflowPolicy,
+      final long blockTimeoutMs
+  ) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive: " + capacity);
+    }
+    this.capacity = capacity;
+    this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+    this.blockTimeoutMs = blockTimeoutMs;
+  }
+
+  /**
+   * Set the listener to invoke, on the producing thread, when items are available.
+   *
+   * <p>The listener is invoked once when an item is added to a queue the consumer has found
+   * empty, i.e. after {@link #poll()} last returned {@code null}.
+   */
+  public void setDataListener(final Runnable dataListener) {
+    this.dataListener = Objects.requireNonNull(dataListener, "dataListener");
+  }
+
+  /**
+   * Add an item to the queue, applying the overflow policy if the queue is full.
+   *
+   * @param item the item to add.
+   * @return {@code true} if the item was added, {@code false} if it was dropped or the queue is
+   *         closed.
+   * @throws InterruptedException if interrupted while blocked on a full queue.
+   */
+  public boolean offer(final T item) throws InterruptedException {
+    Objects.requireNonNull(item, "item");
+
+    if (closed) {
+      return false;
+    }
+
+    if (!tryReserve()) {
+      switch (overflowPolicy) {
+        case DROP_NEWEST:
+          dropped.incrementAndGet();
+          return false;
+        case DROP_OLDEST:
+          addAndDropOldest(item);
+          signalAdded();
+          return true;
+        case DISCONNECT:
+          dropped.incrementAndGet();
+          disconnected = true;
+          close();
+          return false;
+        default:
+          if (!awaitCapacity()) {
+            return false;
+          }
+          break;
+      }
+    }
+
+    items.add(item);
+    signalAdded();
+    return true;
+  }
+
+  /**
+   * Remove the head of the queue, without blocking.
+   *
+   * @return the head of the queue, or {@code null} if the queue is empty.
+   */
+  public T poll() {
+    final T item = take();
+    if (item != null) {
+      return item;
+    }
+
+    // Re-arm the listener, then check for an item added before it was re-armed:
+    signalled.set(false);
+    return take();
+  }
+
+  /**
+   * Remove the head of the queue, waiting up to the supplied {@code timeout} for an item.
+   *
+   * @return the head of the queue, or {@code null} if the timeout elapsed.
+   */
+  public T poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+    T item = poll();
+    if (item != null) {
+      return item;
+    }
+
+    final long deadline = System.nanoTime() + unit.toNanos(timeout);
+    synchronized (notEmpty) {
+      waitingConsumers.incrementAndGet();
+      try {
+        while ((item = poll()) == null) {
+          final long remaining = deadline - System.nanoTime();
+          if (remaining <= 0) {
+            break;
+          }
+          TimeUnit.NANOSECONDS.timedWait(notEmpty, remaining);
+        }
+      } finally {
+        waitingConsumers.decrementAndGet();
+      }
+    }
+    return item;
+  }
+
+  /**
+   * Remove all available items, adding them to the supplied {@code collection}.
+   */
+  public void drainTo(final Collection<? super T> collection) {
+    T item;
+    while ((item = poll()) != null) {
+      collection.add(item);
+    }
+  }
+
+  public boolean isEmpty() {
+    return size.get() == 0;
+  }
+
+  /**
+   * @return {@code true} if the queue was closed by the {@link QueueOverflowPolicy#DISCONNECT}
+   *         policy.
+   */
+  public boolean isDisconnected() {
+    return disconnected;
+  }
+
+  /**
+   * Close the queue. Subsequent items are rejected and any blocked producers released.
+   */
+  public void close() {
+    closed = true;
+
+    synchronized (notFull) {
+      notFull.notifyAll();
+    }
+    synchronized (notEmpty) {
+      notEmpty.notifyAll();
+    }
+  }
+
+  @Override
+  public int size() {
+    return size.get();
+  }
+
+  @Override
+  public long droppedCount() {
+    return dropped.get();
+  }
+
+  @Override
+  public long blockedTimeMs() {
+    return TimeUnit.NANOSECONDS.toMillis(blockedNanos.get());
+  }
+
+  private boolean tryReserve() {
+    while (true) {
+      final int current = size.get();
+      if (current >= capacity) {
+        return false;
+      }
+      if (size.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Add an item to a full queue, then drop from its head to bring it back within capacity.
+   *
+   * <p>The item is added before any are dropped, so this never waits for another producer to
+   * fill a slot it has reserved. Should the only other items be such reserved slots, there is
+   * nothing to drop yet and the queue briefly exceeds its capacity by at most the number of
+   * concurrent producers.
+   */
+  private void addAndDropOldest(final T item) {
+    size.incrementAndGet();
+    items.add(item);
+
+    while (size.get() > capacity) {
+      if (take() == null) {
+        return;
+      }
+      dropped.incrementAndGet();
+    }
+  }
+
+  private void signalAdded() {
+    if (waitingConsumers.get() > 0) {
+      synchronized (notEmpty) {
+        notEmpty.notifyAll();
+      }
+    }
+
+    if (signalled.compareAndSet(false, true)) {
+      dataListener.run();
+    }
+  }
+
+  private T take() {
+    final T item = items.poll();
+    if (item == null) {
+      return null;
+    }
+
+    size.decrementAndGet();
+
+    if (waitingProducers.get() > 0) {
+      synchronized (notFull) {
+        notFull.notifyAll();
+      }
+    }
+    return item;
+  }
+
+  private boolean awaitCapacity() throws InterruptedException {
+    final long start = System.nanoTime();
+    try {
+      synchronized (notFull) {
+        waitingProducers.incrementAndGet();
+        try {
+          while (!closed) {
+            if (tryReserve()) {
+              return true;
+            }
+            notFull.wait(blockTimeoutMs);
+          }
+          return false;
+        } finally {
+          waitingProducers.decrementAndGet();
+        }
+      }
+    } finally {
+      blockedNanos.addAndGet(System.nanoTime() - start);
+    }
+  }
+}
@@ -26,6 +26,7 @@ import io.confluent.ksql.execution.plan.ExecutionStep;
 import io.confluent.ksql.execution.plan.KStreamHolder;
 import io.confluent.ksql.execution.plan.KTableHolder;
 import io.confluent.ksql.execution.plan.PlanBuilder;
+import io.confluent.ksql.execution.plan.StreamSource;
 import io.confluent.ksql.execution.streams.KSPlanBuilder;
 import io.confluent.ksql.execution.streams.materialization.KsqlMaterializationFactory;
 import io.confluent.ksql.execution.streams.materialization.MaterializationProvider;
@@ -40,6 +41,7 @@ import io.confluent.ksql.metrics.ConsumerCollector;
 import io.confluent.ksql.metrics.ProducerCollector;
 import io.confluent.ksql.name.SourceName;
 import io.confluent.ksql.query.KafkaStreamsBuilder.BuildResult;
+import io.confluent.ksql.query.SharedTopologyRegistry.SharablePlan;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
 import io.confluent.ksql.serde.GenericKeySerDe;
@@ -70,6 +72,7 @@ import org.apache.kafka.streams.StreamsBuilder;
 import org.apache.kafka.streams.StreamsConfig;
 import org.apache.kafka.streams.kstream.KStream;
 import org.apache.kafka.streams.kstream.KTable;
+import org.apache.kafka.streams.processor.ProcessorSupplier;
 
 // CHECKSTYLE_RULES.OFF: ClassDataAbstractionCoupling
 public final class QueryExecutor {
@@ -84,6 +87,7 @@ public final class QueryExecutor {
   private final KsMaterializationFactory ksMaterializationFactory;
   private final KsqlMaterializationFactory ksqlMaterializationFactory;
   private final StreamsBuilder streamsBuilder;
+  private final SharedTopologyRegistry sharedTopologies;
 
   public QueryExecutor(
       final KsqlConfig ksqlConfig,
@@ -91,7 +95,8 @@ public final class QueryExecutor {
       final ProcessingLogContext processingLogContext,
       final ServiceContext serviceContext,
       final FunctionRegistry functionRegistry,
-      final Consumer<QueryMetadata> queryCloseCallback) {
+      final Consumer<QueryMetadata> queryCloseCallback,
+      final SharedTopologyRegistry sharedTopologies) {
     this(
         ksqlConfig,
         overrides,
@@ -99,6 +104,7 @@ public final class QueryExecutor {
         serviceContext,
         functionRegistry,
         queryCloseCallback,
+        sharedTopologies,
         new KafkaStreamsBuilderImpl(
             Objects.requireNonNull(serviceContext, "serviceContext").getKafkaClientSupplier()),
         new StreamsBuilder(),
@@ -114,6 +120,7 @@ public final class QueryExecutor {
       final ServiceContext serviceContext,
       final FunctionRegistry functionRegistry,
       final Consumer<QueryMetadata> queryCloseCallback,
+      final SharedTopologyRegistry sharedTopologies,
       final KafkaStreamsBuilder kafkaStreamsBuilder,
       final StreamsBuilder streamsBuilder,
       final KsqlMaterializationFactory ksqlMaterializationFactory,
@@ -140,6 +147,7 @@ public final class QueryExecutor {
     );
     this.kafkaStreamsBuilder = Objects.requireNonNull(kafkaStreamsBuilder);
     this.streamsBuilder = Objects.requireNonNull(streamsBuilder, "builder");
+    this.sharedTopologies = Objects.requireNonNull(sharedTopologies, "sharedTopologies");
   }
 
   public TransientQueryMetadata buildTransientQuery(
@@ -151,6 +159,24 @@ public final class QueryExecutor {
       final LogicalSchema schema,
       final OptionalInt limit
   ) {
+    if (ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PUSH_SHARED_ENABLED_CONFIG)
+        && startsFromLatest()) {
+      final Optional<SharablePlan> sharablePlan =
+          SharedTopologyRegistry.sharablePlan(physicalPlan);
+
+      if (sharablePlan.isPresent()) {
+        return buildSharedTransientQuery(
+            statementText,
+            queryId,
+            sources,
+            sharablePlan.get(),
+            planSummary,
+            schema,
+            limit
+        );
+      }
+    }
+
     final BlockingRowQueue queue = buildTransientQueryQueue(queryId, physicalPlan, limit);
 
     final String applicationId = addTimeSuffix(getQueryApplicationId(
@@ -182,6 +208,126 @@ public final class QueryExecutor {
     );
   }
 
+  private TransientQueryMetadata buildSharedTransientQuery(
+      final String statementText,
+      final QueryId queryId,
+      final Set<SourceName> sources,
+      final SharablePlan plan,
+      final String planSummary,
+      final LogicalSchema schema,
+      final OptionalInt limit
+  ) {
+    final SharedTopology sharedTopology = sharedTopologies.acquire(
+        plan.getSource(),
+        overrides,
+        id -> buildSharedTopology(plan.getSource(), new QueryId("shared_" + id))
+    );
+
+    try {
+      final TransientQueryQueue queue = new TransientQueryQueue(
+          limit,
+          sharedOverflowPolicy(QueueOverflowPolicy.from(ksqlConfig))
+      );
+
+      final SharedTopologySubscriber subscriber = SharedTopologySubscriber.create(
+          plan.getOperators(),
+          sharedTopology.getSchema(),
+          queryBuilder(queryId),
+          queue
+      );
+
+      final String applicationId = addTimeSuffix(getQueryApplicationId(
+          getServiceId(),
+          ksqlConfig.getString(KsqlConfig.KSQL_TRANSIENT_QUERY_NAME_PREFIX_CONFIG),
+          queryId
+      ));
+
+      return new SharedTransientQueryMetadata(
+          statementText,
+          buildTransientQuerySchema(schema),
+          sources,
+          planSummary,
+          queue,
+          applicationId,
+          overrides,
+          queryCloseCallback,
+          ksqlConfig.getLong(KSQL_SHUTDOWN_TIMEOUT_MS_CONFIG),
+          sharedTopology,
+          subscriber,
+          sharedTopologies::release
+      );
+    } catch (final RuntimeException e) {
+      sharedTopologies.release(sharedTopology);
+      throw e;
+    }
+  }
+
+  /**
+   * A query joining a running shared topology only sees rows consumed after it joins, so only
+   * queries that would start from the latest offsets anyway can share one.
+   */
+  private boolean startsFromLatest() {
+    final Map<String, Object> props = ksqlConfig.getKsqlStreamConfigProps();
+    final Object offsetReset = props.getOrDefault(
+        StreamsConfig.consumerPrefix(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG),
+        props.getOrDefault(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest")
+    );
+    return "latest".equalsIgnoreCase(String.valueOf(offsetReset));
+  }
+
+  /**
+   * The stream threads of a shared topology serve every query on the source, so must not block
+   * on the full queue of any one of them. A query that would block is disconnected instead.
+   */
+  private static QueueOverflowPolicy sharedOverflowPolicy(final QueueOverflowPolicy policy) {
+    return policy == QueueOverflowPolicy.BLOCK
+        ? QueueOverflowPolicy.DISCONNECT
+        : policy;
+  }
+
+  private SharedTopology buildSharedTopology(
+      final StreamSource source,
+      final QueryId sharedQueryId
+  ) {
+    final StreamsBuilder sharedStreamsBuilder = new StreamsBuilder();
+    final KsqlQueryBuilder ksqlQueryBuilder = KsqlQueryBuilder.of(
+        sharedStreamsBuilder,
+        ksqlConfig,
+        serviceContext,
+        processingLogContext,
+        functionRegistry,
+        sharedQueryId
+    );
+
+    final KStreamHolder<Struct> sourceStream = source.build(new KSPlanBuilder(ksqlQueryBuilder));
+
+    final SharedTopology.Dispatcher dispatcher = new SharedTopology.Dispatcher();
+    final ProcessorSupplier<Object, GenericRow> dispatchProcessor = dispatcher::newProcessor;
+    sourceStream.getStream().process(dispatchProcessor);
+
+    final String applicationId = addTimeSuffix(getQueryApplicationId(
+        getServiceId(),
+        ksqlConfig.getString(KsqlConfig.KSQL_TRANSIENT_QUERY_NAME_PREFIX_CONFIG),
+        sharedQueryId
+    ));
+
+    final Map<String, Object> streamsProperties =
+        buildStreamsProperties(applicationId, sharedQueryId);
+
+    final BuildResult built =
+        kafkaStreamsBuilder.buildKafkaStreams(sharedStreamsBuilder, streamsProperties);
+
+    return new SharedTopology(
+        applicationId,
+        built.kafkaStreams,
+        built.topology,
+        streamsProperties,
+        sourceStream.getSchema(),
+        dispatcher,
+        ksqlConfig.getLong(KSQL_SHUTDOWN_TIMEOUT_MS_CONFIG)
+    );
+  }
+
   public QueryMetadata buildTransientQuery(
       final String statementText,
       final QueryId queryId,
@@ -323,7 +469,7 @@ public final class QueryExecutor {
     } else {
       throw new IllegalStateException("Unexpected type built from exection plan");
     }
-    return new TransientQueryQueue(kstream, limit);
+    return new TransientQueryQueue(kstream, limit, QueueOverflowPolicy.from(ksqlConfig));
   }
 
   private KsqlQueryBuilder queryBuilder(final QueryId queryId) {
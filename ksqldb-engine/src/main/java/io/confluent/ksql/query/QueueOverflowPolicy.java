@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.Locale;
+
+/**
+ * What a push query does when its queue of rows awaiting delivery is full.
+ */
+public enum QueueOverflowPolicy {
+
+  /**
+   * Block the producing thread until there is space in the queue.
+   */
+  BLOCK,
+
+  /**
+   * Discard the oldest row in the queue to make space for the new row.
+   */
+  DROP_OLDEST,
+
+  /**
+   * Discard the new row.
+   */
+  DROP_NEWEST,
+
+  /**
+   * Discard the new row and close the queue, disconnecting the client.
+   */
+  DISCONNECT;
+
+  public static QueueOverflowPolicy from(final KsqlConfig ksqlConfig) {
+    return valueOf(ksqlConfig
+        .getString(KsqlConfig.KSQL_QUERY_PUSH_QUEUE_OVERFLOW_POLICY_CONFIG)
+        .toUpperCase(Locale.ROOT));
+  }
+}
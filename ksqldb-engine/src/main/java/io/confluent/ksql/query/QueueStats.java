@@ -0,0 +1,37 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+/**
+ * Statistics of the queue of rows awaiting delivery to the client of a push query.
+ */
+public interface QueueStats {
+
+  /**
+   * @return the number of rows in the queue.
+   */
+  int size();
+
+  /**
+   * @return the total number of rows dropped because the queue was full.
+   */
+  long droppedCount();
+
+  /**
+   * @return the total time producers have spent blocked waiting for space in the queue.
+   */
+  long blockedTimeMs();
+}
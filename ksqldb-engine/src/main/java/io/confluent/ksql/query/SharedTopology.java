@@ -0,0 +1,234 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.util.KafkaStreamsUncaughtExceptionHandler;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KafkaStreams.StateListener;
+import org.apache.kafka.streams.Topology;
+import org.apache.kafka.streams.processor.AbstractProcessor;
+import org.apache.kafka.streams.processor.Processor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A Kafka Streams application consuming a single source, whose rows are fanned out to the
+ * transient queries subscribed to it.
+ *
+ * <p>Instances are reference counted by the {@link SharedTopologyRegistry}: the application is
+ * closed once the last query using it is closed.
+ */
+final class SharedTopology {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SharedTopology.class);
+
+  private final String applicationId;
+  private final KafkaStreams kafkaStreams;
+  private final Topology topology;
+  private final Map<String, Object> streamsProperties;
+  private final LogicalSchema schema;
+  private final Dispatcher dispatcher;
+  private final long closeTimeoutMs;
+  private final List<UncaughtExceptionHandler> exceptionHandlers = new CopyOnWriteArrayList<>();
+  private final List<StateListener> stateListeners = new CopyOnWriteArrayList<>();
+
+  private int references; // Guarded by the registry.
+  private boolean started;
+
+  SharedTopology(
+      final String applicationId,
+      final KafkaStreams kafkaStreams,
+      final Topology topology,
+      final Map<String, Object> streamsProperties,
+      final LogicalSchema schema,
+      final Dispatcher dispatcher,
+      final long closeTimeoutMs
+  ) {
+    this.applicationId = Objects.requireNonNull(applicationId, "applicationId");
+    this.kafkaStreams = Objects.requireNonNull(kafkaStreams, "kafkaStreams");
+    this.topology = Objects.requireNonNull(topology, "topology");
+    this.streamsProperties = Objects.requireNonNull(streamsProperties, "streamsProperties");
+    this.schema = Objects.requireNonNull(schema, "schema");
+    this.dispatcher = Objects.requireNonNull(dispatcher, "dispatcher");
+    this.closeTimeoutMs = closeTimeoutMs;
+
+    final UncaughtExceptionHandler defaultHandler = new KafkaStreamsUncaughtExceptionHandler();
+    kafkaStreams.setUncaughtExceptionHandler((thread, e) -> {
+      defaultHandler.uncaughtException(thread, e);
+      exceptionHandlers.forEach(handler -> handler.uncaughtException(thread, e));
+    });
+
+    // Streams only accepts a listener before it is started, so queries joining later register
+    // with this one instead:
+    kafkaStreams.setStateListener((newState, oldState) ->
+        stateListeners.forEach(listener -> listener.onChange(newState, oldState)));
+  }
+
+  String getApplicationId() {
+    return applicationId;
+  }
+
+  KafkaStreams getKafkaStreams() {
+    return kafkaStreams;
+  }
+
+  Topology getTopology() {
+    return topology;
+  }
+
+  Map<String, Object> getStreamsProperties() {
+    return streamsProperties;
+  }
+
+  /**
+   * @return the schema of the rows passed to subscribers.
+   */
+  LogicalSchema getSchema() {
+    return schema;
+  }
+
+  /**
+   * Start passing rows to the supplied {@code subscriber}, starting the application if required.
+   *
+   * @param subscriber the subscriber.
+   * @param onFailure called, on the stream thread, if the subscriber throws. The subscriber is
+   *                  unsubscribed before it is called.
+   */
+  void subscribe(final Subscriber subscriber, final Consumer<Exception> onFailure) {
+    dispatcher.subscriptions.add(new Subscription(subscriber, onFailure));
+
+    synchronized (this) {
+      if (!started) {
+        LOG.info("Starting shared query with application id: {}", applicationId);
+        kafkaStreams.start();
+        started = true;
+      }
+    }
+  }
+
+  void unsubscribe(final Subscriber subscriber) {
+    dispatcher.subscriptions.removeIf(subscription -> subscription.subscriber == subscriber);
+  }
+
+  void addUncaughtExceptionHandler(final UncaughtExceptionHandler handler) {
+    exceptionHandlers.add(handler);
+  }
+
+  void removeUncaughtExceptionHandler(final UncaughtExceptionHandler handler) {
+    exceptionHandlers.remove(handler);
+  }
+
+  void addStateListener(final StateListener listener) {
+    stateListeners.add(listener);
+  }
+
+  void removeStateListener(final StateListener listener) {
+    stateListeners.remove(listener);
+  }
+
+  @VisibleForTesting
+  int subscriberCount() {
+    return dispatcher.subscriptions.size();
+  }
+
+  void retain() {
+    references++;
+  }
+
+  /**
+   * @return {@code true} if there are no longer any references to this topology.
+   */
+  boolean release() {
+    return --references == 0;
+  }
+
+  void close() {
+    LOG.info("Closing shared query with application id: {}", applicationId);
+    kafkaStreams.close(Duration.ofMillis(closeTimeoutMs));
+    kafkaStreams.cleanUp();
+  }
+
+  /**
+   * A transient query reading from a shared topology.
+   */
+  interface Subscriber {
+
+    /**
+     * Called for each row consumed from the source.
+     *
+     * <p>Called concurrently from each of the stream threads of the application. Must not
+     * block, as doing so holds up every other subscriber.
+     *
+     * @param key the key of the row.
+     * @param row the row.
+     * @param rowTime the timestamp of the row.
+     */
+    void accept(Object key, GenericRow row, long rowTime);
+  }
+
+  private static final class Subscription {
+
+    private final Subscriber subscriber;
+    private final Consumer<Exception> onFailure;
+
+    Subscription(final Subscriber subscriber, final Consumer<Exception> onFailure) {
+      this.subscriber = Objects.requireNonNull(subscriber, "subscriber");
+      this.onFailure = Objects.requireNonNull(onFailure, "onFailure");
+    }
+  }
+
+  /**
+   * The terminal processor of the shared topology, passing each row to every subscriber.
+   */
+  static final class Dispatcher {
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    Processor<Object, GenericRow> newProcessor() {
+      return new AbstractProcessor<Object, GenericRow>() {
+        @Override
+        public void process(final Object key, final GenericRow row) {
+          if (row == null) {
+            return;
+          }
+
+          final long rowTime = context().timestamp();
+          for (final Subscription subscription : subscriptions) {
+            try {
+              subscription.subscriber.accept(key, row, rowTime);
+            } catch (final Exception e) {
+              // One failing query must not stop rows reaching the others, so fail just that one:
+              if (subscriptions.remove(subscription)) {
+                LOG.warn("Removing failed shared query subscriber", e);
+                subscription.onFailure.accept(e);
+              }
+            }
+          }
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamSelect;
+import io.confluent.ksql.execution.plan.StreamSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Tracks the {@link SharedTopology shared topologies} used by transient queries.
+ *
+ * <p>Transient queries that only filter and project a stream share a single Kafka Streams
+ * application per distinct source and set of overridden properties.
+ */
+public final class SharedTopologyRegistry {
+
+  private final Map<Key, SharedTopology> topologies = new HashMap<>();
+  private final AtomicLong idGenerator = new AtomicLong();
+
+  /**
+   * Determine if the supplied plan can be run on a shared topology.
+   *
+   * @param physicalPlan the plan of the transient query.
+   * @return the plan split into its source and the steps to apply to each row of the source,
+   *         in order, if it can be shared.
+   */
+  static Optional<SharablePlan> sharablePlan(final ExecutionStep<?> physicalPlan) {
+    final List<ExecutionStep<?>> operators = new ArrayList<>();
+
+    ExecutionStep<?> step = physicalPlan;
+    while (step instanceof StreamSelect || step instanceof StreamFilter) {
+      operators.add(0, step);
+      step = step.getSources().get(0);
+    }
+
+    if (!(step instanceof StreamSource)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(new SharablePlan(withoutProjection((StreamSource) step), operators));
+  }
+
+  /**
+   * The shared topology serves many queries, each of which may reference different columns, so
+   * it must deserialize every column of the source. Dropping the projection also ensures
+   * queries that differ only in the columns they reference share the same topology.
+   */
+  private static StreamSource withoutProjection(final StreamSource source) {
+    if (!source.getProjectedColumns().isPresent()) {
+      return source;
+    }
+
+    return new StreamSource(
+        source.getProperties(),
+        source.getTopicName(),
+        source.getFormats(),
+        source.getTimestampColumn(),
+        source.getSourceSchema(),
+        Optional.empty()
+    );
+  }
+
+  /**
+   * Get the shared topology for the supplied {@code source}, creating it if necessary.
+   *
+   * <p>Each call must be matched by a call to {@link #release}.
+   */
+  synchronized SharedTopology acquire(
+      final StreamSource source,
+      final Map<String, Object> overriddenProperties,
+      final Function<Long, SharedTopology> factory
+  ) {
+    final Key key = new Key(source, overriddenProperties);
+    final SharedTopology topology = topologies
+        .computeIfAbsent(key, k -> factory.apply(idGenerator.incrementAndGet()));
+
+    topology.retain();
+    return topology;
+  }
+
+  /**
+   * Release a topology obtained from {@link #acquire}, closing it if it is no longer used.
+   */
+  void release(final SharedTopology topology) {
+    synchronized (this) {
+      if (!topology.release()) {
+        return;
+      }
+
+      topologies.values().remove(topology);
+    }
+
+    topology.close();
+  }
+
+  /**
+   * @return the number of shared topologies.
+   */
+  public synchronized int size() {
+    return topologies.size();
+  }
+
+  static final class SharablePlan {
+
+    private final StreamSource source;
+    private final ImmutableList<ExecutionStep<?>> operators;
+
+    private SharablePlan(final StreamSource source, final List<ExecutionStep<?>> operators) {
+      this.source = Objects.requireNonNull(source, "source");
+      this.operators = ImmutableList.copyOf(operators);
+    }
+
+    StreamSource getSource() {
+      return source;
+    }
+
+    List<ExecutionStep<?>> getOperators() {
+      return operators;
+    }
+  }
+
+  private static final class Key {
+
+    private final StreamSource source;
+    private final ImmutableMap<String, Object> overriddenProperties;
+
+    Key(final StreamSource source, final Map<String, Object> overriddenProperties) {
+      this.source = Objects.requireNonNull(source, "source");
+      this.overriddenProperties = ImmutableMap.copyOf(overriddenProperties);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final Key key = (Key) o;
+      return source.equals(key.source)
+          && overriddenProperties.equals(key.overriddenProperties);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(source, overriddenProperties);
+    }
+  }
+}
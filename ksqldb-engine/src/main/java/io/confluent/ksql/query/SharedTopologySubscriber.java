@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamSelect;
+import io.confluent.ksql.execution.transform.KsqlProcessingContext;
+import io.confluent.ksql.execution.transform.KsqlTransformer;
+import io.confluent.ksql.execution.transform.select.Selection;
+import io.confluent.ksql.execution.transform.sqlpredicate.SqlPredicate;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A transient query reading from a {@link SharedTopology}.
+ *
+ * <p>Applies the query's own filters and projections to each row of the shared source, before
+ * queuing any result.
+ */
+final class SharedTopologySubscriber implements SharedTopology.Subscriber {
+
+  private final ImmutableList<KsqlTransformer<Object, Optional<GenericRow>>> operators;
+  private final TransientQueryQueue queue;
+
+  private SharedTopologySubscriber(
+      final List<KsqlTransformer<Object, Optional<GenericRow>>> operators,
+      final TransientQueryQueue queue
+  ) {
+    this.operators = ImmutableList.copyOf(operators);
+    this.queue = Objects.requireNonNull(queue, "queue");
+  }
+
+  /**
+   * Build a subscriber that applies the supplied {@code operators}.
+   *
+   * @param operators the filter and select steps of the query, in order.
+   * @param sourceSchema the schema of the rows of the shared source.
+   * @param queryBuilder the builder of the transient query.
+   * @param queue the queue of the transient query.
+   * @return the subscriber.
+   */
+  static SharedTopologySubscriber create(
+      final List<ExecutionStep<?>> operators,
+      final LogicalSchema sourceSchema,
+      final KsqlQueryBuilder queryBuilder,
+      final TransientQueryQueue queue
+  ) {
+    final ImmutableList.Builder<KsqlTransformer<Object, Optional<GenericRow>>> transformers =
+        ImmutableList.builder();
+
+    LogicalSchema schema = sourceSchema;
+    for (final ExecutionStep<?> step : operators) {
+      if (step instanceof StreamFilter) {
+        final SqlPredicate predicate = new SqlPredicate(
+            ((StreamFilter<?>) step).getFilterExpression(),
+            schema,
+            queryBuilder.getKsqlConfig(),
+            queryBuilder.getFunctionRegistry()
+        );
+
+        transformers.add(predicate.getTransformer(
+            queryBuilder.getProcessingLogger(step.getProperties().getQueryContext())
+        ));
+      } else if (step instanceof StreamSelect) {
+        final Selection<Object> selection = Selection.of(
+            schema,
+            ((StreamSelect<?>) step).getSelectExpressions(),
+            queryBuilder.getKsqlConfig(),
+            queryBuilder.getFunctionRegistry()
+        );
+
+        final KsqlTransformer<Object, GenericRow> mapper = selection.getMapper().getTransformer(
+            queryBuilder.getProcessingLogger(step.getProperties().getQueryContext())
+        );
+
+        transformers.add((key, row, ctx) -> Optional.of(mapper.transform(key, row, ctx)));
+        schema = selection.getSchema();
+      } else {
+        throw new IllegalArgumentException("Unsupported step: " + step.getClass());
+      }
+    }
+
+    return new SharedTopologySubscriber(transformers.build(), queue);
+  }
+
+  @Override
+  public void accept(final Object key, final GenericRow row, final long rowTime) {
+    final KsqlProcessingContext ctx = () -> rowTime;
+
+    Optional<GenericRow> result = Optional.of(row);
+    for (final KsqlTransformer<Object, Optional<GenericRow>> operator : operators) {
+      result = operator.transform(key, result.get(), ctx);
+      if (!result.isPresent()) {
+        return;
+      }
+    }
+
+    queue.accept(key, result.get());
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import io.confluent.ksql.internal.QueryStateListener;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.util.QueryMetadata;
+import io.confluent.ksql.util.TransientQueryMetadata;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.apache.kafka.streams.KafkaStreams.State;
+
+/**
+ * Metadata of a transient query that reads from a {@link SharedTopology}.
+ *
+ * <p>Starting and closing the query subscribes and unsubscribes it from the shared topology,
+ * rather than starting and closing its own Kafka Streams application.
+ */
+final class SharedTransientQueryMetadata extends TransientQueryMetadata {
+
+  private final SharedTopology sharedTopology;
+  private final SharedTopology.Subscriber subscriber;
+  private final Consumer<SharedTopology> releaser;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  private volatile Optional<UncaughtExceptionHandler> exceptionHandler = Optional.empty();
+  private volatile Optional<QueryStateListener> queryStateListener = Optional.empty();
+
+  // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
+  SharedTransientQueryMetadata(
+      final String statementString,
+      final LogicalSchema logicalSchema,
+      final Set<SourceName> sourceNames,
+      final String executionPlan,
+      final TransientQueryQueue rowQueue,
+      final String queryApplicationId,
+      final Map<String, Object> overriddenProperties,
+      final Consumer<QueryMetadata> closeCallback,
+      final long closeTimeout,
+      final SharedTopology sharedTopology,
+      final SharedTopology.Subscriber subscriber,
+      final Consumer<SharedTopology> releaser
+  ) {
+    // CHECKSTYLE_RULES.ON: ParameterNumberCheck
+    super(
+        statementString,
+        sharedTopology.getKafkaStreams(),
+        logicalSchema,
+        sourceNames,
+        executionPlan,
+        rowQueue,
+        queryApplicationId,
+        sharedTopology.getTopology(),
+        sharedTopology.getStreamsProperties(),
+        overriddenProperties,
+        closeCallback,
+        closeTimeout
+    );
+    this.sharedTopology = sharedTopology;
+    this.subscriber = Objects.requireNonNull(subscriber, "subscriber");
+    this.releaser = Objects.requireNonNull(releaser, "releaser");
+  }
+
+  @Override
+  public void start() {
+    queryStateListener.ifPresent(sharedTopology::addStateListener);
+    sharedTopology.subscribe(subscriber, this::onSubscriberFailure);
+  }
+
+  private void onSubscriberFailure(final Exception e) {
+    exceptionHandler.ifPresent(handler -> handler.uncaughtException(Thread.currentThread(), e));
+  }
+
+  @Override
+  public String getState() {
+    return closed.get()
+        ? State.NOT_RUNNING.toString()
+        : super.getState();
+  }
+
+  @Override
+  public void setUncaughtExceptionHandler(final UncaughtExceptionHandler handler) {
+    // The shared application can only have one handler, which notifies each query:
+    exceptionHandler.ifPresent(sharedTopology::removeUncaughtExceptionHandler);
+    exceptionHandler = Optional.of(handler);
+    sharedTopology.addUncaughtExceptionHandler(handler);
+  }
+
+  @Override
+  public void registerQueryStateListener(final QueryStateListener queryStateListener) {
+    this.queryStateListener = Optional.of(queryStateListener);
+    super.registerQueryStateListener(queryStateListener);
+  }
+
+  @Override
+  protected void closeStreams(final boolean cleanUp) {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+
+    sharedTopology.unsubscribe(subscriber);
+    exceptionHandler.ifPresent(sharedTopology::removeUncaughtExceptionHandler);
+    queryStateListener.ifPresent(sharedTopology::removeStateListener);
+    queryStateListener.ifPresent(QueryStateListener::close);
+    releaser.accept(sharedTopology);
+  }
+}
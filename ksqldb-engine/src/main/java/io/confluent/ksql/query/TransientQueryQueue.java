@@ -21,8 +21,6 @@ import io.confluent.ksql.util.KsqlException;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.OptionalInt;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.kstream.ForeachAction;
@@ -34,29 +32,75 @@ import org.apache.kafka.streams.kstream.Windowed;
  */
 class TransientQueryQueue implements BlockingRowQueue {
 
+  private static final int DEFAULT_QUEUE_SIZE_LIMIT = 100;
+  private static final int DEFAULT_OFFER_TIMEOUT_MS = 100;
+
   private final LimitQueueCallback callback;
-  private final BlockingQueue<KeyValue<String, GenericRow>> rowQueue;
-  private final int offerTimeoutMs;
-  private volatile boolean closed = false;
+  private final BoundedHandoffQueue<KeyValue<String, GenericRow>> rowQueue;
+  private final QueuePopulator<Object> populator;
+
+  TransientQueryQueue(
+      final KStream<?, GenericRow> kstream,
+      final OptionalInt limit,
+      final QueueOverflowPolicy overflowPolicy
+  ) {
+    this(limit, overflowPolicy);
+
+    kstream.foreach(new QueuePopulator<>());
+  }
+
+  /**
+   * Create a queue that is not attached to a stream. Rows are supplied via {@link #accept}.
+   */
+  TransientQueryQueue(final OptionalInt limit, final QueueOverflowPolicy overflowPolicy) {
+    this(limit, overflowPolicy, DEFAULT_QUEUE_SIZE_LIMIT, DEFAULT_OFFER_TIMEOUT_MS);
+  }
 
-  TransientQueryQueue(final KStream<?, GenericRow> kstream, final OptionalInt limit) {
-    this(kstream, limit, 100, 100);
+  @VisibleForTesting
+  TransientQueryQueue(
+      final KStream<?, GenericRow> kstream,
+      final OptionalInt limit,
+      final int queueSizeLimit,
+      final int offerTimeoutMs
+  ) {
+    this(kstream, limit, QueueOverflowPolicy.BLOCK, queueSizeLimit, offerTimeoutMs);
   }
 
   @VisibleForTesting
   TransientQueryQueue(
       final KStream<?, GenericRow> kstream,
       final OptionalInt limit,
+      final QueueOverflowPolicy overflowPolicy,
+      final int queueSizeLimit,
+      final int offerTimeoutMs
+  ) {
+    this(limit, overflowPolicy, queueSizeLimit, offerTimeoutMs);
+
+    kstream.foreach(new QueuePopulator<>());
+  }
+
+  @VisibleForTesting
+  TransientQueryQueue(
+      final OptionalInt limit,
+      final QueueOverflowPolicy overflowPolicy,
       final int queueSizeLimit,
       final int offerTimeoutMs
   ) {
     this.callback = limit.isPresent()
         ? new LimitedQueueCallback(limit.getAsInt())
         : new UnlimitedQueueCallback();
-    this.rowQueue = new LinkedBlockingQueue<>(queueSizeLimit);
-    this.offerTimeoutMs = offerTimeoutMs;
+    this.rowQueue = new BoundedHandoffQueue<>(queueSizeLimit, overflowPolicy, offerTimeoutMs);
+    this.populator = new QueuePopulator<>();
+  }
 
-    kstream.foreach(new QueuePopulator<>());
+  /**
+   * Add a row to the queue, applying the overflow policy if the queue is full.
+   *
+   * @param key the key of the row.
+   * @param row the row.
+   */
+  void accept(final Object key, final GenericRow row) {
+    populator.apply(key, row);
   }
 
   @Override
@@ -80,9 +124,19 @@ class TransientQueryQueue implements BlockingRowQueue {
     return rowQueue.size();
   }
 
+  @Override
+  public long droppedCount() {
+    return rowQueue.droppedCount();
+  }
+
+  @Override
+  public long blockedTimeMs() {
+    return rowQueue.blockedTimeMs();
+  }
+
   @Override
   public void close() {
-    closed = true;
+    rowQueue.close();
   }
 
   @VisibleForTesting
@@ -102,11 +156,15 @@ class TransientQueryQueue implements BlockingRowQueue {
 
         final KeyValue<String, GenericRow> kv = new KeyValue<>(getStringKey(key), row);
 
-        while (!closed) {
-          if (rowQueue.offer(kv, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
-            callback.onQueued();
-            break;
-          }
+        if (rowQueue.offer(kv)) {
+          callback.onQueued();
+          return;
+        }
+
+        if (rowQueue.isDisconnected()) {
+          throw new KsqlException("Push query client is not consuming rows fast enough. "
+              + "Disconnecting, as the overflow policy is "
+              + QueueOverflowPolicy.DISCONNECT + ".");
         }
       } catch (final InterruptedException e) {
         throw new KsqlException("InterruptedException while enqueueing:" + key);
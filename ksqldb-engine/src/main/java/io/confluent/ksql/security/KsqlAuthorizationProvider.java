@@ -29,4 +29,16 @@ public interface KsqlAuthorizationProvider {
    * @param path The endpoint path to access, i.e. "/ksql", "/ksql/terminate", "/query"*
    */
   void checkEndpointAccess(Principal user, String method, String path);
+
+  /**
+   * Registers a callback to invoke whenever permissions may have changed, e.g. because a user's
+   * roles were changed, so that KSQL discards any access decisions it has cached.
+   *
+   * <p>Providers that can not detect such changes need not override this method: cached
+   * decisions also expire after a configurable time.
+   *
+   * @param callback the callback to invoke.
+   */
+  default void onPermissionsChanged(Runnable callback) {
+  }
 }
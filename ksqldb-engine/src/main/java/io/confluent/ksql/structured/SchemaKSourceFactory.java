@@ -31,9 +31,12 @@ import io.confluent.ksql.execution.streams.ExecutionStepFactory;
 import io.confluent.ksql.execution.streams.StepSchemaResolver;
 import io.confluent.ksql.metastore.model.DataSource;
 import io.confluent.ksql.metastore.model.KeyField;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.serde.KeyFormat;
 import io.confluent.ksql.serde.WindowInfo;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Factory class used to create stream and table sources
@@ -47,7 +50,8 @@ public final class SchemaKSourceFactory {
       final KsqlQueryBuilder builder,
       final DataSource dataSource,
       final QueryContext.Stacker contextStacker,
-      final KeyField keyField
+      final KeyField keyField,
+      final Optional<List<ColumnName>> projectedColumns
   ) {
     final boolean windowed = dataSource.getKsqlTopic().getKeyFormat().isWindowed();
     switch (dataSource.getDataSourceType()) {
@@ -57,12 +61,14 @@ public final class SchemaKSourceFactory {
             builder,
             dataSource,
             contextStacker,
-            keyField
+            keyField,
+            projectedColumns
         ) : buildStream(
             builder,
             dataSource,
             contextStacker,
-            keyField
+            keyField,
+            projectedColumns
         );
 
       case KTABLE:
@@ -71,12 +77,14 @@ public final class SchemaKSourceFactory {
             builder,
             dataSource,
             contextStacker,
-            keyField
+            keyField,
+            projectedColumns
         ) : buildTable(
             builder,
             dataSource,
             contextStacker,
-            keyField
+            keyField,
+            projectedColumns
         );
 
       default:
@@ -88,7 +96,8 @@ public final class SchemaKSourceFactory {
       final KsqlQueryBuilder builder,
       final DataSource dataSource,
       final Stacker contextStacker,
-      final KeyField keyField
+      final KeyField keyField,
+      final Optional<List<ColumnName>> projectedColumns
   ) {
     final WindowInfo windowInfo = dataSource.getKsqlTopic().getKeyFormat().getWindowInfo()
         .orElseThrow(IllegalArgumentException::new);
@@ -99,7 +108,8 @@ public final class SchemaKSourceFactory {
         dataSource.getKafkaTopicName(),
         buildFormats(dataSource),
         windowInfo,
-        dataSource.getTimestampColumn()
+        dataSource.getTimestampColumn(),
+        projectedColumns
     );
 
     return schemaKStream(
@@ -115,7 +125,8 @@ public final class SchemaKSourceFactory {
       final KsqlQueryBuilder builder,
       final DataSource dataSource,
       final Stacker contextStacker,
-      final KeyField keyField
+      final KeyField keyField,
+      final Optional<List<ColumnName>> projectedColumns
   ) {
     if (dataSource.getKsqlTopic().getKeyFormat().getWindowInfo().isPresent()) {
       throw new IllegalArgumentException("windowed");
@@ -126,7 +137,8 @@ public final class SchemaKSourceFactory {
         dataSource.getSchema(),
         dataSource.getKafkaTopicName(),
         buildFormats(dataSource),
-        dataSource.getTimestampColumn()
+        dataSource.getTimestampColumn(),
+        projectedColumns
     );
 
     return schemaKStream(
@@ -142,7 +154,8 @@ public final class SchemaKSourceFactory {
       final KsqlQueryBuilder builder,
       final DataSource dataSource,
       final Stacker contextStacker,
-      final KeyField keyField
+      final KeyField keyField,
+      final Optional<List<ColumnName>> projectedColumns
   ) {
     final WindowInfo windowInfo = dataSource.getKsqlTopic().getKeyFormat().getWindowInfo()
         .orElseThrow(IllegalArgumentException::new);
@@ -153,7 +166,8 @@ public final class SchemaKSourceFactory {
         dataSource.getKafkaTopicName(),
         buildFormats(dataSource),
         windowInfo,
-        dataSource.getTimestampColumn()
+        dataSource.getTimestampColumn(),
+        projectedColumns
     );
 
     return schemaKTable(
@@ -169,7 +183,8 @@ public final class SchemaKSourceFactory {
       final KsqlQueryBuilder builder,
       final DataSource dataSource,
       final Stacker contextStacker,
-      final KeyField keyField
+      final KeyField keyField,
+      final Optional<List<ColumnName>> projectedColumns
   ) {
     if (dataSource.getKsqlTopic().getKeyFormat().getWindowInfo().isPresent()) {
       throw new IllegalArgumentException("windowed");
@@ -180,7 +195,8 @@ public final class SchemaKSourceFactory {
         dataSource.getSchema(),
         dataSource.getKafkaTopicName(),
         buildFormats(dataSource),
-        dataSource.getTimestampColumn()
+        dataSource.getTimestampColumn(),
+        projectedColumns
     );
 
     return schemaKTable(
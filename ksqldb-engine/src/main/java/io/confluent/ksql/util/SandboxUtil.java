@@ -27,10 +27,19 @@ public final class SandboxUtil {
    *                                  is annotated with {@link Sandbox}
    */
   public static <T> T requireSandbox(final T object) {
-    if (object.getClass().isAnnotationPresent(Sandbox.class)) {
+    if (isSandbox(object)) {
       return object;
     }
     throw new IllegalArgumentException("Expected sandbox but got: " + object.getClass());
   }
 
+  /**
+   * @param object the object to check
+   * @return {@code true} if {@code object} is an instance of a class that is annotated with
+   *         {@link Sandbox}
+   */
+  public static boolean isSandbox(final Object object) {
+    return object.getClass().isAnnotationPresent(Sandbox.class);
+  }
+
 }
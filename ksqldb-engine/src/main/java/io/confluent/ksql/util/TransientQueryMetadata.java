@@ -118,7 +118,16 @@ public class TransientQueryMetadata extends QueryMetadata {
     rowQueue.close();
 
     // Now safe to close:
-    super.doClose(cleanUp);
+    closeStreams(cleanUp);
     isRunning.set(false);
   }
+
+  /**
+   * Close the Kafka Streams application producing the rows of this query.
+   *
+   * @param cleanUp whether to clean up the application's local state.
+   */
+  protected void closeStreams(final boolean cleanUp) {
+    super.doClose(cleanUp);
+  }
 }
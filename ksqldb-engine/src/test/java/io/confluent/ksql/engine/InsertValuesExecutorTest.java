@@ -17,6 +17,7 @@ package io.confluent.ksql.engine;
 
 import static io.confluent.ksql.GenericRow.genericRow;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.Assert.assertThrows;
 import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
@@ -24,6 +25,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,6 +34,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.ddl.commands.KsqlTopic;
@@ -63,17 +67,22 @@ import io.confluent.ksql.schema.ksql.SystemColumns;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import io.confluent.ksql.serde.FormatFactory;
 import io.confluent.ksql.serde.FormatInfo;
+import io.confluent.ksql.serde.GenericKeySerDe;
+import io.confluent.ksql.serde.GenericRowSerDe;
 import io.confluent.ksql.serde.KeyFormat;
 import io.confluent.ksql.serde.KeySerdeFactory;
 import io.confluent.ksql.serde.SerdeOption;
 import io.confluent.ksql.serde.ValueFormat;
 import io.confluent.ksql.serde.ValueSerdeFactory;
+import io.confluent.ksql.services.KafkaTopicClient;
+import io.confluent.ksql.services.SandboxedServiceContext;
 import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.statement.ConfiguredStatement;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlException;
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.security.Principal;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -86,6 +95,7 @@ import java.util.stream.Collectors;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.errors.TimeoutException;
 import org.apache.kafka.common.errors.TopicAuthorizationException;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.serialization.Serializer;
@@ -149,6 +159,8 @@ public class InsertValuesExecutorTest {
   @Mock
   private KafkaProducer<byte[], byte[]> producer;
   @Mock
+  private KafkaClientSupplier kafkaClientSupplier;
+  @Mock
   private LongSupplier clock;
   @Mock
   private ValueSerdeFactory valueSerdeFactory;
@@ -168,7 +180,6 @@ public class InsertValuesExecutorTest {
 
     doReturn(producerResultFuture).when(producer).send(any());
 
-    final KafkaClientSupplier kafkaClientSupplier = mock(KafkaClientSupplier.class);
     when(kafkaClientSupplier.getProducer(any())).thenReturn(producer);
 
     when(serviceContext.getKafkaClientSupplier()).thenReturn(kafkaClientSupplier);
@@ -893,6 +904,271 @@ public class InsertValuesExecutorTest {
         "Failed to insert values into 'TOPIC'. Value for primary key column(s) k0 is required for tables"));
   }
 
+  @Test
+  public void shouldInsertMultipleRowsWithOneProducer() {
+    // Given:
+    final ConfiguredStatement<InsertValues> statement = givenInsertValuesRows(
+        valueColumnNames(SCHEMA),
+        ImmutableList.of(
+            ImmutableList.of(new StringLiteral("str"), new LongLiteral(2L)),
+            ImmutableList.of(new StringLiteral("other"), new LongLiteral(3L))
+        )
+    );
+
+    // When:
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+
+    // Then:
+    verify(keySerializer).serialize(TOPIC_NAME, keyStruct("str"));
+    verify(keySerializer).serialize(TOPIC_NAME, keyStruct("other"));
+    verify(valueSerializer).serialize(TOPIC_NAME, genericRow("str", 2L));
+    verify(valueSerializer).serialize(TOPIC_NAME, genericRow("other", 3L));
+    verify(producer, times(2)).send(new ProducerRecord<>(TOPIC_NAME, null, 1L, KEY, VALUE));
+    verify(kafkaClientSupplier, times(1)).getProducer(any());
+  }
+
+  @Test
+  public void shouldReportWhichRowsFailedToBeWritten() throws Exception {
+    // Given:
+    final ConfiguredStatement<InsertValues> statement = givenInsertValuesRows(
+        valueColumnNames(SCHEMA),
+        ImmutableList.of(
+            ImmutableList.of(new StringLiteral("str"), new LongLiteral(2L)),
+            ImmutableList.of(new StringLiteral("other"), new LongLiteral(3L))
+        )
+    );
+
+    final Future<?> failure = mock(Future.class);
+    when(failure.get()).thenThrow(new ExecutionException(new TimeoutException("boom")));
+    doReturn(producerResultFuture).doReturn(failure).when(producer).send(any());
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> executor.execute(statement, mock(SessionProperties.class), engine, serviceContext)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "Failed to write row(s) [2] of 2. All other rows were written."));
+    assertThat(e.getCause(), (hasMessage(containsString("boom"))));
+  }
+
+  @Test
+  public void shouldReportWhichRowFailedToBeBuilt() {
+    // Given:
+    final ConfiguredStatement<InsertValues> statement = givenInsertValuesRows(
+        valueColumnNames(SCHEMA),
+        ImmutableList.of(
+            ImmutableList.of(new StringLiteral("str"), new LongLiteral(2L)),
+            ImmutableList.of(new StringLiteral("other"), new StringLiteral("not a long"))
+        )
+    );
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> executor.execute(statement, mock(SessionProperties.class), engine, serviceContext)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Row 2: "));
+    verify(producer, never()).send(any());
+  }
+
+  @Test
+  public void shouldReuseProducerAndSerdesAcrossStatements() {
+    // Given:
+    final ConfiguredStatement<InsertValues> statement = givenInsertValues(
+        valueColumnNames(SCHEMA),
+        ImmutableList.of(
+            new StringLiteral("str"),
+            new LongLiteral(2L)
+        )
+    );
+
+    // When:
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+
+    // Then:
+    verify(producer, times(2)).send(new ProducerRecord<>(TOPIC_NAME, null, 1L, KEY, VALUE));
+    verify(kafkaClientSupplier, times(1)).getProducer(any());
+    verify(producer, never()).close(any());
+    verify(keySerdeFactory, times(1)).create(any(), any(), any(), any(), any(), any());
+    verify(valueSerdeFactory, times(1)).create(any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void shouldNotReuseProducerAcrossPrincipals() {
+    // Given:
+    final ConfiguredStatement<InsertValues> statement = givenInsertValues(
+        valueColumnNames(SCHEMA),
+        ImmutableList.of(
+            new StringLiteral("str"),
+            new LongLiteral(2L)
+        )
+    );
+
+    // When:
+    executor.execute(statement, givenSessionFor("alice"), engine, serviceContext);
+    executor.execute(statement, givenSessionFor("bob"), engine, serviceContext);
+
+    // Then:
+    verify(kafkaClientSupplier, times(2)).getProducer(any());
+  }
+
+  @Test
+  public void shouldNotReuseProducerAfterItFails() throws Exception {
+    // Given:
+    final ConfiguredStatement<InsertValues> statement = givenInsertValues(
+        valueColumnNames(SCHEMA),
+        ImmutableList.of(
+            new StringLiteral("str"),
+            new LongLiteral(2L)
+        )
+    );
+
+    final Future<?> failure = mock(Future.class);
+    when(failure.get()).thenThrow(new ExecutionException(new IllegalStateException("closed")));
+    doReturn(failure).doReturn(producerResultFuture).when(producer).send(any());
+
+    assertThrows(
+        KsqlException.class,
+        () -> executor.execute(statement, mock(SessionProperties.class), engine, serviceContext)
+    );
+
+    // When:
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+
+    // Then:
+    verify(producer).close(any());
+    verify(kafkaClientSupplier, times(2)).getProducer(any());
+  }
+
+  @Test
+  public void shouldNotPoolSandboxedProducers() {
+    // Given:
+    when(serviceContext.getTopicClient()).thenReturn(mock(KafkaTopicClient.class));
+    when(serviceContext.getSchemaRegistryClient()).thenReturn(mock(SchemaRegistryClient.class));
+    final ServiceContext sandbox = SandboxedServiceContext.create(serviceContext);
+
+    final ConfiguredStatement<InsertValues> statement = givenInsertValues(
+        valueColumnNames(SCHEMA),
+        ImmutableList.of(
+            new StringLiteral("str"),
+            new LongLiteral(2L)
+        )
+    );
+
+    // When:
+    executor.execute(statement, mock(SessionProperties.class), engine, sandbox);
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+
+    // Then:
+    verify(producer).send(new ProducerRecord<>(TOPIC_NAME, null, 1L, KEY, VALUE));
+  }
+
+  @Test
+  public void shouldRegisterSchemaWhenExecutedAfterSandboxedValidation() throws Exception {
+    // Given:
+    final SchemaRegistryClient srClient = new MockSchemaRegistryClient();
+    when(serviceContext.getSchemaRegistryClient()).thenReturn(srClient);
+    when(serviceContext.getSchemaRegistryClientFactory()).thenReturn(() -> srClient);
+    when(serviceContext.getTopicClient()).thenReturn(mock(KafkaTopicClient.class));
+    final ServiceContext sandbox = SandboxedServiceContext.create(serviceContext);
+
+    givenDataSourceWithSchema(
+        TOPIC_NAME, SCHEMA, SerdeOption.none(), Optional.of(COL0), false,
+        FormatFactory.AVRO.name());
+
+    final ConfiguredStatement<InsertValues> statement = ConfiguredStatement.of(
+        PreparedStatement.of(
+            "",
+            new InsertValues(
+                SourceName.of("TOPIC"),
+                valueColumnNames(SCHEMA),
+                ImmutableList.of(new StringLiteral("str"), new LongLiteral(2L)))),
+        ImmutableMap.of(),
+        new KsqlConfig(ImmutableMap.of(
+            KsqlConfig.SCHEMA_REGISTRY_URL_PROPERTY, "http://localhost:8081"))
+    );
+
+    executor = new InsertValuesExecutor(clock, new GenericKeySerDe(), new GenericRowSerDe());
+    executor.execute(statement, mock(SessionProperties.class), engine, sandbox);
+
+    // When:
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+
+    // Then:
+    assertThat(srClient.getAllSubjects(), contains(TOPIC_NAME + "-value"));
+  }
+
+  @Test
+  public void shouldIgnoreStatementOverridesOfProducerPoolSize() {
+    // Given:
+    final ConfiguredStatement<InsertValues> statement = ConfiguredStatement.of(
+        PreparedStatement.of(
+            "",
+            new InsertValues(
+                SourceName.of("TOPIC"),
+                valueColumnNames(SCHEMA),
+                ImmutableList.of(new StringLiteral("str"), new LongLiteral(2L)))),
+        ImmutableMap.of(KsqlConfig.KSQL_INSERT_INTO_VALUES_PRODUCER_POOL_SIZE_CONFIG, 0),
+        new KsqlConfig(ImmutableMap.of())
+    );
+
+    // When:
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+
+    // Then:
+    verify(kafkaClientSupplier, times(1)).getProducer(any());
+    verify(producer, never()).close(any());
+  }
+
+  @Test
+  public void shouldClosePooledProducersOnClose() {
+    // Given:
+    final ConfiguredStatement<InsertValues> statement = givenInsertValues(
+        valueColumnNames(SCHEMA),
+        ImmutableList.of(
+            new StringLiteral("str"),
+            new LongLiteral(2L)
+        )
+    );
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+
+    // When:
+    executor.close();
+
+    // Then:
+    verify(producer).close(any());
+  }
+
+  @Test
+  public void shouldCloseProducerIfPoolingDisabled() {
+    // Given:
+    final ConfiguredStatement<InsertValues> statement = ConfiguredStatement.of(
+        PreparedStatement.of(
+            "",
+            new InsertValues(
+                SourceName.of("TOPIC"),
+                valueColumnNames(SCHEMA),
+                ImmutableList.of(new StringLiteral("str"), new LongLiteral(2L)))),
+        ImmutableMap.of(),
+        new KsqlConfig(ImmutableMap.of(
+            KsqlConfig.KSQL_INSERT_INTO_VALUES_PRODUCER_POOL_SIZE_CONFIG, 0))
+    );
+
+    // When:
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+
+    // Then:
+    verify(producer).send(new ProducerRecord<>(TOPIC_NAME, null, 1L, KEY, VALUE));
+    verify(producer).close(any());
+  }
+
   @Test
   public void shouldBuildCorrectSerde() {
     // Given:
@@ -940,19 +1216,43 @@ public class InsertValuesExecutorTest {
     );
   }
 
+  private static ConfiguredStatement<InsertValues> givenInsertValuesRows(
+      final List<ColumnName> columns,
+      final List<List<Expression>> rows
+  ) {
+    return ConfiguredStatement.of(
+        PreparedStatement.of(
+            "",
+            InsertValues.ofRows(Optional.empty(), SourceName.of("TOPIC"), columns, rows)),
+        ImmutableMap.of(),
+        new KsqlConfig(ImmutableMap.of())
+    );
+  }
+
+  private static SessionProperties givenSessionFor(final String user) {
+    final Principal principal = mock(Principal.class);
+    when(principal.getName()).thenReturn(user);
+
+    final SessionProperties sessionProperties = mock(SessionProperties.class);
+    when(sessionProperties.getUserPrincipal()).thenReturn(Optional.of(principal));
+    return sessionProperties;
+  }
+
   private void givenSourceStreamWithSchema(
       final LogicalSchema schema,
       final Set<SerdeOption> serdeOptions,
       final Optional<ColumnName> keyField
   ) {
-    givenDataSourceWithSchema(TOPIC_NAME, schema, serdeOptions, keyField, false);
+    givenDataSourceWithSchema(
+        TOPIC_NAME, schema, serdeOptions, keyField, false, FormatFactory.JSON.name());
   }
 
   private void givenSourceTableWithSchema(
       final Set<SerdeOption> serdeOptions,
       final Optional<ColumnName> keyField
   ) {
-    givenDataSourceWithSchema(TOPIC_NAME, SCHEMA, serdeOptions, keyField, true);
+    givenDataSourceWithSchema(
+        TOPIC_NAME, SCHEMA, serdeOptions, keyField, true, FormatFactory.JSON.name());
   }
 
   private void givenDataSourceWithSchema(
@@ -960,12 +1260,13 @@ public class InsertValuesExecutorTest {
       final LogicalSchema schema,
       final Set<SerdeOption> serdeOptions,
       final Optional<ColumnName> keyField,
-      final boolean table
+      final boolean table,
+      final String valueFormat
   ) {
     final KsqlTopic topic = new KsqlTopic(
         topicName,
         KeyFormat.nonWindowed(FormatInfo.of(FormatFactory.KAFKA.name())),
-        ValueFormat.of(FormatInfo.of(FormatFactory.JSON.name()))
+        ValueFormat.of(FormatInfo.of(valueFormat))
     );
 
     final KeyField valueKeyField = keyField
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.engine;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.services.ServiceContext;
+import io.confluent.ksql.util.LeaseCache;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.streams.KafkaClientSupplier;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProducerPoolTest {
+
+  private static final Map<String, Object> PROPS = ImmutableMap.of("acks", "all");
+  private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+  private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+  @Mock
+  private ServiceContext serviceContext;
+  @Mock
+  private KafkaClientSupplier kafkaClientSupplier;
+  @Mock
+  private Producer<byte[], byte[]> producer1;
+  @Mock
+  private Producer<byte[], byte[]> producer2;
+  @Mock
+  private Principal alice;
+  @Mock
+  private Principal bob;
+  private final AtomicLong nanos = new AtomicLong();
+  private final Ticker ticker = new Ticker() {
+    @Override
+    public long read() {
+      return nanos.get();
+    }
+  };
+  private ProducerPool pool;
+
+  @Before
+  public void setUp() {
+    when(serviceContext.getKafkaClientSupplier()).thenReturn(kafkaClientSupplier);
+    when(kafkaClientSupplier.getProducer(any())).thenReturn(producer1, producer2);
+
+    pool = new ProducerPool(1, IDLE_TIMEOUT, CLOSE_TIMEOUT, ticker);
+  }
+
+  @Test
+  public void shouldThrowOnNonPositiveSize() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ProducerPool(0, IDLE_TIMEOUT, CLOSE_TIMEOUT)
+    );
+  }
+
+  @Test
+  public void shouldReuseProducerForSamePrincipalAndProps() {
+    // Given:
+    when(alice.getName()).thenReturn("alice");
+    pool.acquire(Optional.of(alice), serviceContext, PROPS).close();
+
+    // When:
+    final LeaseCache.Lease<Producer<byte[], byte[]>> lease =
+        pool.acquire(Optional.of(alice), serviceContext, PROPS);
+
+    // Then:
+    assertThat(lease.get(), is(sameInstance(producer1)));
+    verify(kafkaClientSupplier, times(1)).getProducer(PROPS);
+    assertThat(pool.size(), is(1L));
+  }
+
+  @Test
+  public void shouldNotShareProducersBetweenPrincipals() {
+    // Given:
+    when(alice.getName()).thenReturn("alice");
+    when(bob.getName()).thenReturn("bob");
+
+    // When:
+    final LeaseCache.Lease<Producer<byte[], byte[]>> aliceLease =
+        pool.acquire(Optional.of(alice), serviceContext, PROPS);
+    final LeaseCache.Lease<Producer<byte[], byte[]>> bobLease =
+        pool.acquire(Optional.of(bob), serviceContext, PROPS);
+
+    // Then:
+    assertThat(aliceLease.get(), is(not(sameInstance(bobLease.get()))));
+  }
+
+  @Test
+  public void shouldNotShareProducersBetweenProps() {
+    // When:
+    final LeaseCache.Lease<Producer<byte[], byte[]>> lease1 =
+        pool.acquire(Optional.empty(), serviceContext, PROPS);
+    final LeaseCache.Lease<Producer<byte[], byte[]>> lease2 =
+        pool.acquire(Optional.empty(), serviceContext, ImmutableMap.of("acks", "1"));
+
+    // Then:
+    assertThat(lease1.get(), is(not(sameInstance(lease2.get()))));
+  }
+
+  @Test
+  public void shouldCloseIdleProducerOnCleanUp() {
+    // Given:
+    pool.acquire(Optional.empty(), serviceContext, PROPS).close();
+    nanos.addAndGet(IDLE_TIMEOUT.plusSeconds(1).toNanos());
+
+    // When:
+    pool.cleanUp();
+
+    // Then:
+    verify(producer1).close(CLOSE_TIMEOUT);
+  }
+
+  @Test
+  public void shouldCloseIdleProducersOnClose() {
+    // Given:
+    pool.acquire(Optional.empty(), serviceContext, PROPS).close();
+
+    // When:
+    pool.close();
+
+    // Then:
+    verify(producer1).close(CLOSE_TIMEOUT);
+    assertThat(pool.size(), is(0L));
+  }
+}
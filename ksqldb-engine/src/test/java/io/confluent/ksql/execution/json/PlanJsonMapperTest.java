@@ -6,13 +6,32 @@ import static org.hamcrest.Matchers.is;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.ExecutionStepPropertiesV1;
+import io.confluent.ksql.execution.plan.Formats;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.parser.json.KsqlTypesDeserializationModule;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.SystemColumns;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.serde.FormatInfo;
+import io.confluent.ksql.serde.SerdeOption;
+import java.util.List;
+import java.util.Optional;
 import org.junit.Test;
 
 public class PlanJsonMapperTest {
 
   private static final ObjectMapper MAPPER = PlanJsonMapper.INSTANCE.get();
 
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .keyColumn(SystemColumns.ROWKEY_NAME, SqlTypes.BIGINT)
+      .valueColumn(ColumnName.of("V0"), SqlTypes.STRING)
+      .build();
+
   @Test
   public void shouldEnableFailOnUnknownProperties() {
     assertThat(MAPPER.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES), is(true));
@@ -39,4 +58,39 @@ public class PlanJsonMapperTest {
         MAPPER.getRegisteredModuleIds(),
         hasItem(new KsqlTypesDeserializationModule(false).getTypeId()));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldRoundTripSourceWithoutProjection() throws Exception {
+    assertRoundTrips(streamSource(Optional.empty()));
+  }
+
+  @Test
+  public void shouldRoundTripSourceProjection() throws Exception {
+    assertRoundTrips(streamSource(Optional.of(ImmutableList.of(ColumnName.of("V0")))));
+  }
+
+  @Test
+  public void shouldRoundTripEmptySourceProjection() throws Exception {
+    assertRoundTrips(streamSource(Optional.of(ImmutableList.of())));
+  }
+
+  private static void assertRoundTrips(final ExecutionStep<?> step) throws Exception {
+    // When:
+    final ExecutionStep<?> result = MAPPER
+        .readValue(MAPPER.writeValueAsString(step), ExecutionStep.class);
+
+    // Then:
+    assertThat(result, is(step));
+  }
+
+  private static StreamSource streamSource(final Optional<List<ColumnName>> projectedColumns) {
+    return new StreamSource(
+        new ExecutionStepPropertiesV1(new QueryContext.Stacker().push("s").getQueryContext()),
+        "topic",
+        Formats.of(FormatInfo.of("KAFKA"), FormatInfo.of("JSON"), SerdeOption.none()),
+        Optional.empty(),
+        SCHEMA,
+        projectedColumns
+    );
+  }
+}
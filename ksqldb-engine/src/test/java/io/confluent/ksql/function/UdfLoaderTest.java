@@ -43,12 +43,14 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.confluent.ksql.execution.function.TableAggregationFunction;
 import io.confluent.ksql.function.udaf.TestUdaf;
 import io.confluent.ksql.function.udaf.Udaf;
+import io.confluent.ksql.function.udf.DirectKudf;
 import io.confluent.ksql.function.udf.Kudf;
 import io.confluent.ksql.function.udf.PluggableUdf;
 import io.confluent.ksql.function.udf.Udf;
 import io.confluent.ksql.function.udf.UdfDescription;
 import io.confluent.ksql.function.udf.UdfParameter;
 import io.confluent.ksql.function.udf.UdfSchemaProvider;
+import io.confluent.ksql.function.udf.string.Substring;
 import io.confluent.ksql.metastore.TypeRegistry;
 import io.confluent.ksql.name.FunctionName;
 import io.confluent.ksql.schema.ksql.SqlTypeParser;
@@ -130,6 +132,36 @@ public class UdfLoaderTest {
     assertThat(substring2.evaluate("foo", 2, 1), equalTo("o"));
   }
 
+  @Test
+  public void shouldAllowDirectCallsToUdfsOnClassPath() throws Exception {
+    // Given:
+    final KsqlScalarFunction function = FUNC_REG.getUdfFactory(FunctionName.of("substring"))
+        .getFunction(Arrays.asList(SqlTypes.STRING, SqlTypes.INTEGER));
+
+    // When:
+    final Kudf kudf = function.newInstance(ksqlConfig);
+
+    // Then:
+    assertThat(kudf, instanceOf(DirectKudf.class));
+    final DirectKudf direct = (DirectKudf) kudf;
+    assertThat(direct.method(), is(Substring.class.getMethod("substring", String.class,
+        Integer.class)));
+    assertThat(direct.method().invoke(direct.instance(), "foo", 2), equalTo("oo"));
+  }
+
+  @Test
+  public void shouldNotAllowDirectCallsToUdfsInJars() {
+    // Given:
+    final KsqlScalarFunction function = FUNC_REG.getUdfFactory(FunctionName.of("tostring"))
+        .getFunction(ImmutableList.of(SqlTypes.STRING));
+
+    // When:
+    final Kudf kudf = function.newInstance(ksqlConfig);
+
+    // Then:
+    assertThat(kudf, not(instanceOf(DirectKudf.class)));
+  }
+
   @SuppressWarnings("unchecked")
   @Test
   public void shouldLoadUdafs() {
@@ -172,6 +204,37 @@ public class UdfLoaderTest {
         equalTo(new Struct(schema).put("A", 1).put("B", 2)));
   }
 
+  @Test
+  public void shouldLoadUdafsOverloadedOnInitArgs() {
+    // When:
+    final KsqlAggregateFunction<?, ?, ?> legacy = FUNC_REG
+        .getAggregateFunction(FunctionName.of("count_distinct"), SqlTypes.STRING,
+            AggregateFunctionInitArguments.EMPTY_ARGS);
+    final KsqlAggregateFunction<?, ?, ?> sketch = FUNC_REG
+        .getAggregateFunction(FunctionName.of("count_distinct"), SqlTypes.STRING,
+            new AggregateFunctionInitArguments(0, 12));
+
+    // Then:
+    assertThat(legacy.getAggregateType(), is(SqlTypes.array(SqlTypes.INTEGER)));
+    assertThat(sketch.getAggregateType(), is(SqlTypes.BYTES));
+    assertThat(sketch.returnType(), is(SqlTypes.BIGINT));
+  }
+
+  @Test
+  public void shouldThrowIfNoUdafTakesInitArgCount() {
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> FUNC_REG.getAggregateFunction(FunctionName.of("count_distinct"), SqlTypes.STRING,
+            new AggregateFunctionInitArguments(0, 12, 13))
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "There is no aggregate function with name='COUNT_DISTINCT' "
+            + "that takes 2 initialisation argument(s)"));
+  }
+
   @Test
   public void shouldLoadDecimalUdfs() {
     // Given:
@@ -742,6 +805,50 @@ public class UdfLoaderTest {
     assertThat(udf.eval(this, 1, ImmutableList.of("hi")), equalTo("hi"));
   }
 
+  @Test
+  public void shouldInvokeStaticFunction() throws Exception {
+    final FunctionInvoker udf = FunctionLoaderUtils.createFunctionInvoker(
+        getClass().getMethod("staticUdf", int.class));
+
+    assertThat(udf.eval(this, 1), equalTo(2));
+  }
+
+  @Test
+  public void shouldWrapExceptionThrownByFunction() throws Exception {
+    // Given:
+    final FunctionInvoker udf = FunctionLoaderUtils.createFunctionInvoker(
+        getClass().getMethod("throwingUdf", String.class));
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlFunctionException.class,
+        () -> udf.eval(this, "boom")
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Failed to invoke function"));
+    assertThat(e.getCause(), instanceOf(IllegalArgumentException.class));
+    assertThat(e.getCause().getMessage(), is("boom"));
+  }
+
+  @Test
+  public void shouldWrapErrorThrownByFunction() throws Exception {
+    // Given:
+    final FunctionInvoker udf = FunctionLoaderUtils.createFunctionInvoker(
+        getClass().getMethod("erroringUdf", String.class));
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlFunctionException.class,
+        () -> udf.eval(this, "boom")
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Failed to invoke function"));
+    assertThat(e.getCause(), instanceOf(AssertionError.class));
+    assertThat(e.getCause().getMessage(), is("boom"));
+  }
+
   @Test
   public void shouldInvokeUdafWithMethodWithNoArgs() throws Exception {
     final UdafFactoryInvoker creator
@@ -1065,6 +1172,36 @@ public class UdfLoaderTest {
         "STRUCT<B VARCHAR>");
   }
 
+  @Test
+  public void shouldHandleUdafsWithBytesAggType() throws Exception {
+    createUdafLoader().createUdafFactoryInvoker(
+        UdfLoaderTest.class.getMethod("createStringBytes"),
+        FunctionName.of("test"),
+        "desc",
+        "",
+        "",
+        "");
+  }
+
+  @Test
+  public void shouldThrowWhenUdafReturnsBytes() throws Exception {
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> createUdafLoader().createUdafFactoryInvoker(
+            UdfLoaderTest.class.getMethod("createBytesOutput"),
+            of("test"),
+            "desc",
+            "",
+            "",
+            "")
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "class='class [B' is not supported by UDAFs"));
+  }
+
   @Test
   public void shouldThrowWhenTryingToGenerateUdafThatHasIncorrectTypes() throws Exception {
     // When:
@@ -1187,6 +1324,18 @@ public class UdfLoaderTest {
     return i * l * d;
   }
 
+  public static int staticUdf(final int val) {
+    return val + 1;
+  }
+
+  public String throwingUdf(final String msg) {
+    throw new IllegalArgumentException(msg);
+  }
+
+  public String erroringUdf(final String msg) {
+    throw new AssertionError(msg);
+  }
+
   public static Udaf<Long, Double, Double> createLongDouble() {
     return null;
   }
@@ -1232,6 +1381,14 @@ public class UdfLoaderTest {
     return null;
   }
 
+  public static Udaf<String, byte[], Long> createStringBytes() {
+    return null;
+  }
+
+  public static Udaf<String, byte[], byte[]> createBytesOutput() {
+    return null;
+  }
+
   public Udaf<String, String, String> createNonStatic() {
     return null;
   }
@@ -60,6 +60,23 @@ public class CollectSetUdafTest {
     assertThat(merged, contains(1, 2, null, 3, 4, 5, 6));
   }
 
+  @Test
+  public void shouldRespectSizeLimitOnMerge() {
+    final Udaf<Integer, List<Integer>, List<Integer>> udaf = CollectSetUdaf.createCollectSetInt();
+    List<Integer> lhs = udaf.initialize();
+    List<Integer> rhs = udaf.initialize();
+    for (int i = 0; i < 800; i++) {
+      lhs = udaf.aggregate(i, lhs);
+      rhs = udaf.aggregate(i + 400, rhs);
+    }
+
+    final List<Integer> merged = udaf.merge(lhs, rhs);
+
+    assertThat(merged, hasSize(1000));
+    assertThat(merged, hasItem(999));
+    assertThat(merged, not(hasItem(1000)));
+  }
+
   @Test
   public void shouldRespectSizeLimit() {
     final Udaf<Integer, List<Integer>, List<Integer>> udaf = CollectSetUdaf.createCollectSetInt();
@@ -16,10 +16,15 @@
 package io.confluent.ksql.function.udaf.count;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
 
 import com.google.common.primitives.Ints;
 import io.confluent.ksql.function.udaf.Udaf;
+import io.confluent.ksql.function.udaf.hll.HllSketch;
+import io.confluent.ksql.util.KsqlException;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -105,4 +110,64 @@ public class CountDistinctKudafTest {
     assertThat(udaf.map(udaf.merge(agg1, agg2)), is(5L));
   }
 
+  @Test
+  public void shouldCountWithSketchOfSuppliedPrecision() {
+    // Given:
+    final Udaf<Integer, byte[], Long> udaf = CountDistinct.distinct(10);
+    byte[] agg = udaf.initialize();
+
+    // When:
+    for (int i = 0; i < 100; i++) {
+      agg = udaf.aggregate(i % 10, agg);
+    }
+    agg = udaf.aggregate(null, agg);
+
+    // Then:
+    assertThat(HllSketch.precision(agg), is(10));
+    assertThat(udaf.map(agg), is(10L));
+  }
+
+  @Test
+  public void shouldUpdateSketchInPlace() {
+    // Given:
+    final Udaf<String, byte[], Long> udaf = CountDistinct.distinct(14);
+    final byte[] agg = udaf.initialize();
+
+    // When:
+    final byte[] result = udaf.aggregate("a", agg);
+
+    // Then:
+    assertThat(result, is(sameInstance(agg)));
+  }
+
+  @Test
+  public void shouldMergeSketches() {
+    // Given:
+    final Udaf<String, byte[], Long> udaf = CountDistinct.distinct(14);
+    byte[] agg1 = udaf.initialize();
+    byte[] agg2 = udaf.initialize();
+
+    // When:
+    for (int i = 0; i < 100; i++) {
+      agg1 = udaf.aggregate(String.valueOf(i % 4), agg1);
+    }
+    agg2 = udaf.aggregate("5", agg2);
+
+    // Then:
+    assertThat(udaf.map(udaf.merge(agg1, agg2)), is(5L));
+  }
+
+  @Test
+  public void shouldThrowOnInvalidPrecision() {
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> CountDistinct.distinct(17)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "HyperLogLog precision must be between 4 and 16, got: 17"));
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function.udaf.hll;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+import io.confluent.ksql.util.KsqlException;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class HllSketchTest {
+
+  @Test
+  public void shouldCreateEmptySketch() {
+    // When:
+    final byte[] sketch = HllSketch.create(14);
+
+    // Then:
+    assertThat(sketch.length, is(1 + (1 << 14) * 5 / 8));
+    assertThat(HllSketch.precision(sketch), is(14));
+    assertThat(HllSketch.estimate(sketch), is(0L));
+  }
+
+  @Test
+  public void shouldThrowOnPrecisionOutOfRange() {
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> HllSketch.create(3)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "HyperLogLog precision must be between 4 and 16, got: 3"));
+  }
+
+  @Test
+  public void shouldThrowOnInvalidSketch() {
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> HllSketch.estimate(new byte[]{14, 0, 0})
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "Invalid HyperLogLog sketch: precision=14, size=3"));
+  }
+
+  @Test
+  public void shouldThrowOnNullPrecision() {
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> HllSketch.checkPrecision(null)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "HyperLogLog precision must be between 4 and 16, got: null"));
+  }
+
+  @Test
+  public void shouldCountSmallCardinalitiesExactly() {
+    // Given:
+    final byte[] sketch = HllSketch.create(14);
+
+    // When:
+    for (int i = 0; i < 1000; i++) {
+      HllSketch.add(sketch, "v" + (i % 100));
+    }
+
+    // Then:
+    assertThat(HllSketch.estimate(sketch), is(100L));
+  }
+
+  @Test
+  public void shouldEstimateLargeCardinalities() {
+    // Given:
+    final byte[] sketch = HllSketch.create(14);
+
+    // When:
+    for (int i = 0; i < 1_000_000; i++) {
+      HllSketch.add(sketch, i);
+    }
+
+    // Then:
+    assertThat((double) HllSketch.estimate(sketch), is(closeTo(1_000_000, 30_000)));
+  }
+
+  @Test
+  public void shouldHashByteArraysByContent() {
+    // Given:
+    final byte[] sketch = HllSketch.create(10);
+
+    // When:
+    HllSketch.add(sketch, new byte[]{1, 2});
+    HllSketch.add(sketch, new byte[]{1, 2});
+
+    // Then:
+    assertThat(HllSketch.estimate(sketch), is(1L));
+  }
+
+  @Test
+  public void shouldMergeSamePrecisionInPlace() {
+    // Given:
+    final byte[] one = sketchOf(14, 0, 5000);
+    final byte[] two = sketchOf(14, 2500, 7500);
+    final byte[] twoCopy = two.clone();
+
+    // When:
+    final byte[] result = HllSketch.merge(one, two);
+
+    // Then:
+    assertThat(result, is(sameInstance(one)));
+    assertThat(Arrays.equals(two, twoCopy), is(true));
+    assertThat(result, is(sketchOf(14, 0, 7500)));
+  }
+
+  @Test
+  public void shouldMergeToLowerPrecision() {
+    // Given:
+    final byte[] low = sketchOf(10, 0, 5000);
+    final byte[] high = sketchOf(14, 2500, 7500);
+
+    // When:
+    final byte[] result = HllSketch.merge(high, low);
+
+    // Then:
+    assertThat(result, is(not(sameInstance(low))));
+    assertThat(HllSketch.precision(result), is(10));
+    assertThat(result, is(sketchOf(10, 0, 7500)));
+  }
+
+  @Test
+  public void shouldFoldHighPrecisionSketchLikeDirectInsertion() {
+    // Given:
+    final byte[] high = sketchOf(16, 0, 100_000);
+
+    // When:
+    final byte[] result = HllSketch.merge(HllSketch.create(4), high);
+
+    // Then:
+    assertThat(result, is(sketchOf(4, 0, 100_000)));
+  }
+
+  private static byte[] sketchOf(final int precision, final int from, final int to) {
+    final byte[] sketch = HllSketch.create(precision);
+    for (int i = from; i < to; i++) {
+      HllSketch.add(sketch, i);
+    }
+    return sketch;
+  }
+}
@@ -68,6 +68,18 @@ public class IntTopkKudafTest {
     assertThat("Invalid results.", currentVal, equalTo(ImmutableList.of(10)));
   }
 
+  @Test
+  public void shouldInsertIntoMiddleOfFullAggregate() {
+    // Given:
+    final List<Integer> aggregate = Arrays.asList(80, 50, 20);
+
+    // When:
+    final List<Integer> result = topkKudaf.aggregate(50, aggregate);
+
+    // Then:
+    assertThat(result, equalTo(ImmutableList.of(80, 50, 50)));
+  }
+
   @Test
   public void shouldMergeTopK() {
     final List<Integer> array1 = ImmutableList.of(50, 45, 25);
@@ -56,6 +56,30 @@ public class IntTopkDistinctKudafTest {
     assertThat("Invalid results.", currentVal, equalTo(ImmutableList.of(80)));
   }
 
+  @Test
+  public void shouldInsertIntoMiddleOfFullAggregate() {
+    // Given:
+    final List<Integer> aggregate = new ArrayList<>(ImmutableList.of(80, 50, 20));
+
+    // When:
+    final List<Integer> result = intTopkDistinctKudaf.aggregate(60, aggregate);
+
+    // Then:
+    assertThat(result, equalTo(ImmutableList.of(80, 60, 50)));
+  }
+
+  @Test
+  public void shouldIgnoreDuplicateInMiddleOfAggregate() {
+    // Given:
+    final List<Integer> aggregate = new ArrayList<>(ImmutableList.of(80, 50, 20));
+
+    // When:
+    final List<Integer> result = intTopkDistinctKudaf.aggregate(50, aggregate);
+
+    // Then:
+    assertThat(result, equalTo(ImmutableList.of(80, 50, 20)));
+  }
+
   @Test
   public void shouldMergeTopK() {
     final List<Integer> array1 = ImmutableList.of(50, 45, 25);
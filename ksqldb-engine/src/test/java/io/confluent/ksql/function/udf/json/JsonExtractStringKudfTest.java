@@ -18,6 +18,7 @@ package io.confluent.ksql.function.udf.json;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
 
 import io.confluent.ksql.function.KsqlFunctionException;
 import io.confluent.ksql.function.udf.KudfTester;
@@ -91,6 +92,85 @@ public class JsonExtractStringKudfTest {
     assertThat(result, is(nullValue()));
   }
 
+  @Test
+  public void shouldSkipNestedSiblingsOnPath() {
+    // Given:
+    final String doc = "{"
+        + "\"skip\":{\"target\":\"wrong\",\"nested\":[{\"target\":\"wrong\"}]},"
+        + "\"list\":[{\"target\":\"wrong\"},[1,[2]],{\"target\":{\"a\":[1.50,true]}}]"
+        + "}";
+
+    // When:
+    final Object result = udf.evaluate(doc, "$.list[2].target");
+
+    // Then:
+    assertThat(result, is("{\"a\":[1.50,true]}"));
+  }
+
+  @Test
+  public void shouldReturnNullIfIndexOutOfBounds() {
+    // When:
+    final Object result = udf.evaluate(JSON_DOC, "$.array[2]");
+
+    // Then:
+    assertThat(result, is(nullValue()));
+  }
+
+  @Test
+  public void shouldReturnNullIfPathContinuesPastValue() {
+    // When:
+    final Object result = udf.evaluate(JSON_DOC, "$.thing1.thing2.thing3");
+
+    // Then:
+    assertThat(result, is(nullValue()));
+  }
+
+  @Test
+  public void shouldExtractJsonNull() {
+    // When:
+    final Object result = udf.evaluate("{\"a\":null}", "$.a");
+
+    // Then:
+    assertThat(result, is("null"));
+  }
+
+  @Test
+  public void shouldReturnLastOfDuplicateFields() {
+    assertExtractsFromStreamAndTree("{\"a\":\"first\",\"a\":\"last\"}", "$.a", "last");
+  }
+
+  @Test
+  public void shouldReturnLastOfDuplicateFieldsOnPath() {
+    assertExtractsFromStreamAndTree("{\"a\":{\"b\":\"x\"},\"a\":5}", "$.a.b", null);
+    assertExtractsFromStreamAndTree("{\"a\":5,\"a\":{\"b\":\"x\"}}", "$.a.b", "x");
+  }
+
+  @Test
+  public void shouldThrowOnInvalidJsonAfterValue() {
+    // Given:
+    final String doc = new String("{\"a\":\"x\",\"b\":}");
+
+    // Then:
+    assertThrows(KsqlFunctionException.class, () -> udf.evaluate(doc, "$.a"));
+    assertThrows(KsqlFunctionException.class, () -> udf.evaluate(doc, "$.a"));
+  }
+
+  @Test
+  public void shouldExtractSeveralPathsFromSameDocument() {
+    // Given:
+    final String doc = new String(JSON_DOC);
+
+    // When:
+    final Object first = new JsonExtractStringKudf().evaluate(doc, "$.thing1.thing2");
+    final Object second = new JsonExtractStringKudf().evaluate(doc, "$.array[1]");
+    final Object third = new JsonExtractStringKudf().evaluate(doc, "$.thing1");
+
+    // Then:
+    assertThat(first, is("hello"));
+    assertThat(second, is("102"));
+    assertThat(third, is("{\"thing2\":\"hello\"}"));
+  }
+
   @Test(expected = KsqlFunctionException.class)
   public void shouldThrowIfTooFewParameters() {
     udf.evaluate(JSON_DOC);
@@ -112,4 +192,18 @@ public class JsonExtractStringKudfTest {
         .parallel()
         .forEach(idx -> shouldExtractJsonField());
   }
+
+  /**
+   * The first extraction from a document streams it, a second from the same document reads the
+   * tree parsed from it.
+   */
+  private static void assertExtractsFromStreamAndTree(
+      final String json,
+      final String path,
+      final String expected
+  ) {
+    final String doc = new String(json);
+    assertThat(new JsonExtractStringKudf().evaluate(doc, path), is(expected));
+    assertThat(new JsonExtractStringKudf().evaluate(doc, path), is(expected));
+  }
 }
@@ -61,4 +61,11 @@ public class RegexpExtractTest {
   public void shouldReturnNullIfGivenGroupNumberGreaterThanAvailableGroupNumbers() {
     assertNull(udf.regexpExtract("e", "test string", 3), null);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldHandleChangingPatterns() {
+    assertEquals(udf.regexpExtract("e.", "test string"), "es");
+    assertEquals(udf.regexpExtract("s.", "test string"), "st");
+    assertEquals(udf.regexpExtract("e.", "test string"), "es");
+  }
+}
@@ -17,8 +17,12 @@ package io.confluent.ksql.integration;
 
 import static io.confluent.ksql.GenericRow.genericRow;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 
+import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.plan.SelectExpression;
 import io.confluent.ksql.execution.transform.KsqlProcessingContext;
@@ -26,6 +30,7 @@ import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.execution.transform.select.SelectValueMapperFactory;
 import io.confluent.ksql.execution.util.StructKeyUtil;
 import io.confluent.ksql.function.TestFunctionRegistry;
+import io.confluent.ksql.function.udf.json.JsonExtractStringKudf;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
 import io.confluent.ksql.metastore.MetaStore;
 import io.confluent.ksql.name.ColumnName;
@@ -38,6 +43,8 @@ import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.MetaStoreFixture;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.apache.kafka.connect.data.Struct;
 import org.junit.Rule;
 import org.junit.Test;
@@ -56,6 +63,10 @@ public class SelectValueMapperIntegrationTest {
 
   private final KsqlConfig ksqlConfig = new KsqlConfig(Collections.emptyMap());
 
+  private final KsqlConfig fusedKsqlConfig = new KsqlConfig(ImmutableMap.of(
+      KsqlConfig.KSQL_CODEGEN_FUSED_ENABLED_CONFIG, true
+  ));
+
   @Mock
   private ProcessingLogger processingLogger;
   @Mock
@@ -102,8 +113,164 @@ public class SelectValueMapperIntegrationTest {
     assertThat(row, is(genericRow(2L, "foo", "whatever", 7.0D)));
   }
 
+  @Test
+  public void shouldSelectChosenColumnsWithFusedCodeGen() {
+    // Given:
+    final KsqlTransformer<Struct, GenericRow> selectTransformer =
+        givenSelectMapperFor(
+            "SELECT col0, col2, col3 FROM test1 WHERE col0 > 100 EMIT CHANGES;",
+            fusedKsqlConfig
+        );
+
+    // When:
+    final GenericRow transformed = selectTransformer.transform(
+        NON_WINDOWED_KEY,
+        genericRow(1L, "hi", "bye", 2.0D, "blah", 1521834663L, "key1"),
+        ctx
+    );
+
+    // Then:
+    assertThat(transformed, is(genericRow(1L, "bye", 2.0D)));
+  }
+
+  @Test
+  public void shouldApplyUdfsToColumnsWithFusedCodeGen() {
+    // Given:
+    final KsqlTransformer<Struct, GenericRow> selectTransformer =
+        givenSelectMapperFor(
+            "SELECT col0, col1, col2, CEIL(col3), CEIL(col3) FROM test1 EMIT CHANGES;",
+            fusedKsqlConfig
+        );
+
+    // When:
+    final GenericRow row = selectTransformer.transform(
+        NON_WINDOWED_KEY,
+        genericRow(2L, "foo", "whatever", 6.9D, "boo", "hoo", 1521834663L, "key1"),
+        ctx
+    );
+
+    // Then:
+    assertThat(row, is(genericRow(2L, "foo", "whatever", 7.0D, 7.0D)));
+  }
+
+  @Test
+  public void shouldEvaluateSharedSubExpressionsWithFusedCodeGen() {
+    // Given:
+    final KsqlTransformer<Struct, GenericRow> selectTransformer =
+        givenSelectMapperFor(
+            "SELECT col0 * 2, (col0 * 2) + 1, (col0 * 2) > 3 FROM test1 EMIT CHANGES;",
+            fusedKsqlConfig
+        );
+
+    // When:
+    final GenericRow row = selectTransformer.transform(
+        NON_WINDOWED_KEY,
+        genericRow(2L, "foo", "whatever", 6.9D, "boo", "hoo", 1521834663L, "key1"),
+        ctx
+    );
+
+    // Then:
+    assertThat(row, is(genericRow(4L, 5L, true)));
+  }
+
+  @Test
+  public void shouldOnlyFailExpressionsThatThrowWithFusedCodeGen() {
+    // Given:
+    final KsqlTransformer<Struct, GenericRow> selectTransformer =
+        givenSelectMapperFor(
+            "SELECT col0, (col0 * 2) / (col0 - 2), col0 * 2 FROM test1 EMIT CHANGES;",
+            fusedKsqlConfig
+        );
+
+    // When:
+    final GenericRow row = selectTransformer.transform(
+        NON_WINDOWED_KEY,
+        genericRow(2L, "foo", "whatever", 6.9D, "boo", "hoo", 1521834663L, "key1"),
+        ctx
+    );
+
+    // Then:
+    assertThat(row, is(genericRow(2L, null, 4L)));
+    verify(processingLogger).error(any());
+  }
+
+  @Test
+  public void shouldReadJsonDocumentAtMostTwicePerRowForManyPaths() {
+    shouldReadJsonDocumentAtMostTwicePerRowForManyPaths(ksqlConfig);
+  }
+
+  @Test
+  public void shouldReadJsonDocumentAtMostTwicePerRowForManyPathsWithFusedCodeGen() {
+    shouldReadJsonDocumentAtMostTwicePerRowForManyPaths(fusedKsqlConfig);
+  }
+
+  @Test
+  public void shouldReadJsonDocumentsOncePerPathIfColumnsAlternate() {
+    // Given:
+    final KsqlTransformer<Struct, GenericRow> selectTransformer =
+        givenSelectMapperFor(
+            "SELECT EXTRACTJSONFIELD(col1, '$.a'), EXTRACTJSONFIELD(col2, '$.a'), "
+                + "EXTRACTJSONFIELD(col1, '$.b'), EXTRACTJSONFIELD(col2, '$.b') "
+                + "FROM test1 EMIT CHANGES;"
+        );
+
+    final long readsBefore = JsonExtractStringKudf.documentReads();
+
+    // When:
+    final GenericRow row = selectTransformer.transform(
+        NON_WINDOWED_KEY,
+        genericRow(1L, "{\"a\": \"1\", \"b\": \"2\"}", "{\"a\": \"3\", \"b\": \"4\"}",
+            2.0D, null, null),
+        ctx
+    );
+
+    // Then:
+    assertThat(row, is(genericRow("1", "3", "2", "4")));
+    assertThat(JsonExtractStringKudf.documentReads() - readsBefore, is(4L));
+  }
+
+  private void shouldReadJsonDocumentAtMostTwicePerRowForManyPaths(final KsqlConfig ksqlConfig) {
+    // Given:
+    final KsqlTransformer<Struct, GenericRow> selectTransformer =
+        givenSelectMapperFor(
+            "SELECT EXTRACTJSONFIELD(col1, '$.a'), EXTRACTJSONFIELD(col1, '$.b'), "
+                + "EXTRACTJSONFIELD(col1, '$.c[1]'), EXTRACTJSONFIELD(col1, '$.d.e') "
+                + "FROM test1 EMIT CHANGES;",
+            ksqlConfig
+        );
+
+    final long readsBefore = JsonExtractStringKudf.documentReads();
+
+    // When:
+    final List<GenericRow> rows = IntStream.range(0, 3)
+        .mapToObj(i -> selectTransformer.transform(
+            NON_WINDOWED_KEY,
+            genericRow(1L,
+                "{\"a\": \"a" + i + "\", \"b\": " + i + ", \"c\": [0, " + i + "], "
+                    + "\"d\": {\"e\": \"e" + i + "\"}}",
+                "x", 2.0D, null, null),
+            ctx
+        ))
+        .collect(Collectors.toList());
+
+    // Then:
+    assertThat(rows, contains(
+        genericRow("a0", "0", "0", "e0"),
+        genericRow("a1", "1", "1", "e1"),
+        genericRow("a2", "2", "2", "e2")
+    ));
+    assertThat(JsonExtractStringKudf.documentReads() - readsBefore, is(2L * rows.size()));
+  }
+
   private KsqlTransformer<Struct, GenericRow> givenSelectMapperFor(
       final String query) {
+    return givenSelectMapperFor(query, ksqlConfig);
+  }
+
+  private KsqlTransformer<Struct, GenericRow> givenSelectMapperFor(
+      final String query,
+      final KsqlConfig ksqlConfig
+  ) {
     final PlanNode planNode = AnalysisTestUtil.buildLogicalPlan(ksqlConfig, query, metaStore);
     final ProjectNode projectNode = (ProjectNode) planNode.getSources().get(0);
     final LogicalSchema schema = planNode.getTheSourceNode().getSchema();
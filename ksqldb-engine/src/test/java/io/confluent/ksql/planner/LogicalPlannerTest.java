@@ -22,6 +22,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
 import io.confluent.ksql.execution.expression.tree.ComparisonExpression.Type;
 import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
@@ -350,6 +352,71 @@ public class LogicalPlannerTest {
     assertThat(source.getKeyField().ref(), is(Optional.of(ColumnName.of("NEW_KEY"))));
   }
 
+  @Test
+  public void shouldNotProjectSourceColumnsByDefault() {
+    // When:
+    final PlanNode logicalPlan = buildLogicalPlan("SELECT col2 FROM test1 EMIT CHANGES;");
+
+    // Then:
+    assertThat(sourceNode(logicalPlan).getProjectedColumns(), is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldProjectReferencedSourceColumnsIfEnabled() {
+    // Given:
+    givenSourceProjectionPushdown();
+
+    // When:
+    final PlanNode logicalPlan =
+        buildLogicalPlan("SELECT col2 FROM test1 WHERE col3 > 1.5 EMIT CHANGES;");
+
+    // Then:
+    assertThat(sourceNode(logicalPlan).getProjectedColumns(), is(Optional.of(ImmutableList.of(
+        ColumnName.of("COL0"), // key field
+        ColumnName.of("COL2"),
+        ColumnName.of("COL3")
+    ))));
+  }
+
+  @Test
+  public void shouldNotProjectSourceColumnsForSelectStar() {
+    // Given:
+    givenSourceProjectionPushdown();
+
+    // When:
+    final PlanNode logicalPlan = buildLogicalPlan("SELECT * FROM test1 EMIT CHANGES;");
+
+    // Then:
+    assertThat(sourceNode(logicalPlan).getProjectedColumns(), is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotProjectSourceColumnsIfAllReferenced() {
+    // Given:
+    givenSourceProjectionPushdown();
+
+    // When:
+    final PlanNode logicalPlan = buildLogicalPlan(
+        "SELECT col0, col1, col2, col3, col4, col5 FROM test1 EMIT CHANGES;");
+
+    // Then:
+    assertThat(sourceNode(logicalPlan).getProjectedColumns(), is(Optional.empty()));
+  }
+
+  private void givenSourceProjectionPushdown() {
+    ksqlConfig = new KsqlConfig(ImmutableMap.of(
+        KsqlConfig.KSQL_SOURCE_PROJECTION_PUSHDOWN_ENABLED_CONFIG, true
+    ));
+  }
+
+  private static DataSourceNode sourceNode(final PlanNode root) {
+    PlanNode node = root;
+    while (!(node instanceof DataSourceNode)) {
+      node = node.getSources().get(0);
+    }
+    return (DataSourceNode) node;
+  }
+
   private PlanNode buildLogicalPlan(final String query) {
     return AnalysisTestUtil.buildLogicalPlan(ksqlConfig, query, metaStore);
   }
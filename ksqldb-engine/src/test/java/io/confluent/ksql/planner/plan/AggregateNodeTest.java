@@ -31,11 +31,13 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Streams;
 import io.confluent.ksql.GenericRow;
@@ -50,6 +52,7 @@ import io.confluent.ksql.metastore.MetaStore;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.query.QueryId;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.serde.internal.InternalFormat;
 import io.confluent.ksql.structured.SchemaKStream;
 import io.confluent.ksql.structured.SchemaKTable;
 import io.confluent.ksql.testutils.AnalysisTestUtil;
@@ -306,6 +309,36 @@ public class AggregateNodeTest {
     ));
   }
 
+  @Test
+  public void shouldUseInternalFormatForInternalTopicsIfEnabled() {
+    // Given:
+    final KsqlConfig ksqlConfig = KSQL_CONFIG.cloneWithPropertyOverwrite(ImmutableMap.of(
+        KsqlConfig.KSQL_INTERNAL_TOPICS_BINARY_FORMAT_ENABLED_CONFIG, true
+    ));
+
+    final AggregateNode node = buildAggregateNode(
+        "SELECT col0, sum(col3), count(col3) FROM test1 GROUP BY col0 EMIT CHANGES;");
+
+    // When:
+    buildQuery(node, ksqlConfig);
+
+    // Then:
+    verify(ksqlStreamBuilder, times(2)).buildValueSerde(
+        eq(InternalFormat.FORMAT_INFO),
+        any(),
+        queryContextCaptor.capture()
+    );
+
+    final List<String> loggers = queryContextCaptor.getAllValues().stream()
+        .map(ctx -> QueryLoggerUtil.queryLoggerName(queryId, ctx))
+        .collect(Collectors.toList());
+
+    assertThat(loggers, contains(
+        "queryid.Aggregate.GroupBy",
+        "queryid.Aggregate.Aggregate.Materialize"
+    ));
+  }
+
   @Test
   public void shouldGroupByFunction() {
     // Given:
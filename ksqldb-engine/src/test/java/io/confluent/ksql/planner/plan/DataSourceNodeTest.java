@@ -26,6 +26,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -174,7 +175,7 @@ public class DataSourceNodeTest {
     when(dataSource.getKsqlTopic()).thenReturn(topic);
     when(dataSource.getDataSourceType()).thenReturn(DataSourceType.KTABLE);
 
-    when(schemaKStreamFactory.create(any(), any(), any(), any()))
+    when(schemaKStreamFactory.create(any(), any(), any(), any(), any()))
         .thenAnswer(inv -> inv.<DataSource>getArgument(1)
             .getDataSourceType() == DataSourceType.KSTREAM
             ? stream : table
@@ -292,7 +293,7 @@ public class DataSourceNodeTest {
     node.buildStream(ksqlStreamBuilder);
 
     // Then:
-    verify(schemaKStreamFactory).create(any(), any(), any(), any());
+    verify(schemaKStreamFactory).create(any(), any(), any(), any(), any());
   }
 
   // should this even be possible? if you are using a timestamp extractor then shouldn't the name
@@ -306,7 +307,7 @@ public class DataSourceNodeTest {
     node.buildStream(ksqlStreamBuilder);
 
     // Then:
-    verify(schemaKStreamFactory).create(any(), any(), any(), any());
+    verify(schemaKStreamFactory).create(any(), any(), any(), any(), any());
   }
 
   @Test
@@ -324,7 +325,8 @@ public class DataSourceNodeTest {
         same(ksqlStreamBuilder),
         same(dataSource),
         stackerCaptor.capture(),
-        same(node.getKeyField())
+        same(node.getKeyField()),
+        eq(Optional.empty())
     );
     assertThat(
         stackerCaptor.getValue().getQueryContext().getContext(),
@@ -345,7 +347,8 @@ public class DataSourceNodeTest {
         same(ksqlStreamBuilder),
         same(dataSource),
         stackerCaptor.capture(),
-        same(node.getKeyField())
+        same(node.getKeyField()),
+        eq(Optional.empty())
     );
     assertThat(
         stackerCaptor.getValue().getQueryContext().getContext(),
@@ -353,6 +356,33 @@ public class DataSourceNodeTest {
     );
   }
 
+  @Test
+  public void shouldPassProjectedColumnsToSource() {
+    // Given:
+    when(dataSource.getSchema()).thenReturn(REAL_SCHEMA);
+    when(dataSource.getKeyField()).thenReturn(KEY_FIELD);
+    final List<ColumnName> projected = ImmutableList.of(FIELD1);
+    node = new DataSourceNode(
+        PLAN_NODE_ID,
+        dataSource,
+        SOURCE_NAME,
+        Optional.of(projected),
+        schemaKStreamFactory
+    );
+
+    // When:
+    node.buildStream(ksqlStreamBuilder);
+
+    // Then:
+    verify(schemaKStreamFactory).create(
+        same(ksqlStreamBuilder),
+        same(dataSource),
+        any(),
+        same(node.getKeyField()),
+        eq(Optional.of(projected))
+    );
+  }
+
   @Test
   public void shouldBuildTableByConvertingFromStream() {
     // Given:
@@ -422,6 +452,7 @@ public class DataSourceNodeTest {
         PLAN_NODE_ID,
         dataSource,
         SOURCE_NAME,
+        Optional.empty(),
         schemaKStreamFactory
     );
   }
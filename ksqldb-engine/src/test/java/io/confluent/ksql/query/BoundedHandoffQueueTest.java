@@ -0,0 +1,204 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BoundedHandoffQueueTest {
+
+  private static final int CAPACITY = 2;
+
+  @Rule
+  public final Timeout timeout = Timeout.seconds(10);
+
+  @Mock
+  private Runnable dataListener;
+  private BoundedHandoffQueue<String> queue;
+
+  @Before
+  public void setUp() {
+    givenQueue(QueueOverflowPolicy.BLOCK);
+  }
+
+  @Test
+  public void shouldSignalListenerOnceUntilQueueFoundEmpty() throws Exception {
+    // When:
+    queue.offer("a");
+    queue.offer("b");
+
+    // Then:
+    verify(dataListener, times(1)).run();
+  }
+
+  @Test
+  public void shouldSignalListenerAgainOnceQueueFoundEmpty() throws Exception {
+    // Given:
+    queue.offer("a");
+    queue.poll();
+    assertThat(queue.poll(), is(nullValue()));
+
+    // When:
+    queue.offer("b");
+
+    // Then:
+    verify(dataListener, times(2)).run();
+  }
+
+  @Test
+  public void shouldNotSignalListenerIfItemDropped() throws Exception {
+    // Given:
+    givenQueue(QueueOverflowPolicy.DROP_NEWEST);
+    queue.offer("a");
+    queue.offer("b");
+    queue.drainTo(new ArrayList<>());
+
+    // When:
+    final boolean added = queue.offer("c");
+
+    // Then:
+    assertThat(added, is(true));
+    assertThat(queue.offer("d"), is(true));
+    assertThat(queue.offer("e"), is(false));
+    verify(dataListener, times(2)).run();
+  }
+
+  @Test
+  public void shouldDropOldestItems() throws Exception {
+    // Given:
+    givenQueue(QueueOverflowPolicy.DROP_OLDEST);
+    queue.offer("a");
+    queue.offer("b");
+
+    // When:
+    queue.offer("c");
+
+    // Then:
+    assertThat(drain(), contains("b", "c"));
+    assertThat(queue.droppedCount(), is(1L));
+  }
+
+  @Test
+  public void shouldNotSpinDroppingOldestItemsFromConcurrentProducers() throws Exception {
+    // Given:
+    givenQueue(QueueOverflowPolicy.DROP_OLDEST);
+    final int producers = 4;
+    final int itemsPerProducer = 10_000;
+    final List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < producers; i++) {
+      threads.add(new Thread(() -> {
+        for (int j = 0; j < itemsPerProducer; j++) {
+          try {
+            queue.offer("x");
+          } catch (final InterruptedException e) {
+            return;
+          }
+        }
+      }));
+    }
+
+    // When:
+    threads.forEach(Thread::start);
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    // Then:
+    final List<String> remaining = drain();
+    assertThat(remaining.size() <= CAPACITY + producers, is(true));
+    assertThat(remaining.size() + queue.droppedCount(), is((long) producers * itemsPerProducer));
+  }
+
+  @Test
+  public void shouldRejectItemsOnceDisconnected() throws Exception {
+    // Given:
+    givenQueue(QueueOverflowPolicy.DISCONNECT);
+    queue.offer("a");
+    queue.offer("b");
+
+    // When:
+    final boolean added = queue.offer("c");
+
+    // Then:
+    assertThat(added, is(false));
+    assertThat(queue.isDisconnected(), is(true));
+    assertThat(queue.offer("d"), is(false));
+    assertThat(drain(), contains("a", "b"));
+  }
+
+  @Test
+  public void shouldUnblockProducerWhenItemRemoved() throws Exception {
+    // Given:
+    queue.offer("a");
+    queue.offer("b");
+    final Thread consumer = new Thread(() -> {
+      try {
+        Thread.sleep(100);
+      } catch (final InterruptedException e) {
+        return;
+      }
+      queue.poll();
+    });
+    consumer.start();
+
+    // When:
+    final boolean added = queue.offer("c");
+
+    // Then:
+    consumer.join();
+    assertThat(added, is(true));
+    assertThat(drain(), contains("b", "c"));
+    assertThat(queue.droppedCount(), is(0L));
+  }
+
+  @Test
+  public void shouldTimeoutPollOnEmptyQueue() throws Exception {
+    // When:
+    final String item = queue.poll(10, TimeUnit.MILLISECONDS);
+
+    // Then:
+    assertThat(item, is(nullValue()));
+    verify(dataListener, never()).run();
+  }
+
+  private void givenQueue(final QueueOverflowPolicy overflowPolicy) {
+    queue = new BoundedHandoffQueue<>(CAPACITY, overflowPolicy, 10);
+    queue.setDataListener(dataListener);
+  }
+
+  private List<String> drain() {
+    final List<String> items = new ArrayList<>();
+    queue.drainTo(items);
+    return items;
+  }
+}
@@ -3,11 +3,15 @@ package io.confluent.ksql.query;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -22,11 +26,13 @@ import io.confluent.ksql.execution.materialization.MaterializationInfo;
 import io.confluent.ksql.execution.plan.ExecutionStep;
 import io.confluent.ksql.execution.plan.KStreamHolder;
 import io.confluent.ksql.execution.plan.KTableHolder;
+import io.confluent.ksql.execution.plan.StreamSource;
 import io.confluent.ksql.execution.streams.materialization.KsqlMaterializationFactory;
 import io.confluent.ksql.execution.streams.materialization.Materialization;
 import io.confluent.ksql.execution.streams.materialization.ks.KsMaterialization;
 import io.confluent.ksql.execution.streams.materialization.ks.KsMaterializationFactory;
 import io.confluent.ksql.function.FunctionRegistry;
+import io.confluent.ksql.internal.QueryStateListener;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
 import io.confluent.ksql.logging.processing.ProcessingLoggerFactory;
@@ -50,6 +56,7 @@ import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.PersistentQueryMetadata;
 import io.confluent.ksql.util.QueryMetadata;
 import io.confluent.ksql.util.TransientQueryMetadata;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -66,10 +73,13 @@ import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KafkaStreams.State;
+import org.apache.kafka.streams.KafkaStreams.StateListener;
 import org.apache.kafka.streams.StreamsBuilder;
 import org.apache.kafka.streams.StreamsConfig;
 import org.apache.kafka.streams.Topology;
 import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.processor.ProcessorSupplier;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -154,10 +164,13 @@ public class QueryExecutorTest {
   private KTableHolder<Struct> tableHolder;
   @Mock
   private KStreamHolder<Struct> streamHolder;
+  @Mock
+  private StreamSource streamSource;
   @Captor
   private ArgumentCaptor<Map<String, Object>> propertyCaptor;
 
   private QueryExecutor queryBuilder;
+  private final SharedTopologyRegistry sharedTopologies = new SharedTopologyRegistry();
   private final Stacker stacker = new Stacker();
 
   @Before
@@ -191,6 +204,7 @@ public class QueryExecutorTest {
         serviceContext,
         functionRegistry,
         closeCallback,
+        sharedTopologies,
         kafkaStreamsBuilder,
         streamsBuilder,
         ksqlMaterializationFactory,
@@ -224,6 +238,97 @@ public class QueryExecutorTest {
     assertThat(queryMetadata.getStreamsProperties(), equalTo(propertyCaptor.getValue()));
   }
 
+  @Test
+  public void shouldShareTopologyBetweenTransientQueriesOnSameSource() {
+    // Given:
+    givenSharedTransientQuery();
+
+    // When:
+    final TransientQueryMetadata first = buildSharedTransientQuery();
+    final TransientQueryMetadata second = buildSharedTransientQuery();
+
+    // Then:
+    assertThat(first, is(instanceOf(SharedTransientQueryMetadata.class)));
+    assertThat(second, is(instanceOf(SharedTransientQueryMetadata.class)));
+    assertThat(second.getTopology(), is(topology));
+    verify(kafkaStreamsBuilder, times(1)).buildKafkaStreams(any(), any());
+    verify(kstream, times(1)).process(any(ProcessorSupplier.class));
+    assertThat(sharedTopologies.size(), is(1));
+  }
+
+  @Test
+  public void shouldNotShareTopologyIfQueryStartsFromEarliest() {
+    // Given:
+    givenSharedTransientQuery();
+    when(ksqlConfig.getKsqlStreamConfigProps()).thenReturn(ImmutableMap.of(
+        StreamsConfig.consumerPrefix(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG), "earliest"
+    ));
+
+    // When:
+    final TransientQueryMetadata queryMetadata = buildSharedTransientQuery();
+
+    // Then:
+    assertThat(queryMetadata, is(not(instanceOf(SharedTransientQueryMetadata.class))));
+    assertThat(sharedTopologies.size(), is(0));
+  }
+
+  @Test
+  public void shouldPassStateChangesToListenerOfStartedSharedQuery() {
+    // Given:
+    givenSharedTransientQuery();
+    final TransientQueryMetadata query = buildSharedTransientQuery();
+    final QueryStateListener listener = mock(QueryStateListener.class);
+    query.registerQueryStateListener(listener);
+
+    final ArgumentCaptor<StateListener> captor = ArgumentCaptor.forClass(StateListener.class);
+    verify(kafkaStreams).setStateListener(captor.capture());
+
+    // When:
+    query.start();
+    captor.getValue().onChange(State.RUNNING, State.REBALANCING);
+
+    // Then:
+    verify(listener).onChange(State.RUNNING, State.REBALANCING);
+  }
+
+  @Test
+  public void shouldStartSharedTopologyOnce() {
+    // Given:
+    givenSharedTransientQuery();
+    final TransientQueryMetadata first = buildSharedTransientQuery();
+    final TransientQueryMetadata second = buildSharedTransientQuery();
+
+    // When:
+    first.start();
+    second.start();
+
+    // Then:
+    verify(kafkaStreams, times(1)).start();
+  }
+
+  @Test
+  public void shouldOnlyCloseSharedTopologyWhenLastTransientQueryCloses() {
+    // Given:
+    givenSharedTransientQuery();
+    final TransientQueryMetadata first = buildSharedTransientQuery();
+    final TransientQueryMetadata second = buildSharedTransientQuery();
+
+    // When:
+    first.close();
+
+    // Then:
+    verify(kafkaStreams, never()).close(any(Duration.class));
+    assertThat(first.isRunning(), is(false));
+    assertThat(first.getState(), is("NOT_RUNNING"));
+
+    // When:
+    second.close();
+
+    // Then:
+    verify(kafkaStreams).close(any(Duration.class));
+    assertThat(sharedTopologies.size(), is(0));
+  }
+
   @Test
   public void shouldBuildPersistentQueryCorrectly() {
     // When:
@@ -614,7 +719,32 @@ public class QueryExecutorTest {
     return propertyCaptor.getValue();
   }
 
+  private void givenSharedTransientQuery() {
+    when(ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PUSH_SHARED_ENABLED_CONFIG)).thenReturn(true);
+    when(ksqlConfig.getString(KsqlConfig.KSQL_QUERY_PUSH_QUEUE_OVERFLOW_POLICY_CONFIG))
+        .thenReturn("BLOCK");
+    when(ksqlConfig.getKsqlStreamConfigProps())
+        .thenReturn(ImmutableMap.of(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest"));
+    when(streamSource.build(any())).thenReturn(streamHolder);
+    when(streamHolder.getStream()).thenReturn(kstream);
+    when(streamHolder.getSchema()).thenReturn(SINK_SCHEMA);
+  }
+
+  private TransientQueryMetadata buildSharedTransientQuery() {
+    return queryBuilder.buildTransientQuery(
+        STATEMENT_TEXT,
+        QUERY_ID,
+        SOURCES,
+        streamSource,
+        SUMMARY,
+        SINK_SCHEMA,
+        LIMIT
+    );
+  }
+
   private void givenTransientQuery() {
+    when(ksqlConfig.getString(KsqlConfig.KSQL_QUERY_PUSH_QUEUE_OVERFLOW_POLICY_CONFIG))
+        .thenReturn("BLOCK");
     when(physicalPlan.build(any())).thenReturn(streamHolder);
     when(streamHolder.getStream()).thenReturn(kstream);
   }
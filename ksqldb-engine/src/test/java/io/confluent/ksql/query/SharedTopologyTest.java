@@ -0,0 +1,180 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import static io.confluent.ksql.GenericRow.genericRow;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import java.util.function.Consumer;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KafkaStreams.State;
+import org.apache.kafka.streams.KafkaStreams.StateListener;
+import org.apache.kafka.streams.Topology;
+import org.apache.kafka.streams.processor.Processor;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SharedTopologyTest {
+
+  private static final GenericRow ROW = genericRow("a", 1);
+  private static final long ROW_TIME = 1234L;
+
+  @Mock
+  private KafkaStreams kafkaStreams;
+  @Mock
+  private Topology topology;
+  @Mock
+  private LogicalSchema schema;
+  @Mock
+  private ProcessorContext context;
+  @Mock
+  private SharedTopology.Subscriber subscriber1;
+  @Mock
+  private SharedTopology.Subscriber subscriber2;
+  @Mock
+  private Consumer<Exception> onFailure1;
+  @Mock
+  private Consumer<Exception> onFailure2;
+  @Mock
+  private StateListener stateListener;
+
+  private SharedTopology sharedTopology;
+  private Processor<Object, GenericRow> processor;
+
+  @Before
+  public void setUp() {
+    when(context.timestamp()).thenReturn(ROW_TIME);
+
+    final SharedTopology.Dispatcher dispatcher = new SharedTopology.Dispatcher();
+
+    sharedTopology = new SharedTopology(
+        "app-id",
+        kafkaStreams,
+        topology,
+        ImmutableMap.of(),
+        schema,
+        dispatcher,
+        100
+    );
+
+    processor = dispatcher.newProcessor();
+    processor.init(context);
+  }
+
+  @Test
+  public void shouldStartOnFirstSubscribe() {
+    // When:
+    sharedTopology.subscribe(subscriber1, onFailure1);
+    sharedTopology.subscribe(subscriber2, onFailure2);
+
+    // Then:
+    verify(kafkaStreams, times(1)).start();
+  }
+
+  @Test
+  public void shouldPassRowsToEachSubscriber() {
+    // Given:
+    sharedTopology.subscribe(subscriber1, onFailure1);
+    sharedTopology.subscribe(subscriber2, onFailure2);
+
+    // When:
+    processor.process("k", ROW);
+
+    // Then:
+    verify(subscriber1).accept("k", ROW, ROW_TIME);
+    verify(subscriber2).accept("k", ROW, ROW_TIME);
+  }
+
+  @Test
+  public void shouldStopPassingRowsOnUnsubscribe() {
+    // Given:
+    sharedTopology.subscribe(subscriber1, onFailure1);
+    sharedTopology.unsubscribe(subscriber1);
+
+    // When:
+    processor.process("k", ROW);
+
+    // Then:
+    verify(subscriber1, never()).accept(any(), any(), anyLong());
+    assertThat(sharedTopology.subscriberCount(), is(0));
+  }
+
+  @Test
+  public void shouldRemoveFailedSubscriberAndKeepPassingRowsToOthers() {
+    // Given:
+    final RuntimeException e = new RuntimeException("Boom");
+    doThrow(e).when(subscriber1).accept(any(), any(), anyLong());
+    sharedTopology.subscribe(subscriber1, onFailure1);
+    sharedTopology.subscribe(subscriber2, onFailure2);
+
+    // When:
+    processor.process("k", ROW);
+    processor.process("k", ROW);
+
+    // Then:
+    verify(subscriber1, times(1)).accept(any(), any(), anyLong());
+    verify(onFailure1, times(1)).accept(e);
+    verify(subscriber2, times(2)).accept("k", ROW, ROW_TIME);
+    verify(onFailure2, never()).accept(any());
+    assertThat(sharedTopology.subscriberCount(), is(1));
+  }
+
+  @Test
+  public void shouldPassStateChangesToListeners() {
+    // Given:
+    final ArgumentCaptor<StateListener> captor = ArgumentCaptor.forClass(StateListener.class);
+    verify(kafkaStreams).setStateListener(captor.capture());
+    sharedTopology.addStateListener(stateListener);
+
+    // When:
+    captor.getValue().onChange(State.RUNNING, State.REBALANCING);
+
+    // Then:
+    verify(stateListener).onChange(State.RUNNING, State.REBALANCING);
+  }
+
+  @Test
+  public void shouldNotPassStateChangesToRemovedListeners() {
+    // Given:
+    final ArgumentCaptor<StateListener> captor = ArgumentCaptor.forClass(StateListener.class);
+    verify(kafkaStreams).setStateListener(captor.capture());
+    sharedTopology.addStateListener(stateListener);
+    sharedTopology.removeStateListener(stateListener);
+
+    // When:
+    captor.getValue().onChange(State.RUNNING, State.REBALANCING);
+
+    // Then:
+    verify(stateListener, never()).onChange(any(), any());
+  }
+}
@@ -17,7 +17,12 @@ package io.confluent.ksql.query;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -26,12 +31,14 @@ import static org.mockito.Mockito.verify;
 
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.query.TransientQueryQueue.QueuePopulator;
+import io.confluent.ksql.util.KsqlException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.OptionalInt;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.kstream.KStream;
@@ -173,14 +180,93 @@ public class TransientQueryQueueTest {
     assertThat(queue.size(), is(MAX_LIMIT));
   }
 
+  @Test
+  public void shouldDropNewestRowsOnceQueueLimitReached() {
+    // Given:
+    givenQueue(OptionalInt.empty(), QueueOverflowPolicy.DROP_NEWEST);
+
+    IntStream.range(0, MAX_LIMIT)
+        .forEach(idx -> queuePopulator.apply("key1", ROW_ONE));
+
+    // When:
+    queuePopulator.apply("should not be queued", ROW_TWO);
+
+    // Then:
+    assertThat(queue.size(), is(MAX_LIMIT));
+    assertThat(queue.droppedCount(), is(1L));
+    assertThat(drainValues().stream().map(KeyValue::value).collect(Collectors.toList()),
+        not(hasItem(ROW_TWO)));
+  }
+
+  @Test
+  public void shouldDropOldestRowsOnceQueueLimitReached() {
+    // Given:
+    givenQueue(OptionalInt.empty(), QueueOverflowPolicy.DROP_OLDEST);
+
+    queuePopulator.apply("dropped", ROW_TWO);
+    IntStream.range(1, MAX_LIMIT)
+        .forEach(idx -> queuePopulator.apply("key1", ROW_ONE));
+
+    // When:
+    queuePopulator.apply("queued", ROW_TWO);
+
+    // Then:
+    assertThat(queue.size(), is(MAX_LIMIT));
+    assertThat(queue.droppedCount(), is(1L));
+    final List<KeyValue<String, GenericRow>> values = drainValues();
+    assertThat(values.get(0), is(new KeyValue<>("key1", ROW_ONE)));
+    assertThat(values.get(MAX_LIMIT - 1), is(new KeyValue<>("queued", ROW_TWO)));
+  }
+
+  @Test
+  public void shouldDisconnectOnceQueueLimitReached() {
+    // Given:
+    givenQueue(OptionalInt.empty(), QueueOverflowPolicy.DISCONNECT);
+
+    IntStream.range(0, MAX_LIMIT)
+        .forEach(idx -> queuePopulator.apply("key1", ROW_ONE));
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> queuePopulator.apply("should not be queued", ROW_TWO)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("not consuming rows fast enough"));
+    assertThat(queue.droppedCount(), is(1L));
+  }
+
+  @Test
+  public void shouldTrackTimeBlockedOnFullQueue() {
+    // Given:
+    givenQueue(OptionalInt.empty());
+
+    IntStream.range(0, MAX_LIMIT)
+        .forEach(idx -> queuePopulator.apply("key1", ROW_ONE));
+
+    givenWillCloseQueueAsync();
+
+    // When:
+    queuePopulator.apply("should not be queued", ROW_TWO);
+
+    // Then:
+    assertThat(queue.blockedTimeMs(), is(greaterThanOrEqualTo(100L)));
+    assertThat(queue.droppedCount(), is(0L));
+  }
+
   private void givenWillCloseQueueAsync() {
     executorService = Executors.newSingleThreadScheduledExecutor();
     executorService.schedule(queue::close, 200, TimeUnit.MILLISECONDS);
   }
 
   private void givenQueue(final OptionalInt limit) {
+    givenQueue(limit, QueueOverflowPolicy.BLOCK);
+  }
+
+  private void givenQueue(final OptionalInt limit, final QueueOverflowPolicy overflowPolicy) {
     clearInvocations(kStreamsApp);
-    queue = new TransientQueryQueue(kStreamsApp, limit, MAX_LIMIT, 1);
+    queue = new TransientQueryQueue(kStreamsApp, limit, overflowPolicy, MAX_LIMIT, 1);
 
     queue.setLimitHandler(limitHandler);
 
@@ -126,7 +126,8 @@ public class SchemaKSourceFactoryTest {
         builder,
         dataSource,
         contextStacker,
-        KEY_FIELD
+        KEY_FIELD,
+        Optional.empty()
     );
 
     // Then:
@@ -149,7 +150,8 @@ public class SchemaKSourceFactoryTest {
         builder,
         dataSource,
         contextStacker,
-        KEY_FIELD
+        KEY_FIELD,
+        Optional.empty()
     );
 
     // Then:
@@ -172,7 +174,8 @@ public class SchemaKSourceFactoryTest {
         builder,
         dataSource,
         contextStacker,
-        KEY_FIELD
+        KEY_FIELD,
+        Optional.empty()
     );
 
     // Then:
@@ -195,7 +198,8 @@ public class SchemaKSourceFactoryTest {
         builder,
         dataSource,
         contextStacker,
-        KEY_FIELD
+        KEY_FIELD,
+        Optional.empty()
     );
 
     // Then:
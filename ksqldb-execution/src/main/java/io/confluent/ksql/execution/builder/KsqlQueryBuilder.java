@@ -37,6 +37,7 @@ import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.QuerySchemas;
 import java.util.LinkedHashMap;
+import java.util.Set;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.StreamsBuilder;
@@ -195,6 +196,38 @@ public final class KsqlQueryBuilder {
     );
   }
 
+  /**
+   * Build a value serde whose deserializer need only decode some of the value columns.
+   *
+   * <p>Columns not in {@code projectedFields} may be {@code null} in deserialized rows.
+   *
+   * @param format the value format.
+   * @param schema the physical schema.
+   * @param queryContext the query context.
+   * @param projectedFields the indexes of the value columns that must be decoded.
+   * @return the serde.
+   */
+  public Serde<GenericRow> buildValueSerde(
+      final FormatInfo format,
+      final PhysicalSchema schema,
+      final QueryContext queryContext,
+      final Set<Integer> projectedFields
+  ) {
+    final String loggerNamePrefix = QueryLoggerUtil.queryLoggerName(queryId, queryContext);
+
+    track(loggerNamePrefix, schema.valueSchema());
+
+    return valueSerdeFactory.create(
+        format,
+        schema.valueSchema(),
+        ksqlConfig,
+        serviceContext.getSchemaRegistryClientFactory(),
+        loggerNamePrefix,
+        processingLogContext,
+        projectedFields
+    );
+  }
+
   private void track(final String loggerNamePrefix, final PersistenceSchema schema) {
     if (schemas.containsKey(loggerNamePrefix)) {
       throw new IllegalStateException("Schema with tracked:" + loggerNamePrefix);
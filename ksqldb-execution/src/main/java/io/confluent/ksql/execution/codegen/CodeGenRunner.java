@@ -17,6 +17,10 @@ package io.confluent.ksql.execution.codegen;
 
 import static java.util.Objects.requireNonNull;
 
+import io.confluent.ksql.execution.codegen.CodeGenSpec.ArgumentSpec;
+import io.confluent.ksql.execution.codegen.CodeGenSpec.ValueArgumentSpec;
+import io.confluent.ksql.execution.codegen.helpers.LikeEvaluator;
+import io.confluent.ksql.execution.codegen.helpers.SharedValue;
 import io.confluent.ksql.execution.expression.tree.CreateArrayExpression;
 import io.confluent.ksql.execution.expression.tree.CreateMapExpression;
 import io.confluent.ksql.execution.expression.tree.CreateStructExpression;
@@ -24,6 +28,7 @@ import io.confluent.ksql.execution.expression.tree.DereferenceExpression;
 import io.confluent.ksql.execution.expression.tree.Expression;
 import io.confluent.ksql.execution.expression.tree.FunctionCall;
 import io.confluent.ksql.execution.expression.tree.LikePredicate;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
 import io.confluent.ksql.execution.expression.tree.SubscriptExpression;
 import io.confluent.ksql.execution.expression.tree.TraversalExpressionVisitor;
 import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
@@ -31,6 +36,7 @@ import io.confluent.ksql.execution.util.ExpressionTypeManager;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.function.KsqlScalarFunction;
 import io.confluent.ksql.function.UdfFactory;
+import io.confluent.ksql.function.udf.Kudf;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.name.FunctionName;
 import io.confluent.ksql.schema.ksql.Column;
@@ -41,7 +47,9 @@ import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -49,6 +57,7 @@ import org.apache.kafka.connect.data.Schema;
 import org.codehaus.commons.compiler.CompileException;
 import org.codehaus.commons.compiler.CompilerFactoryFactory;
 import org.codehaus.commons.compiler.IExpressionEvaluator;
+import org.codehaus.commons.compiler.IScriptEvaluator;
 
 public class CodeGenRunner {
 
@@ -136,6 +145,134 @@ public class CodeGenRunner {
     }
   }
 
+  /**
+   * Compile the supplied {@code expressions} into a single generated method.
+   *
+   * <p>Each column the expressions reference is read from the row once, and sub-expressions
+   * occurring more than once are evaluated once per row, where safe to do so.
+   *
+   * @param expressions the expressions to compile.
+   * @param type the type of the expressions, used in error messages, e.g. "Select".
+   * @return the compiled expressions.
+   */
+  public FusedExpressionMetadata buildFusedCodeGen(
+      final List<Expression> expressions,
+      final String type
+  ) {
+    try {
+      final Visitor visitor = new Visitor();
+      expressions.forEach(exp -> visitor.process(exp, null));
+      final CodeGenSpec spec = visitor.spec.build();
+
+      final List<SqlType> expressionTypes = new ArrayList<>(expressions.size());
+      for (final Expression expression : expressions) {
+        final SqlType expressionType = expressionTypeManager.getExpressionSqlType(expression);
+        if (expressionType == null) {
+          // expressionType can be null if expression is NULL.
+          throw new KsqlException("NULL expression not supported. expression:" + expression);
+        }
+        expressionTypes.add(expressionType);
+      }
+
+      final StringBuilder script = new StringBuilder();
+      final Object[] arguments = new Object[spec.arguments().size()];
+      for (int i = 0; i < arguments.length; i++) {
+        final ArgumentSpec argument = spec.arguments().get(i);
+        if (argument instanceof ValueArgumentSpec) {
+          final int columnIndex = ((ValueArgumentSpec) argument).columnIndex();
+          appendFinalLocal(script, javaTypeName(argument.type()), argument.name(),
+              "row.get(" + columnIndex + ")");
+        } else {
+          arguments[i] = argument.resolve(null);
+          appendFinalLocal(script, javaTypeName(argument.type()), argument.name(),
+              "arguments[" + i + "]");
+        }
+      }
+
+      final Map<Expression, String> sharedToCode = new HashMap<>();
+      for (final Expression shared : SharedExpressionFinder.find(expressions)) {
+        final SqlType sharedType = expressionTypeManager.getExpressionSqlType(shared);
+        if (sharedType == null) {
+          continue;
+        }
+
+        final String javaType = javaTypeName(SQL_TO_JAVA_TYPE_CONVERTER.toJavaType(sharedType));
+        final String name = CodeGenUtil.sharedName(sharedToCode.size());
+        final String code = SqlToJavaVisitor
+            .of(schema, functionRegistry, spec, sharedToCode)
+            .process(shared);
+
+        script
+            .append(javaType).append(' ').append(name).append("Value = null;\n")
+            .append("RuntimeException ").append(name).append("Err = null;\n")
+            .append("try {\n")
+            .append("  ").append(name).append("Value = (").append(code).append(");\n")
+            .append("} catch (RuntimeException e) {\n")
+            .append("  ").append(name).append("Err = e;\n")
+            .append("}\n");
+        appendFinalLocal(script, javaType, name, name + "Value");
+        appendFinalLocal(script, "RuntimeException", name + "Error", name + "Err");
+
+        sharedToCode.put(shared, "((" + javaType + ") " + SharedValue.class.getCanonicalName()
+            + ".get(" + name + ", " + name + "Error))");
+      }
+
+      final SqlToJavaVisitor sqlToJava = SqlToJavaVisitor
+          .of(schema, functionRegistry, spec, sharedToCode);
+
+      for (int i = 0; i < expressions.size(); i++) {
+        final String javaType = javaTypeName(
+            SQL_TO_JAVA_TYPE_CONVERTER.toJavaType(expressionTypes.get(i)));
+
+        script
+            .append("try {\n")
+            .append("  final ").append(javaType).append(" result = (")
+            .append(sqlToJava.process(expressions.get(i))).append(");\n")
+            .append("  results[").append(i).append("] = result;\n")
+            .append("} catch (Exception e) {\n")
+            .append("  errors[").append(i).append("] = e;\n")
+            .append("}\n");
+      }
+
+      final IScriptEvaluator se =
+          CompilerFactoryFactory.getDefaultCompilerFactory().newScriptEvaluator();
+      se.setDefaultImports(SqlToJavaVisitor.JAVA_IMPORTS.toArray(new String[0]));
+
+      final FusedExpressionMetadata.Evaluator evaluator =
+          (FusedExpressionMetadata.Evaluator) se.createFastEvaluator(
+              script.toString(),
+              FusedExpressionMetadata.Evaluator.class,
+              new String[]{"row", "arguments", "results", "errors"}
+          );
+
+      return new FusedExpressionMetadata(evaluator, expressions, expressionTypes, arguments);
+    } catch (KsqlException | CompileException e) {
+      throw new KsqlException("Invalid " + type + ": " + e.getMessage()
+          + ". expressions:" + expressions + ", schema:" + schema, e);
+    } catch (final Exception e) {
+      throw new RuntimeException("Unexpected error generating code for " + type
+          + ". expressions:" + expressions, e);
+    }
+  }
+
+  private static void appendFinalLocal(
+      final StringBuilder script,
+      final String type,
+      final String name,
+      final String value
+  ) {
+    script
+        .append("final ").append(type).append(' ').append(name)
+        .append(" = (").append(type).append(") ").append(value).append(";\n");
+  }
+
+  private static String javaTypeName(final Class<?> type) {
+    // Functions may be instances of generated classes, which can't be named in code:
+    return Kudf.class.isAssignableFrom(type)
+        ? Kudf.class.getCanonicalName()
+        : type.getCanonicalName();
+  }
+
   private final class Visitor extends TraversalExpressionVisitor<Void> {
 
     private final CodeGenSpec.Builder spec;
@@ -148,6 +285,12 @@ public class CodeGenRunner {
     public Void visitLikePredicate(final LikePredicate node, final Void context) {
       process(node.getValue(), null);
       process(node.getPattern(), null);
+
+      if (node.getPattern() instanceof StringLiteral) {
+        // Constant pattern: compile it once, rather than for every row:
+        final String pattern = ((StringLiteral) node.getPattern()).getValue();
+        spec.addLikeMatcher(node, LikeEvaluator.compile(pattern, node.getEscape()));
+      }
       return null;
     }
 
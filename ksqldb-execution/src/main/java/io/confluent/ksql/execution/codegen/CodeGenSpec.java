@@ -22,13 +22,18 @@ import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.codegen.helpers.LikeMatcher;
 import io.confluent.ksql.execution.expression.formatter.ExpressionFormatter;
 import io.confluent.ksql.execution.expression.tree.CreateStructExpression;
+import io.confluent.ksql.execution.expression.tree.LikePredicate;
+import io.confluent.ksql.function.udf.DirectKudf;
 import io.confluent.ksql.function.udf.Kudf;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.name.FunctionName;
 import io.confluent.ksql.testing.EffectivelyImmutable;
 import io.confluent.ksql.util.KsqlException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,17 +47,24 @@ public final class CodeGenSpec {
   private final ImmutableMap<ColumnName, String> columnToCodeName;
   private final ImmutableListMultimap<FunctionName, String> functionToCodeName;
   private final ImmutableMap<CreateStructExpression, String> structToCodeName;
+  private final ImmutableMap<LikePredicate, String> likeToCodeName;
+  @EffectivelyImmutable
+  private final ImmutableMap<String, Method> functionToDirectMethod;
 
   private CodeGenSpec(
       final ImmutableList<ArgumentSpec> arguments,
       final ImmutableMap<ColumnName, String> columnToCodeName,
       final ImmutableListMultimap<FunctionName, String> functionToCodeName,
-      final ImmutableMap<CreateStructExpression, String> structToCodeName
+      final ImmutableMap<CreateStructExpression, String> structToCodeName,
+      final ImmutableMap<LikePredicate, String> likeToCodeName,
+      final ImmutableMap<String, Method> functionToDirectMethod
   ) {
     this.arguments = arguments;
     this.columnToCodeName = columnToCodeName;
     this.functionToCodeName = functionToCodeName;
     this.structToCodeName = structToCodeName;
+    this.likeToCodeName = likeToCodeName;
+    this.functionToDirectMethod = functionToDirectMethod;
   }
 
   public String[] argumentNames() {
@@ -95,14 +107,33 @@ public final class CodeGenSpec {
     return schemaName;
   }
 
+  /**
+   * @param likePredicate the LIKE expression.
+   * @return the name of the argument holding its pre-compiled pattern, if it has a constant
+   *         pattern, otherwise {@code null}.
+   */
+  public String getLikeMatcherName(final LikePredicate likePredicate) {
+    return likeToCodeName.get(likePredicate);
+  }
+
+  /**
+   * @param functionCodeName the name of the argument holding a function.
+   * @return the method to call directly on the argument, if the argument holds the UDF instance
+   *         itself, otherwise {@code null}, i.e. the argument holds a {@link Kudf}.
+   */
+  public Method getDirectMethod(final String functionCodeName) {
+    return functionToDirectMethod.get(functionCodeName);
+  }
+
   static class Builder {
 
     private final ImmutableList.Builder<ArgumentSpec> argumentBuilder = ImmutableList.builder();
     private final Map<ColumnName, String> columnRefToName = new HashMap<>();
     private final ImmutableListMultimap.Builder<FunctionName, String> functionNameBuilder =
         ImmutableListMultimap.builder();
-    private final ImmutableMap.Builder<CreateStructExpression, String> structToSchemaName =
-        ImmutableMap.builder();
+    private final Map<CreateStructExpression, String> structToSchemaName = new HashMap<>();
+    private final Map<LikePredicate, String> likeToMatcherName = new HashMap<>();
+    private final Map<String, Method> functionToDirectMethod = new HashMap<>();
 
     private int argumentCount = 0;
     private int structSchemaCount = 0;
@@ -112,6 +143,11 @@ public final class CodeGenSpec {
         final Class<?> type,
         final int colIndex
     ) {
+      if (columnRefToName.containsKey(columnName)) {
+        // Column already passed as a parameter:
+        return;
+      }
+
       final String codeName = CodeGenUtil.paramName(argumentCount++);
       columnRefToName.put(columnName, codeName);
       argumentBuilder.add(new ValueArgumentSpec(codeName, type, colIndex));
@@ -120,28 +156,73 @@ public final class CodeGenSpec {
     void addFunction(final FunctionName functionName, final Kudf function) {
       final String codeName = CodeGenUtil.functionName(functionName, argumentCount++);
       functionNameBuilder.put(functionName, codeName);
-      argumentBuilder.add(new FunctionArgumentSpec(codeName, function.getClass(), function));
+
+      if (function instanceof DirectKudf && canCallDirectly(((DirectKudf) function).method())) {
+        final DirectKudf direct = (DirectKudf) function;
+        functionToDirectMethod.put(codeName, direct.method());
+        argumentBuilder.add(new FunctionArgumentSpec(
+            codeName, direct.method().getDeclaringClass(), direct.instance()));
+      } else {
+        argumentBuilder.add(new FunctionArgumentSpec(codeName, function.getClass(), function));
+      }
+    }
+
+    private static boolean canCallDirectly(final Method method) {
+      final Class<?> type = method.getDeclaringClass();
+      if (!Modifier.isPublic(type.getModifiers())
+          || !Modifier.isPublic(method.getModifiers())
+          || Modifier.isStatic(method.getModifiers())
+          || method.isVarArgs()
+          || type.getCanonicalName() == null) {
+        return false;
+      }
+
+      // The generated code names the UDF class, so the compiler must load the same class:
+      try {
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        return Class.forName(type.getName(), false, loader) == type;
+      } catch (final ClassNotFoundException | LinkageError e) {
+        return false;
+      }
     }
 
     void addStructSchema(final CreateStructExpression struct, final Schema schema) {
+      if (structToSchemaName.containsKey(struct)) {
+        // Identical struct already has its schema passed as a parameter:
+        return;
+      }
+
       final String structSchemaName = CodeGenUtil.schemaName(structSchemaCount++);
       structToSchemaName.put(struct, structSchemaName);
       argumentBuilder.add(new SchemaArgumentSpec(structSchemaName, schema));
     }
 
+    void addLikeMatcher(final LikePredicate like, final LikeMatcher matcher) {
+      if (likeToMatcherName.containsKey(like)) {
+        // Identical LIKE already has its matcher passed as a parameter:
+        return;
+      }
+
+      final String matcherName = CodeGenUtil.likeMatcherName(likeToMatcherName.size());
+      likeToMatcherName.put(like, matcherName);
+      argumentBuilder.add(new LikeMatcherArgumentSpec(matcherName, matcher));
+    }
+
     CodeGenSpec build() {
       return new CodeGenSpec(
           argumentBuilder.build(),
           ImmutableMap.copyOf(columnRefToName),
           functionNameBuilder.build(),
-          structToSchemaName.build()
+          ImmutableMap.copyOf(structToSchemaName),
+          ImmutableMap.copyOf(likeToMatcherName),
+          ImmutableMap.copyOf(functionToDirectMethod)
       );
     }
   }
 
   /**
-   * Represents either a named reference to a column in a generic row, or a function wrapped in a
-   * {@code Kudf}.
+   * Represents either a named reference to a column in a generic row, or a function, either
+   * wrapped in a {@code Kudf} or as the UDF instance itself.
    */
   @Immutable
   public interface ArgumentSpec {
@@ -182,20 +263,20 @@ public final class CodeGenSpec {
   private static final class FunctionArgumentSpec extends BaseArgumentSpec {
 
     @EffectivelyImmutable
-    private final Kudf kudf;
+    private final Object function;
 
     FunctionArgumentSpec(
         final String name,
         final Class<?> type,
-        final Kudf kudf
+        final Object function
     ) {
       super(name, type);
-      this.kudf = requireNonNull(kudf, "kudf");
+      this.function = requireNonNull(function, "function");
     }
 
     @Override
     public Object resolve(final GenericRow value) {
-      return kudf;
+      return function;
     }
 
     @Override
@@ -203,7 +284,7 @@ public final class CodeGenSpec {
       return "FunctionArgumentSpec{"
           + "name='" + name() + '\''
           + ", type=" + type()
-          + ", kudf=" + kudf
+          + ", function=" + function
           + '}';
     }
   }
@@ -222,6 +303,10 @@ public final class CodeGenSpec {
       this.columnIndex = columnIndex;
     }
 
+    public int columnIndex() {
+      return columnIndex;
+    }
+
     @Override
     public Object resolve(final GenericRow value) {
       return value.get(columnIndex);
@@ -264,4 +349,33 @@ public final class CodeGenSpec {
           + '}';
     }
   }
+
+  @Immutable
+  public static final class LikeMatcherArgumentSpec extends BaseArgumentSpec {
+
+    @EffectivelyImmutable
+    private final LikeMatcher matcher;
+
+    LikeMatcherArgumentSpec(
+        final String name,
+        final LikeMatcher matcher
+    ) {
+      super(name, LikeMatcher.class);
+      this.matcher = requireNonNull(matcher, "matcher");
+    }
+
+    @Override
+    public Object resolve(final GenericRow value) {
+      return matcher;
+    }
+
+    @Override
+    public String toString() {
+      return "LikeMatcherArgumentSpec{"
+          + "name='" + name() + '\''
+          + ", type=" + type()
+          + ", matcher=" + matcher
+          + '}';
+    }
+  }
 }
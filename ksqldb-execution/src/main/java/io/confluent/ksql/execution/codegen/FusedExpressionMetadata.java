@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.logging.processing.RecordProcessingError;
+import io.confluent.ksql.schema.ksql.types.SqlType;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * A set of expressions compiled into a single generated method.
+ *
+ * <p>Compared to one {@link ExpressionMetadata} per expression, each referenced column is read
+ * from the row once, sub-expressions shared between expressions are evaluated once, and the
+ * generated code is invoked through an interface rather than reflectively.
+ *
+ * @see CodeGenRunner#buildFusedCodeGen
+ */
+public class FusedExpressionMetadata {
+
+  private final Evaluator evaluator;
+  private final ImmutableList<Expression> expressions;
+  private final ImmutableList<SqlType> expressionTypes;
+  private final Object[] arguments;
+  private final ThreadLocal<Exception[]> threadLocalErrors;
+
+  /**
+   * The interface implemented by the generated code.
+   */
+  public interface Evaluator {
+
+    /**
+     * Evaluate all expressions against the supplied {@code row}.
+     *
+     * @param row the row to evaluate the expressions against.
+     * @param arguments the functions and schemas the generated code needs.
+     * @param results populated with the result of each expression.
+     * @param errors populated with the error thrown by each expression that failed.
+     */
+    void evaluate(GenericRow row, Object[] arguments, Object[] results, Exception[] errors);
+  }
+
+  FusedExpressionMetadata(
+      final Evaluator evaluator,
+      final List<Expression> expressions,
+      final List<SqlType> expressionTypes,
+      final Object[] arguments
+  ) {
+    this.evaluator = Objects.requireNonNull(evaluator, "evaluator");
+    this.expressions = ImmutableList.copyOf(Objects.requireNonNull(expressions, "expressions"));
+    this.expressionTypes = ImmutableList
+        .copyOf(Objects.requireNonNull(expressionTypes, "expressionTypes"));
+    this.arguments = Objects.requireNonNull(arguments, "arguments").clone();
+    this.threadLocalErrors = ThreadLocal.withInitial(() -> new Exception[expressions.size()]);
+  }
+
+  public List<Expression> getExpressions() {
+    return expressions;
+  }
+
+  public List<SqlType> getExpressionTypes() {
+    return expressionTypes;
+  }
+
+  /**
+   * Evaluate all the expressions against the supplied {@code row}.
+   *
+   * <p>Each expression that fails is logged to the supplied {@code logger} and its result is
+   * {@code defaultValue}. Other expressions are unaffected.
+   *
+   * @param row the row of data to evaluate the expressions against.
+   * @param defaultValue the result for any expression that throws.
+   * @param logger the logger to log errors to.
+   * @param errorMsg called with the index of a failed expression to get the text for the error.
+   * @return the result of each expression, in order.
+   */
+  public Object[] evaluate(
+      final GenericRow row,
+      final Object defaultValue,
+      final ProcessingLogger logger,
+      final IntFunction<String> errorMsg
+  ) {
+    final Object[] results = new Object[expressions.size()];
+    final Exception[] errors = threadLocalErrors.get();
+
+    try {
+      evaluator.evaluate(row, arguments, results, errors);
+    } catch (final Exception e) {
+      // Failed reading the row's columns, so nothing was evaluated:
+      Arrays.fill(errors, e);
+    }
+
+    for (int i = 0; i < errors.length; i++) {
+      if (errors[i] != null) {
+        logger.error(RecordProcessingError
+            .recordProcessingError(errorMsg.apply(i), errors[i], row));
+        results[i] = defaultValue;
+        errors[i] = null;
+      }
+    }
+
+    return results;
+  }
+}
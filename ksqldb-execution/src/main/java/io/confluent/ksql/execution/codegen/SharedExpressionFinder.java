@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen;
+
+import io.confluent.ksql.execution.expression.tree.ColumnReferenceExp;
+import io.confluent.ksql.execution.expression.tree.CreateArrayExpression;
+import io.confluent.ksql.execution.expression.tree.CreateMapExpression;
+import io.confluent.ksql.execution.expression.tree.CreateStructExpression;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.FunctionCall;
+import io.confluent.ksql.execution.expression.tree.InListExpression;
+import io.confluent.ksql.execution.expression.tree.InPredicate;
+import io.confluent.ksql.execution.expression.tree.Literal;
+import io.confluent.ksql.execution.expression.tree.TraversalExpressionVisitor;
+import io.confluent.ksql.execution.expression.tree.Type;
+import io.confluent.ksql.execution.expression.tree.WhenClause;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+/**
+ * Finds sub-expressions that occur more than once within a set of expressions, and which can be
+ * evaluated once per row and the result shared.
+ *
+ * <p>Sub-expressions containing function calls are never shared, as UDFs may be
+ * non-deterministic, nor are those constructing structs, arrays or maps, as the values they build
+ * are mutable. Column references and literals are not worth sharing.
+ */
+final class SharedExpressionFinder {
+
+  private SharedExpressionFinder() {
+  }
+
+  /**
+   * @param expressions the expressions to search.
+   * @return the shared sub-expressions, ordered such that any shared sub-expression comes before
+   *     any other that contains it.
+   */
+  static List<Expression> find(final List<Expression> expressions) {
+    final Map<Expression, Integer> counts = new LinkedHashMap<>();
+    final Counter counter = new Counter(counts);
+    expressions.forEach(exp -> counter.process(exp, null));
+
+    return counts.entrySet().stream()
+        .filter(e -> e.getValue() > 1)
+        .map(Entry::getKey)
+        .filter(SharedExpressionFinder::isShareable)
+        .sorted(Comparator.comparingInt(SharedExpressionFinder::size))
+        .collect(Collectors.toList());
+  }
+
+  private static boolean isCandidate(final Expression exp) {
+    return !(exp instanceof Literal
+        || exp instanceof ColumnReferenceExp
+        || exp instanceof Type
+        || exp instanceof WhenClause
+        || exp instanceof InListExpression);
+  }
+
+  private static boolean isShareable(final Expression exp) {
+    final boolean[] shareable = {true};
+    new TraversalExpressionVisitor<Void>() {
+      @Override
+      public Void process(final Expression node, final Void context) {
+        if (node instanceof FunctionCall
+            || node instanceof InPredicate
+            || node instanceof CreateStructExpression
+            || node instanceof CreateArrayExpression
+            || node instanceof CreateMapExpression) {
+          shareable[0] = false;
+          return null;
+        }
+        return super.process(node, context);
+      }
+    }.process(exp, null);
+    return shareable[0];
+  }
+
+  private static int size(final Expression exp) {
+    final int[] size = {0};
+    new TraversalExpressionVisitor<Void>() {
+      @Override
+      public Void process(final Expression node, final Void context) {
+        size[0]++;
+        return super.process(node, context);
+      }
+    }.process(exp, null);
+    return size[0];
+  }
+
+  private static final class Counter extends TraversalExpressionVisitor<Void> {
+
+    private final Map<Expression, Integer> counts;
+
+    Counter(final Map<Expression, Integer> counts) {
+      this.counts = counts;
+    }
+
+    @Override
+    public Void process(final Expression node, final Void context) {
+      if (isCandidate(node)) {
+        counts.merge(node, 1, Integer::sum);
+      }
+      return super.process(node, context);
+    }
+  }
+}
@@ -24,6 +24,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multiset;
+import com.google.common.primitives.Primitives;
 import io.confluent.ksql.execution.codegen.helpers.ArrayAccess;
 import io.confluent.ksql.execution.codegen.helpers.ArrayBuilder;
 import io.confluent.ksql.execution.codegen.helpers.LikeEvaluator;
@@ -90,6 +91,7 @@ import io.confluent.ksql.schema.utils.FormatOptions;
 import io.confluent.ksql.schema.utils.Pair;
 import io.confluent.ksql.util.DecimalUtil;
 import io.confluent.ksql.util.KsqlException;
+import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
@@ -156,11 +158,29 @@ public class SqlToJavaVisitor {
 
   private final ExpressionTypeManager expressionTypeManager;
   private final Function<FunctionName, String> funNameToCodeName;
+  private final Function<String, Method> funCodeNameToDirectMethod;
   private final Function<ColumnName, String> colRefToCodeName;
   private final Function<CreateStructExpression, String> structToCodeName;
+  private final Function<LikePredicate, String> likeToCodeName;
+  private final Map<Expression, String> sharedToCode;
 
   public static SqlToJavaVisitor of(
       final LogicalSchema schema, final FunctionRegistry functionRegistry, final CodeGenSpec spec
+  ) {
+    return of(schema, functionRegistry, spec, ImmutableMap.of());
+  }
+
+  /**
+   * Create a visitor that replaces any sub-expression in {@code sharedToCode} with the code
+   * mapped to it, e.g. a reference to a local variable holding its already evaluated value.
+   *
+   * <p>The expression passed to {@link #process} is itself never replaced.
+   */
+  public static SqlToJavaVisitor of(
+      final LogicalSchema schema,
+      final FunctionRegistry functionRegistry,
+      final CodeGenSpec spec,
+      final Map<Expression, String> sharedToCode
   ) {
     final Multiset<FunctionName> nameCounts = HashMultiset.create();
     return new SqlToJavaVisitor(
@@ -171,7 +191,10 @@ public class SqlToJavaVisitor {
           final int index = nameCounts.add(name, 1);
           return spec.getUniqueNameForFunction(name, index);
         },
-        spec::getStructSchemaName);
+        spec::getDirectMethod,
+        spec::getStructSchemaName,
+        spec::getLikeMatcherName,
+        sharedToCode);
   }
 
   @VisibleForTesting
@@ -179,14 +202,41 @@ public class SqlToJavaVisitor {
       final LogicalSchema schema, final FunctionRegistry functionRegistry,
       final Function<ColumnName, String> colRefToCodeName,
       final Function<FunctionName, String> funNameToCodeName,
-      final Function<CreateStructExpression, String> structToCodeName
+      final Function<String, Method> funCodeNameToDirectMethod,
+      final Function<CreateStructExpression, String> structToCodeName,
+      final Function<LikePredicate, String> likeToCodeName
+  ) {
+    this(
+        schema,
+        functionRegistry,
+        colRefToCodeName,
+        funNameToCodeName,
+        funCodeNameToDirectMethod,
+        structToCodeName,
+        likeToCodeName,
+        ImmutableMap.of()
+    );
+  }
+
+  private SqlToJavaVisitor(
+      final LogicalSchema schema, final FunctionRegistry functionRegistry,
+      final Function<ColumnName, String> colRefToCodeName,
+      final Function<FunctionName, String> funNameToCodeName,
+      final Function<String, Method> funCodeNameToDirectMethod,
+      final Function<CreateStructExpression, String> structToCodeName,
+      final Function<LikePredicate, String> likeToCodeName,
+      final Map<Expression, String> sharedToCode
   ) {
     this.expressionTypeManager = new ExpressionTypeManager(schema, functionRegistry);
     this.schema = Objects.requireNonNull(schema, "schema");
     this.functionRegistry = Objects.requireNonNull(functionRegistry, "functionRegistry");
     this.colRefToCodeName = Objects.requireNonNull(colRefToCodeName, "colRefToCodeName");
     this.funNameToCodeName = Objects.requireNonNull(funNameToCodeName, "funNameToCodeName");
+    this.funCodeNameToDirectMethod =
+        Objects.requireNonNull(funCodeNameToDirectMethod, "funCodeNameToDirectMethod");
     this.structToCodeName = Objects.requireNonNull(structToCodeName, "structToCodeName");
+    this.likeToCodeName = Objects.requireNonNull(likeToCodeName, "likeToCodeName");
+    this.sharedToCode = ImmutableMap.copyOf(Objects.requireNonNull(sharedToCode, "sharedToCode"));
   }
 
   public String process(final Expression expression) {
@@ -195,7 +245,7 @@ public class SqlToJavaVisitor {
 
   private String formatExpression(final Expression expression) {
     final Pair<String, SqlType> expressionFormatterResult =
-        new Formatter(functionRegistry).process(expression, null);
+        expression.accept(new Formatter(functionRegistry), null);
     return expressionFormatterResult.getLeft();
   }
 
@@ -208,6 +258,16 @@ public class SqlToJavaVisitor {
       this.functionRegistry = functionRegistry;
     }
 
+    @Override
+    public Pair<String, SqlType> process(final Expression node, final Void context) {
+      final String sharedCode = sharedToCode.get(node);
+      if (sharedCode != null) {
+        return new Pair<>(sharedCode, expressionTypeManager.getExpressionSqlType(node));
+      }
+
+      return node.accept(this, context);
+    }
+
     private Pair<String, SqlType> visitIllegalState(final Expression expression) {
       throw new IllegalStateException(
           format("expression type %s should never be visited", expression.getClass()));
@@ -376,6 +436,7 @@ public class SqlToJavaVisitor {
           SchemaConverters.sqlToJavaConverter().toJavaType(functionReturnSchema).getSimpleName();
 
       final List<Expression> arguments = node.getArguments();
+      final Method directMethod = funCodeNameToDirectMethod.apply(instanceName);
 
       final StringJoiner joiner = new StringJoiner(", ");
       for (int i = 0; i < arguments.size(); i++) {
@@ -389,16 +450,31 @@ public class SqlToJavaVisitor {
           paramType = function.parameters().get(i);
         }
 
-        joiner.add(process(convertArgument(arg, sqlType, paramType), context).getLeft());
+        final String argCode = process(convertArgument(arg, sqlType, paramType), context).getLeft();
+        joiner.add(directMethod == null
+            ? argCode
+            : typedArgument(argCode, directMethod.getParameterTypes()[i]));
       }
 
-
       final String argumentsString = joiner.toString();
-      final String codeString = "((" + javaReturnType + ") " + instanceName
-          + ".evaluate(" + argumentsString + "))";
+      final String call = directMethod == null
+          ? instanceName + ".evaluate(" + argumentsString + ")"
+          : instanceName + "." + directMethod.getName() + "(" + argumentsString + ")";
+      final String codeString = "((" + javaReturnType + ") " + call + ")";
       return new Pair<>(codeString, functionReturnSchema);
     }
 
+    private String typedArgument(final String argCode, final Class<?> paramType) {
+      // Cast to the exact parameter type, so the compiler picks the resolved overload:
+      if (!paramType.isPrimitive()) {
+        return "((" + paramType.getCanonicalName() + ") (" + argCode + "))";
+      }
+
+      // Cast via the boxed type, as the argument may be null:
+      return "((" + paramType.getName() + ") ((" + Primitives.wrap(paramType).getSimpleName()
+          + ") (" + argCode + ")))";
+    }
+
     private Expression convertArgument(
         final Expression argument,
         final SqlType argType,
@@ -731,6 +807,15 @@ public class SqlToJavaVisitor {
       final String patternString = process(node.getPattern(), context).getLeft();
       final String valueString = process(node.getValue(), context).getLeft();
 
+      final String matcherName = likeToCodeName.apply(node);
+      if (matcherName != null) {
+        // Constant pattern, pre-compiled:
+        return new Pair<>(
+            matcherName + ".matches(" + valueString + ")",
+            SqlTypes.STRING
+        );
+      }
+
       if (node.getEscape().isPresent()) {
         return new Pair<>(
             "LikeEvaluator.matches("
@@ -17,16 +17,28 @@ package io.confluent.ksql.execution.codegen.helpers;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.confluent.ksql.util.KsqlException;
+import io.confluent.ksql.util.ThreadLocalCache;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
 /**
  * Used in the code generation to evaluate SQL 'LIKE' expressions.
  *
+ * <p>Constant patterns are compiled once, via {@link #compile}, when the expression is
+ * generated. Patterns that are not constant are compiled on demand and cached per-thread.
+ *
  * @see io.confluent.ksql.execution.expression.tree.LikePredicate
  */
 public final class LikeEvaluator {
 
+  private static final int MAX_CACHED_PATTERNS = 64;
+
+  private static final ThreadLocalCache<PatternKey, LikeMatcher> CACHE =
+      new ThreadLocalCache<>(MAX_CACHED_PATTERNS, key -> compile(key.pattern, key.escape));
+
   private LikeEvaluator() {
   }
 
@@ -65,9 +77,32 @@ public final class LikeEvaluator {
       final String val,
       final String pattern,
       final Optional<Character> escape
+  ) {
+    return CACHE.get(new PatternKey(pattern, escape)).matches(val);
+  }
+
+  /**
+   * Compile a LIKE pattern into a reusable matcher.
+   *
+   * <p>Patterns that are plain text, optionally with a leading and/or trailing '%', are
+   * matched without the use of regular expressions.
+   *
+   * @param pattern the pattern to match against
+   * @param escape  the escape character, if any
+   *
+   * @return the matcher.
+   */
+  public static LikeMatcher compile(
+      final String pattern,
+      final Optional<Character> escape
   ) {
     final StringBuilder regex = new StringBuilder();
 
+    // The plain-text portions of the pattern between each '%' wildcard, unescaped:
+    final List<String> literals = new ArrayList<>();
+    final StringBuilder literal = new StringBuilder();
+    boolean anySingleCharWildcards = false;
+
     final char[] chars = pattern.toCharArray();
 
     boolean escaped = false;
@@ -79,6 +114,7 @@ public final class LikeEvaluator {
 
       if (escaped) {
         escaped = false;
+        literal.append(c);
       } else if (escape.filter(e -> e == c).isPresent()) {
         // the escape character is treated differently in different databases
         // the only SQL standard indicates that
@@ -99,10 +135,15 @@ public final class LikeEvaluator {
         append(pattern, start, i, regex);
         regex.append(".*");
         start = i + 1;
+        literals.add(literal.toString());
+        literal.setLength(0);
       } else if (c == '_') {
         append(pattern, start, i, regex);
         regex.append(".");
         start = i + 1;
+        anySingleCharWildcards = true;
+      } else {
+        literal.append(c);
       }
     }
 
@@ -111,7 +152,64 @@ public final class LikeEvaluator {
     }
 
     append(pattern, start, i, regex);
-    return Pattern.compile(regex.toString()).matcher(val).matches();
+    literals.add(literal.toString());
+
+    if (!anySingleCharWildcards) {
+      final Optional<LikeMatcher> simple = simpleMatcher(literals);
+      if (simple.isPresent()) {
+        return simple.get();
+      }
+    }
+
+    // DOTALL, as wildcards match any character, including line terminators:
+    final Pattern compiled = Pattern.compile(regex.toString(), Pattern.DOTALL);
+    return val -> compiled.matcher(val).matches();
+  }
+
+  /**
+   * Builds a matcher that avoids regular expressions for patterns of the form {@code text},
+   * {@code text%}, {@code %text} and {@code %text%}.
+   *
+   * @param literals the plain text between each '%' in the pattern.
+   */
+  private static Optional<LikeMatcher> simpleMatcher(final List<String> literals) {
+    final List<String> nonEmpty = new ArrayList<>();
+    for (final String literal : literals) {
+      if (!literal.isEmpty()) {
+        nonEmpty.add(literal);
+      }
+    }
+
+    if (nonEmpty.isEmpty()) {
+      return literals.size() == 1
+          ? Optional.of(String::isEmpty)
+          : Optional.of(val -> {
+            Objects.requireNonNull(val, "val");
+            return true;
+          });
+    }
+
+    if (nonEmpty.size() > 1) {
+      return Optional.empty();
+    }
+
+    final String text = nonEmpty.get(0);
+    final boolean leadingWildcard = literals.get(0).isEmpty();
+    final boolean trailingWildcard = literals.get(literals.size() - 1).isEmpty();
+
+    if (leadingWildcard && trailingWildcard) {
+      return Optional.of(val -> val.contains(text));
+    }
+
+    if (leadingWildcard) {
+      return Optional.of(val -> val.endsWith(text));
+    }
+
+    if (trailingWildcard) {
+      return Optional.of(val -> val.startsWith(text));
+    }
+
+    return Optional.of(text::equals);
   }
 
   /**
@@ -130,4 +228,32 @@ public final class LikeEvaluator {
     }
   }
 
+  private static final class PatternKey {
+
+    private final String pattern;
+    private final Optional<Character> escape;
+
+    PatternKey(final String pattern, final Optional<Character> escape) {
+      this.pattern = Objects.requireNonNull(pattern, "pattern");
+      this.escape = Objects.requireNonNull(escape, "escape");
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final PatternKey that = (PatternKey) o;
+      return pattern.equals(that.pattern)
+          && escape.equals(that.escape);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(pattern, escape);
+    }
+  }
 }
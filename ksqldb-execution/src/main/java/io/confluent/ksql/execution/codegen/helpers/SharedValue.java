@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen.helpers;
+
+/**
+ * Used by fused code generation to read a sub-expression that is shared between expressions and
+ * evaluated once per row.
+ *
+ * <p>Any error evaluating the sub-expression is only rethrown where the value is actually read,
+ * so only the expressions that would have evaluated it themselves fail.
+ */
+public final class SharedValue {
+
+  private SharedValue() { }
+
+  /**
+   * @param value the value of the shared sub-expression
+   * @param error the error thrown evaluating the sub-expression, or {@code null}.
+   * @return the {@code value}.
+   */
+  public static Object get(final Object value, final RuntimeException error) {
+    if (error != null) {
+      throw error;
+    }
+    return value;
+  }
+}
@@ -15,9 +15,13 @@
 
 package io.confluent.ksql.execution.plan;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.ksql.execution.timestamp.TimestampColumn;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import java.util.Collections;
 import java.util.List;
@@ -32,6 +36,7 @@ public abstract class SourceStep<K> implements ExecutionStep<K> {
   final Formats formats;
   final Optional<TimestampColumn> timestampColumn;
   final LogicalSchema sourceSchema;
+  final Optional<ImmutableList<ColumnName>> projectedColumns;
 
   @VisibleForTesting
   public SourceStep(
@@ -39,13 +44,16 @@ public abstract class SourceStep<K> implements ExecutionStep<K> {
       final String topicName,
       final Formats formats,
       final Optional<TimestampColumn> timestampColumn,
-      final LogicalSchema sourceSchema
+      final LogicalSchema sourceSchema,
+      final Optional<List<ColumnName>> projectedColumns
   ) {
     this.properties = Objects.requireNonNull(properties, "properties");
     this.topicName = Objects.requireNonNull(topicName, "topicName");
     this.formats = Objects.requireNonNull(formats, "formats");
     this.timestampColumn = Objects.requireNonNull(timestampColumn, "timestampColumn");
     this.sourceSchema = Objects.requireNonNull(sourceSchema, "sourceSchema");
+    this.projectedColumns = Objects.requireNonNull(projectedColumns, "projectedColumns")
+        .map(ImmutableList::copyOf);
   }
 
   @Override
@@ -73,4 +81,20 @@ public abstract class SourceStep<K> implements ExecutionStep<K> {
   public String getTopicName() {
     return topicName;
   }
+
+  /**
+   * The value columns of the source that the query references, if known.
+   *
+   * <p>If absent, every value column must be deserialized. If present, only the listed columns
+   * need be deserialized, and the others may be {@code null}. An empty list therefore means no
+   * value column is decoded.
+   *
+   * <p>An empty list is distinct from an absent projection, so is always serialized.
+   *
+   * @return the referenced value columns, or absent if every value column must be deserialized.
+   */
+  @JsonInclude(value = Include.NON_ABSENT, content = Include.ALWAYS)
+  public Optional<List<ColumnName>> getProjectedColumns() {
+    return projectedColumns.map(ImmutableList::copyOf);
+  }
 }
@@ -17,7 +17,9 @@ package io.confluent.ksql.execution.plan;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.ksql.execution.timestamp.TimestampColumn;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.apache.kafka.connect.data.Struct;
@@ -30,14 +32,16 @@ public final class StreamSource extends SourceStep<KStreamHolder<Struct>> {
       @JsonProperty(value = "topicName", required = true) final String topicName,
       @JsonProperty(value = "formats", required = true) final Formats formats,
       @JsonProperty("timestampColumn") final Optional<TimestampColumn> timestampColumn,
-      @JsonProperty(value = "sourceSchema", required = true) final LogicalSchema sourceSchema
+      @JsonProperty(value = "sourceSchema", required = true) final LogicalSchema sourceSchema,
+      @JsonProperty("projectedColumns") final Optional<List<ColumnName>> projectedColumns
   ) {
     super(
         props,
         topicName,
         formats,
         timestampColumn,
-        sourceSchema
+        sourceSchema,
+        projectedColumns
     );
   }
 
@@ -59,7 +63,8 @@ public final class StreamSource extends SourceStep<KStreamHolder<Struct>> {
         && Objects.equals(topicName, that.topicName)
         && Objects.equals(formats, that.formats)
         && Objects.equals(timestampColumn, that.timestampColumn)
-        && Objects.equals(sourceSchema, that.sourceSchema);
+        && Objects.equals(sourceSchema, that.sourceSchema)
+        && Objects.equals(projectedColumns, that.projectedColumns);
   }
 
   @Override
@@ -69,7 +74,8 @@ public final class StreamSource extends SourceStep<KStreamHolder<Struct>> {
         topicName,
         formats,
         timestampColumn,
-        sourceSchema
+        sourceSchema,
+        projectedColumns
     );
   }
 }
@@ -18,7 +18,9 @@ package io.confluent.ksql.execution.plan;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.ksql.execution.timestamp.TimestampColumn;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.apache.kafka.connect.data.Struct;
@@ -32,9 +34,10 @@ public final class TableSource extends SourceStep<KTableHolder<Struct>> {
       @JsonProperty(value = "topicName", required = true) final String topicName,
       @JsonProperty(value = "formats", required = true) final Formats formats,
       @JsonProperty("timestampColumn") final Optional<TimestampColumn> timestampColumn,
-      @JsonProperty(value = "sourceSchema", required = true) final LogicalSchema sourceSchema
+      @JsonProperty(value = "sourceSchema", required = true) final LogicalSchema sourceSchema,
+      @JsonProperty("projectedColumns") final Optional<List<ColumnName>> projectedColumns
   ) {
-    super(properties, topicName, formats, timestampColumn, sourceSchema);
+    super(properties, topicName, formats, timestampColumn, sourceSchema, projectedColumns);
   }
 
   @Override
@@ -55,11 +58,19 @@ public final class TableSource extends SourceStep<KTableHolder<Struct>> {
         && Objects.equals(topicName, that.topicName)
         && Objects.equals(formats, that.formats)
         && Objects.equals(timestampColumn, that.timestampColumn)
-        && Objects.equals(sourceSchema, that.sourceSchema);
+        && Objects.equals(sourceSchema, that.sourceSchema)
+        && Objects.equals(projectedColumns, that.projectedColumns);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(properties, topicName, formats, timestampColumn, sourceSchema);
+    return Objects.hash(
+        properties,
+        topicName,
+        formats,
+        timestampColumn,
+        sourceSchema,
+        projectedColumns
+    );
   }
 }
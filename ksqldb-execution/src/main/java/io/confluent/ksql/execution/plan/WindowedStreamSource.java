@@ -18,8 +18,10 @@ package io.confluent.ksql.execution.plan;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.ksql.execution.timestamp.TimestampColumn;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.serde.WindowInfo;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.apache.kafka.connect.data.Struct;
@@ -36,9 +38,10 @@ public final class WindowedStreamSource extends SourceStep<KStreamHolder<Windowe
       @JsonProperty(value = "formats", required = true) final Formats formats,
       @JsonProperty(value = "windowInfo", required = true) final WindowInfo windowInfo,
       @JsonProperty("timestampColumn") final Optional<TimestampColumn> timestampColumn,
-      @JsonProperty(value = "sourceSchema", required = true) final LogicalSchema sourceSchema
+      @JsonProperty(value = "sourceSchema", required = true) final LogicalSchema sourceSchema,
+      @JsonProperty("projectedColumns") final Optional<List<ColumnName>> projectedColumns
   ) {
-    super(props, topicName, formats, timestampColumn, sourceSchema);
+    super(props, topicName, formats, timestampColumn, sourceSchema, projectedColumns);
     this.windowInfo = Objects.requireNonNull(windowInfo, "windowInfo");
   }
 
@@ -64,7 +67,8 @@ public final class WindowedStreamSource extends SourceStep<KStreamHolder<Windowe
         && Objects.equals(topicName, that.topicName)
         && Objects.equals(formats, that.formats)
         && Objects.equals(timestampColumn, that.timestampColumn)
-        && Objects.equals(sourceSchema, that.sourceSchema);
+        && Objects.equals(sourceSchema, that.sourceSchema)
+        && Objects.equals(projectedColumns, that.projectedColumns);
   }
 
   @Override
@@ -74,7 +78,8 @@ public final class WindowedStreamSource extends SourceStep<KStreamHolder<Windowe
         topicName,
         formats,
         timestampColumn,
-        sourceSchema
+        sourceSchema,
+        projectedColumns
     );
   }
 }
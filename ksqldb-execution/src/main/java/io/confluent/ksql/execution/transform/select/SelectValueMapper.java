@@ -20,21 +20,39 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.codegen.ExpressionMetadata;
+import io.confluent.ksql.execution.codegen.FusedExpressionMetadata;
+import io.confluent.ksql.execution.expression.tree.Expression;
 import io.confluent.ksql.execution.transform.KsqlProcessingContext;
 import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
 import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.schema.utils.FormatOptions;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 public class SelectValueMapper<K> {
 
   private final ImmutableList<SelectInfo> selects;
+  private final Optional<FusedExpressionMetadata> fused;
 
   SelectValueMapper(final List<SelectInfo> selects) {
+    this(selects, Optional.empty());
+  }
+
+  SelectValueMapper(
+      final List<SelectInfo> selects,
+      final Optional<FusedExpressionMetadata> fused
+  ) {
     this.selects = ImmutableList.copyOf(requireNonNull(selects, "selects"));
+    this.fused = requireNonNull(fused, "fused");
+
+    if (!fused.isPresent() && selects.stream().anyMatch(s -> !s.evaluator.isPresent())) {
+      throw new IllegalArgumentException("Selects must be compiled when not fused");
+    }
   }
 
   List<SelectInfo> getSelects() {
@@ -44,20 +62,48 @@ public class SelectValueMapper<K> {
   public KsqlTransformer<K, GenericRow> getTransformer(
       final ProcessingLogger processingLogger
   ) {
+    if (fused.isPresent()) {
+      return new FusedSelectMapper<>(selects, fused.get(), processingLogger);
+    }
     return new SelectMapper<>(selects, processingLogger);
   }
 
   public static final class SelectInfo {
 
     final ColumnName fieldName;
-    final ExpressionMetadata evaluator;
+    final Expression expression;
+    final SqlType expressionType;
+    final Optional<ExpressionMetadata> evaluator;
 
     static SelectInfo of(final ColumnName fieldName, final ExpressionMetadata evaluator) {
-      return new SelectInfo(fieldName, evaluator);
+      return new SelectInfo(
+          fieldName,
+          evaluator.getExpression(),
+          evaluator.getExpressionType(),
+          Optional.of(evaluator)
+      );
     }
 
-    private SelectInfo(final ColumnName fieldName, final ExpressionMetadata evaluator) {
+    /**
+     * A select evaluated as part of a fused evaluator, so has no evaluator of its own.
+     */
+    static SelectInfo of(
+        final ColumnName fieldName,
+        final Expression expression,
+        final SqlType expressionType
+    ) {
+      return new SelectInfo(fieldName, expression, expressionType, Optional.empty());
+    }
+
+    private SelectInfo(
+        final ColumnName fieldName,
+        final Expression expression,
+        final SqlType expressionType,
+        final Optional<ExpressionMetadata> evaluator
+    ) {
       this.fieldName = requireNonNull(fieldName, "fieldName");
+      this.expression = requireNonNull(expression, "expression");
+      this.expressionType = requireNonNull(expressionType, "expressionType");
       this.evaluator = requireNonNull(evaluator, "evaluator");
     }
 
@@ -65,8 +111,12 @@ public class SelectValueMapper<K> {
       return fieldName;
     }
 
-    ExpressionMetadata getEvaluator() {
-      return evaluator;
+    Expression getExpression() {
+      return expression;
+    }
+
+    SqlType getExpressionType() {
+      return expressionType;
     }
 
     @Override
@@ -79,12 +129,14 @@ public class SelectValueMapper<K> {
       }
       final SelectInfo that = (SelectInfo) o;
       return Objects.equals(fieldName, that.fieldName)
+          && Objects.equals(expression, that.expression)
+          && Objects.equals(expressionType, that.expressionType)
           && Objects.equals(evaluator, that.evaluator);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(fieldName, evaluator);
+      return Objects.hash(fieldName, expression, expressionType, evaluator);
     }
   }
 
@@ -124,11 +176,50 @@ public class SelectValueMapper<K> {
       final SelectInfo select = selects.get(column);
 
       final Supplier<String> errorMsgSupplier = () ->
-          "Error computing expression " + select.evaluator.getExpression()
+          "Error computing expression " + select.expression
               + " for column " + select.fieldName.toString(FormatOptions.noEscape())
               + " with index " + column;
 
-      return select.evaluator.evaluate(row, null, processingLogger, errorMsgSupplier);
+      return select.evaluator.get().evaluate(row, null, processingLogger, errorMsgSupplier);
+    }
+  }
+
+  private static final class FusedSelectMapper<K> implements KsqlTransformer<K, GenericRow> {
+
+    private final ImmutableList<SelectInfo> selects;
+    private final FusedExpressionMetadata evaluator;
+    private final ProcessingLogger processingLogger;
+
+    private FusedSelectMapper(
+        final ImmutableList<SelectInfo> selects,
+        final FusedExpressionMetadata evaluator,
+        final ProcessingLogger processingLogger
+    ) {
+      this.selects = requireNonNull(selects, "selects");
+      this.evaluator = requireNonNull(evaluator, "evaluator");
+      this.processingLogger = requireNonNull(processingLogger, "processingLogger");
+    }
+
+    @Override
+    public GenericRow transform(
+        final K readOnlyKey,
+        final GenericRow value,
+        final KsqlProcessingContext ctx
+    ) {
+      if (value == null) {
+        return null;
+      }
+
+      final Object[] results = evaluator.evaluate(value, null, processingLogger, this::errorMsg);
+
+      return new GenericRow(results.length).appendAll(Arrays.asList(results));
+    }
+
+    private String errorMsg(final int column) {
+      final SelectInfo select = selects.get(column);
+      return "Error computing expression " + select.expression
+          + " for column " + select.fieldName.toString(FormatOptions.noEscape())
+          + " with index " + column;
     }
   }
 }
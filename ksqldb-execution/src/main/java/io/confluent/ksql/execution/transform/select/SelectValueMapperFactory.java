@@ -20,12 +20,16 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.annotations.VisibleForTesting;
 import io.confluent.ksql.execution.codegen.CodeGenRunner;
 import io.confluent.ksql.execution.codegen.ExpressionMetadata;
+import io.confluent.ksql.execution.codegen.FusedExpressionMetadata;
+import io.confluent.ksql.execution.expression.tree.Expression;
 import io.confluent.ksql.execution.plan.SelectExpression;
 import io.confluent.ksql.execution.transform.select.SelectValueMapper.SelectInfo;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.util.KsqlConfig;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -36,10 +40,17 @@ public final class SelectValueMapperFactory {
   private static final String EXP_TYPE = "Select";
 
   private final CodeGenRunner codeGenerator;
+  private final boolean fused;
 
   @VisibleForTesting
   SelectValueMapperFactory(final CodeGenRunner codeGenerator) {
+    this(codeGenerator, false);
+  }
+
+  @VisibleForTesting
+  SelectValueMapperFactory(final CodeGenRunner codeGenerator, final boolean fused) {
     this.codeGenerator = requireNonNull(codeGenerator, "codeGenerator");
+    this.fused = fused;
   }
 
   public static <K> SelectValueMapper<K> create(
@@ -50,16 +61,44 @@ public final class SelectValueMapperFactory {
   ) {
     final CodeGenRunner codeGen = new CodeGenRunner(sourceSchema, ksqlConfig, functionRegistry);
 
-    return new SelectValueMapperFactory(codeGen).create(selectExpressions);
+    final boolean fused = ksqlConfig.getBoolean(KsqlConfig.KSQL_CODEGEN_FUSED_ENABLED_CONFIG);
+
+    return new SelectValueMapperFactory(codeGen, fused).create(selectExpressions);
   }
 
   @VisibleForTesting
   <K> SelectValueMapper<K> create(
       final List<SelectExpression> selectExpressions
   ) {
+    if (fused) {
+      return buildFused(selectExpressions);
+    }
+
     return new SelectValueMapper<>(buildSelects(selectExpressions));
   }
 
+  private <K> SelectValueMapper<K> buildFused(final List<SelectExpression> selectExpressions) {
+    final List<Expression> expressions = selectExpressions.stream()
+        .map(SelectExpression::getExpression)
+        .collect(Collectors.toList());
+
+    final FusedExpressionMetadata evaluator = codeGenerator
+        .buildFusedCodeGen(expressions, EXP_TYPE);
+
+    // The fused evaluator resolves each expression's type, so the selects need no evaluator
+    // of their own, saving a second compilation of every expression:
+    final List<SelectInfo> selects = new ArrayList<>(selectExpressions.size());
+    for (int i = 0; i < selectExpressions.size(); i++) {
+      selects.add(SelectInfo.of(
+          selectExpressions.get(i).getAlias(),
+          evaluator.getExpressions().get(i),
+          evaluator.getExpressionTypes().get(i)
+      ));
+    }
+
+    return new SelectValueMapper<>(selects, Optional.of(evaluator));
+  }
+
   private List<SelectInfo> buildSelects(final List<SelectExpression> selectExpressions) {
     return selectExpressions.stream()
         .map(this::buildSelect)
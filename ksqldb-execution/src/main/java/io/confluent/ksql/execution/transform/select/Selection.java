@@ -58,7 +58,7 @@ public final class Selection<K> {
     schemaBuilder.keyColumns(keyCols);
 
     for (final SelectInfo select : mapper.getSelects()) {
-      schemaBuilder.valueColumn(select.getFieldName(), select.getEvaluator().getExpressionType());
+      schemaBuilder.valueColumn(select.getFieldName(), select.getExpressionType());
     }
 
     return schemaBuilder.build();
@@ -18,16 +18,19 @@ package io.confluent.ksql.execution.transform.sqlpredicate;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.codegen.CodeGenRunner;
 import io.confluent.ksql.execution.codegen.ExpressionMetadata;
+import io.confluent.ksql.execution.codegen.FusedExpressionMetadata;
 import io.confluent.ksql.execution.expression.tree.Expression;
 import io.confluent.ksql.execution.transform.KsqlProcessingContext;
 import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import io.confluent.ksql.util.KsqlConfig;
 import java.util.Optional;
@@ -35,8 +38,10 @@ import java.util.stream.Stream;
 
 public final class SqlPredicate {
 
+  private static final String EXP_TYPE = "Predicate";
+
   private final Expression filterExpression;
-  private final ExpressionMetadata evaluator;
+  private final Evaluator evaluator;
 
   public SqlPredicate(
       final Expression filterExpression,
@@ -46,13 +51,7 @@ public final class SqlPredicate {
   ) {
     this(
         filterExpression,
-        Iterables.getOnlyElement(CodeGenRunner.compileExpressions(
-            Stream.of(filterExpression),
-            "Predicate",
-            schema,
-            ksqlConfig,
-            functionRegistry
-        ))
+        compile(filterExpression, schema, ksqlConfig, functionRegistry)
     );
   }
 
@@ -60,16 +59,43 @@ public final class SqlPredicate {
   SqlPredicate(
       final Expression filterExpression,
       final ExpressionMetadata evaluator
+  ) {
+    this(filterExpression, Evaluator.of(evaluator));
+  }
+
+  private SqlPredicate(
+      final Expression filterExpression,
+      final Evaluator evaluator
   ) {
     this.filterExpression = requireNonNull(filterExpression, "filterExpression");
     this.evaluator = requireNonNull(evaluator, "evaluator");
 
-    if (!evaluator.getExpressionType().equals(SqlTypes.BOOLEAN)) {
+    if (!evaluator.expressionType.equals(SqlTypes.BOOLEAN)) {
       throw new IllegalArgumentException(
           "Filter expression must resolve to boolean: " + filterExpression);
     }
   }
 
+  private static Evaluator compile(
+      final Expression filterExpression,
+      final LogicalSchema schema,
+      final KsqlConfig ksqlConfig,
+      final FunctionRegistry functionRegistry
+  ) {
+    if (ksqlConfig.getBoolean(KsqlConfig.KSQL_CODEGEN_FUSED_ENABLED_CONFIG)) {
+      return Evaluator.of(new CodeGenRunner(schema, ksqlConfig, functionRegistry)
+          .buildFusedCodeGen(ImmutableList.of(filterExpression), EXP_TYPE));
+    }
+
+    return Evaluator.of(Iterables.getOnlyElement(CodeGenRunner.compileExpressions(
+        Stream.of(filterExpression),
+        EXP_TYPE,
+        schema,
+        ksqlConfig,
+        functionRegistry
+    )));
+  }
+
   public <K> KsqlTransformer<K, Optional<GenericRow>> getTransformer(
       final ProcessingLogger processingLogger
   ) {
@@ -96,12 +122,42 @@ public final class SqlPredicate {
         return Optional.empty();
       }
 
-      final boolean result = (Boolean) evaluator
-          .evaluate(value, false, processingLogger, () -> errorMsg);
+      final boolean result = (Boolean) evaluator.function
+          .evaluate(value, processingLogger, errorMsg);
 
       return result
           ? Optional.of(value)
           : Optional.empty();
     }
   }
+
+  private interface EvaluateFunction {
+
+    Object evaluate(GenericRow row, ProcessingLogger logger, String errorMsg);
+  }
+
+  private static final class Evaluator {
+
+    private final SqlType expressionType;
+    private final EvaluateFunction function;
+
+    static Evaluator of(final ExpressionMetadata evaluator) {
+      return new Evaluator(
+          evaluator.getExpressionType(),
+          (row, logger, errorMsg) -> evaluator.evaluate(row, false, logger, () -> errorMsg)
+      );
+    }
+
+    static Evaluator of(final FusedExpressionMetadata evaluator) {
+      return new Evaluator(
+          evaluator.getExpressionTypes().get(0),
+          (row, logger, errorMsg) -> evaluator.evaluate(row, false, logger, i -> errorMsg)[0]
+      );
+    }
+
+    private Evaluator(final SqlType expressionType, final EvaluateFunction function) {
+      this.expressionType = requireNonNull(expressionType, "expressionType");
+      this.function = requireNonNull(function, "function");
+    }
+  }
 }
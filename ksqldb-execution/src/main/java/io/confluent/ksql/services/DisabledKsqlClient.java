@@ -21,6 +21,7 @@ import io.confluent.ksql.rest.entity.KsqlEntityList;
 import io.confluent.ksql.rest.entity.LagReportingMessage;
 import io.confluent.ksql.rest.entity.StreamedRow;
 import io.confluent.ksql.util.KsqlHostInfo;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +56,16 @@ public final class DisabledKsqlClient implements SimpleKsqlClient {
     throw new UnsupportedOperationException("KSQL client is disabled");
   }
 
+  @Override
+  public RestResponse<InputStream> makeStreamedQueryRequest(
+      final URI serverEndPoint,
+      final String sql,
+      final Map<String, ?> configOverrides,
+      final Map<String, ?> requestProperties
+  ) {
+    throw new UnsupportedOperationException("KSQL client is disabled");
+  }
+
   @Override
   public void makeAsyncHeartbeatRequest(
       final URI serverEndPoint,
@@ -21,6 +21,7 @@ import io.confluent.ksql.rest.entity.KsqlEntityList;
 import io.confluent.ksql.rest.entity.LagReportingMessage;
 import io.confluent.ksql.rest.entity.StreamedRow;
 import io.confluent.ksql.util.KsqlHostInfo;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +58,22 @@ public interface SimpleKsqlClient {
       Map<String, ?> requestProperties
   );
 
+  /**
+   * Send pull query request to remote Ksql server, receiving the result as a stream.
+   * @param serverEndPoint the remote destination
+   * @param sql the pull query statement
+   * @param configOverrides the config overrides provided by the client
+   * @param requestProperties the request metadata provided by the server
+   * @return the body of the response, which can be read as it arrives. The caller must close
+   *     the stream, which aborts the request if it has not all been read.
+   */
+  RestResponse<InputStream> makeStreamedQueryRequest(
+      URI serverEndPoint,
+      String sql,
+      Map<String, ?> configOverrides,
+      Map<String, ?> requestProperties
+  );
+
   /**
    * Send heartbeat to remote Ksql server.
    * @param serverEndPoint the remote destination.
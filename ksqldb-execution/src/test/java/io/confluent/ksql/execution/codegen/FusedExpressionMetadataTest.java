@@ -0,0 +1,176 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen;
+
+import static io.confluent.ksql.GenericRow.genericRow;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.codegen.FusedExpressionMetadata.Evaluator;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.function.udf.Kudf;
+import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.logging.processing.RecordProcessingError;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class FusedExpressionMetadataTest {
+
+  private static final Object DEFAULT_VAL = new Object();
+  private static final GenericRow ROW = genericRow(123, 456);
+
+  @Mock
+  private Evaluator evaluator;
+  @Mock
+  private Expression expression0;
+  @Mock
+  private Expression expression1;
+  @Mock
+  private Kudf udf;
+  @Mock
+  private ProcessingLogger processingLogger;
+
+  @Rule
+  public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  private FusedExpressionMetadata metadata;
+
+  @Before
+  public void setUp() {
+    metadata = new FusedExpressionMetadata(
+        evaluator,
+        ImmutableList.of(expression0, expression1),
+        ImmutableList.of(SqlTypes.INTEGER, SqlTypes.BIGINT),
+        new Object[]{udf}
+    );
+  }
+
+  @Test
+  public void shouldReturnResultOfEachExpression() {
+    // Given:
+    doAnswer(inv -> {
+      final Object[] results = inv.getArgument(2);
+      results[0] = 1;
+      results[1] = 2L;
+      return null;
+    }).when(evaluator).evaluate(any(), any(), any(), any());
+
+    // When:
+    final Object[] result = metadata
+        .evaluate(ROW, DEFAULT_VAL, processingLogger, i -> "It went wrong!");
+
+    // Then:
+    assertThat(result, arrayContaining(1, 2L));
+    verify(evaluator).evaluate(any(), any(), any(), any());
+    verify(processingLogger, never()).error(any());
+  }
+
+  @Test
+  public void shouldPassArgumentsToEvaluator() {
+    // When:
+    metadata.evaluate(ROW, DEFAULT_VAL, processingLogger, i -> "It went wrong!");
+
+    // Then:
+    verify(evaluator).evaluate(
+        any(),
+        argThat(args -> args.length == 1 && args[0] == udf),
+        any(),
+        any()
+    );
+  }
+
+  @Test
+  public void shouldOnlyDefaultAndLogExpressionsThatFailed() {
+    // Given:
+    final RuntimeException e = new RuntimeException("Boom");
+    doAnswer(inv -> {
+      final Object[] results = inv.getArgument(2);
+      final Exception[] errors = inv.getArgument(3);
+      results[0] = 1;
+      errors[1] = e;
+      return null;
+    }).when(evaluator).evaluate(any(), any(), any(), any());
+
+    // When:
+    final Object[] result = metadata
+        .evaluate(ROW, DEFAULT_VAL, processingLogger, i -> "It went wrong: " + i);
+
+    // Then:
+    assertThat(result, arrayContaining(1, DEFAULT_VAL));
+    verify(processingLogger).error(RecordProcessingError
+        .recordProcessingError("It went wrong: 1", e, ROW));
+  }
+
+  @Test
+  public void shouldNotReportPreviousErrorsOnSubsequentRows() {
+    // Given:
+    doAnswer(inv -> {
+      final Exception[] errors = inv.getArgument(3);
+      errors[0] = new RuntimeException("Boom");
+      return null;
+    }).doAnswer(inv -> null)
+        .when(evaluator).evaluate(any(), any(), any(), any());
+
+    metadata.evaluate(ROW, DEFAULT_VAL, processingLogger, i -> "It went wrong!");
+
+    // When:
+    final Object[] result = metadata
+        .evaluate(ROW, DEFAULT_VAL, processingLogger, i -> "It went wrong!");
+
+    // Then:
+    assertThat(result, is(new Object[]{null, null}));
+    verify(processingLogger, times(1)).error(any());
+  }
+
+  @Test
+  public void shouldDefaultAndLogAllExpressionsIfEvaluatorThrows() {
+    // Given:
+    final RuntimeException e = new ClassCastException("Boom");
+    doThrow(e).when(evaluator).evaluate(any(), any(), any(), any());
+
+    // When:
+    final Object[] result = metadata
+        .evaluate(ROW, DEFAULT_VAL, processingLogger, i -> "It went wrong: " + i);
+
+    // Then:
+    assertThat(result, arrayContaining(DEFAULT_VAL, DEFAULT_VAL));
+    verify(processingLogger).error(RecordProcessingError
+        .recordProcessingError("It went wrong: 0", e, ROW));
+    verify(processingLogger).error(RecordProcessingError
+        .recordProcessingError("It went wrong: 1", e, ROW));
+  }
+
+  @Test
+  public void shouldExposeExpressionTypes() {
+    assertThat(metadata.getExpressionTypes(),
+        is(ImmutableList.of(SqlTypes.INTEGER, SqlTypes.BIGINT)));
+  }
+}
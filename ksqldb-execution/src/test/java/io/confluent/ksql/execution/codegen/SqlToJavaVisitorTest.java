@@ -77,6 +77,7 @@ import io.confluent.ksql.schema.Operator;
 import io.confluent.ksql.schema.ksql.types.SqlDecimal;
 import io.confluent.ksql.schema.ksql.types.SqlPrimitiveType;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -108,7 +109,9 @@ public class SqlToJavaVisitorTest {
         functionRegistry,
         ref -> ref.text().replace(".", "_"),
         name -> name.text() + "_" + funCounter.getAndIncrement(),
-        struct -> "schema" + structCounter.getAndIncrement()
+        funCodeName -> null,
+        struct -> "schema" + structCounter.getAndIncrement(),
+        like -> null
     );
   }
 
@@ -330,6 +333,40 @@ public class SqlToJavaVisitorTest {
     ));
   }
 
+  @Test
+  public void shouldCallResolvedUdfMethodDirectly() throws Exception {
+    // Given:
+    final UdfFactory udfFactory = mock(UdfFactory.class);
+    final KsqlScalarFunction udf = mock(KsqlScalarFunction.class);
+    givenUdf("FOO", udfFactory, udf);
+    when(udf.parameters()).thenReturn(ImmutableList.of(ParamTypes.LONG, ParamTypes.STRING));
+
+    final Method method = TestUdf.class.getMethod("foo", long.class, String.class);
+    sqlToJavaVisitor = new SqlToJavaVisitor(
+        SCHEMA,
+        functionRegistry,
+        ref -> ref.text().replace(".", "_"),
+        name -> name.text() + "_0",
+        funCodeName -> funCodeName.equals("FOO_0") ? method : null,
+        struct -> "schema",
+        like -> null
+    );
+
+    // When:
+    final String javaExpression = sqlToJavaVisitor.process(
+        new FunctionCall(
+            FunctionName.of("FOO"),
+            ImmutableList.of(new IntegerLiteral(1), COL1)
+        )
+    );
+
+    // Then:
+    assertThat(javaExpression, is(
+        "((String) FOO_0.foo("
+            + "((long) ((Long) ((new Integer(1).longValue())))), ((java.lang.String) (COL1))))"
+    ));
+  }
+
   @Test
   public void shouldHandleFunctionCallsWithGenerics() {
     // Given:
@@ -418,6 +455,27 @@ public class SqlToJavaVisitorTest {
     assertThat(javaExpression, equalTo("LikeEvaluator.matches(COL1, \"%foo\", '!')"));
   }
 
+  @Test
+  public void shouldGenerateCorrectCodeForLikePatternWithPrecompiledMatcher() {
+    // Given:
+    final Expression expression = new LikePredicate(COL1, new StringLiteral("%foo"), Optional.of('!'));
+    sqlToJavaVisitor = new SqlToJavaVisitor(
+        SCHEMA,
+        functionRegistry,
+        ref -> ref.text().replace(".", "_"),
+        name -> name.text(),
+        funCodeName -> null,
+        struct -> "schema",
+        like -> "likeMatcher0"
+    );
+
+    // When:
+    final String javaExpression = sqlToJavaVisitor.process(expression);
+
+    // Then:
+    assertThat(javaExpression, equalTo("likeMatcher0.matches(COL1)"));
+  }
+
   @Test
   public void shouldGenerateCorrectCodeForLikePatternWithColRef() {
     // Given:
@@ -927,6 +985,13 @@ public class SqlToJavaVisitorTest {
     );
   }
 
+  public static final class TestUdf {
+
+    public String foo(final long value, final String text) {
+      return text + value;
+    }
+  }
+
   private void givenUdf(
       final String name, final UdfFactory factory, final KsqlScalarFunction function
   ) {
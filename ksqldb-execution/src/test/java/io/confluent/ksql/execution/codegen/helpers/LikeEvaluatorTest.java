@@ -64,7 +64,25 @@ public class LikeEvaluatorTest {
         {"escape with special char",              "f%o", "f%%o", '%'},
         {"escape with special char [X]",          "foo", "f%%o", '%'},
         {"escape with backslash char",            "f%o", "f\\%o", '\\'},
-        {"escape with backslash char [X]",        "foo", "f\\%o", '\\'}
+        {"escape with backslash char [X]",        "foo", "f\\%o", '\\'},
+        {"empty pattern",                         "", "", null},
+        {"empty pattern [X]",                     "foo", "", null},
+        {"only percents",                         "foo", "%%", null},
+        {"only percents with empty value",        "", "%", null},
+        {"percents both sides with regex chars",  "a.*b", "%.*%", null},
+        {"percents both sides with regex chars [X]", "ab", "%.*%", null},
+        {"percents one side with escape",         "f%oo", "f!%%", '!'},
+        {"percents one side with escape [X]",     "foo", "f!%%", '!'},
+        {"percents one side with underscore",     "fao", "f_%", null},
+        {"percents one side with underscore [X]", "f", "f_%", null},
+        {"percents both sides multi-line",        "a\nfoo\nb", "%foo%", null},
+        {"percents one side multi-line",          "foo\nb", "foo%", null},
+        {"percents other side multi-line",        "a\nfoo", "%foo", null},
+        {"percents in the middle multi-line",     "foo\nbar", "f%r", null},
+        {"percents in the middle multi-line [X]", "foo\nbaz", "f%r", null},
+        {"multiple percents multi-line",          "a\nb\nc", "a%b%c", null},
+        {"underscore multi-line",                 "f\no", "f_o", null},
+        {"underscore and percents multi-line",    "f\no\nbar", "f_o%", null}
     };
   }
 
@@ -85,4 +103,13 @@ public class LikeEvaluatorTest {
     }
   }
 
+  @Test
+  public void shouldMatchWithCompiledPattern() {
+    // When:
+    final LikeMatcher matcher = LikeEvaluator.compile(pattern, Optional.ofNullable(escape));
+
+    // Then:
+    assertThat(matcher.matches(val), not(name.contains("[X]")));
+  }
+
 }
\ No newline at end of file
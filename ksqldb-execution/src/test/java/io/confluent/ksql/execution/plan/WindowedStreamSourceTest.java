@@ -14,8 +14,10 @@
 
 package io.confluent.ksql.execution.plan;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.testing.EqualsTester;
 import io.confluent.ksql.execution.timestamp.TimestampColumn;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.serde.WindowInfo;
 import java.util.Optional;
@@ -52,24 +54,35 @@ public class WindowedStreamSourceTest {
     new EqualsTester()
         .addEqualityGroup(
             new WindowedStreamSource(
-                properties1, "topic1", formats1, window1, Optional.of(timestamp1), schema1),
+                properties1, "topic1", formats1, window1, Optional.of(timestamp1), schema1,
+                Optional.empty()),
             new WindowedStreamSource(
-                properties1, "topic1", formats1, window1, Optional.of(timestamp1), schema1))
+                properties1, "topic1", formats1, window1, Optional.of(timestamp1), schema1,
+                Optional.empty()))
         .addEqualityGroup(
             new WindowedStreamSource(
-                properties2, "topic1", formats1, window1, Optional.of(timestamp1), schema1))
+                properties2, "topic1", formats1, window1, Optional.of(timestamp1), schema1,
+                Optional.empty()))
         .addEqualityGroup(
             new WindowedStreamSource(
-                properties1, "topic2", formats1, window1, Optional.of(timestamp1), schema1))
+                properties1, "topic2", formats1, window1, Optional.of(timestamp1), schema1,
+                Optional.empty()))
         .addEqualityGroup(
             new WindowedStreamSource(
-                properties1, "topic1", formats2, window1, Optional.of(timestamp1), schema1))
+                properties1, "topic1", formats2, window1, Optional.of(timestamp1), schema1,
+                Optional.empty()))
         .addEqualityGroup(
             new WindowedStreamSource(
-                properties1, "topic1", formats1, window1, Optional.of(timestamp2), schema1))
+                properties1, "topic1", formats1, window1, Optional.of(timestamp2), schema1,
+                Optional.empty()))
         .addEqualityGroup(
             new WindowedStreamSource(
-                properties1, "topic1", formats1, window1, Optional.of(timestamp1), schema2))
+                properties1, "topic1", formats1, window1, Optional.of(timestamp1), schema2,
+                Optional.empty()))
+        .addEqualityGroup(
+            new WindowedStreamSource(
+                properties1, "topic1", formats1, window1, Optional.of(timestamp1), schema1,
+                Optional.of(ImmutableList.of(ColumnName.of("V0")))))
         .testEquals();
   }
 }
\ No newline at end of file
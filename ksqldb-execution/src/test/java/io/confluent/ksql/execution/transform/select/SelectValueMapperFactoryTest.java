@@ -19,16 +19,19 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.execution.codegen.CodeGenRunner;
 import io.confluent.ksql.execution.codegen.ExpressionMetadata;
+import io.confluent.ksql.execution.codegen.FusedExpressionMetadata;
 import io.confluent.ksql.execution.expression.tree.Expression;
 import io.confluent.ksql.execution.plan.SelectExpression;
 import io.confluent.ksql.execution.transform.select.SelectValueMapper.SelectInfo;
 import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -52,6 +55,8 @@ public class SelectValueMapperFactoryTest {
   private ExpressionMetadata md_0;
   @Mock
   private ExpressionMetadata md_1;
+  @Mock
+  private FusedExpressionMetadata fusedMd;
 
   private SelectValueMapperFactory factory;
 
@@ -66,6 +71,10 @@ public class SelectValueMapperFactoryTest {
     when(select_1.getExpression()).thenReturn(exp_1);
     when(codeGenerator.buildCodeGenFromParseTree(eq(exp_0), any())).thenReturn(md_0);
     when(codeGenerator.buildCodeGenFromParseTree(eq(exp_1), any())).thenReturn(md_1);
+    when(md_0.getExpression()).thenReturn(exp_0);
+    when(md_1.getExpression()).thenReturn(exp_1);
+    when(md_0.getExpressionType()).thenReturn(SqlTypes.STRING);
+    when(md_1.getExpressionType()).thenReturn(SqlTypes.INTEGER);
   }
 
   @Test
@@ -89,4 +98,26 @@ public class SelectValueMapperFactoryTest {
     // Then:
     verify(codeGenerator).buildCodeGenFromParseTree(any(), eq("Select"));
   }
+
+  @Test
+  public void shouldOnlyCompileFusedEvaluatorWhenFused() {
+    // Given:
+    factory = new SelectValueMapperFactory(codeGenerator, true);
+    when(codeGenerator.buildFusedCodeGen(any(), any())).thenReturn(fusedMd);
+    when(fusedMd.getExpressions()).thenReturn(ImmutableList.of(exp_0, exp_1));
+    when(fusedMd.getExpressionTypes())
+        .thenReturn(ImmutableList.of(SqlTypes.STRING, SqlTypes.INTEGER));
+
+    // When:
+    final SelectValueMapper<?> mapper = factory
+        .create(ImmutableList.of(select_0, select_1));
+
+    // Then:
+    verify(codeGenerator).buildFusedCodeGen(ImmutableList.of(exp_0, exp_1), "Select");
+    verify(codeGenerator, never()).buildCodeGenFromParseTree(any(), any());
+    assertThat(mapper.getSelects(), contains(
+        SelectInfo.of(ColumnName.of("field_0"), exp_0, SqlTypes.STRING),
+        SelectInfo.of(ColumnName.of("field_1"), exp_1, SqlTypes.INTEGER)
+    ));
+  }
 }
\ No newline at end of file
@@ -35,6 +35,7 @@ import io.confluent.ksql.execution.transform.KsqlProcessingContext;
 import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
 import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import java.util.List;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -72,6 +73,9 @@ public class SelectValueMapperTest {
     when(col0.getExpression()).thenReturn(new UnqualifiedColumnReferenceExp(ColumnName.of("a")));
     when(col1.getExpression()).thenReturn(new UnqualifiedColumnReferenceExp(ColumnName.of("c")));
     when(col2.getExpression()).thenReturn(new UnqualifiedColumnReferenceExp(ColumnName.of("b")));
+    when(col0.getExpressionType()).thenReturn(SqlTypes.INTEGER);
+    when(col1.getExpressionType()).thenReturn(SqlTypes.INTEGER);
+    when(col2.getExpressionType()).thenReturn(SqlTypes.STRING);
 
     final SelectValueMapper<Object> selectValueMapper = new SelectValueMapper<>(
         ImmutableList.of(
@@ -101,10 +101,10 @@ public class SelectionTest {
     // Then:
     final List<SelectInfo> selectInfos = mapper.getSelects();
     assertThat(
-        selectInfos.get(0).getEvaluator().getExpression(),
+        selectInfos.get(0).getExpression(),
         equalTo(EXPRESSION1));
     assertThat(
-        selectInfos.get(1).getEvaluator().getExpression(),
+        selectInfos.get(1).getExpression(),
         equalTo(EXPRESSION2));
   }
 
@@ -25,6 +25,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.codegen.ExpressionMetadata;
 import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
@@ -113,6 +114,27 @@ public class SqlPredicateTest {
     assertThat(result2, is(Optional.empty()));
   }
 
+  @Test
+  public void shouldCompileFusedEvaluator() {
+    // Given:
+    predicate = new SqlPredicate(
+        new ComparisonExpression(Type.LESS_THAN, COL0, new LongLiteral(100)),
+        SCHEMA,
+        new KsqlConfig(ImmutableMap.of(KsqlConfig.KSQL_CODEGEN_FUSED_ENABLED_CONFIG, true)),
+        functionRegistry
+    );
+
+    transformer = predicate.getTransformer(processingLogger);
+
+    // When:
+    final Optional<GenericRow> result1 = transformer.transform("key", genericRow(99L), ctx);
+    final Optional<GenericRow> result2 = transformer.transform("key", genericRow(100L), ctx);
+
+    // Then:
+    assertThat(result1, is(not(Optional.empty())));
+    assertThat(result2, is(Optional.empty()));
+  }
+
   @Test
   public void shouldPassFilter() {
     // Given:
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.test.tools;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.engine.KsqlEngine;
+import io.confluent.ksql.services.ServiceContext;
+import io.confluent.ksql.test.tools.TestExecutor.TopologyBuilder;
+import io.confluent.ksql.test.tools.TopicInfoCache.TopicInfo;
+import io.confluent.ksql.test.tools.stubs.StubKafkaService;
+import io.confluent.ksql.util.KsqlConfig;
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.streams.TopologyTestDriver;
+
+/**
+ * Measures the throughput of the topologies built for a {@link TestCase}.
+ *
+ * <p>The topologies are built exactly as {@link TestExecutor} builds them. The test case's input
+ * records are then replayed through them a number of times, with each pass shifting the record
+ * timestamps forward so that windowed operations see time progressing. Output is drained, but not
+ * verified: correctness is the job of {@link TestExecutor}.
+ *
+ * <p>Input records are serialized before they are timed, and output is drained after each pass,
+ * so the reported latencies, throughput and allocations cover only the work done by the topology
+ * while processing each record, including deserializing the input and serializing the output.
+ */
+@SuppressWarnings("deprecation")
+public final class BenchmarkExecutor implements Closeable {
+
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+  private final ServiceContext serviceContext;
+  private final KsqlEngine ksqlEngine;
+  private final Map<String, ?> config = TestExecutor.baseConfig();
+  private final StubKafkaService kafka;
+  private final TopologyBuilder topologyBuilder;
+  private final TopicInfoCache topicInfoCache;
+
+  public static BenchmarkExecutor create() {
+    final ServiceContext serviceContext = TestExecutor.getServiceContext();
+
+    return new BenchmarkExecutor(
+        StubKafkaService.create(),
+        serviceContext,
+        TestExecutor.getKsqlEngine(serviceContext),
+        TestExecutorUtil::buildStreamsTopologyTestDrivers
+    );
+  }
+
+  @VisibleForTesting
+  BenchmarkExecutor(
+      final StubKafkaService kafka,
+      final ServiceContext serviceContext,
+      final KsqlEngine ksqlEngine,
+      final TopologyBuilder topologyBuilder
+  ) {
+    this.kafka = requireNonNull(kafka, "kafka");
+    this.serviceContext = requireNonNull(serviceContext, "serviceContext");
+    this.ksqlEngine = requireNonNull(ksqlEngine, "ksqlEngine");
+    this.topologyBuilder = requireNonNull(topologyBuilder, "topologyBuilder");
+    this.topicInfoCache = new TopicInfoCache(ksqlEngine, serviceContext.getSchemaRegistryClient());
+  }
+
+  /**
+   * Benchmark the supplied {@code testCase}.
+   *
+   * @param testCase the test case to benchmark.
+   * @param amplification the number of times to replay the input records while measuring.
+   * @param warmUpPasses the number of times to replay the input records before measuring.
+   * @return the result.
+   */
+  public BenchmarkResult benchmark(
+      final TestCase testCase,
+      final int amplification,
+      final int warmUpPasses
+  ) {
+    if (amplification < 1) {
+      throw new IllegalArgumentException("amplification must be positive");
+    }
+
+    if (warmUpPasses < 0) {
+      throw new IllegalArgumentException("warmUpPasses must not be negative");
+    }
+
+    if (testCase.expectedException().isPresent()) {
+      throw new IllegalArgumentException("Can not benchmark test cases that expect an exception");
+    }
+
+    topicInfoCache.clear();
+
+    final KsqlConfig currentConfigs = new KsqlConfig(config);
+    final Map<String, String> persistedConfigs = testCase.persistedProperties();
+    final KsqlConfig ksqlConfig = persistedConfigs.isEmpty() ? currentConfigs :
+        currentConfigs.overrideBreakingConfigsWithOriginalValues(persistedConfigs);
+
+    final List<TopologyTestDriverContainer> drivers = topologyBuilder
+        .buildStreamsTopologyTestDrivers(
+            testCase,
+            serviceContext,
+            ksqlEngine,
+            ksqlConfig,
+            kafka,
+            TestExecutionListener.noOp()
+        );
+
+    try {
+      final List<SerializedInput> inputs = serializeInputs(testCase, drivers);
+      if (inputs.isEmpty()) {
+        throw new IllegalArgumentException("Test case has no input records for its queries");
+      }
+
+      final long timeSpan = timeSpan(inputs);
+
+      for (int pass = 0; pass < warmUpPasses; pass++) {
+        runPass(inputs, pass * timeSpan, new Measurement(inputs.size()));
+        drainOutput(drivers);
+      }
+
+      final Measurement measurement = new Measurement(inputs.size() * amplification);
+      long outputRecords = 0;
+
+      for (int pass = 0; pass < amplification; pass++) {
+        runPass(inputs, (warmUpPasses + pass) * timeSpan, measurement);
+        outputRecords += drainOutput(drivers);
+      }
+
+      return buildResult(
+          testCase,
+          amplification,
+          measurement.latencies,
+          outputRecords,
+          measurement.elapsedNs,
+          measurement.allocatedBytes()
+      );
+    } finally {
+      drivers.forEach(driver -> driver.getTopologyTestDriver().close());
+    }
+  }
+
+  public void close() {
+    serviceContext.close();
+    ksqlEngine.close();
+  }
+
+  private List<SerializedInput> serializeInputs(
+      final TestCase testCase,
+      final List<TopologyTestDriverContainer> drivers
+  ) {
+    final List<SerializedInput> inputs = new ArrayList<>();
+
+    int inputRecordIndex = 0;
+    for (final Record record : testCase.getInputRecords()) {
+      final int msgIndex = inputRecordIndex++;
+
+      final List<TopologyTestDriver> consumers = drivers.stream()
+          .filter(driver -> driver.getSourceTopicNames().contains(record.getTopicName()))
+          .map(TopologyTestDriverContainer::getTopologyTestDriver)
+          .collect(Collectors.toList());
+
+      if (consumers.isEmpty()) {
+        continue;
+      }
+
+      final TopicInfo topicInfo = topicInfoCache.get(record.getTopicName());
+      final Record coerced = topicInfo.coerceRecordKey(record, msgIndex);
+
+      final byte[] key = topicInfo.getKeySerializer()
+          .serialize(coerced.getTopicName(), coerced.key());
+      final byte[] value = topicInfo.getValueSerializer()
+          .serialize(coerced.getTopicName(), coerced.value());
+
+      for (final TopologyTestDriver driver : consumers) {
+        inputs.add(new SerializedInput(
+            driver,
+            coerced.getTopicName(),
+            key,
+            value,
+            coerced.timestamp().orElse(0L)
+        ));
+      }
+    }
+
+    return ImmutableList.copyOf(inputs);
+  }
+
+  private static void runPass(
+      final List<SerializedInput> inputs,
+      final long timestampOffset,
+      final Measurement measurement
+  ) {
+    final org.apache.kafka.streams.test.ConsumerRecordFactory<byte[], byte[]> factory =
+        new org.apache.kafka.streams.test.ConsumerRecordFactory<>(
+            new ByteArraySerializer(),
+            new ByteArraySerializer()
+        );
+
+    for (final SerializedInput input : inputs) {
+      final ConsumerRecord<byte[], byte[]> record = factory.create(
+          input.topicName,
+          input.key,
+          input.value,
+          input.timestamp + timestampOffset
+      );
+
+      final long allocatedBefore = allocatedBytes();
+      final long start = System.nanoTime();
+      input.driver.pipeInput(record);
+      final long latency = System.nanoTime() - start;
+      final long allocatedAfter = allocatedBytes();
+
+      measurement.record(latency, allocatedBefore, allocatedAfter);
+    }
+  }
+
+  private static long drainOutput(final List<TopologyTestDriverContainer> drivers) {
+    long count = 0;
+    for (final TopologyTestDriverContainer driver : drivers) {
+      final TopologyTestDriver testDriver = driver.getTopologyTestDriver();
+      for (final String topic : driver.getOutputTopicNames()) {
+        while (testDriver.readOutput(topic) != null) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  private static long timeSpan(final List<SerializedInput> inputs) {
+    final long min = inputs.stream().mapToLong(input -> input.timestamp).min().orElse(0);
+    final long max = inputs.stream().mapToLong(input -> input.timestamp).max().orElse(0);
+    return max - min + 1;
+  }
+
+  private static long allocatedBytes() {
+    if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean)) {
+      return -1;
+    }
+
+    final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+    if (!bean.isThreadAllocatedMemorySupported() || !bean.isThreadAllocatedMemoryEnabled()) {
+      return -1;
+    }
+
+    return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  @VisibleForTesting
+  static BenchmarkResult buildResult(
+      final TestCase testCase,
+      final int amplification,
+      final long[] latencies,
+      final long outputRecords,
+      final long elapsedNs,
+      final OptionalLong allocatedBytes
+  ) {
+    final long[] sorted = Arrays.copyOf(latencies, latencies.length);
+    Arrays.sort(sorted);
+
+    final double elapsedSeconds = Math.max(elapsedNs, 1) / (double) TimeUnit.SECONDS.toNanos(1);
+
+    return new BenchmarkResult(
+        testCase.getName(),
+        testCase.getTestFile(),
+        amplification,
+        sorted.length,
+        outputRecords,
+        sorted.length / elapsedSeconds,
+        percentile(sorted, 0.50),
+        percentile(sorted, 0.99),
+        allocatedBytes.isPresent()
+            ? OptionalLong.of(allocatedBytes.getAsLong() / Math.max(sorted.length, 1))
+            : OptionalLong.empty(),
+        allocatedBytes.isPresent()
+            ? OptionalDouble.of(allocatedBytes.getAsLong() / elapsedSeconds)
+            : OptionalDouble.empty()
+    );
+  }
+
+  @VisibleForTesting
+  static long percentile(final long[] sorted, final double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+
+    final int rank = (int) Math.ceil(percentile * sorted.length);
+    return sorted[Math.max(rank, 1) - 1];
+  }
+
+  private static final class Measurement {
+
+    private final long[] latencies;
+    private int count;
+    private long elapsedNs;
+    private long allocatedBytes;
+    private boolean allocationSupported = true;
+
+    Measurement(final int expectedRecords) {
+      this.latencies = new long[expectedRecords];
+    }
+
+    void record(final long latencyNs, final long allocatedBefore, final long allocatedAfter) {
+      latencies[count++] = latencyNs;
+      elapsedNs += latencyNs;
+
+      if (allocatedBefore < 0 || allocatedAfter < 0) {
+        allocationSupported = false;
+      } else {
+        allocatedBytes += allocatedAfter - allocatedBefore;
+      }
+    }
+
+    OptionalLong allocatedBytes() {
+      return allocationSupported ? OptionalLong.of(allocatedBytes) : OptionalLong.empty();
+    }
+  }
+
+  private static final class SerializedInput {
+
+    private final TopologyTestDriver driver;
+    private final String topicName;
+    private final byte[] key;
+    private final byte[] value;
+    private final long timestamp;
+
+    SerializedInput(
+        final TopologyTestDriver driver,
+        final String topicName,
+        final byte[] key,
+        final byte[] value,
+        final long timestamp
+    ) {
+      this.driver = driver;
+      this.topicName = topicName;
+      this.key = key;
+      this.value = value;
+      this.timestamp = timestamp;
+    }
+  }
+}
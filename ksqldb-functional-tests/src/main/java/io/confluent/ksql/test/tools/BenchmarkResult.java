@@ -0,0 +1,184 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.test.tools;
+
+import static java.util.Objects.requireNonNull;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.google.errorprone.annotations.Immutable;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+
+/**
+ * The throughput of a single test case, as measured by {@link BenchmarkExecutor}.
+ */
+@Immutable
+@JsonPropertyOrder({
+    "testName",
+    "testFile",
+    "amplification",
+    "records",
+    "outputRecords",
+    "recordsPerSecond",
+    "p50LatencyNs",
+    "p99LatencyNs",
+    "allocatedBytesPerRecord",
+    "allocatedBytesPerSecond"
+})
+public final class BenchmarkResult {
+
+  private final String testName;
+  private final String testFile;
+  private final int amplification;
+  private final long records;
+  private final long outputRecords;
+  private final double recordsPerSecond;
+  private final long p50LatencyNs;
+  private final long p99LatencyNs;
+  private final OptionalLong allocatedBytesPerRecord;
+  private final OptionalDouble allocatedBytesPerSecond;
+
+  // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
+  @JsonCreator
+  public BenchmarkResult(
+      @JsonProperty(value = "testName", required = true) final String testName,
+      @JsonProperty(value = "testFile", required = true) final String testFile,
+      @JsonProperty(value = "amplification", required = true) final int amplification,
+      @JsonProperty(value = "records", required = true) final long records,
+      @JsonProperty(value = "outputRecords", required = true) final long outputRecords,
+      @JsonProperty(value = "recordsPerSecond", required = true) final double recordsPerSecond,
+      @JsonProperty(value = "p50LatencyNs", required = true) final long p50LatencyNs,
+      @JsonProperty(value = "p99LatencyNs", required = true) final long p99LatencyNs,
+      @JsonProperty("allocatedBytesPerRecord") final OptionalLong allocatedBytesPerRecord,
+      @JsonProperty("allocatedBytesPerSecond") final OptionalDouble allocatedBytesPerSecond
+  ) {
+    // CHECKSTYLE_RULES.ON: ParameterNumberCheck
+    this.testName = requireNonNull(testName, "testName");
+    this.testFile = requireNonNull(testFile, "testFile");
+    this.amplification = amplification;
+    this.records = records;
+    this.outputRecords = outputRecords;
+    this.recordsPerSecond = recordsPerSecond;
+    this.p50LatencyNs = p50LatencyNs;
+    this.p99LatencyNs = p99LatencyNs;
+    this.allocatedBytesPerRecord =
+        requireNonNull(allocatedBytesPerRecord, "allocatedBytesPerRecord");
+    this.allocatedBytesPerSecond =
+        requireNonNull(allocatedBytesPerSecond, "allocatedBytesPerSecond");
+  }
+
+  public String getTestName() {
+    return testName;
+  }
+
+  public String getTestFile() {
+    return testFile;
+  }
+
+  /**
+   * @return the number of times the test case's input records were replayed.
+   */
+  public int getAmplification() {
+    return amplification;
+  }
+
+  /**
+   * @return the number of records piped into the topologies during measurement.
+   */
+  public long getRecords() {
+    return records;
+  }
+
+  /**
+   * @return the number of records the topologies produced during measurement.
+   */
+  public long getOutputRecords() {
+    return outputRecords;
+  }
+
+  public double getRecordsPerSecond() {
+    return recordsPerSecond;
+  }
+
+  public long getP50LatencyNs() {
+    return p50LatencyNs;
+  }
+
+  public long getP99LatencyNs() {
+    return p99LatencyNs;
+  }
+
+  /**
+   * @return the bytes allocated per record, or empty if the JVM does not support measuring it.
+   */
+  public OptionalLong getAllocatedBytesPerRecord() {
+    return allocatedBytesPerRecord;
+  }
+
+  /**
+   * @return the allocation rate, or empty if the JVM does not support measuring it.
+   */
+  public OptionalDouble getAllocatedBytesPerSecond() {
+    return allocatedBytesPerSecond;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final BenchmarkResult that = (BenchmarkResult) o;
+    return amplification == that.amplification
+        && records == that.records
+        && outputRecords == that.outputRecords
+        && Double.compare(that.recordsPerSecond, recordsPerSecond) == 0
+        && p50LatencyNs == that.p50LatencyNs
+        && p99LatencyNs == that.p99LatencyNs
+        && testName.equals(that.testName)
+        && testFile.equals(that.testFile)
+        && allocatedBytesPerRecord.equals(that.allocatedBytesPerRecord)
+        && allocatedBytesPerSecond.equals(that.allocatedBytesPerSecond);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(testName, testFile, amplification, records, outputRecords,
+        recordsPerSecond, p50LatencyNs, p99LatencyNs, allocatedBytesPerRecord,
+        allocatedBytesPerSecond);
+  }
+
+  @Override
+  public String toString() {
+    return "BenchmarkResult{"
+        + "testName='" + testName + '\''
+        + ", testFile='" + testFile + '\''
+        + ", amplification=" + amplification
+        + ", records=" + records
+        + ", outputRecords=" + outputRecords
+        + ", recordsPerSecond=" + recordsPerSecond
+        + ", p50LatencyNs=" + p50LatencyNs
+        + ", p99LatencyNs=" + p99LatencyNs
+        + ", allocatedBytesPerRecord=" + allocatedBytesPerRecord
+        + ", allocatedBytesPerSecond=" + allocatedBytesPerSecond
+        + '}';
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Streams;
+import io.confluent.ksql.test.planned.PlannedTestLoader;
+import io.confluent.ksql.test.tools.BenchmarkExecutor;
+import io.confluent.ksql.test.tools.BenchmarkResult;
+import io.confluent.ksql.test.tools.TestCase;
+import io.confluent.ksql.test.tools.TestJsonMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the throughput of the query-validation-tests and historical plans run by
+ * {@link QueryTranslationTest}.
+ *
+ * <p>Each test case's input records are replayed through its topologies a number of times and the
+ * throughput, latency percentiles and allocation rate are written to a JSON file. Passing the
+ * file written by a previous build as a baseline prints the change in throughput per test case.
+ *
+ * <p>Configured via system properties:
+ * <ul>
+ *   <li>{@code ksql.test.files}: the subset of test files to benchmark, as for
+ *   {@link QueryTranslationTest}.</li>
+ *   <li>{@value #AMPLIFICATION}: the number of times to replay each case's input. Default
+ *   {@value #DEFAULT_AMPLIFICATION}.</li>
+ *   <li>{@value #WARM_UP}: the number of unmeasured passes to run first. Default
+ *   {@value #DEFAULT_WARM_UP}.</li>
+ *   <li>{@value #OUTPUT}: the file to write the results to. Default {@value #DEFAULT_OUTPUT}.</li>
+ *   <li>{@value #BASELINE}: optional results from a previous run to compare against.</li>
+ * </ul>
+ *
+ * <p>See `ksql-functional-tests/README.md` for more info.
+ */
+public final class QueryTranslationBenchmark {
+
+  private static final String AMPLIFICATION = "ksql.benchmark.amplification";
+  private static final String WARM_UP = "ksql.benchmark.warmup";
+  private static final String OUTPUT = "ksql.benchmark.output";
+  private static final String BASELINE = "ksql.benchmark.baseline";
+
+  private static final int DEFAULT_AMPLIFICATION = 1000;
+  private static final int DEFAULT_WARM_UP = 100;
+  private static final String DEFAULT_OUTPUT = "target/qtt-benchmark.json";
+
+  private static final ObjectMapper MAPPER = TestJsonMapper.INSTANCE.get();
+
+  private QueryTranslationBenchmark() {
+  }
+
+  @SuppressWarnings("UnstableApiUsage")
+  public static void main(final String[] args) throws IOException {
+    final int amplification = Integer.getInteger(AMPLIFICATION, DEFAULT_AMPLIFICATION);
+    final int warmUp = Integer.getInteger(WARM_UP, DEFAULT_WARM_UP);
+    final File output = new File(System.getProperty(OUTPUT, DEFAULT_OUTPUT));
+    final Optional<File> baseline = Optional.ofNullable(System.getProperty(BASELINE))
+        .map(File::new);
+
+    final List<BenchmarkResult> results = Streams.concat(
+        QueryTranslationTest.findTestCases(),
+        PlannedTestLoader.load()
+    )
+        .filter(testCase -> !testCase.expectedException().isPresent())
+        .filter(testCase -> !testCase.getInputRecords().isEmpty())
+        .map(testCase -> benchmark(testCase, amplification, warmUp))
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .sorted(Comparator.comparing(BenchmarkResult::getTestName))
+        .collect(Collectors.toList());
+
+    final File parent = output.getAbsoluteFile().getParentFile();
+    if (!parent.exists() && !parent.mkdirs()) {
+      throw new IOException("Failed to create directory: " + parent);
+    }
+
+    MAPPER.writerWithDefaultPrettyPrinter().writeValue(output, results);
+    System.out.println("Wrote " + results.size() + " results to " + output);
+
+    if (baseline.isPresent()) {
+      compare(
+          MAPPER.readValue(baseline.get(), new TypeReference<List<BenchmarkResult>>() { }),
+          results
+      );
+    }
+  }
+
+  private static Optional<BenchmarkResult> benchmark(
+      final TestCase testCase,
+      final int amplification,
+      final int warmUp
+  ) {
+    try (final BenchmarkExecutor executor = BenchmarkExecutor.create()) {
+      final BenchmarkResult result = executor.benchmark(testCase, amplification, warmUp);
+      System.out.printf("%-100s %12.0f records/s%n", testCase.getName(),
+          result.getRecordsPerSecond());
+      return Optional.of(result);
+    } catch (final AssertionError | Exception e) {
+      System.err.println("Skipping " + testCase.getName() + ": " + e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private static void compare(
+      final List<BenchmarkResult> baseline,
+      final List<BenchmarkResult> results
+  ) {
+    final Map<String, BenchmarkResult> baselineByName = baseline.stream()
+        .collect(Collectors.toMap(BenchmarkResult::getTestName, Function.identity()));
+
+    final Function<BenchmarkResult, Double> change = result -> {
+      final double before = baselineByName.get(result.getTestName()).getRecordsPerSecond();
+      return (result.getRecordsPerSecond() - before) * 100 / before;
+    };
+
+    System.out.printf("%-100s %12s %12s %9s%n", "test", "baseline", "current", "change");
+
+    results.stream()
+        .filter(result -> baselineByName.containsKey(result.getTestName()))
+        .sorted(Comparator.comparing(change))
+        .forEach(result -> System.out.printf("%-100s %12.0f %12.0f %+8.1f%%%n",
+            result.getTestName(),
+            baselineByName.get(result.getTestName()).getRecordsPerSecond(),
+            result.getRecordsPerSecond(),
+            change.apply(result)
+        ));
+  }
+}
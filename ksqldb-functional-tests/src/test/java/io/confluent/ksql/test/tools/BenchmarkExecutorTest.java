@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.test.tools;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import io.confluent.ksql.test.model.QttTestFile;
+import java.io.File;
+import java.io.IOException;
+import java.util.OptionalLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BenchmarkExecutorTest {
+
+  private static final File TEST_FILE = new File("src/test/resources/testing_tool_tests.json");
+
+  private TestCase testCase;
+  private BenchmarkExecutor executor;
+
+  @Before
+  public void setUp() throws IOException {
+    final QttTestFile qttTestFile = TestJsonMapper.INSTANCE.get()
+        .readValue(TEST_FILE, QttTestFile.class);
+
+    testCase = TestCaseBuilder.buildTests(qttTestFile.tests.get(0), TEST_FILE.toPath()).get(0);
+
+    executor = BenchmarkExecutor.create();
+  }
+
+  @After
+  public void tearDown() {
+    executor.close();
+  }
+
+  @Test
+  public void shouldReplayInputAmplificationTimes() {
+    // When:
+    final BenchmarkResult result = executor.benchmark(testCase, 5, 2);
+
+    // Then:
+    assertThat(result.getTestName(), is(testCase.getName()));
+    assertThat(result.getAmplification(), is(5));
+    assertThat(result.getRecords(), is(15L));
+    assertThat(result.getOutputRecords(), is(5L));
+    assertThat(result.getRecordsPerSecond(), is(greaterThan(0.0)));
+    assertThat(result.getP99LatencyNs(), is(greaterThanOrEqualTo(result.getP50LatencyNs())));
+  }
+
+  @Test
+  public void shouldThrowOnNonPositiveAmplification() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> executor.benchmark(testCase, 0, 0)
+    );
+  }
+
+  @Test
+  public void shouldCalculatePercentiles() {
+    // Given:
+    final long[] sorted = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+    // Then:
+    assertThat(BenchmarkExecutor.percentile(sorted, 0.50), is(5L));
+    assertThat(BenchmarkExecutor.percentile(sorted, 0.99), is(10L));
+    assertThat(BenchmarkExecutor.percentile(new long[]{7}, 0.50), is(7L));
+  }
+
+  @Test
+  public void shouldCalculateRates() {
+    // When:
+    final BenchmarkResult result = BenchmarkExecutor.buildResult(
+        testCase,
+        1,
+        new long[]{500_000_000L, 500_000_000L},
+        4,
+        1_000_000_000L,
+        OptionalLong.of(2048)
+    );
+
+    // Then:
+    assertThat(result.getRecordsPerSecond(), is(2.0));
+    assertThat(result.getAllocatedBytesPerRecord(), is(OptionalLong.of(1024)));
+    assertThat(result.getAllocatedBytesPerSecond().getAsDouble(), is(2048.0));
+  }
+}
@@ -30,28 +30,37 @@ import io.confluent.ksql.schema.utils.FormatOptions;
 import io.confluent.ksql.util.KsqlException;
 import io.confluent.ksql.util.KsqlReferentialIntegrityException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.concurrent.ThreadSafe;
 
+/**
+ * The metastore.
+ *
+ * <p>Sources are held in an immutable snapshot. Every change copies the snapshot, applies the
+ * change to the copy and then publishes it. Readers, and {@link #copy()}, never block: a copy
+ * shares the snapshot, and its source entries, with the store it was copied from until either
+ * store is changed.
+ */
 @ThreadSafe
 public final class MetaStoreImpl implements MutableMetaStore {
 
-  private final Map<SourceName, SourceInfo> dataSources = new ConcurrentHashMap<>();
-  private final Object referentialIntegrityLock = new Object();
+  private final Object writeLock = new Object();
   private final FunctionRegistry functionRegistry;
   private final TypeRegistry typeRegistry;
+  private volatile Map<SourceName, SourceInfo> dataSources;
 
   public MetaStoreImpl(final FunctionRegistry functionRegistry) {
     this.functionRegistry = Objects.requireNonNull(functionRegistry, "functionRegistry");
     this.typeRegistry = new TypeRegistryImpl();
+    this.dataSources = Collections.emptyMap();
   }
 
   private MetaStoreImpl(
@@ -61,8 +70,8 @@ public final class MetaStoreImpl implements MutableMetaStore {
   ) {
     this.functionRegistry = Objects.requireNonNull(functionRegistry, "functionRegistry");
     this.typeRegistry = new TypeRegistryImpl();
+    this.dataSources = Objects.requireNonNull(dataSources, "dataSources");
 
-    dataSources.forEach((name, info) -> this.dataSources.put(name, info.copy()));
     typeRegistry.types()
         .forEachRemaining(type -> this.typeRegistry.registerType(type.getName(), type.getType()));
   }
@@ -78,53 +87,59 @@ public final class MetaStoreImpl implements MutableMetaStore {
 
   @Override
   public void putSource(final DataSource dataSource) {
-    final SourceInfo existing = dataSources
-        .putIfAbsent(dataSource.getName(), new SourceInfo(dataSource));
-
-    if (existing != null) {
-      final SourceName name = dataSource.getName();
-      final String newType = dataSource.getDataSourceType().getKsqlType().toLowerCase();
-      final String existingType = existing.source.getDataSourceType().getKsqlType().toLowerCase();
+    synchronized (writeLock) {
+      final SourceInfo existing = dataSources.get(dataSource.getName());
+      if (existing != null) {
+        final SourceName name = dataSource.getName();
+        final String newType = dataSource.getDataSourceType().getKsqlType().toLowerCase();
+        final String existingType =
+            existing.source.getDataSourceType().getKsqlType().toLowerCase();
+
+        throw new KsqlException(String.format(
+            "Cannot add %s '%s': A %s with the same name already exists",
+            newType, name.text(), existingType));
+      }
 
-      throw new KsqlException(String.format(
-          "Cannot add %s '%s': A %s with the same name already exists",
-          newType, name.text(), existingType));
+      final Map<SourceName, SourceInfo> updated = new HashMap<>(dataSources);
+      updated.put(dataSource.getName(), new SourceInfo(dataSource));
+      publish(updated);
     }
   }
 
   @Override
   public void deleteSource(final SourceName sourceName) {
-    synchronized (referentialIntegrityLock) {
-      dataSources.compute(sourceName, (ignored, source) -> {
-        if (source == null) {
-          throw new KsqlException(String.format("No data source with name %s exists.",
-              sourceName.text()));
-        }
+    synchronized (writeLock) {
+      final SourceInfo source = dataSources.get(sourceName);
+      if (source == null) {
+        throw new KsqlException(String.format("No data source with name %s exists.",
+            sourceName.text()));
+      }
 
-        final String sourceForQueriesMessage = source.referentialIntegrity
-            .getSourceForQueries()
-            .stream()
-            .collect(Collectors.joining(", "));
-
-        final String sinkForQueriesMessage = source.referentialIntegrity
-            .getSinkForQueries()
-            .stream()
-            .collect(Collectors.joining(", "));
-
-        if (!sourceForQueriesMessage.isEmpty() || !sinkForQueriesMessage.isEmpty()) {
-          throw new KsqlReferentialIntegrityException(
-              String.format("Cannot drop %s.%n"
-                      + "The following queries read from this source: [%s].%n"
-                      + "The following queries write into this source: [%s].%n"
-                      + "You need to terminate them before dropping %s.",
-                  sourceName.toString(FormatOptions.noEscape()),
-                  sourceForQueriesMessage,
-                  sinkForQueriesMessage,
-                  sourceName.toString(FormatOptions.noEscape())));
-        }
+      final String sourceForQueriesMessage = source.referentialIntegrity
+          .getSourceForQueries()
+          .stream()
+          .collect(Collectors.joining(", "));
+
+      final String sinkForQueriesMessage = source.referentialIntegrity
+          .getSinkForQueries()
+          .stream()
+          .collect(Collectors.joining(", "));
+
+      if (!sourceForQueriesMessage.isEmpty() || !sinkForQueriesMessage.isEmpty()) {
+        throw new KsqlReferentialIntegrityException(
+            String.format("Cannot drop %s.%n"
+                    + "The following queries read from this source: [%s].%n"
+                    + "The following queries write into this source: [%s].%n"
+                    + "You need to terminate them before dropping %s.",
+                sourceName.toString(FormatOptions.noEscape()),
+                sourceForQueriesMessage,
+                sinkForQueriesMessage,
+                sourceName.toString(FormatOptions.noEscape())));
+      }
 
-        return null;
-      });
+      final Map<SourceName, SourceInfo> updated = new HashMap<>(dataSources);
+      updated.remove(sourceName);
+      publish(updated);
     }
   }
 
@@ -142,7 +157,7 @@ public final class MetaStoreImpl implements MutableMetaStore {
       final Set<SourceName> sourceNames,
       final Set<SourceName> sinkNames
   ) {
-    synchronized (referentialIntegrityLock) {
+    synchronized (writeLock) {
       final String sourceAlreadyRegistered = streamSources(sourceNames)
           .filter(source -> source.referentialIntegrity.getSourceForQueries().contains(queryId))
           .map(source -> source.source.getName())
@@ -162,19 +177,30 @@ public final class MetaStoreImpl implements MutableMetaStore {
             + ", registeredAgainstSink: " + sinkAlreadyRegistered);
       }
 
-      streamSources(sourceNames)
-          .forEach(source -> source.referentialIntegrity.addSourceForQueries(queryId));
-      streamSources(sinkNames)
-          .forEach(source -> source.referentialIntegrity.addSinkForQueries(queryId));
+      final Map<SourceName, SourceInfo> updated = new HashMap<>(dataSources);
+      streamSources(sourceNames).forEach(source -> updated.put(
+          source.source.getName(),
+          updated.get(source.source.getName()).withSourceForQuery(queryId)
+      ));
+      streamSources(sinkNames).forEach(source -> updated.put(
+          source.source.getName(),
+          updated.get(source.source.getName()).withSinkForQuery(queryId)
+      ));
+      publish(updated);
     }
   }
 
   @Override
   public void removePersistentQuery(final String queryId) {
-    synchronized (referentialIntegrityLock) {
-      for (final SourceInfo sourceInfo : dataSources.values()) {
-        sourceInfo.referentialIntegrity.removeQuery(queryId);
-      }
+    synchronized (writeLock) {
+      final Map<SourceName, SourceInfo> current = dataSources;
+      final Map<SourceName, SourceInfo> updated = new HashMap<>(current);
+      current.forEach((name, sourceInfo) -> {
+        if (sourceInfo.isReferencedBy(queryId)) {
+          updated.put(name, sourceInfo.withoutQuery(queryId));
+        }
+      });
+      publish(updated);
     }
   }
 
@@ -198,9 +224,7 @@ public final class MetaStoreImpl implements MutableMetaStore {
 
   @Override
   public MutableMetaStore copy() {
-    synchronized (referentialIntegrityLock) {
-      return new MetaStoreImpl(dataSources, functionRegistry, typeRegistry);
-    }
+    return new MetaStoreImpl(dataSources, functionRegistry, typeRegistry);
   }
 
   @Override
@@ -256,6 +280,10 @@ public final class MetaStoreImpl implements MutableMetaStore {
     return functionRegistry.listTableFunctions();
   }
 
+  private void publish(final Map<SourceName, SourceInfo> updated) {
+    dataSources = Collections.unmodifiableMap(updated);
+  }
+
   private Stream<SourceInfo> streamSources(final Set<SourceName> sourceNames) {
     return sourceNames.stream()
         .map(sourceName -> {
@@ -288,6 +316,12 @@ public final class MetaStoreImpl implements MutableMetaStore {
     return typeRegistry.types();
   }
 
+  /**
+   * A source and the queries that reference it.
+   *
+   * <p>Instances are shared between copies of the metastore, so are never modified once
+   * published. Changes create a new instance instead.
+   */
   private static final class SourceInfo {
 
     private final DataSource source;
@@ -296,8 +330,7 @@ public final class MetaStoreImpl implements MutableMetaStore {
     private SourceInfo(
         final DataSource source
     ) {
-      this.source = Objects.requireNonNull(source, "source");
-      this.referentialIntegrity = new ReferentialIntegrityTableEntry();
+      this(source, new ReferentialIntegrityTableEntry());
     }
 
     private SourceInfo(
@@ -305,11 +338,31 @@ public final class MetaStoreImpl implements MutableMetaStore {
         final ReferentialIntegrityTableEntry referentialIntegrity
     ) {
       this.source = Objects.requireNonNull(source, "source");
-      this.referentialIntegrity = referentialIntegrity.copy();
+      this.referentialIntegrity = Objects.requireNonNull(
+          referentialIntegrity, "referentialIntegrity");
+    }
+
+    boolean isReferencedBy(final String queryId) {
+      return referentialIntegrity.getSourceForQueries().contains(queryId)
+          || referentialIntegrity.getSinkForQueries().contains(queryId);
+    }
+
+    SourceInfo withSourceForQuery(final String queryId) {
+      final ReferentialIntegrityTableEntry updated = referentialIntegrity.copy();
+      updated.addSourceForQueries(queryId);
+      return new SourceInfo(source, updated);
+    }
+
+    SourceInfo withSinkForQuery(final String queryId) {
+      final ReferentialIntegrityTableEntry updated = referentialIntegrity.copy();
+      updated.addSinkForQueries(queryId);
+      return new SourceInfo(source, updated);
     }
 
-    public SourceInfo copy() {
-      return new SourceInfo(source, referentialIntegrity);
+    SourceInfo withoutQuery(final String queryId) {
+      final ReferentialIntegrityTableEntry updated = referentialIntegrity.copy();
+      updated.removeQuery(queryId);
+      return new SourceInfo(source, updated);
     }
   }
 }
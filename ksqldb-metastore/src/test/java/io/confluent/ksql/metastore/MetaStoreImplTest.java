@@ -142,6 +142,40 @@ public class MetaStoreImplTest {
     assertThat(metaStore.getQueriesWithSink(dataSource.getName()), is(empty()));
   }
 
+  @Test
+  public void shouldNotChangeOriginalWhenCopyChanged() {
+    // Given:
+    metaStore.putSource(dataSource);
+    final MutableMetaStore copy = metaStore.copy();
+
+    // When:
+    copy.putSource(dataSource1);
+    copy.updateForPersistentQuery(
+        "some query",
+        ImmutableSet.of(dataSource.getName()),
+        ImmutableSet.of(dataSource1.getName()));
+
+    // Then:
+    assertThat(metaStore.getAllDataSources().keySet(), contains(dataSource.getName()));
+    assertThat(metaStore.getQueriesWithSource(dataSource.getName()), is(empty()));
+    assertThat(copy.getQueriesWithSource(dataSource.getName()), contains("some query"));
+    assertThat(copy.getQueriesWithSink(dataSource1.getName()), contains("some query"));
+  }
+
+  @Test
+  public void shouldRegisterQueryAsSourceAndSinkOfSameSource() {
+    // When:
+    metaStore.putSource(dataSource);
+    metaStore.updateForPersistentQuery(
+        "some query",
+        ImmutableSet.of(dataSource.getName()),
+        ImmutableSet.of(dataSource.getName()));
+
+    // Then:
+    assertThat(metaStore.getQueriesWithSource(dataSource.getName()), contains("some query"));
+    assertThat(metaStore.getQueriesWithSink(dataSource.getName()), contains("some query"));
+  }
+
   @Test
   public void shouldNotAllowModificationViaGetAllDataSources() {
     // Given:
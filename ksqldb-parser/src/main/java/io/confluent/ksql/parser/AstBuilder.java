@@ -350,11 +350,12 @@ public class AstBuilder {
         columns = ImmutableList.of();
       }
 
-      return new InsertValues(
-          targetLocation,
-          targetName,
-          columns,
-          visit(context.values().valueExpression(), Expression.class));
+      final List<List<Expression>> rows = context.values()
+          .stream()
+          .map(values -> visit(values.valueExpression(), Expression.class))
+          .collect(Collectors.toList());
+
+      return InsertValues.ofRows(targetLocation, targetName, columns, rows);
     }
 
     @Override
@@ -322,13 +322,14 @@ public final class SqlFormatter {
 
       builder.append("VALUES ");
 
-      builder.append("(");
       builder.append(
-          node.getValues()
+          node.getRows()
               .stream()
-              .map(SqlFormatter::formatExpression)
+              .map(values -> values
+                  .stream()
+                  .map(SqlFormatter::formatExpression)
+                  .collect(Collectors.joining(", ", "(", ")")))
               .collect(Collectors.joining(", ")));
-      builder.append(")");
 
       return null;
     }
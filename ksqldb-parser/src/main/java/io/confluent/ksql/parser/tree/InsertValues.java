@@ -32,7 +32,7 @@ public class InsertValues extends Statement {
 
   private final SourceName target;
   private final ImmutableList<ColumnName> columns;
-  private final ImmutableList<Expression> values;
+  private final ImmutableList<ImmutableList<Expression>> rows;
 
   public InsertValues(
       final SourceName target,
@@ -47,24 +47,64 @@ public class InsertValues extends Statement {
       final SourceName target,
       final List<ColumnName> columns,
       final List<Expression> values
+  ) {
+    this(location, target, columns, ImmutableList.of(Objects.requireNonNull(values, "values")));
+  }
+
+  private InsertValues(
+      final Optional<NodeLocation> location,
+      final SourceName target,
+      final List<ColumnName> columns,
+      final ImmutableList<List<Expression>> rows
   ) {
     super(location);
     this.target = Objects.requireNonNull(target, "target");
     this.columns = ImmutableList.copyOf(Objects.requireNonNull(columns, "columns"));
-    this.values = ImmutableList.copyOf(Objects.requireNonNull(values, "values"));
+    this.rows = rows.stream()
+        .map(ImmutableList::copyOf)
+        .collect(ImmutableList.toImmutableList());
 
-    if (values.isEmpty()) {
+    if (rows.isEmpty()) {
       throw new KsqlException("Expected some values for INSERT INTO statement.");
     }
 
-    if (!columns.isEmpty() && columns.size() != values.size()) {
-      throw new KsqlException(
-          "Expected number columns and values to match: "
-              + columns.stream().map(ColumnName::text).collect(Collectors.toList()) + ", "
-              + values);
+    for (final List<Expression> values : rows) {
+      if (values.isEmpty()) {
+        throw new KsqlException("Expected some values for INSERT INTO statement.");
+      }
+
+      if (!columns.isEmpty() && columns.size() != values.size()) {
+        throw new KsqlException(
+            "Expected number columns and values to match: "
+                + columns.stream().map(ColumnName::text).collect(Collectors.toList()) + ", "
+                + values);
+      }
     }
   }
 
+  /**
+   * Create a statement inserting multiple rows.
+   *
+   * @param location the location of the statement.
+   * @param target the source to insert into.
+   * @param columns the columns the values are for, or empty for all columns.
+   * @param rows the values of each row.
+   * @return the statement.
+   */
+  public static InsertValues ofRows(
+      final Optional<NodeLocation> location,
+      final SourceName target,
+      final List<ColumnName> columns,
+      final List<? extends List<Expression>> rows
+  ) {
+    return new InsertValues(
+        location,
+        target,
+        columns,
+        ImmutableList.copyOf(Objects.requireNonNull(rows, "rows"))
+    );
+  }
+
   public SourceName getTarget() {
     return target;
   }
@@ -73,8 +113,18 @@ public class InsertValues extends Statement {
     return columns;
   }
 
+  /**
+   * @return the values of the first row.
+   */
   public List<Expression> getValues() {
-    return values;
+    return rows.get(0);
+  }
+
+  /**
+   * @return the values of each row, in order.
+   */
+  public List<List<Expression>> getRows() {
+    return ImmutableList.copyOf(rows);
   }
 
   @Override
@@ -93,12 +143,12 @@ public class InsertValues extends Statement {
     final InsertValues that = (InsertValues) o;
     return Objects.equals(target, that.target)
         && Objects.equals(columns, that.columns)
-        && Objects.equals(values, that.values);
+        && Objects.equals(rows, that.rows);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(target, columns, values);
+    return Objects.hash(target, columns, rows);
   }
 
   @Override
@@ -106,7 +156,7 @@ public class InsertValues extends Statement {
     return "InsertValues{"
         + "target=" + target
         + ", columns=" + columns
-        + ", values=" + values
+        + ", rows=" + rows
         + '}';
   }
 }
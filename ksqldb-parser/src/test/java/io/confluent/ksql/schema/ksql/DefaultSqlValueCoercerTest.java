@@ -60,6 +60,7 @@ public class DefaultSqlValueCoercerTest {
       .put(SqlBaseType.DECIMAL, SqlTypes.decimal(2, 1))
       .put(SqlBaseType.DOUBLE, SqlTypes.DOUBLE)
       .put(SqlBaseType.STRING, SqlTypes.STRING)
+      .put(SqlBaseType.BYTES, SqlTypes.BYTES)
       .put(SqlBaseType.ARRAY, SqlArray.of(SqlTypes.BIGINT))
       .put(SqlBaseType.MAP, SqlMap.of(SqlTypes.BIGINT))
       .build();
@@ -72,6 +73,7 @@ public class DefaultSqlValueCoercerTest {
       .put(SqlBaseType.DECIMAL, BigDecimal.ONE)
       .put(SqlBaseType.DOUBLE, 3.0D)
       .put(SqlBaseType.STRING, "4.1")
+      .put(SqlBaseType.BYTES, new byte[]{5})
       .put(SqlBaseType.ARRAY, ImmutableList.of(1L, 2L))
       .put(SqlBaseType.MAP, ImmutableMap.of("foo", 1L))
       .build();
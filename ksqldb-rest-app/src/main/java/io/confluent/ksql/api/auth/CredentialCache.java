@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.auth;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import io.confluent.ksql.rest.server.KsqlRestConfig;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Bounded cache of the outcome of successful basic authentication, so that a user who has
+ * recently logged in is not logged in again, via JAAS, on every request.
+ *
+ * <p>Entries are keyed on a salted SHA-256 hash of the username and password, never the
+ * credentials themselves. The salt is random, and only ever held in memory. Only successful
+ * logins are cached, and entries expire after a fixed time, which bounds how long a changed
+ * password continues to be accepted.
+ */
+@ThreadSafe
+public final class CredentialCache {
+
+  private static final int SALT_LENGTH = 16;
+
+  private final byte[] salt;
+  private final Cache<HashCode, Boolean> cache;
+
+  /**
+   * @param config the server config.
+   * @return the cache, or empty if it is disabled.
+   */
+  public static Optional<CredentialCache> create(final KsqlRestConfig config) {
+    final long expirySecs =
+        config.getLong(KsqlRestConfig.KSQL_AUTHENTICATION_CACHE_EXPIRY_TIME_SECS_CONFIG);
+    final long maxEntries =
+        config.getLong(KsqlRestConfig.KSQL_AUTHENTICATION_CACHE_MAX_ENTRIES_CONFIG);
+
+    return expirySecs <= 0 || maxEntries <= 0
+        ? Optional.empty()
+        : Optional.of(new CredentialCache(
+            Duration.ofSeconds(expirySecs), maxEntries, Ticker.systemTicker()));
+  }
+
+  @VisibleForTesting
+  CredentialCache(final Duration expiry, final long maxEntries, final Ticker ticker) {
+    this.salt = new byte[SALT_LENGTH];
+    new SecureRandom().nextBytes(salt);
+    this.cache = CacheBuilder.newBuilder()
+        .expireAfterWrite(expiry.toMillis(), TimeUnit.MILLISECONDS)
+        .maximumSize(maxEntries)
+        .ticker(ticker)
+        .build();
+  }
+
+  /**
+   * @param username the username.
+   * @param password the password.
+   * @return whether the user has an allowed role, if the credentials successfully logged in
+   *     recently, otherwise empty.
+   */
+  Optional<Boolean> getAuthorized(final String username, final String password) {
+    return Optional.ofNullable(cache.getIfPresent(key(username, password)));
+  }
+
+  /**
+   * Record a successful login.
+   *
+   * @param username the username.
+   * @param password the password.
+   * @param authorized whether the user has an allowed role.
+   */
+  void put(final String username, final String password, final boolean authorized) {
+    cache.put(key(username, password), authorized);
+  }
+
+  /**
+   * Remove all entries, so that every user must log in again.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private HashCode key(final String username, final String password) {
+    return Hashing.sha256().newHasher()
+        .putBytes(salt)
+        .putInt(username.length())
+        .putString(username, StandardCharsets.UTF_8)
+        .putString(password, StandardCharsets.UTF_8)
+        .hash();
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.auth;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.confluent.ksql.rest.server.KsqlRestConfig;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Bounded cache of the endpoints a user has recently been allowed to access by the
+ * {@link io.confluent.ksql.security.KsqlAuthorizationProvider}.
+ *
+ * <p>Only decisions to allow access are cached, so a user who is granted access is not denied
+ * for longer than it takes to ask the provider again. Entries expire after a fixed time, which
+ * bounds how long revoked access continues to be allowed, and are removed as soon as the provider
+ * reports that permissions have changed.
+ *
+ * <p>Entries are keyed on the principal itself, not just its name, so principals of different
+ * types, or carrying different credentials, that share a name do not share decisions. A new
+ * principal is created for each request, so principals must implement {@code equals} and
+ * {@code hashCode} for their decisions to be reused.
+ */
+@ThreadSafe
+public final class EndpointAuthorizationCache {
+
+  private final Cache<Key, Boolean> cache;
+
+  /**
+   * @param config the server config.
+   * @return the cache, or empty if it is disabled.
+   */
+  public static Optional<EndpointAuthorizationCache> create(final KsqlRestConfig config) {
+    final long expirySecs = config
+        .getLong(KsqlRestConfig.KSQL_ENDPOINT_AUTHORIZATION_CACHE_EXPIRY_TIME_SECS_CONFIG);
+    final long maxEntries = config
+        .getLong(KsqlRestConfig.KSQL_ENDPOINT_AUTHORIZATION_CACHE_MAX_ENTRIES_CONFIG);
+
+    return expirySecs <= 0 || maxEntries <= 0
+        ? Optional.empty()
+        : Optional.of(new EndpointAuthorizationCache(
+            Duration.ofSeconds(expirySecs), maxEntries, Ticker.systemTicker()));
+  }
+
+  @VisibleForTesting
+  EndpointAuthorizationCache(final Duration expiry, final long maxEntries, final Ticker ticker) {
+    this.cache = CacheBuilder.newBuilder()
+        .expireAfterWrite(expiry.toMillis(), TimeUnit.MILLISECONDS)
+        .maximumSize(maxEntries)
+        .ticker(ticker)
+        .build();
+  }
+
+  /**
+   * @return {@code true} if the user was recently allowed to access the endpoint.
+   */
+  boolean isAllowed(final Principal principal, final String method, final String path) {
+    return cache.getIfPresent(new Key(principal, method, path)) != null;
+  }
+
+  /**
+   * Record that the user is allowed to access the endpoint.
+   */
+  void putAllowed(final Principal principal, final String method, final String path) {
+    cache.put(new Key(principal, method, path), true);
+  }
+
+  /**
+   * Remove all entries, so that every request is authorized by the provider again.
+   *
+   * <p>Called when the server stops, and whenever the authorization provider reports that
+   * permissions have changed.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private static final class Key {
+
+    private final Principal principal;
+    private final String method;
+    private final String path;
+
+    Key(final Principal principal, final String method, final String path) {
+      this.principal = Objects.requireNonNull(principal, "principal");
+      this.method = Objects.requireNonNull(method, "method");
+      this.path = Objects.requireNonNull(path, "path");
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final Key key = (Key) o;
+      return principal.equals(key.principal)
+          && method.equals(key.method)
+          && path.equals(key.path);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(principal, method, path);
+    }
+  }
+}
@@ -28,6 +28,7 @@ import io.vertx.ext.auth.User;
 import java.security.Principal;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.security.auth.callback.CallbackHandler;
@@ -49,21 +50,28 @@ public class JaasAuthProvider implements AuthProvider {
   private final LoginContextSupplier loginContextSupplier;
   private final List<String> allowedRoles;
   private final String contextName;
+  private final Optional<CredentialCache> credentialCache;
 
-  public JaasAuthProvider(final Server server, final KsqlRestConfig config) {
-    this(server, config, LoginContext::new);
+  public JaasAuthProvider(
+      final Server server,
+      final KsqlRestConfig config,
+      final Optional<CredentialCache> credentialCache
+  ) {
+    this(server, config, LoginContext::new, credentialCache);
   }
 
   @VisibleForTesting
   JaasAuthProvider(
       final Server server,
       final KsqlRestConfig config,
-      final LoginContextSupplier loginContextSupplier
+      final LoginContextSupplier loginContextSupplier,
+      final Optional<CredentialCache> credentialCache
   ) {
     this.server = Objects.requireNonNull(server, "server");
     this.config = Objects.requireNonNull(config, "config");
     this.loginContextSupplier =
         Objects.requireNonNull(loginContextSupplier, "loginContextSupplier");
+    this.credentialCache = Objects.requireNonNull(credentialCache, "credentialCache");
     final List<String> authRoles = config.getList(KsqlRestConfig.AUTHENTICATION_ROLES_CONFIG);
     this.allowedRoles = authRoles.stream()
         .filter(role -> !"*".equals(role)) // remove "*"
@@ -94,6 +102,14 @@ public class JaasAuthProvider implements AuthProvider {
       return;
     }
 
+    // A recent successful login can be reused without leaving the event loop:
+    final Optional<Boolean> cached = credentialCache
+        .flatMap(cache -> cache.getAuthorized(username, password));
+    if (cached.isPresent()) {
+      resultHandler.handle(Future.succeededFuture(new JaasUser(username, cached.get())));
+      return;
+    }
+
     server.getWorkerExecutor().executeBlocking(
         p -> getUser(contextName, username, password, allowedRoles, p),
         resultHandler
@@ -126,6 +142,7 @@ public class JaasAuthProvider implements AuthProvider {
 
     // We do the actual authorization here not in the User class
     final boolean authorized = validateRoles(lc, allowedRoles);
+    credentialCache.ifPresent(cache -> cache.put(username, password, authorized));
 
     promise.complete(new JaasUser(username, authorized));
   }
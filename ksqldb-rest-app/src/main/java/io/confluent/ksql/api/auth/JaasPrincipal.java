@@ -33,5 +33,27 @@ class JaasPrincipal implements Principal {
   public String getName() {
     return name;
   }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final JaasPrincipal that = (JaasPrincipal) o;
+    return name.equals(that.name);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(name);
+  }
+
+  @Override
+  public String toString() {
+    return "JaasPrincipal{name='" + name + "'}";
+  }
 }
 
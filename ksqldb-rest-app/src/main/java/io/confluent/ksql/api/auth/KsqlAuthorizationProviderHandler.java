@@ -25,6 +25,9 @@ import io.vertx.core.Promise;
 import io.vertx.core.WorkerExecutor;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.web.RoutingContext;
+import java.security.Principal;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -37,11 +40,14 @@ public class KsqlAuthorizationProviderHandler implements Handler<RoutingContext>
 
   private final WorkerExecutor workerExecutor;
   private final KsqlAuthorizationProvider ksqlAuthorizationProvider;
+  private final Optional<EndpointAuthorizationCache> authorizationCache;
 
   public KsqlAuthorizationProviderHandler(final WorkerExecutor workerExecutor,
-      final KsqlAuthorizationProvider ksqlAuthorizationProvider) {
+      final KsqlAuthorizationProvider ksqlAuthorizationProvider,
+      final Optional<EndpointAuthorizationCache> authorizationCache) {
     this.workerExecutor = workerExecutor;
     this.ksqlAuthorizationProvider = ksqlAuthorizationProvider;
+    this.authorizationCache = Objects.requireNonNull(authorizationCache, "authorizationCache");
   }
 
   @Override
@@ -54,6 +60,14 @@ public class KsqlAuthorizationProviderHandler implements Handler<RoutingContext>
       return;
     }
 
+    // A recent decision to allow access can be reused without leaving the event loop:
+    final Optional<Principal> principal = cacheablePrincipal(routingContext);
+    if (principal.isPresent() && authorizationCache.isPresent() && authorizationCache.get()
+        .isAllowed(principal.get(), routingContext.request().method().toString(), path)) {
+      routingContext.next();
+      return;
+    }
+
     workerExecutor.<Void>executeBlocking(
         promise -> authorize(promise, routingContext),
         ar -> handleAuthorizeResult(ar, routingContext));
@@ -79,14 +93,26 @@ public class KsqlAuthorizationProviderHandler implements Handler<RoutingContext>
       throw new IllegalStateException("Not an ApiUser: " + user);
     }
     final ApiUser apiUser = (ApiUser) user;
+    final String method = routingContext.request().method().toString();
+    final String path = routingContext.normalisedPath();
     try {
       ksqlAuthorizationProvider
-          .checkEndpointAccess(apiUser.getPrincipal(), routingContext.request().method().toString(),
-              routingContext.normalisedPath());
+          .checkEndpointAccess(apiUser.getPrincipal(), method, path);
     } catch (Exception e) {
       promise.fail(e);
       return;
     }
+    cacheablePrincipal(routingContext).ifPresent(principal -> authorizationCache
+        .ifPresent(cache -> cache.putAllowed(principal, method, path)));
     promise.complete();
   }
+
+  private static Optional<Principal> cacheablePrincipal(final RoutingContext routingContext) {
+    final User user = routingContext.user();
+    if (!(user instanceof ApiUser)) {
+      return Optional.empty();
+    }
+
+    return Optional.ofNullable(((ApiUser) user).getPrincipal());
+  }
 }
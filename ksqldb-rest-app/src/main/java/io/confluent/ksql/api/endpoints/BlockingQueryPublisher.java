@@ -19,51 +19,65 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.api.server.PushQueryHandle;
 import io.confluent.ksql.api.spi.QueryPublisher;
+import io.confluent.ksql.query.BoundedHandoffQueue;
+import io.confluent.ksql.query.QueueOverflowPolicy;
+import io.confluent.ksql.query.QueueStats;
 import io.confluent.ksql.reactive.BasePublisher;
+import io.confluent.ksql.util.KsqlException;
 import io.vertx.core.Context;
 import io.vertx.core.WorkerExecutor;
 import java.util.List;
 import java.util.Objects;
 import java.util.OptionalInt;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A query publisher that uses an internal blocking queue to store rows for delivery. It's currently
- * necessary to use a blocking queue as Kafka Streams delivers message in a synchronous fashion with
- * no back pressure. If the queue was not blocking then if the subscriber was slow the messages
- * could build up on the queue eventually resulting in out of memory. The only mechanism we have to
- * slow streams down is to block the thread. Kafka Streams uses dedicated streams per topology so
- * this won't prevent the thread from doing useful work elsewhere but it does mean we can't have too
- * many push queries in the server at any one time as we can end up with a lot of threads.
+ * A query publisher that uses an internal bounded queue to store rows for delivery. Kafka Streams
+ * delivers messages in a synchronous fashion with no back pressure, so if the subscriber is slow
+ * the queue fills up. What then happens is determined by the {@link QueueOverflowPolicy}: by
+ * default the stream thread is blocked, which is the only mechanism we have to slow streams down,
+ * but rows can instead be dropped or the query disconnected, so that one slow subscriber does not
+ * stall a stream thread.
+ *
+ * <p>Rows are handed over without locking, and the Vert.x context is signalled when rows become
+ * available rather than being scheduled for every row.
  */
 public class BlockingQueryPublisher extends BasePublisher<GenericRow>
-    implements QueryPublisher, Consumer<GenericRow> {
+    implements QueryPublisher, Consumer<GenericRow>, QueueStats {
 
   private static final Logger log = LoggerFactory.getLogger(BlockingQueryPublisher.class);
 
   public static final int SEND_MAX_BATCH_SIZE = 200;
   public static final int BLOCKING_QUEUE_CAPACITY = 500;
 
-  private final BlockingQueue<GenericRow> queue = new LinkedBlockingQueue<>(
-      BLOCKING_QUEUE_CAPACITY);
+  // Don't block for more than a little while each time to allow close to work
+  private static final long BLOCK_TIMEOUT_MS = 250;
+
+  private final BoundedHandoffQueue<GenericRow> queue;
   private final WorkerExecutor workerExecutor;
   private PushQueryHandle queryHandle;
   private List<String> columnNames;
   private List<String> columnTypes;
   private OptionalInt limit;
   private int numAccepted;
-  private boolean complete;
+  private volatile boolean complete;
   private volatile boolean closed;
 
   public BlockingQueryPublisher(final Context ctx,
       final WorkerExecutor workerExecutor) {
+    this(ctx, workerExecutor, QueueOverflowPolicy.BLOCK);
+  }
+
+  public BlockingQueryPublisher(final Context ctx,
+      final WorkerExecutor workerExecutor,
+      final QueueOverflowPolicy overflowPolicy) {
     super(ctx);
     this.workerExecutor = Objects.requireNonNull(workerExecutor);
+    this.queue = new BoundedHandoffQueue<>(
+        BLOCKING_QUEUE_CAPACITY, overflowPolicy, BLOCK_TIMEOUT_MS);
+    this.queue.setDataListener(this::maybeSend);
   }
 
   public void setQueryHandle(final PushQueryHandle queryHandle) {
@@ -88,6 +102,7 @@ public class BlockingQueryPublisher extends BasePublisher<GenericRow>
       return;
     }
     closed = true;
+    queue.close();
     // Run async as it can block
     executeOnWorker(queryHandle::stop);
     super.close();
@@ -97,21 +112,26 @@ public class BlockingQueryPublisher extends BasePublisher<GenericRow>
   public synchronized void accept(final GenericRow row) {
     Objects.requireNonNull(row);
 
-    if (closed || complete || !hasReachedLimit()) {
+    if (closed || complete || hasReachedLimit()) {
       return;
     }
 
-    while (!closed) {
-      try {
-        // Don't block for more than a little while each time to allow close to work
-        if (queue.offer(row, 250, TimeUnit.MILLISECONDS)) {
-          numAccepted++;
-          maybeSend();
-          return;
+    try {
+      if (!queue.offer(row)) {
+        if (queue.isDisconnected()) {
+          disconnect();
         }
-      } catch (InterruptedException ignore) {
         return;
       }
+    } catch (InterruptedException ignore) {
+      return;
+    }
+
+    numAccepted++;
+    if (hasReachedLimit()) {
+      // Complete after delivering any buffered rows
+      complete = true;
+      maybeSend();
     }
   }
 
@@ -119,6 +139,21 @@ public class BlockingQueryPublisher extends BasePublisher<GenericRow>
     return queue.size();
   }
 
+  @Override
+  public int size() {
+    return queue.size();
+  }
+
+  @Override
+  public long droppedCount() {
+    return queue.droppedCount();
+  }
+
+  @Override
+  public long blockedTimeMs() {
+    return queue.blockedTimeMs();
+  }
+
   @Override
   public boolean isPullQuery() {
     return false;
@@ -144,18 +179,14 @@ public class BlockingQueryPublisher extends BasePublisher<GenericRow>
   }
 
   private boolean hasReachedLimit() {
-    if (limit.isPresent()) {
-      final int lim = limit.getAsInt();
-      if (numAccepted == lim) {
-        // Reached limit
-        return false;
-      }
-      if (numAccepted == lim - 1) {
-        // Set to complete after delivering any buffered rows
-        complete = true;
-      }
-    }
-    return true;
+    return limit.isPresent() && numAccepted >= limit.getAsInt();
+  }
+
+  private void disconnect() {
+    ctx.runOnContext(v -> sendError(new KsqlException(
+        "Subscriber is not consuming rows fast enough. Disconnecting, as the overflow policy is "
+            + QueueOverflowPolicy.DISCONNECT + ".")));
+    close();
   }
 
   @SuppressFBWarnings(
@@ -165,18 +196,24 @@ public class BlockingQueryPublisher extends BasePublisher<GenericRow>
     checkContext();
 
     int num = 0;
-    while (getDemand() > 0 && !queue.isEmpty()) {
-      if (num < SEND_MAX_BATCH_SIZE) {
-        doOnNext(queue.poll());
-        if (complete && queue.isEmpty()) {
-          ctx.runOnContext(v -> sendComplete());
-        }
-        num++;
-      } else {
+    while (getDemand() > 0) {
+      if (num == SEND_MAX_BATCH_SIZE) {
         // Schedule another batch async
         ctx.runOnContext(v -> doSend());
+        return;
+      }
+
+      final GenericRow row = queue.poll();
+      if (row == null) {
         break;
       }
+
+      doOnNext(row);
+      num++;
+    }
+
+    if (complete && queue.isEmpty() && getSubscriber() != null && !isCancelled()) {
+      sendComplete();
     }
   }
 
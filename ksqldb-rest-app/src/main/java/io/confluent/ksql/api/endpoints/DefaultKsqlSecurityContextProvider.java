@@ -19,8 +19,10 @@ import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.ksql.api.auth.ApiSecurityContext;
 import io.confluent.ksql.rest.server.services.RestServiceContextFactory.DefaultServiceContextFactory;
 import io.confluent.ksql.rest.server.services.RestServiceContextFactory.UserServiceContextFactory;
+import io.confluent.ksql.rest.server.services.ServiceContextCache;
 import io.confluent.ksql.security.KsqlSecurityContext;
 import io.confluent.ksql.security.KsqlSecurityExtension;
+import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.util.KsqlConfig;
 import java.security.Principal;
 import java.util.Optional;
@@ -33,18 +35,21 @@ public class DefaultKsqlSecurityContextProvider implements KsqlSecurityContextPr
   private final UserServiceContextFactory userServiceContextFactory;
   private final KsqlConfig ksqlConfig;
   private final Supplier<SchemaRegistryClient> schemaRegistryClientFactory;
+  private final Optional<ServiceContextCache> serviceContextCache;
 
   public DefaultKsqlSecurityContextProvider(
       final KsqlSecurityExtension securityExtension,
       final DefaultServiceContextFactory defaultServiceContextFactory,
       final UserServiceContextFactory userServiceContextFactory,
       final KsqlConfig ksqlConfig,
-      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory) {
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      final Optional<ServiceContextCache> serviceContextCache) {
     this.securityExtension = securityExtension;
     this.defaultServiceContextFactory = defaultServiceContextFactory;
     this.userServiceContextFactory = userServiceContextFactory;
     this.ksqlConfig = ksqlConfig;
     this.schemaRegistryClientFactory = schemaRegistryClientFactory;
+    this.serviceContextCache = serviceContextCache;
   }
 
   @Override
@@ -54,21 +59,44 @@ public class DefaultKsqlSecurityContextProvider implements KsqlSecurityContextPr
     final Optional<String> authHeader = apiSecurityContext.getAuthToken();
 
     if (securityExtension == null || !securityExtension.getUserContextProvider().isPresent()) {
+      // The clients are created with the server's credentials, so are shared by all principals:
       return new KsqlSecurityContext(
           principal,
-          defaultServiceContextFactory.create(ksqlConfig, authHeader, schemaRegistryClientFactory)
+          serviceContext(
+              Optional.empty(),
+              authHeader,
+              () -> defaultServiceContextFactory
+                  .create(ksqlConfig, authHeader, schemaRegistryClientFactory))
       );
     }
 
     return securityExtension.getUserContextProvider()
         .map(provider -> new KsqlSecurityContext(
             principal,
-            userServiceContextFactory.create(
-                ksqlConfig,
+            serviceContext(
+                principal,
                 authHeader,
-                provider.getKafkaClientSupplier(principal.orElse(null)),
-                provider.getSchemaRegistryClientFactory(principal.orElse(null)))))
+                () -> userServiceContextFactory.create(
+                    ksqlConfig,
+                    authHeader,
+                    provider.getKafkaClientSupplier(principal.orElse(null)),
+                    provider.getSchemaRegistryClientFactory(principal.orElse(null))))))
         .get();
   }
 
+  @Override
+  public void close() {
+    serviceContextCache.ifPresent(ServiceContextCache::close);
+  }
+
+  private ServiceContext serviceContext(
+      final Optional<Principal> principal,
+      final Optional<String> authHeader,
+      final Supplier<ServiceContext> factory
+  ) {
+    return serviceContextCache
+        .map(cache -> cache.get(principal, authHeader, factory))
+        .orElseGet(factory);
+  }
+
 }
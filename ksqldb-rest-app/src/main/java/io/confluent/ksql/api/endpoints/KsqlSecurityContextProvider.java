@@ -21,4 +21,10 @@ import io.confluent.ksql.security.KsqlSecurityContext;
 public interface KsqlSecurityContextProvider {
 
   KsqlSecurityContext provide(ApiSecurityContext apiSecurityContext);
+
+  /**
+   * Close any service contexts the provider keeps open between requests.
+   */
+  default void close() {
+  }
 }
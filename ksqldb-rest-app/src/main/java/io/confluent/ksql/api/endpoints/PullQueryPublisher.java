@@ -18,32 +18,43 @@ package io.confluent.ksql.api.endpoints;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.api.spi.QueryPublisher;
 import io.confluent.ksql.reactive.BufferedPublisher;
-import io.confluent.ksql.rest.entity.TableRowsEntity;
+import io.confluent.ksql.rest.server.execution.PullQueryResult;
+import io.confluent.ksql.util.KsqlException;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
+import io.vertx.core.WorkerExecutor;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+/**
+ * Publisher of the rows of a pull query.
+ *
+ * <p>Rows are read from the result on a worker thread, a batch at a time, and only as the
+ * subscriber's demand allows, rather than reading the whole result up front. Reading may block on
+ * the state store or on a remote host the query was forwarded to.
+ */
 public class PullQueryPublisher extends BufferedPublisher<GenericRow> implements QueryPublisher {
 
+  private static final int MAX_ROWS_PER_READ = BufferedPublisher.DEFAULT_BUFFER_MAX_SIZE;
+
+  private final WorkerExecutor workerExecutor;
+  private final PullQueryResult result;
   private final List<String> columnNames;
   private final List<String> columnTypes;
+  private boolean reading;
+  private boolean finished;
+  private boolean closed;
 
-  public PullQueryPublisher(final Context ctx, final TableRowsEntity tableRows,
-      final List<String> columnNames, final List<String> columnTypes) {
-    super(ctx, toGenericRows(tableRows));
+  public PullQueryPublisher(final Context ctx, final WorkerExecutor workerExecutor,
+      final PullQueryResult result, final List<String> columnNames,
+      final List<String> columnTypes) {
+    super(ctx);
+    this.workerExecutor = Objects.requireNonNull(workerExecutor);
+    this.result = Objects.requireNonNull(result);
     this.columnNames = Objects.requireNonNull(columnNames);
     this.columnTypes = Objects.requireNonNull(columnTypes);
-  }
-
-  @SuppressWarnings({"unchecked", "rawtypes"})
-  private static List<GenericRow> toGenericRows(final TableRowsEntity tableRows) {
-    final List<GenericRow> genericRows = new ArrayList<>(tableRows.getRows().size());
-    for (List row : tableRows.getRows()) {
-      final GenericRow genericRow = GenericRow.fromList(row);
-      genericRows.add(genericRow);
-    }
-    return genericRows;
+    ctx.runOnContext(v -> readRows());
   }
 
   @Override
@@ -60,4 +71,75 @@ public class PullQueryPublisher extends BufferedPublisher<GenericRow> implements
   public boolean isPullQuery() {
     return true;
   }
+
+  @Override
+  public void close() {
+    ctx.runOnContext(v -> doClose());
+  }
+
+  private void doClose() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (!reading) {
+      result.close();
+    }
+    if (!finished) {
+      super.close();
+    }
+  }
+
+  private void readRows() {
+    if (closed || isCancelled()) {
+      result.close();
+      return;
+    }
+
+    reading = true;
+    workerExecutor.<List<GenericRow>>executeBlocking(promise -> {
+      final List<GenericRow> rows = new ArrayList<>(MAX_ROWS_PER_READ);
+      while (rows.size() < MAX_ROWS_PER_READ && result.hasNext()) {
+        rows.add(GenericRow.fromList(result.next()));
+      }
+      if (rows.size() < MAX_ROWS_PER_READ) {
+        result.close();
+      }
+      promise.complete(rows);
+    }, false, this::sendRows);
+  }
+
+  private void sendRows(final AsyncResult<List<GenericRow>> ar) {
+    reading = false;
+
+    if (ar.failed()) {
+      finished = true;
+      result.close();
+      sendError(ar.cause() instanceof Exception
+          ? (Exception) ar.cause()
+          : new KsqlException(ar.cause()));
+      return;
+    }
+
+    if (closed || isCancelled()) {
+      result.close();
+      return;
+    }
+
+    final List<GenericRow> rows = ar.result();
+    boolean full = false;
+    for (final GenericRow row : rows) {
+      full = accept(row);
+    }
+
+    if (rows.size() < MAX_ROWS_PER_READ) {
+      finished = true;
+      complete();
+    } else if (full) {
+      // Buffer full: resume once the subscriber has drained it
+      drainHandler(this::readRows);
+    } else {
+      readRows();
+    }
+  }
 }
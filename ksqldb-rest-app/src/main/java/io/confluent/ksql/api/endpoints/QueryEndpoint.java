@@ -22,8 +22,9 @@ import io.confluent.ksql.parser.KsqlParser.ParsedStatement;
 import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
 import io.confluent.ksql.parser.tree.Query;
 import io.confluent.ksql.parser.tree.Statement;
-import io.confluent.ksql.rest.entity.TableRowsEntity;
+import io.confluent.ksql.query.QueueOverflowPolicy;
 import io.confluent.ksql.rest.server.execution.PullQueryExecutor;
+import io.confluent.ksql.rest.server.execution.PullQueryResult;
 import io.confluent.ksql.schema.ksql.Column;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.utils.FormatOptions;
@@ -69,7 +70,7 @@ public class QueryEndpoint {
     final ConfiguredStatement<Query> statement = createStatement(sql, properties.getMap());
 
     if (statement.getStatement().isPullQuery()) {
-      return createPullQueryPublisher(context, serviceContext, statement);
+      return createPullQueryPublisher(context, serviceContext, statement, workerExecutor);
     } else {
       return createPushQueryPublisher(context, serviceContext, statement, workerExecutor);
     }
@@ -80,7 +81,7 @@ public class QueryEndpoint {
       final ConfiguredStatement<Query> statement, final WorkerExecutor workerExecutor) {
 
     final BlockingQueryPublisher publisher = new BlockingQueryPublisher(context,
-        workerExecutor);
+        workerExecutor, QueueOverflowPolicy.from(ksqlConfig));
     final QueryMetadata queryMetadata = ksqlEngine
         .executeQuery(serviceContext, statement, publisher);
     final KsqlQueryHandle queryHandle = new KsqlQueryHandle(queryMetadata,
@@ -91,11 +92,11 @@ public class QueryEndpoint {
 
   private QueryPublisher createPullQueryPublisher(final Context context,
       final ServiceContext serviceContext,
-      final ConfiguredStatement<Query> statement) {
-    final TableRowsEntity tableRows = pullQueryExecutor.execute(
+      final ConfiguredStatement<Query> statement, final WorkerExecutor workerExecutor) {
+    final PullQueryResult result = pullQueryExecutor.execute(
         statement, serviceContext, Optional.empty());
-    return new PullQueryPublisher(context, tableRows, colNamesFromSchema(tableRows.getSchema()),
-        colTypesFromSchema(tableRows.getSchema()));
+    return new PullQueryPublisher(context, workerExecutor, result,
+        colNamesFromSchema(result.getSchema()), colTypesFromSchema(result.getSchema()));
   }
 
   private ConfiguredStatement<Query> createStatement(final String queryString,
@@ -307,14 +307,19 @@ class PortedEndpoints {
     // a plain String, other times it's an object that needs to be JSON encoded, other times
     // it represents a stream.
     if (endpointResponse.getEntity() instanceof StreamingOutput) {
+      final StreamingOutput streamingOutput = (StreamingOutput) endpointResponse.getEntity();
       if (routingContext.request().version() == HttpVersion.HTTP_2) {
-        // The old /query endpoint uses chunked encoding which is not supported in HTTP2
-        routingContext.response().setStatusCode(METHOD_NOT_ALLOWED.code())
-            .setStatusMessage("The /query endpoint is not available using HTTP2").end();
-        return;
+        if (!streamingOutput.isBounded()) {
+          // The old /query endpoint uses chunked encoding which is not supported in HTTP2
+          routingContext.response().setStatusCode(METHOD_NOT_ALLOWED.code())
+              .setStatusMessage("The /query endpoint is not available using HTTP2").end();
+          return;
+        }
+        // HTTP2 frames the body itself, so bounded output is streamed without chunked encoding
+      } else {
+        response.putHeader(TRANSFER_ENCODING, CHUNKED_ENCODING);
       }
-      response.putHeader(TRANSFER_ENCODING, CHUNKED_ENCODING);
-      streamEndpointResponse(server, response, (StreamingOutput) endpointResponse.getEntity());
+      streamEndpointResponse(server, response, streamingOutput);
     } else {
       if (endpointResponse.getEntity() == null) {
         response.end();
@@ -91,6 +91,9 @@ public class QueryStreamHandler implements Handler<RoutingContext> {
             metadata = new QueryResponseMetadata(
                 queryPublisher.getColumnNames(),
                 queryPublisher.getColumnTypes());
+
+            // When response is complete, publisher should be closed to release the result
+            routingContext.response().endHandler(v -> queryPublisher.close());
           } else {
             final PushQueryHolder query = connectionQueryManager
                 .createApiQuery(queryPublisher, routingContext.request());
@@ -17,17 +17,29 @@ package io.confluent.ksql.api.server;
 
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.jetbrains.annotations.NotNull;
 
 /*
 An OutputStream that writes to a HttpServerResponse.
 <p>
 This is only used by legacy streaming endpoints from the old API which work with output streams.
+<p>
+Writes block the calling (worker) thread while the response's write queue is full, so a slow
+client cannot cause an unbounded amount of data to be buffered in the server.
  */
 public class ResponseOutputStream extends OutputStream {
 
+  private static final long DRAIN_CHECK_INTERVAL_MS = 100;
+
   private final HttpServerResponse response;
 
   public ResponseOutputStream(final HttpServerResponse response) {
@@ -41,7 +53,8 @@ public class ResponseOutputStream extends OutputStream {
   }
 
   @Override
-  public void write(final @NotNull byte[] bytes, final int offset, final int length) {
+  public void write(final @NotNull byte[] bytes, final int offset, final int length)
+      throws IOException {
     Objects.requireNonNull(bytes);
     if ((offset < 0) || (offset > bytes.length)) {
       throw new IndexOutOfBoundsException();
@@ -55,6 +68,7 @@ public class ResponseOutputStream extends OutputStream {
     final byte[] bytesToWrite = new byte[length];
     System.arraycopy(bytes, offset, bytesToWrite, 0, length);
     final Buffer buffer = Buffer.buffer(bytesToWrite);
+    waitForWriteQueue();
     response.write(buffer);
   }
 
@@ -62,6 +76,27 @@ public class ResponseOutputStream extends OutputStream {
   public void close() {
     response.end();
   }
+
+  private void waitForWriteQueue() throws IOException {
+    while (response.writeQueueFull()) {
+      if (response.closed()) {
+        throw new EOFException("Connection closed by client");
+      }
+      final CompletableFuture<Void> drained = new CompletableFuture<>();
+      response.drainHandler(v -> drained.complete(null));
+      try {
+        // Poll, as the queue may have drained between checking it and setting the handler:
+        drained.get(DRAIN_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+      } catch (final TimeoutException e) {
+        // Re-check below
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted waiting for response write queue to drain");
+      } catch (final ExecutionException e) {
+        throw new IOException(e.getCause());
+      }
+    }
+  }
 }
 
 
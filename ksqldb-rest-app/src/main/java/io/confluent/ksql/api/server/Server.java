@@ -17,6 +17,8 @@ package io.confluent.ksql.api.server;
 
 import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.api.auth.AuthenticationPlugin;
+import io.confluent.ksql.api.auth.CredentialCache;
+import io.confluent.ksql.api.auth.EndpointAuthorizationCache;
 import io.confluent.ksql.api.spi.Endpoints;
 import io.confluent.ksql.rest.server.KsqlRestConfig;
 import io.confluent.ksql.rest.server.state.ServerState;
@@ -68,6 +70,8 @@ public class Server {
   private final KsqlSecurityExtension securityExtension;
   private final Optional<AuthenticationPlugin> authenticationPlugin;
   private final ServerState serverState;
+  private final Optional<CredentialCache> credentialCache;
+  private final Optional<EndpointAuthorizationCache> authorizationCache;
   private final List<URI> listeners = new ArrayList<>();
   private WorkerExecutor workerExecutor;
 
@@ -82,6 +86,11 @@ public class Server {
     this.authenticationPlugin = Objects.requireNonNull(authenticationPlugin);
     this.serverState = Objects.requireNonNull(serverState);
     this.maxPushQueryCount = config.getInt(KsqlRestConfig.MAX_PUSH_QUERIES);
+    this.credentialCache = CredentialCache.create(config);
+    this.authorizationCache = EndpointAuthorizationCache.create(config);
+
+    authorizationCache.ifPresent(cache -> securityExtension.getAuthorizationProvider()
+        .ifPresent(provider -> provider.onPermissionsChanged(cache::invalidateAll)));
   }
 
   public synchronized void start() {
@@ -164,6 +173,8 @@ public class Server {
       throw new KsqlException("Failure in stopping API server", e);
     }
     deploymentIds.clear();
+    credentialCache.ifPresent(CredentialCache::invalidateAll);
+    authorizationCache.ifPresent(EndpointAuthorizationCache::invalidateAll);
     log.info("API server stopped");
   }
 
@@ -200,6 +211,14 @@ public class Server {
     return authenticationPlugin;
   }
 
+  Optional<CredentialCache> getCredentialCache() {
+    return credentialCache;
+  }
+
+  Optional<EndpointAuthorizationCache> getAuthorizationCache() {
+    return authorizationCache;
+  }
+
   ServerState getServerState() {
     return serverState;
   }
@@ -199,7 +199,7 @@ public class ServerVerticle extends AbstractVerticle {
       securityExtension.getAuthorizationProvider()
           .ifPresent(ksqlAuthorizationProvider -> router.route()
               .handler(new KsqlAuthorizationProviderHandler(server.getWorkerExecutor(),
-                  ksqlAuthorizationProvider)));
+                  ksqlAuthorizationProvider, server.getAuthorizationCache())));
 
       router.route().handler(ServerVerticle::resumeHandler);
     }
@@ -247,7 +247,8 @@ public class ServerVerticle extends AbstractVerticle {
   }
 
   private static AuthHandler basicAuthHandler(final Server server) {
-    final AuthProvider authProvider = new JaasAuthProvider(server, server.getConfig());
+    final AuthProvider authProvider =
+        new JaasAuthProvider(server, server.getConfig(), server.getCredentialCache());
     final String realm = server.getConfig().getString(KsqlRestConfig.AUTHENTICATION_REALM_CONFIG);
     final AuthHandler basicAuthHandler = BasicAuthHandler.create(authProvider, realm);
     // It doesn't matter what we set here as we actually do the authorisation at the
@@ -21,4 +21,12 @@ import java.io.OutputStream;
 public interface StreamingOutput {
 
   void write(OutputStream output) throws IOException;
+
+  /**
+   * @return {@code true} if the output is of finite length, i.e. it completes on its own without
+   *     the client having to close the connection. Bounded output can be served over HTTP2.
+   */
+  default boolean isBounded() {
+    return false;
+  }
 }
@@ -78,11 +78,24 @@ public class CommandTopic {
   }
 
   public List<QueuedCommand> getRestoreCommands(final Duration duration) {
-    final List<QueuedCommand> restoreCommands = Lists.newArrayList();
-
     commandConsumer.seekToBeginning(
         Collections.singletonList(commandTopicPartition));
 
+    return readRestoreCommands(duration);
+  }
+
+  /**
+   * Read the prior commands starting at, and including, the supplied {@code fromOffset}.
+   */
+  public List<QueuedCommand> getRestoreCommands(final Duration duration, final long fromOffset) {
+    commandConsumer.seek(commandTopicPartition, fromOffset);
+
+    return readRestoreCommands(duration);
+  }
+
+  private List<QueuedCommand> readRestoreCommands(final Duration duration) {
+    final List<QueuedCommand> restoreCommands = Lists.newArrayList();
+
     log.debug("Reading prior command records");
     ConsumerRecords<CommandId, Command> records =
         commandConsumer.poll(duration);
@@ -59,7 +59,9 @@ import io.confluent.ksql.rest.entity.StreamsList;
 import io.confluent.ksql.rest.server.HeartbeatAgent.Builder;
 import io.confluent.ksql.rest.server.computation.CommandRunner;
 import io.confluent.ksql.rest.server.computation.CommandStore;
+import io.confluent.ksql.rest.server.computation.CommandSnapshotter;
 import io.confluent.ksql.rest.server.computation.InteractiveStatementExecutor;
+import io.confluent.ksql.rest.server.execution.CustomExecutors;
 import io.confluent.ksql.rest.server.execution.PullQueryExecutor;
 import io.confluent.ksql.rest.server.resources.ClusterStatusResource;
 import io.confluent.ksql.rest.server.resources.HealthCheckResource;
@@ -74,6 +76,7 @@ import io.confluent.ksql.rest.server.resources.streaming.StreamedQueryResource;
 import io.confluent.ksql.rest.server.resources.streaming.WSQueryEndpoint;
 import io.confluent.ksql.rest.server.services.RestServiceContextFactory;
 import io.confluent.ksql.rest.server.services.ServerInternalKsqlClient;
+import io.confluent.ksql.rest.server.services.ServiceContextCache;
 import io.confluent.ksql.rest.server.state.ServerState;
 import io.confluent.ksql.rest.util.ClusterTerminator;
 import io.confluent.ksql.rest.util.KsqlInternalTopicUtils;
@@ -108,6 +111,7 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.HashSet;
@@ -451,12 +455,23 @@ public final class KsqlRestApplication implements Executable {
     } catch (final Exception e) {
       log.error("Exception while waiting for pull query metrics to close", e);
     }
+    try {
+      pullQueryExecutor.close();
+    } catch (final Exception e) {
+      log.error("Exception while closing pull query executor", e);
+    }
     try {
       ksqlEngine.close();
     } catch (final Exception e) {
       log.error("Exception while waiting for Ksql Engine to close", e);
     }
 
+    try {
+      CustomExecutors.closeInsertValuesExecutor();
+    } catch (final Exception e) {
+      log.error("Exception while closing INSERT VALUES producers", e);
+    }
+
     try {
       commandRunner.close();
     } catch (final Exception e) {
@@ -480,6 +495,12 @@ public final class KsqlRestApplication implements Executable {
       apiServer = null;
     }
 
+    try {
+      ksqlSecurityContextProvider.close();
+    } catch (final Exception e) {
+      log.error("Exception while closing cached service contexts", e);
+    }
+
     if (vertx != null) {
       vertx.close();
     }
@@ -600,8 +621,21 @@ public final class KsqlRestApplication implements Executable {
         restConfig.getCommandProducerProperties()
     );
 
-    final InteractiveStatementExecutor statementExecutor =
-        new InteractiveStatementExecutor(serviceContext, ksqlEngine, specificQueryIdGenerator);
+    final Optional<CommandSnapshotter> commandSnapshotter =
+        restConfig.getString(KsqlRestConfig.KSQL_COMMAND_SNAPSHOT_DIR_CONFIG).isEmpty()
+            ? Optional.empty()
+            : Optional.of(new CommandSnapshotter(
+                Paths.get(restConfig.getString(KsqlRestConfig.KSQL_COMMAND_SNAPSHOT_DIR_CONFIG)),
+                Duration.ofMillis(
+                    restConfig.getLong(KsqlRestConfig.KSQL_COMMAND_SNAPSHOT_INTERVAL_MS_CONFIG))
+            ));
+
+    final InteractiveStatementExecutor statementExecutor = new InteractiveStatementExecutor(
+        serviceContext,
+        ksqlEngine,
+        specificQueryIdGenerator,
+        commandSnapshotter
+    );
 
     final StatusResource statusResource = new StatusResource(statementExecutor);
     final VersionCheckerAgent versionChecker
@@ -611,11 +645,25 @@ public final class KsqlRestApplication implements Executable {
 
     final KsqlSecurityExtension securityExtension = loadSecurityExtension(ksqlConfig);
 
+    final int serviceContextCacheSize =
+        ksqlConfig.getInt(KsqlConfig.KSQL_SERVICE_CONTEXT_CACHE_SIZE_CONFIG);
+    final Optional<ServiceContextCache> serviceContextCache = serviceContextCacheSize == 0
+        ? Optional.empty()
+        : Optional.of(new ServiceContextCache(
+            serviceContextCacheSize,
+            Duration.ofMillis(
+                ksqlConfig.getLong(KsqlConfig.KSQL_SERVICE_CONTEXT_CACHE_TTL_MS_CONFIG)),
+            MetricCollectors.getMetrics(),
+            ksqlConfig.getString(KsqlConfig.KSQL_SERVICE_ID_CONFIG),
+            ksqlConfig.getStringAsMap(KsqlConfig.KSQL_CUSTOM_METRICS_TAGS)
+        ));
+
     final KsqlSecurityContextProvider ksqlSecurityContextProvider =
         new DefaultKsqlSecurityContextProvider(
             securityExtension,
             RestServiceContextFactory::create,
-            RestServiceContextFactory::create, ksqlConfig, schemaRegistryClientFactory);
+            RestServiceContextFactory::create, ksqlConfig, schemaRegistryClientFactory,
+            serviceContextCache);
 
     final Optional<AuthenticationPlugin> securityHandlerPlugin = loadAuthenticationPlugin(
         restConfig);
@@ -674,7 +722,8 @@ public final class KsqlRestApplication implements Executable {
         ksqlConfig.getString(KsqlConfig.KSQL_SERVICE_ID_CONFIG),
         Duration.ofMillis(restConfig.getLong(
             KsqlRestConfig.KSQL_COMMAND_RUNNER_BLOCKED_THRESHHOLD_ERROR_MS)),
-        metricsPrefix
+        metricsPrefix,
+        commandSnapshotter
     );
 
     final List<KsqlServerPrecondition> preconditions = restConfig.getConfiguredInstances(
@@ -193,6 +193,21 @@ public class KsqlRestConfig extends AbstractConfig {
   private static final String KSQL_COMMAND_RUNNER_BLOCKED_THRESHHOLD_ERROR_MS_DOC =
       "How long to wait for the command runner to process a command from the command topic "
           + "before reporting an error metric.";
+
+  public static final String KSQL_COMMAND_SNAPSHOT_DIR_CONFIG =
+      KSQL_CONFIG_PREFIX + "server.command.snapshot.dir";
+  private static final String KSQL_COMMAND_SNAPSHOT_DIR_DOC =
+      "The local directory to store snapshots of the commands read from the command topic in. "
+          + "On restart, the server restores its state from the snapshot and only reads the "
+          + "commands written to the command topic after the snapshot was taken. "
+          + "Delete the snapshot to force the server to read the whole command topic. "
+          + "Empty, the default, disables snapshots.";
+
+  public static final String KSQL_COMMAND_SNAPSHOT_INTERVAL_MS_CONFIG =
+      KSQL_CONFIG_PREFIX + "server.command.snapshot.interval.ms";
+  private static final String KSQL_COMMAND_SNAPSHOT_INTERVAL_MS_DOC =
+      "The minimum time between snapshots of the commands read from the command topic. "
+          + "Only used if " + KSQL_COMMAND_SNAPSHOT_DIR_CONFIG + " is set.";
   public static final String KSQL_HEARTBEAT_ENABLE_CONFIG =
       KSQL_CONFIG_PREFIX + "heartbeat.enable";
   private static final String KSQL_HEARTBEAT_ENABLE_DOC =
@@ -261,6 +276,29 @@ public class KsqlRestConfig extends AbstractConfig {
   public static final String KSQL_AUTHENTICATION_PLUGIN_DOC = "An extension class that allows "
       + " custom authentication to be plugged in.";
 
+  public static final String KSQL_AUTHENTICATION_CACHE_EXPIRY_TIME_SECS_CONFIG =
+      KSQL_CONFIG_PREFIX + "authentication.cache.expiry.time.secs";
+  private static final String KSQL_AUTHENTICATION_CACHE_EXPIRY_TIME_SECS_DOC = "Time in "
+      + "seconds a successful basic authentication login is reused for requests with the same "
+      + "credentials, rather than logging in again. (The cache is disabled if 0 is set).";
+
+  public static final String KSQL_AUTHENTICATION_CACHE_MAX_ENTRIES_CONFIG =
+      KSQL_CONFIG_PREFIX + "authentication.cache.max.entries";
+  private static final String KSQL_AUTHENTICATION_CACHE_MAX_ENTRIES_DOC = "The maximum number "
+      + "of successful basic authentication logins to cache.";
+
+  public static final String KSQL_ENDPOINT_AUTHORIZATION_CACHE_EXPIRY_TIME_SECS_CONFIG =
+      KSQL_CONFIG_PREFIX + "endpoint.authorization.cache.expiry.time.secs";
+  private static final String KSQL_ENDPOINT_AUTHORIZATION_CACHE_EXPIRY_TIME_SECS_DOC = "Time in "
+      + "seconds a decision by the authorization provider to allow a user access to an "
+      + "endpoint is reused, rather than asking the provider again. (The cache is disabled if 0 "
+      + "is set).";
+
+  public static final String KSQL_ENDPOINT_AUTHORIZATION_CACHE_MAX_ENTRIES_CONFIG =
+      KSQL_CONFIG_PREFIX + "endpoint.authorization.cache.max.entries";
+  private static final String KSQL_ENDPOINT_AUTHORIZATION_CACHE_MAX_ENTRIES_DOC = "The maximum "
+      + "number of endpoint authorization decisions to cache.";
+
   private static final ConfigDef CONFIG_DEF;
 
   static {
@@ -406,6 +444,19 @@ public class KsqlRestConfig extends AbstractConfig {
             15000L,
             Importance.LOW,
             KSQL_COMMAND_RUNNER_BLOCKED_THRESHHOLD_ERROR_MS_DOC
+        ).define(
+            KSQL_COMMAND_SNAPSHOT_DIR_CONFIG,
+            Type.STRING,
+            "",
+            Importance.LOW,
+            KSQL_COMMAND_SNAPSHOT_DIR_DOC
+        ).define(
+            KSQL_COMMAND_SNAPSHOT_INTERVAL_MS_CONFIG,
+            Type.LONG,
+            300000L,
+            ConfigDef.Range.atLeast(0),
+            Importance.LOW,
+            KSQL_COMMAND_SNAPSHOT_INTERVAL_MS_DOC
         ).define(
             KSQL_SERVER_ERROR_MESSAGES,
             Type.CLASS,
@@ -493,6 +544,34 @@ public class KsqlRestConfig extends AbstractConfig {
             KSQL_AUTHENTICATION_PLUGIN_DEFAULT,
             ConfigDef.Importance.LOW,
             KSQL_AUTHENTICATION_PLUGIN_DOC
+        ).define(
+            KSQL_AUTHENTICATION_CACHE_EXPIRY_TIME_SECS_CONFIG,
+            Type.LONG,
+            30L,
+            zeroOrPositive(),
+            Importance.LOW,
+            KSQL_AUTHENTICATION_CACHE_EXPIRY_TIME_SECS_DOC
+        ).define(
+            KSQL_AUTHENTICATION_CACHE_MAX_ENTRIES_CONFIG,
+            Type.LONG,
+            10000L,
+            zeroOrPositive(),
+            Importance.LOW,
+            KSQL_AUTHENTICATION_CACHE_MAX_ENTRIES_DOC
+        ).define(
+            KSQL_ENDPOINT_AUTHORIZATION_CACHE_EXPIRY_TIME_SECS_CONFIG,
+            Type.LONG,
+            30L,
+            zeroOrPositive(),
+            Importance.LOW,
+            KSQL_ENDPOINT_AUTHORIZATION_CACHE_EXPIRY_TIME_SECS_DOC
+        ).define(
+            KSQL_ENDPOINT_AUTHORIZATION_CACHE_MAX_ENTRIES_CONFIG,
+            Type.LONG,
+            10000L,
+            zeroOrPositive(),
+            Importance.LOW,
+            KSQL_ENDPOINT_AUTHORIZATION_CACHE_MAX_ENTRIES_DOC
         );
   }
 
@@ -72,6 +72,16 @@ public interface CommandQueue extends Closeable {
    */
   List<QueuedCommand> getRestoreCommands();
 
+  /**
+   * Seeks to the supplied offset in the command queue and returns all commands from, and
+   * including, that offset to the end of the queue.
+   *
+   * @param fromOffset the offset to start reading from.
+   * @return the command list history from {@code fromOffset}
+   * @apiNote this method may block
+   */
+  List<QueuedCommand> getRestoreCommands(long fromOffset);
+
   /**
    * @param seqNum  the required minimum sequence number to wait for
    * @param timeout throws {@link TimeoutException} if it takes longer that
@@ -59,6 +59,7 @@ public class CommandRunner implements Closeable {
   private final CommandQueue commandStore;
   private final ExecutorService executor;
   private final Function<List<QueuedCommand>, List<QueuedCommand>> compactor;
+  private final Optional<CommandSnapshotter> snapshotter;
   private volatile boolean closed = false;
   private final int maxRetries;
   private final ClusterTerminator clusterTerminator;
@@ -85,6 +86,32 @@ public class CommandRunner implements Closeable {
       final Duration commandRunnerHealthTimeout,
       final String metricsGroupPrefix
   ) {
+    this(
+        statementExecutor,
+        commandStore,
+        maxRetries,
+        clusterTerminator,
+        serverState,
+        ksqlServiceId,
+        commandRunnerHealthTimeout,
+        metricsGroupPrefix,
+        Optional.empty()
+    );
+  }
+
+  // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
+  public CommandRunner(
+      final InteractiveStatementExecutor statementExecutor,
+      final CommandQueue commandStore,
+      final int maxRetries,
+      final ClusterTerminator clusterTerminator,
+      final ServerState serverState,
+      final String ksqlServiceId,
+      final Duration commandRunnerHealthTimeout,
+      final String metricsGroupPrefix,
+      final Optional<CommandSnapshotter> snapshotter
+  ) {
+    // CHECKSTYLE_RULES.ON: ParameterNumberCheck
     this(
         statementExecutor,
         commandStore,
@@ -96,7 +123,8 @@ public class CommandRunner implements Closeable {
         commandRunnerHealthTimeout,
         metricsGroupPrefix,
         Clock.systemUTC(),
-        RestoreCommandsCompactor::compact
+        RestoreCommandsCompactor::compact,
+        snapshotter
     );
   }
 
@@ -113,7 +141,8 @@ public class CommandRunner implements Closeable {
       final Duration commandRunnerHealthTimeout,
       final String metricsGroupPrefix,
       final Clock clock,
-      final Function<List<QueuedCommand>, List<QueuedCommand>> compactor
+      final Function<List<QueuedCommand>, List<QueuedCommand>> compactor,
+      final Optional<CommandSnapshotter> snapshotter
   ) {
     // CHECKSTYLE_RULES.ON: ParameterNumberCheck
     this.statementExecutor = Objects.requireNonNull(statementExecutor, "statementExecutor");
@@ -130,6 +159,7 @@ public class CommandRunner implements Closeable {
         new CommandRunnerStatusMetric(ksqlServiceId, this, metricsGroupPrefix);
     this.clock = Objects.requireNonNull(clock, "clock");
     this.compactor = Objects.requireNonNull(compactor, "compactor");
+    this.snapshotter = Objects.requireNonNull(snapshotter, "snapshotter");
   }
 
   /**
@@ -157,11 +187,14 @@ public class CommandRunner implements Closeable {
   }
 
   /**
-   * Read and execute all commands on the command topic, starting at the earliest offset.
+   * Read and execute all commands on the command topic, starting at the earliest offset, or
+   * from the command snapshot, if one is available.
    */
   public void processPriorCommands() {
     try {
-      final List<QueuedCommand> restoreCommands = commandStore.getRestoreCommands();
+      final List<QueuedCommand> restoreCommands = snapshotter
+          .map(s -> s.getRestoreCommands(commandStore))
+          .orElseGet(commandStore::getRestoreCommands);
 
       LOG.info("Restoring previous state from {} commands.", restoreCommands.size());
 
@@ -198,6 +231,8 @@ public class CommandRunner implements Closeable {
 
       LOG.info("Restore complete");
 
+      snapshotter.ifPresent(CommandSnapshotter::maybeSnapshot);
+
     } catch (final Exception e) {
       LOG.error("Error during restore", e);
       throw e;
@@ -224,7 +259,10 @@ public class CommandRunner implements Closeable {
       }
 
       executeStatement(command);
+      snapshotter.ifPresent(s -> s.recordConsumed(command));
     }
+
+    snapshotter.ifPresent(CommandSnapshotter::maybeSnapshot);
   }
 
   private void executeStatement(final QueuedCommand queuedCommand) {
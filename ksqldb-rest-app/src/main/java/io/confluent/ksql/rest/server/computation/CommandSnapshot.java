@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.computation;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.rest.entity.CommandId;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The on-disk snapshot of the commands needed to restore the engine's state.
+ *
+ * <p>The snapshot holds the commands needed to restore the state of the engine as of the
+ * command topic {@code offset}, along with the command read from the command topic at that
+ * offset, which is used to check the snapshot is consistent with the command topic.
+ */
+final class CommandSnapshot {
+
+  private final long offset;
+  private final SnapshotCommand last;
+  private final ImmutableList<SnapshotCommand> commands;
+
+  @JsonCreator
+  CommandSnapshot(
+      @JsonProperty(value = "offset", required = true) final long offset,
+      @JsonProperty(value = "last", required = true) final SnapshotCommand last,
+      @JsonProperty(value = "commands", required = true) final List<SnapshotCommand> commands
+  ) {
+    this.offset = offset;
+    this.last = Objects.requireNonNull(last, "last");
+    this.commands = ImmutableList.copyOf(Objects.requireNonNull(commands, "commands"));
+
+    if (last.getOffset() != offset) {
+      throw new IllegalArgumentException("last command not at offset " + offset);
+    }
+  }
+
+  /**
+   * @return the offset of the last command topic record included in the snapshot.
+   */
+  public long getOffset() {
+    return offset;
+  }
+
+  /**
+   * @return the last command topic record included in the snapshot.
+   */
+  public SnapshotCommand getLast() {
+    return last;
+  }
+
+  /**
+   * @return the commands to restore.
+   */
+  public List<SnapshotCommand> getCommands() {
+    return commands;
+  }
+
+  /**
+   * Check the snapshot is consistent with the command topic.
+   *
+   * @param tail the commands read from the command topic, starting at the snapshot's offset.
+   * @return {@code true} if the command at the snapshot's offset matches the snapshot.
+   */
+  boolean isConsistentWith(final List<QueuedCommand> tail) {
+    if (tail.isEmpty()) {
+      return false;
+    }
+
+    final QueuedCommand first = tail.get(0);
+    return first.getOffset() == offset
+        && first.getCommandId().equals(last.getCommandId())
+        && first.getCommand().equals(last.getCommand());
+  }
+
+  static final class SnapshotCommand {
+
+    private final long offset;
+    private final CommandId commandId;
+    private final Command command;
+
+    @JsonCreator
+    SnapshotCommand(
+        @JsonProperty(value = "offset", required = true) final long offset,
+        @JsonProperty(value = "commandId", required = true) final CommandId commandId,
+        @JsonProperty(value = "command", required = true) final Command command
+    ) {
+      this.offset = offset;
+      this.commandId = Objects.requireNonNull(commandId, "commandId");
+      this.command = Objects.requireNonNull(command, "command");
+    }
+
+    static SnapshotCommand of(final QueuedCommand queuedCommand) {
+      return new SnapshotCommand(
+          queuedCommand.getOffset(),
+          queuedCommand.getCommandId(),
+          queuedCommand.getCommand()
+      );
+    }
+
+    public long getOffset() {
+      return offset;
+    }
+
+    public CommandId getCommandId() {
+      return commandId;
+    }
+
+    public Command getCommand() {
+      return command;
+    }
+
+    QueuedCommand toQueuedCommand() {
+      return new QueuedCommand(commandId, command, Optional.empty(), offset);
+    }
+  }
+}
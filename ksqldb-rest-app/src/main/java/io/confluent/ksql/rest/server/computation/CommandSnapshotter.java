@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.computation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
+import io.confluent.ksql.engine.KsqlPlan;
+import io.confluent.ksql.execution.json.PlanJsonMapper;
+import io.confluent.ksql.rest.entity.CommandId;
+import io.confluent.ksql.rest.server.computation.CommandSnapshot.SnapshotCommand;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maintains a local, on-disk, snapshot of the commands needed to restore the engine's state, so
+ * that a restarting server only needs to read the tail of the command topic.
+ *
+ * <p>The snapshot holds the compacted list of commands executed up to a command topic offset.
+ * Commands that were submitted as statements are stored with the plan built when they were
+ * executed, so they are not parsed, analyzed and planned again on restore.
+ *
+ * <p>On restore, the command read from the command topic at the snapshot's offset must match the
+ * snapshot. If it does not, e.g. because the command topic has been recreated, the snapshot is
+ * ignored and the whole command topic is read.
+ */
+public final class CommandSnapshotter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CommandSnapshotter.class);
+
+  private static final ObjectMapper MAPPER = PlanJsonMapper.INSTANCE.get();
+
+  @VisibleForTesting
+  static final String SNAPSHOT_FILE_NAME = "command-snapshot.json";
+
+  private final Path snapshotFile;
+  private final Duration interval;
+  private final Clock clock;
+  private final Function<List<QueuedCommand>, List<QueuedCommand>> compactor;
+
+  // All guarded by this:
+  private final Map<Long, QueuedCommand> executed = new TreeMap<>();
+  private Optional<QueuedCommand> last = Optional.empty();
+  private long snapshotOffset = -1;
+  private Instant snapshotTime = Instant.MIN;
+
+  public CommandSnapshotter(final Path snapshotDir, final Duration interval) {
+    this(snapshotDir, interval, Clock.systemUTC(), RestoreCommandsCompactor::compact);
+  }
+
+  @VisibleForTesting
+  CommandSnapshotter(
+      final Path snapshotDir,
+      final Duration interval,
+      final Clock clock,
+      final Function<List<QueuedCommand>, List<QueuedCommand>> compactor
+  ) {
+    this.snapshotFile = Objects.requireNonNull(snapshotDir, "snapshotDir")
+        .resolve(SNAPSHOT_FILE_NAME);
+    this.interval = Objects.requireNonNull(interval, "interval");
+    this.clock = Objects.requireNonNull(clock, "clock");
+    this.compactor = Objects.requireNonNull(compactor, "compactor");
+  }
+
+  /**
+   * Get the commands to restore, using the snapshot if it is consistent with the command topic.
+   *
+   * @param commandQueue the command queue to read the commands not in the snapshot from.
+   * @return the commands to restore.
+   */
+  synchronized List<QueuedCommand> getRestoreCommands(final CommandQueue commandQueue) {
+    final Optional<CommandSnapshot> snapshot = load();
+    if (!snapshot.isPresent()) {
+      return readAll(commandQueue);
+    }
+
+    final List<QueuedCommand> tail = commandQueue.getRestoreCommands(snapshot.get().getOffset());
+    if (!snapshot.get().isConsistentWith(tail)) {
+      LOG.warn("Ignoring command snapshot as it does not match the command topic at offset {}",
+          snapshot.get().getOffset());
+      return readAll(commandQueue);
+    }
+
+    LOG.info("Restoring {} commands from snapshot at command topic offset {}, "
+            + "and {} later commands from the command topic.",
+        snapshot.get().getCommands().size(), snapshot.get().getOffset(), tail.size() - 1);
+
+    final List<QueuedCommand> restoreCommands = snapshot.get().getCommands().stream()
+        .map(SnapshotCommand::toQueuedCommand)
+        .collect(Collectors.toCollection(ArrayList::new));
+
+    restoreCommands.addAll(tail.subList(1, tail.size()));
+
+    snapshotOffset = snapshot.get().getOffset();
+    last = Optional.of(tail.get(tail.size() - 1));
+    return restoreCommands;
+  }
+
+  private List<QueuedCommand> readAll(final CommandQueue commandQueue) {
+    final List<QueuedCommand> restoreCommands = commandQueue.getRestoreCommands();
+    if (!restoreCommands.isEmpty()) {
+      last = Optional.of(restoreCommands.get(restoreCommands.size() - 1));
+    }
+    return restoreCommands;
+  }
+
+  /**
+   * Record a command that has been executed.
+   *
+   * @param commandId the id of the command.
+   * @param command the command.
+   * @param offset the offset of the command in the command topic.
+   * @param plan the plan the command was executed with, if it was built from the statement.
+   */
+  synchronized void recordExecuted(
+      final CommandId commandId,
+      final Command command,
+      final long offset,
+      final Optional<KsqlPlan> plan
+  ) {
+    final Command executedCommand = command.getPlan().isPresent() || !plan.isPresent()
+        ? command
+        : new Command(
+            command.getStatement(),
+            Optional.of(command.getOverwriteProperties()),
+            Optional.of(command.getOriginalProperties()),
+            plan,
+            command.getVersion()
+        );
+
+    executed.put(offset, new QueuedCommand(commandId, executedCommand, Optional.empty(), offset));
+  }
+
+  /**
+   * Record that all commands up to, and including, the supplied command have been handled.
+   *
+   * @param queuedCommand the last command read from the command topic.
+   */
+  synchronized void recordConsumed(final QueuedCommand queuedCommand) {
+    last = Optional.of(queuedCommand);
+  }
+
+  /**
+   * Write a new snapshot if there are new commands and the snapshot interval has elapsed.
+   */
+  synchronized void maybeSnapshot() {
+    if (!last.isPresent() || last.get().getOffset() <= snapshotOffset) {
+      return;
+    }
+
+    final Instant now = clock.instant();
+    if (Duration.between(snapshotTime, now).compareTo(interval) < 0) {
+      return;
+    }
+
+    snapshotTime = now;
+
+    try {
+      write();
+    } catch (final Exception e) {
+      LOG.warn("Failed to write command snapshot to " + snapshotFile, e);
+    }
+  }
+
+  private void write() throws IOException {
+    final List<QueuedCommand> compacted = compactor.apply(new ArrayList<>(executed.values()));
+
+    // Keep only the compacted commands, so that the snapshot does not grow without bound:
+    executed.clear();
+    compacted.forEach(cmd -> executed.put(cmd.getOffset(), cmd));
+
+    final CommandSnapshot snapshot = new CommandSnapshot(
+        last.get().getOffset(),
+        SnapshotCommand.of(last.get()),
+        compacted.stream()
+            .map(SnapshotCommand::of)
+            .collect(Collectors.toList())
+    );
+
+    Files.createDirectories(snapshotFile.getParent());
+
+    final Path tmpFile = snapshotFile.resolveSibling(SNAPSHOT_FILE_NAME + ".tmp");
+    MAPPER.writeValue(tmpFile.toFile(), snapshot);
+    Files.move(
+        tmpFile,
+        snapshotFile,
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE
+    );
+
+    snapshotOffset = snapshot.getOffset();
+
+    LOG.info("Wrote command snapshot of {} commands at command topic offset {}",
+        compacted.size(), snapshotOffset);
+  }
+
+  private Optional<CommandSnapshot> load() {
+    if (!Files.exists(snapshotFile)) {
+      return Optional.empty();
+    }
+
+    try {
+      return Optional.of(MAPPER.readValue(snapshotFile.toFile(), CommandSnapshot.class));
+    } catch (final Exception e) {
+      LOG.warn("Ignoring command snapshot as it could not be read from " + snapshotFile, e);
+      return Optional.empty();
+    }
+  }
+}
@@ -61,6 +61,7 @@ public class InteractiveStatementExecutor implements KsqlConfigurable {
   private final StatementParser statementParser;
   private final SpecificQueryIdGenerator queryIdGenerator;
   private final Map<CommandId, CommandStatus> statusStore;
+  private final Optional<CommandSnapshotter> snapshotter;
   private KsqlConfig ksqlConfig;
 
   private enum Mode {
@@ -72,12 +73,22 @@ public class InteractiveStatementExecutor implements KsqlConfigurable {
       final ServiceContext serviceContext,
       final KsqlEngine ksqlEngine,
       final SpecificQueryIdGenerator queryIdGenerator
+  ) {
+    this(serviceContext, ksqlEngine, queryIdGenerator, Optional.empty());
+  }
+
+  public InteractiveStatementExecutor(
+      final ServiceContext serviceContext,
+      final KsqlEngine ksqlEngine,
+      final SpecificQueryIdGenerator queryIdGenerator,
+      final Optional<CommandSnapshotter> snapshotter
   ) {
     this(
         serviceContext,
         ksqlEngine,
         new StatementParser(ksqlEngine),
-        queryIdGenerator
+        queryIdGenerator,
+        snapshotter
     );
   }
 
@@ -87,12 +98,23 @@ public class InteractiveStatementExecutor implements KsqlConfigurable {
       final KsqlEngine ksqlEngine,
       final StatementParser statementParser,
       final SpecificQueryIdGenerator queryIdGenerator
+  ) {
+    this(serviceContext, ksqlEngine, statementParser, queryIdGenerator, Optional.empty());
+  }
+
+  private InteractiveStatementExecutor(
+      final ServiceContext serviceContext,
+      final KsqlEngine ksqlEngine,
+      final StatementParser statementParser,
+      final SpecificQueryIdGenerator queryIdGenerator,
+      final Optional<CommandSnapshotter> snapshotter
   ) {
     this.serviceContext = Objects.requireNonNull(serviceContext, "serviceContext");
     this.ksqlEngine = Objects.requireNonNull(ksqlEngine, "ksqlEngine");
     this.statementParser = Objects.requireNonNull(statementParser, "statementParser");
     this.queryIdGenerator = Objects.requireNonNull(queryIdGenerator, "queryIdGenerator");
     this.statusStore = new ConcurrentHashMap<>();
+    this.snapshotter = Objects.requireNonNull(snapshotter, "snapshotter");
   }
 
   @Override
@@ -192,6 +214,7 @@ public class InteractiveStatementExecutor implements KsqlConfigurable {
     try {
       if (command.getPlan().isPresent()) {
         executePlan(command, commandId, commandStatusFuture, command.getPlan().get(), mode, offset);
+        recordExecuted(command, commandId, offset, Optional.empty());
         return;
       }
       final String statementString = command.getStatement();
@@ -205,8 +228,9 @@ public class InteractiveStatementExecutor implements KsqlConfigurable {
           commandStatusFuture,
           new CommandStatus(CommandStatus.Status.EXECUTING, "Executing statement")
       );
-      executeStatement(
+      final Optional<KsqlPlan> plan = executeStatement(
           statement, command, commandId, commandStatusFuture, mode, offset);
+      recordExecuted(command, commandId, offset, plan);
     } catch (final KsqlException exception) {
       log.error("Failed to handle: " + command, exception);
       
@@ -219,6 +243,15 @@ public class InteractiveStatementExecutor implements KsqlConfigurable {
     }
   }
 
+  private void recordExecuted(
+      final Command command,
+      final CommandId commandId,
+      final long offset,
+      final Optional<KsqlPlan> plan
+  ) {
+    snapshotter.ifPresent(s -> s.recordExecuted(commandId, command, offset, plan));
+  }
+
   private void executePlan(
       final Command command,
       final CommandId commandId,
@@ -260,7 +293,7 @@ public class InteractiveStatementExecutor implements KsqlConfigurable {
   }
 
   @SuppressWarnings("unchecked")
-  private void executeStatement(
+  private Optional<KsqlPlan> executeStatement(
       final PreparedStatement<?> statement,
       final Command command,
       final CommandId commandId,
@@ -269,16 +302,20 @@ public class InteractiveStatementExecutor implements KsqlConfigurable {
       final long offset
   ) {
     String successMessage = "";
+    Optional<KsqlPlan> plan = Optional.empty();
     if (statement.getStatement() instanceof ExecutableDdlStatement) {
-      successMessage = executeDdlStatement(statement, command);
+      plan = Optional.of(buildPlan(statement, command));
+      successMessage = executeDdlStatement(plan.get(), command);
     } else if (statement.getStatement() instanceof CreateAsSelect) {
-      final PersistentQueryMetadata query = startQuery(statement, command, mode, offset);
+      plan = Optional.of(buildPlan(statement, command));
+      final PersistentQueryMetadata query = startQuery(plan.get(), command, mode, offset);
       final String name = ((CreateAsSelect)statement.getStatement()).getName().text();
       successMessage = statement.getStatement() instanceof CreateTableAsSelect
           ? "Table " + name + " created and running" : "Stream " + name + " created and running";
       successMessage += ". Created by query with query ID: " + query.getQueryId();
     } else if (statement.getStatement() instanceof InsertInto) {
-      final PersistentQueryMetadata query = startQuery(statement, command, mode, offset);
+      plan = Optional.of(buildPlan(statement, command));
+      final PersistentQueryMetadata query = startQuery(plan.get(), command, mode, offset);
       successMessage = "Insert Into query is running with query ID: " + query.getQueryId();
     } else if (statement.getStatement() instanceof TerminateQuery) {
       terminateQuery((PreparedStatement<TerminateQuery>) statement);
@@ -294,14 +331,18 @@ public class InteractiveStatementExecutor implements KsqlConfigurable {
         new CommandStatus(CommandStatus.Status.SUCCESS, successMessage);
 
     putFinalStatus(commandId, commandStatusFuture, successStatus);
+    return plan;
   }
 
-  private String executeDdlStatement(final PreparedStatement<?> statement, final Command command) {
-    final KsqlConfig mergedConfig = buildMergedConfig(command);
-    final ConfiguredStatement<?> configured =
-        ConfiguredStatement.of(statement, command.getOverwriteProperties(), mergedConfig);
+  private KsqlPlan buildPlan(final PreparedStatement<?> statement, final Command command) {
+    final ConfiguredStatement<?> configured = ConfiguredStatement.of(
+        statement, command.getOverwriteProperties(), buildMergedConfig(command));
 
-    final KsqlPlan plan = ksqlEngine.plan(serviceContext, configured);
+    return ksqlEngine.plan(serviceContext, configured);
+  }
+
+  private String executeDdlStatement(final KsqlPlan plan, final Command command) {
+    final KsqlConfig mergedConfig = buildMergedConfig(command);
     return ksqlEngine
         .execute(
             serviceContext,
@@ -311,17 +352,13 @@ public class InteractiveStatementExecutor implements KsqlConfigurable {
   }
 
   private PersistentQueryMetadata startQuery(
-      final PreparedStatement<?> statement,
+      final KsqlPlan plan,
       final Command command,
       final Mode mode,
       final long offset
   ) {
     final KsqlConfig mergedConfig = buildMergedConfig(command);
 
-    final ConfiguredStatement<?> configured = ConfiguredStatement.of(
-        statement, command.getOverwriteProperties(), mergedConfig);
-
-    final KsqlPlan plan = ksqlEngine.plan(serviceContext, configured);
     final QueryMetadata queryMetadata =
         ksqlEngine
             .execute(
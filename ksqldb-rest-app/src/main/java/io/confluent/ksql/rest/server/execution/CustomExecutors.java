@@ -112,12 +112,24 @@ public enum CustomExecutors {
     return executor.execute(statement, sessionProperties, executionCtx, serviceCtx);
   }
 
-  private static StatementExecutor insertValuesExecutor() {
-    final InsertValuesExecutor executor = new InsertValuesExecutor();
+  /**
+   * Close the producers pooled for INSERT VALUES statements, e.g. on shutdown.
+   */
+  public static void closeInsertValuesExecutor() {
+    InsertValuesExecutorHolder.EXECUTOR.close();
+  }
 
+  private static StatementExecutor insertValuesExecutor() {
     return (statement, sessionProperties, executionContext, serviceContext) -> {
-      executor.execute(statement, sessionProperties, executionContext, serviceContext);
+      InsertValuesExecutorHolder.EXECUTOR
+          .execute(statement, sessionProperties, executionContext, serviceContext);
       return Optional.empty();
     };
   }
+
+  // Enum constants are initialized before the enum's static fields, hence the holder:
+  private static final class InsertValuesExecutorHolder {
+
+    private static final InsertValuesExecutor EXECUTOR = new InsertValuesExecutor();
+  }
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.io.ByteStreams;
+import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.util.KsqlServerException;
+import io.confluent.ksql.util.KsqlStatementException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The rows of a pull query forwarded to another host, read from the response as it arrives.
+ *
+ * <p>The response is closed once all rows have been read, or when the rows are closed, which
+ * aborts the request if the response has not all been read.
+ */
+@SuppressWarnings("UnstableApiUsage")
+final class ForwardedRows extends AbstractIterator<List<?>> implements PullQueryRows {
+
+  private final InputStream body;
+  private final JsonReader reader;
+  private boolean closed;
+
+  /**
+   * @param statementText the text of the statement, for errors.
+   * @param body the body of a response in the JSON format of the {@code /query} endpoint.
+   * @param objectMapper the mapper to read the rows with.
+   * @return the rows.
+   */
+  static ForwardedRows json(
+      final String statementText,
+      final InputStream body,
+      final ObjectMapper objectMapper
+  ) {
+    try {
+      return new ForwardedRows(body, new JsonReader(statementText, body, objectMapper));
+    } catch (final RuntimeException e) {
+      close(body);
+      throw e;
+    }
+  }
+
+  private ForwardedRows(
+      final InputStream body,
+      final JsonReader reader
+  ) {
+    this.body = Objects.requireNonNull(body, "body");
+    this.reader = Objects.requireNonNull(reader, "reader");
+  }
+
+  @Override
+  protected List<?> computeNext() {
+    if (closed) {
+      return endOfData();
+    }
+
+    final Optional<List<?>> row = reader.readRow();
+    if (row.isPresent()) {
+      return row.get();
+    }
+
+    try {
+      // Read to the end of the response, so the connection is not reset when it is closed:
+      ByteStreams.exhaust(body);
+    } catch (final IOException e) {
+      throw new KsqlServerException("Error reading response from forwarding call", e);
+    }
+
+    close();
+    return endOfData();
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    close(body);
+  }
+
+  private static void close(final InputStream body) {
+    try {
+      body.close();
+    } catch (final IOException e) {
+      // Nothing more can be read from the response either way
+    }
+  }
+
+  /**
+   * Reads the JSON array of {@link StreamedRow}s returned by the {@code /query} endpoint, which
+   * has one row per line.
+   */
+  private static final class JsonReader {
+
+    private final String statementText;
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+
+    JsonReader(
+        final String statementText,
+        final InputStream body,
+        final ObjectMapper objectMapper
+    ) {
+      this.statementText = Objects.requireNonNull(statementText, "statementText");
+      this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+      this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+
+      final StreamedRow header = next().orElseThrow(
+          () -> new KsqlServerException("Invalid empty response from forwarding call"));
+
+      if (!header.getHeader().isPresent()) {
+        throw new KsqlServerException("Expected header in first row");
+      }
+    }
+
+    Optional<List<?>> readRow() {
+      final Optional<StreamedRow> row = next();
+      if (!row.isPresent()) {
+        return Optional.empty();
+      }
+
+      if (row.get().getErrorMessage().isPresent()) {
+        throw new KsqlStatementException(
+            row.get().getErrorMessage().get().getMessage(),
+            statementText
+        );
+      }
+
+      if (!row.get().getRow().isPresent()) {
+        throw new KsqlServerException("Unexpected forwarding response");
+      }
+
+      return Optional.of(row.get().getRow().get().values());
+    }
+
+    private Optional<StreamedRow> next() {
+      try {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          final String json = tidy(line);
+          if (!json.isEmpty()) {
+            return Optional.of(objectMapper.readValue(json, StreamedRow.class));
+          }
+        }
+        return Optional.empty();
+      } catch (final IOException e) {
+        throw new KsqlServerException("Error reading response from forwarding call", e);
+      }
+    }
+
+    /**
+     * Strip the array brackets and separators from a line, leaving a single row.
+     */
+    private static String tidy(final String line) {
+      final String trimmed = line.trim();
+
+      int start = 0;
+      int end = trimmed.length();
+      if (end > start && trimmed.charAt(start) == '[') {
+        start++;
+      }
+      if (end > start && trimmed.charAt(end - 1) == ']') {
+        end--;
+      }
+      if (end > start && trimmed.charAt(end - 1) == ',') {
+        end--;
+      }
+      return trimmed.substring(start, end);
+    }
+  }
+}
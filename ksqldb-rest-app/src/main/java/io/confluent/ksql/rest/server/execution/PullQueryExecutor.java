@@ -16,11 +16,13 @@
 package io.confluent.ksql.rest.server.execution;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.BoundType;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Range;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Sets.SetView;
@@ -31,13 +33,17 @@ import io.confluent.ksql.analyzer.ImmutableAnalysis;
 import io.confluent.ksql.analyzer.PullQueryValidator;
 import io.confluent.ksql.analyzer.QueryAnalyzer;
 import io.confluent.ksql.analyzer.RewrittenAnalysis;
+import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter;
 import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter.Context;
 import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.context.QueryContext.Stacker;
 import io.confluent.ksql.execution.context.QueryLoggerUtil;
+import io.confluent.ksql.execution.expression.tree.BetweenPredicate;
 import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
 import io.confluent.ksql.execution.expression.tree.ComparisonExpression.Type;
 import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.InListExpression;
+import io.confluent.ksql.execution.expression.tree.InPredicate;
 import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
 import io.confluent.ksql.execution.expression.tree.Literal;
 import io.confluent.ksql.execution.expression.tree.LogicalBinaryExpression;
@@ -50,11 +56,15 @@ import io.confluent.ksql.execution.expression.tree.VisitParentExpressionVisitor;
 import io.confluent.ksql.execution.plan.SelectExpression;
 import io.confluent.ksql.execution.streams.RoutingFilter.RoutingFilterFactory;
 import io.confluent.ksql.execution.streams.RoutingOptions;
+import io.confluent.ksql.execution.streams.materialization.KeyOrder;
 import io.confluent.ksql.execution.streams.materialization.Locator;
 import io.confluent.ksql.execution.streams.materialization.Locator.KsqlNode;
 import io.confluent.ksql.execution.streams.materialization.Materialization;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
+import io.confluent.ksql.execution.streams.materialization.MaterializedTable;
+import io.confluent.ksql.execution.streams.materialization.MaterializedWindowedTable;
 import io.confluent.ksql.execution.streams.materialization.PullProcessingContext;
+import io.confluent.ksql.execution.streams.materialization.Row;
 import io.confluent.ksql.execution.streams.materialization.TableRow;
 import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.execution.transform.select.SelectValueMapper;
@@ -66,18 +76,18 @@ import io.confluent.ksql.metastore.model.DataSource;
 import io.confluent.ksql.model.WindowType;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.parser.SqlFormatter;
 import io.confluent.ksql.parser.tree.AllColumns;
 import io.confluent.ksql.parser.tree.Query;
 import io.confluent.ksql.parser.tree.Select;
 import io.confluent.ksql.parser.tree.SingleColumn;
 import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.rest.ApiJsonMapper;
 import io.confluent.ksql.rest.Errors;
 import io.confluent.ksql.rest.SessionProperties;
 import io.confluent.ksql.rest.client.RestResponse;
-import io.confluent.ksql.rest.entity.StreamedRow;
-import io.confluent.ksql.rest.entity.StreamedRow.Header;
-import io.confluent.ksql.rest.entity.TableRowsEntity;
 import io.confluent.ksql.rest.entity.TableRowsEntityFactory;
+import io.confluent.ksql.rest.server.execution.PullQueryPlan.Projection;
 import io.confluent.ksql.rest.server.resources.KsqlRestException;
 import io.confluent.ksql.schema.ksql.Column;
 import io.confluent.ksql.schema.ksql.DefaultSqlValueCoercer;
@@ -98,13 +108,25 @@ import io.confluent.ksql.util.KsqlServerException;
 import io.confluent.ksql.util.KsqlStatementException;
 import io.confluent.ksql.util.PersistentQueryMetadata;
 import io.confluent.ksql.util.timestamp.PartialStringToTimestampParser;
+import java.io.InputStream;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -120,6 +142,13 @@ public final class PullQueryExecutor {
 
   private static final Logger LOG = LoggerFactory.getLogger(PullQueryExecutor.class);
 
+  private static final Set<Type> VALID_KEY_RANGE_TYPES = ImmutableSet.of(
+      Type.LESS_THAN,
+      Type.LESS_THAN_OR_EQUAL,
+      Type.GREATER_THAN,
+      Type.GREATER_THAN_OR_EQUAL
+  );
+
   private static final Set<Type> VALID_WINDOW_BOUNDS_TYPES = ImmutableSet.of(
       Type.EQUAL,
       Type.GREATER_THAN,
@@ -131,9 +160,15 @@ public final class PullQueryExecutor {
   private static final String VALID_WINDOW_BOUNDS_TYPES_STRING =
       VALID_WINDOW_BOUNDS_TYPES.toString();
 
+  // A forwarded scan returns the key of each row in this extra, last, column, for the forwarding
+  // host to merge the rows of each host in key order:
+  private static final ColumnName SCAN_KEY_COLUMN = ColumnName.of("KSQL_SCAN_KEY");
+
   private final KsqlExecutionContext executionContext;
   private final RoutingFilterFactory routingFilterFactory;
   private final RateLimiter rateLimiter;
+  private final Optional<PullQueryPlanCache> planCache;
+  private final PullQueryRoutingPolicy routingPolicy;
 
   public PullQueryExecutor(
       final KsqlExecutionContext executionContext,
@@ -145,6 +180,13 @@ public final class PullQueryExecutor {
         Objects.requireNonNull(routingFilterFactory, "routingFilterFactory");
     this.rateLimiter = RateLimiter.create(ksqlConfig.getInt(
         KsqlConfig.KSQL_QUERY_PULL_MAX_QPS_CONFIG));
+
+    final int planCacheSize = ksqlConfig.getInt(
+        KsqlConfig.KSQL_QUERY_PULL_PLAN_CACHE_SIZE_CONFIG);
+    this.planCache = planCacheSize == 0
+        ? Optional.empty()
+        : Optional.of(new PullQueryPlanCache(planCacheSize));
+    this.routingPolicy = PullQueryRoutingPolicy.create(ksqlConfig);
   }
 
   @SuppressWarnings("unused") // Needs to match validator API.
@@ -157,7 +199,16 @@ public final class PullQueryExecutor {
     throw new KsqlRestException(Errors.queryEndpoint(statement.getStatementText()));
   }
 
-  public TableRowsEntity execute(
+  /**
+   * Execute a pull query.
+   *
+   * <p>The query is planned, and the hosts serving the first of its keys or partitions are
+   * located and queried, before this method returns, so such failures are thrown from here. The
+   * rest of the rows are produced as the result is read.
+   *
+   * @return the result, which must be closed.
+   */
+  public PullQueryResult execute(
       final ConfiguredStatement<Query> statement,
       final ServiceContext serviceContext,
       final Optional<PullQueryExecutorMetrics> pullQueryMetrics
@@ -185,14 +236,11 @@ public final class PullQueryExecutor {
         checkRateLimit();
       }
 
-      final ImmutableAnalysis analysis = new RewrittenAnalysis(
-          analyze(statement, executionContext),
-          new ColumnReferenceRewriter()::process
-      );
+      final PullQueryPlan plan = getPlan(statement, pullQueryMetrics);
 
-      final PersistentQueryMetadata query = findMaterializingQuery(executionContext, analysis);
+      final PersistentQueryMetadata query = plan.getQuery();
 
-      final WhereInfo whereInfo = extractWhereInfo(analysis, query);
+      final WhereInfo whereInfo = extractWhereInfo(rewriteWhere(statement), query);
 
       final QueryId queryId = uniqueQueryId();
 
@@ -200,25 +248,66 @@ public final class PullQueryExecutor {
 
       final Materialization mat = query
           .getMaterialization(queryId, contextStacker)
-          .orElseThrow(() -> notMaterializedException(getSourceName(analysis)));
+          .orElseThrow(() -> notMaterializedException(plan.getSourceName()));
 
-      final Struct key = asKeyStruct(whereInfo.keyBound, query.getPhysicalSchema());
+      final Map<Struct, Expression> keys = new LinkedHashMap<>();
+      whereInfo.keysBound.forEach((keyValue, keyExpression) ->
+          keys.put(asKeyStruct(keyValue, query.getPhysicalSchema()), keyExpression));
 
       final PullQueryContext pullQueryContext = new PullQueryContext(
-          key,
+          keys,
           mat,
-          analysis,
+          plan,
           whereInfo,
           queryId,
           contextStacker,
           pullQueryMetrics);
 
-      return handlePullQuery(
-          statement,
-          executionContext,
-          serviceContext,
-          pullQueryContext,
-          routingOptions
+      final Projection projection = plan.getProjection(
+          () -> buildProjection(statement, executionContext, pullQueryContext));
+
+      final boolean scan = whereInfo.keyRange.isPresent();
+      final boolean returnScanKey = scan && isAlreadyForwarded;
+
+      final PullQueryRows rows = scan
+          ? handlePullScan(
+              statement,
+              executionContext,
+              serviceContext,
+              pullQueryContext,
+              routingOptions)
+          : handlePullQuery(
+              statement,
+              executionContext,
+              serviceContext,
+              pullQueryContext,
+              routingOptions);
+
+      try {
+        // Route the first batch, so a failure to reach any host fails the query up front:
+        rows.hasNext();
+      } catch (final Exception e) {
+        rows.close();
+        throw e;
+      }
+
+      final LogicalSchema schema = returnScanKey
+          ? projection.getOutputSchema().asBuilder()
+              .valueColumn(SCAN_KEY_COLUMN, scanKeyType(pullQueryContext))
+              .build()
+          : projection.getOutputSchema();
+
+      final Iterator<List<?>> result = scan && !returnScanKey
+          ? Iterators.<List<?>, List<?>>transform(rows, row -> row.subList(0, row.size() - 1))
+          : rows;
+
+      return new PullQueryResult(
+          statement.getStatementText(),
+          queryId,
+          schema,
+          applyLimit(result, statement.getStatement().getLimit()),
+          rows::close,
+          pullQueryMetrics
       );
     } catch (final Exception e) {
       pullQueryMetrics.ifPresent(metrics -> metrics.recordErrorRate(1));
@@ -230,6 +319,10 @@ public final class PullQueryExecutor {
     }
   }
 
+  public void close() {
+    routingPolicy.close();
+  }
+
   @VisibleForTesting
   void checkRateLimit() {
     if (!rateLimiter.tryAcquire()) {
@@ -238,41 +331,158 @@ public final class PullQueryExecutor {
     }
   }
 
-  private TableRowsEntity handlePullQuery(
+  private PullQueryRows handlePullQuery(
       final ConfiguredStatement<Query> statement,
       final KsqlExecutionContext executionContext,
       final ServiceContext serviceContext,
       final PullQueryContext pullQueryContext,
       final RoutingOptions routingOptions
   ) {
-    // Get active and standby nodes for this key
+    // Get active and standby nodes for each key
     final Locator locator = pullQueryContext.mat.locator();
-    final List<KsqlNode> filteredAndOrderedNodes = locator.locate(
-        pullQueryContext.key,
-        routingOptions,
-        routingFilterFactory
+    final Map<Struct, List<KsqlNode>> nodesByKey = new LinkedHashMap<>();
+    for (final Struct key : pullQueryContext.keys.keySet()) {
+      nodesByKey.put(key, locator.locate(
+          key,
+          routingOptions,
+          routingFilterFactory
+      ));
+    }
+
+    return routeBatches(
+        statement,
+        routingPolicy,
+        nodesByKey,
+        (node, keys) -> routeQuery(
+            node,
+            keys,
+            statement,
+            executionContext,
+            serviceContext,
+            pullQueryContext
+        )
     );
+  }
 
-    if (filteredAndOrderedNodes.isEmpty()) {
+  private PullQueryRows handlePullScan(
+      final ConfiguredStatement<Query> statement,
+      final KsqlExecutionContext executionContext,
+      final ServiceContext serviceContext,
+      final PullQueryContext pullQueryContext,
+      final RoutingOptions routingOptions
+  ) {
+    // Get active and standby nodes for each partition
+    final Map<Integer, List<KsqlNode>> nodesByPartition = pullQueryContext.mat.locator()
+        .locatePartitions(routingOptions, routingFilterFactory);
+
+    // Each node returns its rows in key order, with the key last, so a limit applied to the merge
+    // of the rows of all nodes returns the rows with the lowest keys:
+    final List<PullQueryRows> answers = routeBatches(
+        statement,
+        routingPolicy,
+        nodesByPartition,
+        (node, partitions) -> routeScan(
+            node,
+            partitions,
+            statement,
+            executionContext,
+            serviceContext,
+            pullQueryContext
+        )
+    ).routeAll();
+
+    final Comparator<Object> keyOrder = KeyOrder.of(scanKeyType(pullQueryContext));
+    return PullQueryRows.of(
+        Iterators.mergeSorted(answers, Comparator.comparing(
+            (List<?> row) -> row.get(row.size() - 1),
+            keyOrder
+        )),
+        () -> answers.forEach(PullQueryRows::close)
+    );
+  }
+
+  private static SqlType scanKeyType(final PullQueryContext pullQueryContext) {
+    return pullQueryContext.mat.schema().key().get(0).type();
+  }
+
+  /**
+   * Route batches of work items, e.g. keys or partitions, to the nodes that can serve them.
+   *
+   * <p>Nodes are ordered by preference: active is first if alive then standby nodes in
+   * increasing order of lag, then reordered by the routing policy. Items are batched by their
+   * most preferred node, so that each node receives at most one request. Items in a batch that
+   * fails are re-batched by their next preferred node. If hedging is enabled, a batch that is
+   * slow to be answered is also sent to the next node that can serve all its items.
+   *
+   * <p>Batches are routed one at a time, as the rows of the previous batch have been read, unless
+   * {@link RoutedRows#routeAll} is used to route them all at once.
+   */
+  private static <T> RoutedRows<T> routeBatches(
+      final ConfiguredStatement<Query> statement,
+      final PullQueryRoutingPolicy routingPolicy,
+      final Map<T, List<KsqlNode>> locatedNodesByItem,
+      final BiFunction<KsqlNode, List<T>, PullQueryRows> router
+  ) {
+    if (locatedNodesByItem.values().stream().anyMatch(List::isEmpty)) {
       throw new MaterializationException("All nodes are dead or exceed max allowed lag.");
     }
 
-    // Nodes are ordered by preference: active is first if alive then standby nodes in
-    // increasing order of lag.
-    for (KsqlNode node : filteredAndOrderedNodes) {
-      try {
-        return routeQuery(node, statement, executionContext, serviceContext, pullQueryContext);
-      } catch (Exception t) {
-        LOG.debug("Error routing query {} to host {} at timestamp {}",
-                 statement.getStatementText(), node, System.currentTimeMillis());
-      }
+    return new RoutedRows<>(
+        statement,
+        routingPolicy,
+        routingPolicy.order(locatedNodesByItem),
+        router
+    );
+  }
+
+  /**
+   * @return the most preferred node, other than {@code node}, that can serve all the
+   *     {@code items}, if any.
+   */
+  private static <T> Optional<KsqlNode> hedgeNode(
+      final KsqlNode node,
+      final List<T> items,
+      final Map<T, List<KsqlNode>> nodesByItem,
+      final Set<KsqlNode> failedNodes
+  ) {
+    return nodesByItem.get(items.get(0)).stream()
+        .filter(n -> !n.equals(node))
+        .filter(n -> !failedNodes.contains(n))
+        .filter(n -> items.stream().allMatch(item -> nodesByItem.get(item).contains(n)))
+        .findFirst();
+  }
+
+  private static <T> Map<KsqlNode, List<T>> batchByPreferredNode(
+      final ConfiguredStatement<Query> statement,
+      final Collection<T> items,
+      final Map<T, List<KsqlNode>> nodesByItem,
+      final Set<KsqlNode> failedNodes
+  ) {
+    final Map<KsqlNode, List<T>> batches = new LinkedHashMap<>();
+    for (final T item : items) {
+      final KsqlNode node = nodesByItem.get(item).stream()
+          .filter(n -> !failedNodes.contains(n))
+          .findFirst()
+          .orElseThrow(() -> new MaterializationException(String.format(
+              "Unable to execute pull query: %s", statement.getStatementText())));
+
+      batches.computeIfAbsent(node, n -> new ArrayList<>()).add(item);
     }
-    throw new MaterializationException(String.format(
-        "Unable to execute pull query: %s", statement.getStatementText()));
+    return batches;
+  }
+
+  private static Iterator<List<?>> applyLimit(
+      final Iterator<List<?>> rows,
+      final OptionalInt limit
+  ) {
+    return limit.isPresent()
+        ? Iterators.limit(rows, limit.getAsInt())
+        : rows;
   }
 
-  private static TableRowsEntity routeQuery(
+  private static PullQueryRows routeQuery(
       final KsqlNode node,
+      final List<Struct> keys,
       final ConfiguredStatement<Query> statement,
       final KsqlExecutionContext executionContext,
       final ServiceContext serviceContext,
@@ -286,128 +496,375 @@ public final class PullQueryExecutor {
       return queryRowsLocally(
           statement,
           executionContext,
-          pullQueryContext);
+          pullQueryContext,
+          keys);
     } else {
       LOG.debug("Query {} routed to host {} at timestamp {}.",
                 statement.getStatementText(), node.location(), System.currentTimeMillis());
       pullQueryContext.pullQueryMetrics
           .ifPresent(queryExecutorMetrics -> queryExecutorMetrics.recordRemoteRequests(1));
-      return forwardTo(node, statement, serviceContext);
+      return forwardTo(
+          node,
+          forwardedStatementText(statement, pullQueryContext, keys),
+          ImmutableMap.of(),
+          statement,
+          serviceContext
+      );
     }
   }
 
-  private static TableRowsEntity queryRowsLocally(
+  private static PullQueryRows routeScan(
+      final KsqlNode node,
+      final List<Integer> partitions,
       final ConfiguredStatement<Query> statement,
       final KsqlExecutionContext executionContext,
+      final ServiceContext serviceContext,
       final PullQueryContext pullQueryContext
   ) {
-    final Result result;
+    if (node.isLocal()) {
+      LOG.debug("Query {} scanned partitions {} locally at host {} at timestamp {}.",
+               statement.getStatementText(), partitions, node.location(),
+               System.currentTimeMillis());
+      pullQueryContext.pullQueryMetrics
+          .ifPresent(queryExecutorMetrics -> queryExecutorMetrics.recordLocalRequests(1));
+      return scanPartitionsLocally(
+          statement,
+          executionContext,
+          pullQueryContext,
+          partitions);
+    } else {
+      LOG.debug("Query {} scan of partitions {} routed to host {} at timestamp {}.",
+                statement.getStatementText(), partitions, node.location(),
+                System.currentTimeMillis());
+      pullQueryContext.pullQueryMetrics
+          .ifPresent(queryExecutorMetrics -> queryExecutorMetrics.recordRemoteRequests(1));
+      return forwardTo(
+          node,
+          statement.getStatementText(),
+          ImmutableMap.of(
+              KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_PARTITIONS,
+              partitions.stream().map(String::valueOf).collect(Collectors.joining(","))),
+          statement,
+          serviceContext
+      );
+    }
+  }
+
+  /**
+   * Get the text of the statement to forward to a remote node, restricted to only the supplied
+   * {@code keys} if these are not all the keys the statement looks up.
+   */
+  private static String forwardedStatementText(
+      final ConfiguredStatement<Query> statement,
+      final PullQueryContext pullQueryContext,
+      final List<Struct> keys
+  ) {
+    if (keys.size() == pullQueryContext.keys.size()) {
+      return statement.getStatementText();
+    }
+
+    final Expression keyPredicate = pullQueryContext.whereInfo.keyPredicate
+        .orElseThrow(IllegalStateException::new);
+    final Expression keyColumn = keyPredicate instanceof InPredicate
+        ? ((InPredicate) keyPredicate).getValue()
+        : getColumnRefSide((ComparisonExpression) keyPredicate);
+
+    final InPredicate restricted = new InPredicate(
+        keyColumn,
+        new InListExpression(keys.stream()
+            .map(pullQueryContext.keys::get)
+            .collect(Collectors.toList()))
+    );
+
+    final Expression where = ExpressionTreeRewriter.rewriteWith(
+        (exp, ctx) -> exp == keyPredicate ? Optional.of(restricted) : Optional.empty(),
+        pullQueryContext.whereInfo.where
+    );
+
+    final Query query = statement.getStatement();
+    final Query forwarded = new Query(
+        query.getLocation(),
+        query.getSelect(),
+        query.getFrom(),
+        query.getWindow(),
+        Optional.of(where),
+        query.getGroupBy(),
+        query.getPartitionBy(),
+        query.getHaving(),
+        query.getResultMaterialization(),
+        query.isPullQuery(),
+        query.getLimit()
+    );
+
+    return SqlFormatter.formatSql(forwarded) + ";";
+  }
+
+  private PullQueryPlan getPlan(
+      final ConfiguredStatement<Query> statement,
+      final Optional<PullQueryExecutorMetrics> pullQueryMetrics
+  ) {
+    if (!planCache.isPresent()) {
+      return buildPlan(statement, executionContext);
+    }
+
+    final PullQueryPlanCache cache = planCache.get();
+    final PullQueryPlanCache.Key cacheKey = PullQueryPlanCache.keyFor(statement);
+
+    final Optional<PullQueryPlan> cached = cache.get(cacheKey);
+    if (cached.isPresent()) {
+      if (isCurrent(cached.get(), executionContext)) {
+        pullQueryMetrics.ifPresent(PullQueryExecutorMetrics::recordPlanCacheHit);
+        return cached.get();
+      }
+
+      // Source or materializing query has changed since the plan was built:
+      cache.invalidate(cached.get().getSourceName());
+    }
+
+    pullQueryMetrics.ifPresent(PullQueryExecutorMetrics::recordPlanCacheMiss);
+
+    final PullQueryPlan plan = buildPlan(statement, executionContext);
+    cache.put(cacheKey, plan);
+
+    final long evicted = cache.drainEvictions();
+    if (evicted > 0) {
+      pullQueryMetrics.ifPresent(metrics -> metrics.recordPlanCacheEvictions(evicted));
+    }
+    return plan;
+  }
+
+  private static PullQueryPlan buildPlan(
+      final ConfiguredStatement<Query> statement,
+      final KsqlExecutionContext executionContext
+  ) {
+    final ImmutableAnalysis analysis = new RewrittenAnalysis(
+        analyze(statement, executionContext),
+        new ColumnReferenceRewriter()::process
+    );
+
+    final PersistentQueryMetadata query = findMaterializingQuery(executionContext, analysis);
+
+    return new PullQueryPlan(analysis, analysis.getFrom().getDataSource(), query);
+  }
+
+  /**
+   * A cached plan is only current if the source it reads from and the query materializing that
+   * source are the same instances the plan was built against.
+   */
+  private static boolean isCurrent(
+      final PullQueryPlan plan,
+      final KsqlExecutionContext executionContext
+  ) {
+    final MetaStore metaStore = executionContext.getMetaStore();
+    if (metaStore.getSource(plan.getSourceName()) != plan.getSource()) {
+      return false;
+    }
+
+    final QueryId queryId = plan.getQuery().getQueryId();
+    final Set<String> queries = metaStore.getQueriesWithSink(plan.getSourceName());
+    if (queries.size() != 1 || !queries.contains(queryId.toString())) {
+      return false;
+    }
+
+    return executionContext.getPersistentQuery(queryId)
+        .map(current -> current == plan.getQuery())
+        .orElse(false);
+  }
+
+  private static Optional<Expression> rewriteWhere(final ConfiguredStatement<Query> statement) {
+    // The analysis of a cached plan may have been built from a different statement,
+    // so the WHERE clause is always taken from the statement being executed:
+    return statement.getStatement().getWhere()
+        .map(where -> ExpressionTreeRewriter.rewriteWith(
+            new ColumnReferenceRewriter()::process,
+            where
+        ));
+  }
+
+  private static PullQueryRows queryRowsLocally(
+      final ConfiguredStatement<Query> statement,
+      final KsqlExecutionContext executionContext,
+      final PullQueryContext pullQueryContext,
+      final List<Struct> keys
+  ) {
+    final Iterator<? extends TableRow> result;
     if (pullQueryContext.whereInfo.windowStartBounds.isPresent()) {
       final Range<Instant> windowStart = pullQueryContext.whereInfo.windowStartBounds.get();
 
-      final List<? extends TableRow> rows = pullQueryContext.mat.windowed()
-          .get(pullQueryContext.key, windowStart);
-
-      result = new Result(pullQueryContext.mat.schema(), rows);
+      final MaterializedWindowedTable table = pullQueryContext.mat.windowed();
+      final List<List<? extends TableRow>> rows = new ArrayList<>(keys.size());
+      for (final Struct key : keys) {
+        rows.add(table.get(key, windowStart));
+      }
+      result = Iterables.<TableRow>concat(rows).iterator();
     } else {
-      final List<? extends TableRow> rows = pullQueryContext.mat.nonWindowed()
-          .get(pullQueryContext.key)
-          .map(ImmutableList::of)
-          .orElse(ImmutableList.of());
+      result = pullQueryContext.mat.nonWindowed()
+          .getAll(keys)
+          .iterator();
+    }
 
-      result = new Result(pullQueryContext.mat.schema(), rows);
+    return toTableRows(statement, executionContext, pullQueryContext, result, () -> { });
+  }
+
+  private static PullQueryRows scanPartitionsLocally(
+      final ConfiguredStatement<Query> statement,
+      final KsqlExecutionContext executionContext,
+      final PullQueryContext pullQueryContext,
+      final List<Integer> partitions
+  ) {
+    final Range<Comparable<Object>> keyRange = pullQueryContext.whereInfo.keyRange
+        .orElseThrow(IllegalStateException::new);
+
+    final MaterializedTable table = pullQueryContext.mat.nonWindowed();
+    final List<Stream<Row>> scans = new ArrayList<>(partitions.size());
+    try {
+      for (final int partition : partitions) {
+        scans.add(table.scan(partition, keyRange));
+      }
+    } catch (final Exception e) {
+      scans.forEach(Stream::close);
+      throw e;
     }
 
-    final LogicalSchema outputSchema;
-    final List<List<?>> rows;
-    if (isSelectStar(statement.getStatement().getSelect())) {
-      outputSchema = TableRowsEntityFactory.buildSchema(
-          result.schema, pullQueryContext.mat.windowType().isPresent());
-      rows = TableRowsEntityFactory.createRows(result.rows);
-    } else {
-      final List<SelectExpression> projection = pullQueryContext.analysis.getSelectItems().stream()
-          .map(SingleColumn.class::cast)
-          .map(si -> SelectExpression
-              .of(si.getAlias().orElseThrow(IllegalStateException::new), si.getExpression()))
-          .collect(Collectors.toList());
+    // Each partition is scanned in key order, and the store iterators only advanced as rows are
+    // read, so a limit applied to their merge stops the scans early:
+    final Comparator<Object> keyOrder = KeyOrder.of(scanKeyType(pullQueryContext));
+    final Iterator<Row> merged = Iterators.mergeSorted(
+        scans.stream().map(Stream::iterator).collect(Collectors.toList()),
+        Comparator.comparing((Row row) -> scanKey(row.key()), keyOrder)
+    );
 
-      outputSchema = selectOutputSchema(
-          result, executionContext, projection, pullQueryContext.mat.windowType());
+    final Function<TableRow, List<?>> mapper =
+        rowMapper(statement, executionContext, pullQueryContext);
 
-      rows = handleSelects(
-          result,
-          statement,
-          executionContext,
-          pullQueryContext.analysis,
-          outputSchema,
-          projection,
-          pullQueryContext.mat.windowType(),
-          pullQueryContext.queryId,
-          pullQueryContext.contextStacker
-      );
+    return PullQueryRows.of(
+        Iterators.transform(merged, row -> {
+          final List<Object> keyed = new ArrayList<>(mapper.apply(row));
+          keyed.add(scanKey(row.key()));
+          return keyed;
+        }),
+        () -> scans.forEach(Stream::close)
+    );
+  }
+
+  private static Object scanKey(final Struct key) {
+    return key.get(key.schema().fields().get(0));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Comparable<Object> asComparable(final Object value) {
+    return (Comparable<Object>) value;
+  }
+
+  private static PullQueryRows toTableRows(
+      final ConfiguredStatement<Query> statement,
+      final KsqlExecutionContext executionContext,
+      final PullQueryContext pullQueryContext,
+      final Iterator<? extends TableRow> result,
+      final Runnable onClose
+  ) {
+    final Function<TableRow, List<?>> mapper =
+        rowMapper(statement, executionContext, pullQueryContext);
+
+    return PullQueryRows.of(Iterators.transform(result, mapper::apply), onClose);
+  }
+
+  private static Function<TableRow, List<?>> rowMapper(
+      final ConfiguredStatement<Query> statement,
+      final KsqlExecutionContext executionContext,
+      final PullQueryContext pullQueryContext
+  ) {
+    final Projection projection = pullQueryContext.plan.getProjection(
+        () -> buildProjection(statement, executionContext, pullQueryContext));
+
+    return projection.getSelect().isPresent()
+        ? handleSelects(
+            executionContext,
+            projection,
+            projection.getSelect().get(),
+            pullQueryContext.queryId,
+            pullQueryContext.contextStacker)
+        : TableRowsEntityFactory::createRow;
+  }
+
+  private static Projection buildProjection(
+      final ConfiguredStatement<Query> statement,
+      final KsqlExecutionContext executionContext,
+      final PullQueryContext pullQueryContext
+  ) {
+    final LogicalSchema schema = pullQueryContext.mat.schema();
+    final Optional<WindowType> windowType = pullQueryContext.mat.windowType();
+    final ImmutableAnalysis analysis = pullQueryContext.getAnalysis();
+
+    if (isSelectStar(statement.getStatement().getSelect())) {
+      return Projection.selectStar(
+          TableRowsEntityFactory.buildSchema(schema, windowType.isPresent()));
     }
-    return new TableRowsEntity(
-        statement.getStatementText(),
-        pullQueryContext.queryId,
-        outputSchema,
-        rows
+
+    final List<SelectExpression> selectExpressions = analysis.getSelectItems().stream()
+        .map(SingleColumn.class::cast)
+        .map(si -> SelectExpression
+            .of(si.getAlias().orElseThrow(IllegalStateException::new), si.getExpression()))
+        .collect(Collectors.toList());
+
+    final LogicalSchema outputSchema = selectOutputSchema(
+        schema, executionContext, selectExpressions, windowType);
+
+    final boolean noSystemColumns = analysis.getSelectColumnNames().stream()
+        .noneMatch(SystemColumns::isSystemColumn);
+
+    final boolean noKeyColumns = analysis.getSelectColumnNames().stream()
+        .noneMatch(schema::isKeyColumn);
+
+    final boolean requiresPseudoAndKeyColumns = !(noSystemColumns && noKeyColumns);
+
+    // SelectValueMapper requires the rowTime & key fields in the value schema :(
+    final LogicalSchema intermediateSchema = requiresPseudoAndKeyColumns
+        ? schema.withPseudoAndKeyColsInValue(windowType.isPresent())
+        : schema;
+
+    final KsqlConfig ksqlConfig = statement.getConfig()
+        .cloneWithPropertyOverwrite(statement.getConfigOverrides());
+
+    final SelectValueMapper<Object> select = SelectValueMapperFactory.create(
+        selectExpressions,
+        intermediateSchema,
+        ksqlConfig,
+        executionContext.getMetaStore()
     );
+
+    return Projection.of(outputSchema, select, requiresPseudoAndKeyColumns);
   }
 
-  private static TableRowsEntity forwardTo(
+  private static PullQueryRows forwardTo(
       final KsqlNode owner,
+      final String statementText,
+      final Map<String, Object> additionalRequestProperties,
       final ConfiguredStatement<Query> statement,
       final ServiceContext serviceContext
   ) {
     // Add skip forward flag to properties
-    final Map<String, Object> requestProperties = ImmutableMap.of(
-        KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_SKIP_FORWARDING, true);
-    final RestResponse<List<StreamedRow>> response = serviceContext
+    final ImmutableMap.Builder<String, Object> requestProperties = ImmutableMap.builder();
+    requestProperties.put(KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_SKIP_FORWARDING, true);
+    requestProperties.putAll(additionalRequestProperties);
+
+    final RestResponse<InputStream> response = serviceContext
         .getKsqlClient()
-        .makeQueryRequest(
+        .makeStreamedQueryRequest(
             owner.location(),
-            statement.getStatementText(),
+            statementText,
             statement.getConfigOverrides(),
-            requestProperties
+            requestProperties.build()
         );
 
     if (response.isErroneous()) {
       throw new KsqlServerException("Forwarding attempt failed: " + response.getErrorMessage());
     }
 
-    final List<StreamedRow> streamedRows = response.getResponse();
-    if (streamedRows.isEmpty()) {
-      throw new KsqlServerException("Invalid empty response from forwarding call");
-    }
-
-    // Temporary code to convert from QueryStream to TableRowsEntity
-    // Tracked by: https://github.com/confluentinc/ksql/issues/3865
-    final Header header = streamedRows.get(0).getHeader()
-        .orElseThrow(() -> new KsqlServerException("Expected header in first row"));
-
-    final ImmutableList.Builder<List<?>> rows = ImmutableList.builder();
-
-    for (final StreamedRow row : streamedRows.subList(1, streamedRows.size())) {
-      if (row.getErrorMessage().isPresent()) {
-        throw new KsqlStatementException(
-            row.getErrorMessage().get().getMessage(),
-            statement.getStatementText()
-        );
-      }
-
-      if (!row.getRow().isPresent()) {
-        throw new KsqlServerException("Unexpected forwarding response");
-      }
-
-      rows.add(row.getRow().get().values());
-    }
-
-    return new TableRowsEntity(
+    return ForwardedRows.json(
         statement.getStatementText(),
-        header.getQueryId(),
-        header.getSchema(),
-        rows.build()
-    );
+        response.getResponse(),
+        ApiJsonMapper.INSTANCE.get());
   }
 
   private static QueryId uniqueQueryId() {
@@ -427,29 +884,160 @@ public final class PullQueryExecutor {
     return queryAnalyzer.analyze(statement.getStatement(), Optional.empty());
   }
 
+  /**
+   * The rows of batches of work items routed to the nodes that can serve them, see
+   * {@link #routeBatches}.
+   *
+   * <p>A batch is only routed once the rows of the previous batch have been read, unless all are
+   * routed up front by {@link #routeAll}. A batch that fails before any of its rows are read is
+   * retried on the next preferred nodes of its items. Once rows have been read, a failure fails
+   * the query, as the rows can not be taken back.
+   */
+  private static final class RoutedRows<T> extends AbstractIterator<List<?>>
+      implements PullQueryRows {
+
+    private final ConfiguredStatement<Query> statement;
+    private final PullQueryRoutingPolicy routingPolicy;
+    private final Map<T, List<KsqlNode>> nodesByItem;
+    private final BiFunction<KsqlNode, List<T>, PullQueryRows> router;
+    private final Set<KsqlNode> failedNodes = new HashSet<>();
+    private final Deque<Entry<KsqlNode, List<T>>> batches = new ArrayDeque<>();
+    private final List<T> retry = new ArrayList<>();
+    private PullQueryRows current = PullQueryRows.empty();
+
+    RoutedRows(
+        final ConfiguredStatement<Query> statement,
+        final PullQueryRoutingPolicy routingPolicy,
+        final Map<T, List<KsqlNode>> nodesByItem,
+        final BiFunction<KsqlNode, List<T>, PullQueryRows> router
+    ) {
+      this.statement = Objects.requireNonNull(statement, "statement");
+      this.routingPolicy = Objects.requireNonNull(routingPolicy, "routingPolicy");
+      this.nodesByItem = Objects.requireNonNull(nodesByItem, "nodesByItem");
+      this.router = Objects.requireNonNull(router, "router");
+
+      batches.addAll(batchByPreferredNode(
+          statement, nodesByItem.keySet(), nodesByItem, failedNodes).entrySet());
+    }
+
+    @Override
+    protected List<?> computeNext() {
+      while (!current.hasNext()) {
+        current.close();
+        current = PullQueryRows.empty();
+
+        final Optional<Entry<KsqlNode, List<T>>> batch = nextBatch();
+        if (!batch.isPresent()) {
+          return endOfData();
+        }
+
+        current = route(batch.get());
+      }
+
+      return current.next();
+    }
+
+    /**
+     * Route every batch now, for results that are merged rather than read one after the other.
+     *
+     * @return the rows of each batch, which must each be closed.
+     */
+    List<PullQueryRows> routeAll() {
+      final List<PullQueryRows> answers = new ArrayList<>();
+      try {
+        Optional<Entry<KsqlNode, List<T>>> batch;
+        while ((batch = nextBatch()).isPresent()) {
+          answers.add(route(batch.get()));
+        }
+        return answers;
+      } catch (final Exception e) {
+        answers.forEach(PullQueryRows::close);
+        throw e;
+      }
+    }
+
+    @Override
+    public void close() {
+      current.close();
+      current = PullQueryRows.empty();
+      batches.clear();
+      retry.clear();
+    }
+
+    private Optional<Entry<KsqlNode, List<T>>> nextBatch() {
+      if (batches.isEmpty()) {
+        if (retry.isEmpty()) {
+          return Optional.empty();
+        }
+
+        batches.addAll(batchByPreferredNode(
+            statement, retry, nodesByItem, failedNodes).entrySet());
+        retry.clear();
+      }
+
+      return Optional.of(batches.remove());
+    }
+
+    private PullQueryRows route(final Entry<KsqlNode, List<T>> batch) {
+      final KsqlNode node = batch.getKey();
+      final List<T> items = batch.getValue();
+      final Optional<KsqlNode> hedge = routingPolicy.isHedgingEnabled()
+          ? hedgeNode(node, items, nodesByItem, failedNodes)
+          : Optional.empty();
+
+      PullQueryRows rows = null;
+      try {
+        rows = routingPolicy.route(node, hedge, n -> {
+          final PullQueryRows answer = router.apply(n, items);
+          if (!hedge.isPresent()) {
+            return answer;
+          }
+
+          // Either node's answer may be the one used, so each is read in full by its own thread:
+          try (PullQueryRows toBuffer = answer) {
+            return PullQueryRows.of(ImmutableList.copyOf(toBuffer).iterator(), () -> { });
+          }
+        });
+
+        // Read the first row now, so a node that fails before answering can still be retried:
+        rows.hasNext();
+        return rows;
+      } catch (final Exception e) {
+        LOG.debug("Error routing query {} to host {} at timestamp {}",
+            statement.getStatementText(), node, System.currentTimeMillis());
+        if (rows != null) {
+          rows.close();
+        }
+        failedNodes.add(node);
+        retry.addAll(items);
+        return PullQueryRows.empty();
+      }
+    }
+  }
+
   private static final class PullQueryContext {
 
-    private final Struct key;
+    private final Map<Struct, Expression> keys;
     private final Materialization mat;
-    private final ImmutableAnalysis analysis;
+    private final PullQueryPlan plan;
     private final WhereInfo whereInfo;
     private final QueryId queryId;
     private final QueryContext.Stacker contextStacker;
     private final Optional<PullQueryExecutorMetrics> pullQueryMetrics;
 
     private PullQueryContext(
-        final Struct key,
+        final Map<Struct, Expression> keys,
         final Materialization mat,
-        final ImmutableAnalysis analysis,
+        final PullQueryPlan plan,
         final WhereInfo whereInfo,
         final QueryId queryId,
         final QueryContext.Stacker contextStacker,
         final Optional<PullQueryExecutorMetrics> pullQueryMetrics
 
     ) {
-      this.key = Objects.requireNonNull(key, "key");
+      this.keys = Objects.requireNonNull(keys, "keys");
       this.mat = Objects.requireNonNull(mat, "materialization");
-      this.analysis = Objects.requireNonNull(analysis, "analysis");
+      this.plan = Objects.requireNonNull(plan, "plan");
       this.whereInfo = Objects.requireNonNull(whereInfo, "whereInfo");
       this.queryId = Objects.requireNonNull(queryId, "queryId");
       this.contextStacker = Objects.requireNonNull(contextStacker, "contextStacker");
@@ -457,8 +1045,8 @@ public final class PullQueryExecutor {
           pullQueryMetrics, "pullQueryExecutorMetrics");
     }
 
-    public Struct getKey() {
-      return key;
+    public Map<Struct, Expression> getKeys() {
+      return keys;
     }
 
     public Materialization getMat() {
@@ -466,7 +1054,7 @@ public final class PullQueryExecutor {
     }
 
     public ImmutableAnalysis getAnalysis() {
-      return analysis;
+      return plan.getAnalysis();
     }
 
     public WhereInfo getWhereInfo() {
@@ -484,51 +1072,78 @@ public final class PullQueryExecutor {
 
   private static final class WhereInfo {
 
-    private final Object keyBound;
+    private final Expression where;
+    private final Optional<Expression> keyPredicate;
+    private final Map<Object, Expression> keysBound;
+    private final Optional<Range<Comparable<Object>>> keyRange;
     private final Optional<Range<Instant>> windowStartBounds;
 
     private WhereInfo(
-        final Object keyBound,
+        final Expression where,
+        final Optional<Expression> keyPredicate,
+        final Map<Object, Expression> keysBound,
+        final Optional<Range<Comparable<Object>>> keyRange,
         final Optional<Range<Instant>> windowStartBounds
     ) {
-      this.keyBound = keyBound;
+      this.where = where;
+      this.keyPredicate = keyPredicate;
+      this.keysBound = keysBound;
+      this.keyRange = keyRange;
       this.windowStartBounds = windowStartBounds;
     }
-  }
-
-  private static final class Result {
 
-    private final LogicalSchema schema;
-    private final List<? extends TableRow> rows;
+    private static WhereInfo keyLookup(
+        final Expression where,
+        final Expression keyPredicate,
+        final Map<Object, Expression> keysBound,
+        final Optional<Range<Instant>> windowStartBounds
+    ) {
+      return new WhereInfo(
+          where, Optional.of(keyPredicate), keysBound, Optional.empty(), windowStartBounds);
+    }
 
-    private Result(
-        final LogicalSchema schema,
-        final List<? extends TableRow> rows
+    private static WhereInfo keyScan(
+        final Expression where,
+        final Range<Comparable<Object>> keyRange
     ) {
-      this.schema = Objects.requireNonNull(schema, "schema");
-      this.rows = Objects.requireNonNull(rows, "rows");
+      return new WhereInfo(
+          where, Optional.empty(), ImmutableMap.of(), Optional.of(keyRange), Optional.empty());
     }
   }
 
   private static WhereInfo extractWhereInfo(
-      final ImmutableAnalysis analysis,
+      final Optional<Expression> whereExpression,
       final PersistentQueryMetadata query
   ) {
     final boolean windowed = query.getResultTopic().getKeyFormat().isWindowed();
 
-    final Expression where = analysis.getWhereExpression()
+    final Expression where = whereExpression
         .orElseThrow(() -> invalidWhereClauseException("Missing WHERE clause", windowed));
 
-    final Map<ComparisonTarget, List<ComparisonExpression>> comparisons =
+    final Map<ComparisonTarget, List<Expression>> comparisons =
         extractComparisons(where, query);
 
-    final List<ComparisonExpression> keyComparison = comparisons.get(ComparisonTarget.KEYCOL);
+    final List<Expression> keyComparison = comparisons.get(ComparisonTarget.KEYCOL);
     if (keyComparison == null) {
       throw invalidWhereClauseException("WHERE clause missing key column", windowed);
     }
 
-    final Object key = extractKeyWhereClause(
-        keyComparison,
+    if (!windowed && isKeyRange(keyComparison)) {
+      if (comparisons.size() > 1) {
+        throw invalidWhereClauseException("Unsupported WHERE clause", false);
+      }
+
+      return WhereInfo.keyScan(where, extractKeyRange(keyComparison, query.getLogicalSchema()));
+    }
+
+    if (keyComparison.size() != 1) {
+      throw invalidWhereClauseException("Multiple bounds on key column", windowed);
+    }
+
+    final Expression keyPredicate = keyComparison.get(0);
+
+    final Map<Object, Expression> keys = extractKeyWhereClause(
+        keyPredicate,
         windowed,
         query.getLogicalSchema()
     );
@@ -538,33 +1153,80 @@ public final class PullQueryExecutor {
         throw invalidWhereClauseException("Unsupported WHERE clause", false);
       }
 
-      return new WhereInfo(key, Optional.empty());
+      return WhereInfo.keyLookup(where, keyPredicate, keys, Optional.empty());
     }
 
     final Optional<List<ComparisonExpression>> windowBoundsComparison =
-        Optional.ofNullable(comparisons.get(ComparisonTarget.WINDOWSTART));
+        Optional.ofNullable(comparisons.get(ComparisonTarget.WINDOWSTART))
+            .map(exps -> exps.stream()
+                .map(ComparisonExpression.class::cast)
+                .collect(Collectors.toList()));
 
     final Range<Instant> windowStart = extractWhereClauseWindowBounds(windowBoundsComparison);
 
-    return new WhereInfo(key, Optional.of(windowStart));
+    return WhereInfo.keyLookup(where, keyPredicate, keys, Optional.of(windowStart));
   }
 
-  private static Object extractKeyWhereClause(
-      final List<ComparisonExpression> comparisons,
-      final boolean windowed,
+  private static boolean isKeyRange(final List<Expression> keyComparisons) {
+    return keyComparisons.stream()
+        .allMatch(exp -> exp instanceof ComparisonExpression
+            && VALID_KEY_RANGE_TYPES.contains(((ComparisonExpression) exp).getType()));
+  }
+
+  private static Range<Comparable<Object>> extractKeyRange(
+      final List<Expression> keyComparisons,
       final LogicalSchema schema
   ) {
-    if (comparisons.size() != 1) {
-      throw invalidWhereClauseException("Multiple bounds on key column", windowed);
+    final Map<Type, List<ComparisonExpression>> byType = keyComparisons.stream()
+        .map(ComparisonExpression.class::cast)
+        .collect(Collectors.groupingBy(PullQueryExecutor::getSimplifiedBoundType));
+
+    final String duplicates = byType.entrySet().stream()
+        .filter(e -> e.getValue().size() > 1)
+        .map(e -> e.getKey() + ": " + e.getValue())
+        .collect(Collectors.joining(System.lineSeparator()));
+
+    if (!duplicates.isEmpty()) {
+      throw invalidWhereClauseException("Duplicate bounds on key column: " + duplicates, false);
+    }
+
+    final Optional<ComparisonExpression> lower = Optional
+        .ofNullable(byType.get(Type.GREATER_THAN))
+        .map(l -> l.get(0));
+
+    final Optional<ComparisonExpression> upper = Optional
+        .ofNullable(byType.get(Type.LESS_THAN))
+        .map(l -> l.get(0));
+
+    final Optional<Comparable<Object>> lowerValue = lower
+        .map(c -> asKeyBound(c, schema));
+
+    final Optional<Comparable<Object>> upperValue = upper
+        .map(c -> asKeyBound(c, schema));
+
+    if (!lowerValue.isPresent()) {
+      return Range.upTo(upperValue.get(), getRangeBoundType(upper.get()));
+    }
+
+    if (!upperValue.isPresent()) {
+      return Range.downTo(lowerValue.get(), getRangeBoundType(lower.get()));
     }
 
-    final ComparisonExpression comparison = comparisons.get(0);
-    if (comparison.getType() != Type.EQUAL) {
-      final ColumnName keyColumn = Iterables.getOnlyElement(schema.key()).name();
-      throw invalidWhereClauseException("Bound on '" + keyColumn.text()
-          + "' must currently be '='", windowed);
+    if (lowerValue.get().compareTo(upperValue.get()) > 0) {
+      throw invalidWhereClauseException(
+          "Lower bound on key column is greater than upper bound: " + keyComparisons, false);
     }
 
+    return Range.range(
+        lowerValue.get(), getRangeBoundType(lower.get()),
+        upperValue.get(), getRangeBoundType(upper.get())
+    );
+  }
+
+  private static Comparable<Object> asKeyBound(
+      final ComparisonExpression comparison,
+      final LogicalSchema schema
+  ) {
     final Expression other = getNonColumnRefSide(comparison);
     if (!(other instanceof Literal)) {
       throw new KsqlException("Ony comparison to literals is currently supported: " + comparison);
@@ -574,8 +1236,49 @@ public final class PullQueryExecutor {
       throw new KsqlException("Primary key columns can not be NULL: " + comparison);
     }
 
-    final Object right = ((Literal) other).getValue();
-    return coerceKey(schema, right, windowed);
+    return asComparable(coerceKey(schema, ((Literal) other).getValue(), false));
+  }
+
+  /**
+   * @return the distinct key values being looked up, mapped to the expression they came from, in
+   *     the order they appear in the WHERE clause.
+   */
+  private static Map<Object, Expression> extractKeyWhereClause(
+      final Expression keyPredicate,
+      final boolean windowed,
+      final LogicalSchema schema
+  ) {
+    final List<Expression> keyExpressions;
+    if (keyPredicate instanceof InPredicate) {
+      keyExpressions = ((InPredicate) keyPredicate).getValueList().getValues();
+    } else {
+      final ComparisonExpression comparison = (ComparisonExpression) keyPredicate;
+      if (comparison.getType() != Type.EQUAL) {
+        final ColumnName keyColumn = Iterables.getOnlyElement(schema.key()).name();
+        throw invalidWhereClauseException("Bound on '" + keyColumn.text()
+            + "' must currently be " + (windowed
+            ? "'=' or 'IN'"
+            : "'=', 'IN', '<', '<=', '>', '>=' or 'BETWEEN'"), windowed);
+      }
+
+      keyExpressions = ImmutableList.of(getNonColumnRefSide(comparison));
+    }
+
+    final Map<Object, Expression> keys = new LinkedHashMap<>();
+    for (final Expression other : keyExpressions) {
+      if (!(other instanceof Literal)) {
+        throw new KsqlException(
+            "Ony comparison to literals is currently supported: " + keyPredicate);
+      }
+
+      if (other instanceof NullLiteral) {
+        throw new KsqlException("Primary key columns can not be NULL: " + keyPredicate);
+      }
+
+      final Object right = ((Literal) other).getValue();
+      keys.putIfAbsent(coerceKey(schema, right, windowed), other);
+    }
+    return keys;
   }
 
   private static Object coerceKey(
@@ -712,6 +1415,12 @@ public final class PullQueryExecutor {
         : comparison.getRight();
   }
 
+  private static Expression getColumnRefSide(final ComparisonExpression comparison) {
+    return comparison.getRight() instanceof UnqualifiedColumnReferenceExp
+        ? comparison.getRight()
+        : comparison.getLeft();
+  }
+
   private static Instant asInstant(final Expression other) {
     if (other instanceof IntegerLiteral) {
       return Instant.ofEpochMilli(((IntegerLiteral) other).getValue());
@@ -744,7 +1453,7 @@ public final class PullQueryExecutor {
     WINDOWSTART
   }
 
-  private static Map<ComparisonTarget, List<ComparisonExpression>> extractComparisons(
+  private static Map<ComparisonTarget, List<Expression>> extractComparisons(
       final Expression exp,
       final PersistentQueryMetadata query
   ) {
@@ -754,22 +1463,44 @@ public final class PullQueryExecutor {
       return ImmutableMap.of(target, ImmutableList.of(comparison));
     }
 
+    if (exp instanceof BetweenPredicate) {
+      final BetweenPredicate between = (BetweenPredicate) exp;
+      return extractComparisons(new LogicalBinaryExpression(
+          LogicalBinaryExpression.Type.AND,
+          new ComparisonExpression(
+              Type.GREATER_THAN_OR_EQUAL, between.getValue(), between.getMin()),
+          new ComparisonExpression(
+              Type.LESS_THAN_OR_EQUAL, between.getValue(), between.getMax())
+      ), query);
+    }
+
+    if (exp instanceof InPredicate) {
+      final InPredicate in = (InPredicate) exp;
+      final ComparisonTarget target = extractWhereClauseTarget(in, query);
+      if (target != ComparisonTarget.KEYCOL) {
+        final boolean windowed = query.getResultTopic().getKeyFormat().isWindowed();
+        throw invalidWhereClauseException(
+            "IN is only supported on the key column: " + exp, windowed);
+      }
+      return ImmutableMap.of(target, ImmutableList.of(in));
+    }
+
     if (exp instanceof LogicalBinaryExpression) {
       final LogicalBinaryExpression binary = (LogicalBinaryExpression) exp;
       if (binary.getType() != LogicalBinaryExpression.Type.AND) {
         throw invalidWhereClauseException("Only AND expressions are supported: " + exp, false);
       }
 
-      final Map<ComparisonTarget, List<ComparisonExpression>> left =
+      final Map<ComparisonTarget, List<Expression>> left =
           extractComparisons(binary.getLeft(), query);
 
-      final Map<ComparisonTarget, List<ComparisonExpression>> right =
+      final Map<ComparisonTarget, List<Expression>> right =
           extractComparisons(binary.getRight(), query);
 
       return Stream
           .concat(left.entrySet().stream(), right.entrySet().stream())
           .collect(Collectors.toMap(Entry::getKey, Entry::getValue, (l, r) ->
-              ImmutableList.<ComparisonExpression>builder().addAll(l).addAll(r).build()
+              ImmutableList.<Expression>builder().addAll(l).addAll(r).build()
           ));
     }
 
@@ -789,6 +1520,24 @@ public final class PullQueryExecutor {
       throw invalidWhereClauseException("Invalid WHERE clause: " + comparison, false);
     }
 
+    return extractWhereClauseTarget(column, query);
+  }
+
+  private static ComparisonTarget extractWhereClauseTarget(
+      final InPredicate in,
+      final PersistentQueryMetadata query
+  ) {
+    if (!(in.getValue() instanceof UnqualifiedColumnReferenceExp)) {
+      throw invalidWhereClauseException("Invalid WHERE clause: " + in, false);
+    }
+
+    return extractWhereClauseTarget((UnqualifiedColumnReferenceExp) in.getValue(), query);
+  }
+
+  private static ComparisonTarget extractWhereClauseTarget(
+      final UnqualifiedColumnReferenceExp column,
+      final PersistentQueryMetadata query
+  ) {
     final ColumnName columnName = column.getColumnName();
     if (columnName.equals(SystemColumns.WINDOWSTART_NAME)) {
       return ComparisonTarget.WINDOWSTART;
@@ -817,35 +1566,18 @@ public final class PullQueryExecutor {
     return someStars;
   }
 
-  private static List<List<?>> handleSelects(
-      final Result input,
-      final ConfiguredStatement<Query> statement,
+  private static Function<TableRow, List<?>> handleSelects(
       final KsqlExecutionContext executionContext,
-      final ImmutableAnalysis analysis,
-      final LogicalSchema outputSchema,
-      final List<SelectExpression> projection,
-      final Optional<WindowType> windowType,
+      final Projection projection,
+      final SelectValueMapper<Object> select,
       final QueryId queryId,
       final Stacker contextStacker
   ) {
-    final boolean noSystemColumns = analysis.getSelectColumnNames().stream()
-        .noneMatch(SystemColumns::isSystemColumn);
-
-    final boolean noKeyColumns = analysis.getSelectColumnNames().stream()
-        .noneMatch(input.schema::isKeyColumn);
-
-    final LogicalSchema intermediateSchema;
     final Function<TableRow, GenericRow> preSelectTransform;
-    if (noSystemColumns && noKeyColumns) {
-      intermediateSchema = input.schema;
+    if (!projection.requiresPseudoAndKeyColumns()) {
       preSelectTransform = TableRow::value;
     } else {
       // SelectValueMapper requires the rowTime & key fields in the value schema :(
-      final boolean windowed = windowType.isPresent();
-
-      intermediateSchema = input.schema
-          .withPseudoAndKeyColsInValue(windowed);
-
       preSelectTransform = row -> {
         final Struct key = row.key();
         final GenericRow value = row.value();
@@ -872,16 +1604,6 @@ public final class PullQueryExecutor {
       };
     }
 
-    final KsqlConfig ksqlConfig = statement.getConfig()
-        .cloneWithPropertyOverwrite(statement.getConfigOverrides());
-
-    final SelectValueMapper<Object> select = SelectValueMapperFactory.create(
-        projection,
-        intermediateSchema,
-        ksqlConfig,
-        executionContext.getMetaStore()
-    );
-
     final ProcessingLogger logger = executionContext
         .getProcessingLogContext()
         .getLoggerFactory()
@@ -893,8 +1615,9 @@ public final class PullQueryExecutor {
     final KsqlTransformer<Object, GenericRow> transformer = select
         .getTransformer(logger);
 
-    final ImmutableList.Builder<List<?>> output = ImmutableList.builder();
-    input.rows.forEach(r -> {
+    final LogicalSchema outputSchema = projection.getOutputSchema();
+
+    return r -> {
       final GenericRow intermediate = preSelectTransform.apply(r);
 
       final GenericRow mapped = transformer.transform(
@@ -903,10 +1626,8 @@ public final class PullQueryExecutor {
           new PullProcessingContext(r.rowTime())
       );
       validateProjection(mapped, outputSchema);
-      output.add(mapped.values());
-    });
-
-    return output.build();
+      return mapped.values();
+    };
   }
 
   private static void validateProjection(
@@ -924,7 +1645,7 @@ public final class PullQueryExecutor {
   }
 
   private static LogicalSchema selectOutputSchema(
-      final Result input,
+      final LogicalSchema inputSchema,
       final KsqlExecutionContext executionContext,
       final List<SelectExpression> selectExpressions,
       final Optional<WindowType> windowType
@@ -932,7 +1653,7 @@ public final class PullQueryExecutor {
     final Builder schemaBuilder = LogicalSchema.builder();
 
     // Copy meta & key columns into the value schema as SelectValueMapper expects it:
-    final LogicalSchema schema = input.schema
+    final LogicalSchema schema = inputSchema
         .withPseudoAndKeyColsInValue(windowType.isPresent());
 
     final ExpressionTypeManager expressionTypeManager =
@@ -941,7 +1662,7 @@ public final class PullQueryExecutor {
     for (final SelectExpression select : selectExpressions) {
       final SqlType type = expressionTypeManager.getExpressionSqlType(select.getExpression());
 
-      if (input.schema.isKeyColumn(select.getAlias())
+      if (inputSchema.isKeyColumn(select.getAlias())
           || select.getAlias().equals(SystemColumns.WINDOWSTART_NAME)
           || select.getAlias().equals(SystemColumns.WINDOWEND_NAME)
       ) {
@@ -1019,7 +1740,13 @@ public final class PullQueryExecutor {
         + System.lineSeparator()
         + "Pull queries require a WHERE clause that:"
         + System.lineSeparator()
-        + " - limits the query to a single key, e.g. `SELECT * FROM X WHERE <key-column>>=Y;`."
+        + " - limits the query to a single key, e.g. `SELECT * FROM X WHERE <key-column>=Y;`, or"
+        + System.lineSeparator()
+        + " - limits the query to a set of keys, "
+        + "e.g. `SELECT * FROM X WHERE <key-column> IN (Y, Z);`, or"
+        + System.lineSeparator()
+        + " - limits the query to a range of keys of a non-windowed table, "
+        + "e.g. `SELECT * FROM X WHERE <key-column> BETWEEN Y AND Z LIMIT 10;`."
         + additional
     );
   }
@@ -1088,5 +1815,20 @@ public final class PullQueryExecutor {
     public boolean skipForwardRequest() {
       return getForwardedFlag(KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_SKIP_FORWARDING);
     }
+
+    @Override
+    public Set<Integer> getPartitions() {
+      final Object partitions = requestProperties
+          .get(KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_PARTITIONS);
+
+      if (partitions == null || partitions.toString().trim().isEmpty()) {
+        return ImmutableSet.of();
+      }
+
+      return Arrays.stream(partitions.toString().split(","))
+          .map(String::trim)
+          .map(Integer::valueOf)
+          .collect(ImmutableSet.toImmutableSet());
+    }
   }
 }
\ No newline at end of file
@@ -37,6 +37,7 @@ public class PullQueryExecutorMetrics implements Closeable {
 
   private static final String PULL_QUERY_METRIC_GROUP = "pull-query";
   private static final String PULL_REQUESTS = "pull-query-requests";
+  private static final String PLAN_CACHE = "pull-query-plan-cache";
 
   private final List<Sensor> sensors;
   private final Sensor localRequestsSensor;
@@ -44,6 +45,9 @@ public class PullQueryExecutorMetrics implements Closeable {
   private final Sensor latencySensor;
   private final Sensor requestRateSensor;
   private final Sensor errorRateSensor;
+  private final Sensor planCacheHitSensor;
+  private final Sensor planCacheMissSensor;
+  private final Sensor planCacheEvictionSensor;
   private final Metrics metrics;
   private final Map<String, String> customMetricsTags;
   private final String ksqlServiceId;
@@ -63,6 +67,12 @@ public class PullQueryExecutorMetrics implements Closeable {
     this.latencySensor = configureRequestSensor();
     this.requestRateSensor = configureRateSensor();
     this.errorRateSensor = configureErrorRateSensor();
+    this.planCacheHitSensor = configurePlanCacheSensor(
+        "hit", "pull query plan cache hits");
+    this.planCacheMissSensor = configurePlanCacheSensor(
+        "miss", "pull query plan cache misses");
+    this.planCacheEvictionSensor = configurePlanCacheSensor(
+        "eviction", "pull query plans evicted from the cache");
   }
 
   @Override
@@ -90,6 +100,18 @@ public class PullQueryExecutorMetrics implements Closeable {
     this.errorRateSensor.record(value);
   }
 
+  public void recordPlanCacheHit() {
+    this.planCacheHitSensor.record(1);
+  }
+
+  public void recordPlanCacheMiss() {
+    this.planCacheMissSensor.record(1);
+  }
+
+  public void recordPlanCacheEvictions(final double value) {
+    this.planCacheEvictionSensor.record(value);
+  }
+
   List<Sensor> getSensors() {
     return sensors;
   }
@@ -148,6 +170,31 @@ public class PullQueryExecutorMetrics implements Closeable {
     return sensor;
   }
 
+  private Sensor configurePlanCacheSensor(final String type, final String description) {
+    final Sensor sensor = metrics.sensor(
+        PULL_QUERY_METRIC_GROUP + "-" + PLAN_CACHE + "-" + type);
+    sensor.add(
+        metrics.metricName(
+            PLAN_CACHE + "-" + type + "-count",
+            ksqlServiceId + PULL_QUERY_METRIC_GROUP,
+            "Count of " + description,
+            customMetricsTags
+        ),
+        new WindowedCount()
+    );
+    sensor.add(
+        metrics.metricName(
+            PLAN_CACHE + "-" + type + "-rate",
+            ksqlServiceId + PULL_QUERY_METRIC_GROUP,
+            "Rate of " + description,
+            customMetricsTags
+        ),
+        new Rate()
+    );
+    sensors.add(sensor);
+    return sensor;
+  }
+
   private Sensor configureRateSensor() {
     final Sensor sensor = metrics.sensor(
         PULL_QUERY_METRIC_GROUP + "-" + PULL_REQUESTS + "-rate");
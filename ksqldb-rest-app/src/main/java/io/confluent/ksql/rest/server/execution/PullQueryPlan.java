@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import io.confluent.ksql.analyzer.ImmutableAnalysis;
+import io.confluent.ksql.execution.transform.select.SelectValueMapper;
+import io.confluent.ksql.metastore.model.DataSource;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.util.PersistentQueryMetadata;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * The parts of a pull query's execution that do not depend on the literals in its WHERE clause.
+ *
+ * <p>Instances are shared between requests by {@link PullQueryPlanCache}, so must be safe to
+ * use from multiple threads.
+ */
+final class PullQueryPlan {
+
+  private final ImmutableAnalysis analysis;
+  private final DataSource source;
+  private final PersistentQueryMetadata query;
+  private volatile Projection projection;
+
+  PullQueryPlan(
+      final ImmutableAnalysis analysis,
+      final DataSource source,
+      final PersistentQueryMetadata query
+  ) {
+    this.analysis = Objects.requireNonNull(analysis, "analysis");
+    this.source = Objects.requireNonNull(source, "source");
+    this.query = Objects.requireNonNull(query, "query");
+  }
+
+  ImmutableAnalysis getAnalysis() {
+    return analysis;
+  }
+
+  SourceName getSourceName() {
+    return source.getName();
+  }
+
+  DataSource getSource() {
+    return source;
+  }
+
+  PersistentQueryMetadata getQuery() {
+    return query;
+  }
+
+  /**
+   * Get the compiled projection, building it on first use.
+   *
+   * <p>Concurrent first calls may each build a projection. This is benign, as they are
+   * equivalent, and avoids holding a lock while code is being generated.
+   *
+   * @param factory the factory used to build the projection if not yet built.
+   * @return the projection.
+   */
+  Projection getProjection(final Supplier<Projection> factory) {
+    Projection result = projection;
+    if (result == null) {
+      result = Objects.requireNonNull(factory.get(), "projection");
+      projection = result;
+    }
+    return result;
+  }
+
+  static final class Projection {
+
+    private final LogicalSchema outputSchema;
+    private final Optional<SelectValueMapper<Object>> select;
+    private final boolean requiresPseudoAndKeyColumns;
+
+    static Projection selectStar(final LogicalSchema outputSchema) {
+      return new Projection(outputSchema, Optional.empty(), false);
+    }
+
+    static Projection of(
+        final LogicalSchema outputSchema,
+        final SelectValueMapper<Object> select,
+        final boolean requiresPseudoAndKeyColumns
+    ) {
+      return new Projection(outputSchema, Optional.of(select), requiresPseudoAndKeyColumns);
+    }
+
+    private Projection(
+        final LogicalSchema outputSchema,
+        final Optional<SelectValueMapper<Object>> select,
+        final boolean requiresPseudoAndKeyColumns
+    ) {
+      this.outputSchema = Objects.requireNonNull(outputSchema, "outputSchema");
+      this.select = Objects.requireNonNull(select, "select");
+      this.requiresPseudoAndKeyColumns = requiresPseudoAndKeyColumns;
+    }
+
+    LogicalSchema getOutputSchema() {
+      return outputSchema;
+    }
+
+    /**
+     * @return the compiled select, or empty if the query is a {@code SELECT *}.
+     */
+    Optional<SelectValueMapper<Object>> getSelect() {
+      return select;
+    }
+
+    boolean requiresPseudoAndKeyColumns() {
+      return requiresPseudoAndKeyColumns;
+    }
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter;
+import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter.Context;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.Literal;
+import io.confluent.ksql.execution.expression.tree.NullLiteral;
+import io.confluent.ksql.execution.expression.tree.VisitParentExpressionVisitor;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.parser.tree.Query;
+import io.confluent.ksql.statement.ConfiguredStatement;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Bounded cache of {@link PullQueryPlan}s, keyed on the shape of the pull query.
+ *
+ * <p>The shape of a query is the query with all literals in its WHERE clause removed, plus any
+ * config overrides, i.e. two queries that differ only in the key or window bounds they look up
+ * share the same plan.
+ */
+@ThreadSafe
+final class PullQueryPlanCache {
+
+  private final Cache<Key, PullQueryPlan> cache;
+  private final AtomicLong evictions = new AtomicLong();
+
+  PullQueryPlanCache(final long maxSize) {
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .removalListener(notification -> {
+          if (notification.wasEvicted()) {
+            evictions.incrementAndGet();
+          }
+        })
+        .build();
+  }
+
+  Optional<PullQueryPlan> get(final Key key) {
+    return Optional.ofNullable(cache.getIfPresent(key));
+  }
+
+  void put(final Key key, final PullQueryPlan plan) {
+    cache.put(key, plan);
+  }
+
+  /**
+   * Invalidate all plans that read from the supplied {@code source}.
+   *
+   * @param source the name of the source.
+   */
+  void invalidate(final SourceName source) {
+    cache.asMap().values().removeIf(plan -> plan.getSourceName().equals(source));
+  }
+
+  /**
+   * @return the number of plans evicted, due to size, since the last call.
+   */
+  long drainEvictions() {
+    return evictions.getAndSet(0);
+  }
+
+  @VisibleForTesting
+  long size() {
+    return cache.size();
+  }
+
+  static Key keyFor(final ConfiguredStatement<Query> statement) {
+    final Query query = statement.getStatement();
+
+    final Query shape = new Query(
+        query.getLocation(),
+        query.getSelect(),
+        query.getFrom(),
+        query.getWindow(),
+        query.getWhere().map(PullQueryPlanCache::removeLiterals),
+        query.getGroupBy(),
+        query.getPartitionBy(),
+        query.getHaving(),
+        query.getResultMaterialization(),
+        query.isPullQuery(),
+        query.getLimit()
+    );
+
+    return new Key(shape, statement.getConfigOverrides());
+  }
+
+  private static Expression removeLiterals(final Expression where) {
+    return ExpressionTreeRewriter.rewriteWith(new LiteralRemover()::process, where);
+  }
+
+  static final class Key {
+
+    private final Query shape;
+    private final ImmutableMap<String, Object> overrides;
+
+    private Key(final Query shape, final Map<String, ?> overrides) {
+      this.shape = Objects.requireNonNull(shape, "shape");
+      this.overrides = ImmutableMap.copyOf(overrides);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final Key key = (Key) o;
+      return Objects.equals(shape, key.shape)
+          && Objects.equals(overrides, key.overrides);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(shape, overrides);
+    }
+  }
+
+  private static final class LiteralRemover
+      extends VisitParentExpressionVisitor<Optional<Expression>, Context<Void>> {
+
+    private LiteralRemover() {
+      super(Optional.empty());
+    }
+
+    @Override
+    protected Optional<Expression> visitLiteral(
+        final Literal node,
+        final Context<Void> context
+    ) {
+      return Optional.of(new NullLiteral());
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.util.KsqlStatementException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The result of a pull query.
+ *
+ * <p>The rows are looked up locally, or read from the hosts the query was forwarded to, as they
+ * are iterated, so the result is never held in memory as a whole. The result must be closed
+ * once it is no longer needed, which aborts any outstanding request to another host.
+ *
+ * <p>Any failure to produce the rows is thrown from {@link #hasNext()} or {@link #next()} as a
+ * {@link KsqlStatementException}.
+ *
+ * <p>Not thread safe.
+ */
+public final class PullQueryResult implements Iterator<List<?>>, AutoCloseable {
+
+  private final String statementText;
+  private final QueryId queryId;
+  private final LogicalSchema schema;
+  private final Iterator<? extends List<?>> rows;
+  private final Runnable onClose;
+  private final Optional<PullQueryExecutorMetrics> pullQueryMetrics;
+  private boolean closed;
+
+  public PullQueryResult(
+      final String statementText,
+      final QueryId queryId,
+      final LogicalSchema schema,
+      final Iterator<? extends List<?>> rows,
+      final Runnable onClose,
+      final Optional<PullQueryExecutorMetrics> pullQueryMetrics
+  ) {
+    this.statementText = Objects.requireNonNull(statementText, "statementText");
+    this.queryId = Objects.requireNonNull(queryId, "queryId");
+    this.schema = Objects.requireNonNull(schema, "schema");
+    this.rows = Objects.requireNonNull(rows, "rows");
+    this.onClose = Objects.requireNonNull(onClose, "onClose");
+    this.pullQueryMetrics = Objects.requireNonNull(pullQueryMetrics, "pullQueryMetrics");
+  }
+
+  public String getStatementText() {
+    return statementText;
+  }
+
+  public QueryId getQueryId() {
+    return queryId;
+  }
+
+  public LogicalSchema getSchema() {
+    return schema;
+  }
+
+  @Override
+  public boolean hasNext() {
+    try {
+      return rows.hasNext();
+    } catch (final Exception e) {
+      throw failed(e);
+    }
+  }
+
+  @Override
+  public List<?> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    try {
+      return rows.next();
+    } catch (final Exception e) {
+      throw failed(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    onClose.run();
+  }
+
+  private KsqlStatementException failed(final Exception e) {
+    pullQueryMetrics.ifPresent(metrics -> metrics.recordErrorRate(1));
+    close();
+
+    if (e instanceof KsqlStatementException) {
+      return (KsqlStatementException) e;
+    }
+
+    return new KsqlStatementException(
+        e.getMessage() == null ? "Server Error" : e.getMessage(),
+        statementText,
+        e
+    );
+  }
+}
@@ -0,0 +1,417 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.confluent.ksql.execution.streams.materialization.Locator.KsqlNode;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Decides which of the hosts that can serve a pull query are tried, and in which order.
+ *
+ * <p>The hosts passed in have already been filtered by the {@code RoutingFilter}s, i.e. they
+ * are alive and within the allowed lag, and are ordered active first, then standbys in
+ * increasing order of lag. The {@link Balancing} policy reorders them to spread load across
+ * the hosts.
+ *
+ * <p>If hedging is enabled, a request that has not been answered within the hedge delay is
+ * also sent to a second host, and whichever answers first is used. The delay is either fixed
+ * or the 95th percentile of the latencies recently observed from the first host. The request to
+ * the first host is made on the calling thread; hedged requests are made on a fixed number of
+ * threads, and a hedge that can not start before the first host answers is not sent. The thread
+ * making the losing request is interrupted, which aborts a request to a remote host.
+ */
+@ThreadSafe
+final class PullQueryRoutingPolicy implements AutoCloseable {
+
+  enum Balancing {
+    ACTIVE_FIRST,
+    ROUND_ROBIN,
+    LEAST_OUTSTANDING
+  }
+
+  private static final double HEDGE_PERCENTILE = 0.95;
+
+  private final Balancing balancing;
+  private final long hedgeDelayMs;
+  private final Optional<ScheduledExecutorService> hedgeExecutor;
+  private final AtomicInteger nextRotation = new AtomicInteger();
+  private final Map<KsqlNode, HostStats> hostStats = new ConcurrentHashMap<>();
+
+  static PullQueryRoutingPolicy create(final KsqlConfig ksqlConfig) {
+    final Balancing balancing = Balancing.valueOf(
+        ksqlConfig.getString(KsqlConfig.KSQL_QUERY_PULL_ROUTING_POLICY_CONFIG));
+
+    final Optional<ScheduledExecutorService> hedgeExecutor =
+        ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PULL_HEDGE_ENABLED_CONFIG)
+            ? Optional.of(hedgeExecutor(
+                ksqlConfig.getInt(KsqlConfig.KSQL_QUERY_PULL_HEDGE_THREADS_CONFIG)))
+            : Optional.empty();
+
+    return new PullQueryRoutingPolicy(
+        balancing,
+        ksqlConfig.getLong(KsqlConfig.KSQL_QUERY_PULL_HEDGE_DELAY_MS_CONFIG),
+        hedgeExecutor
+    );
+  }
+
+  @VisibleForTesting
+  PullQueryRoutingPolicy(
+      final Balancing balancing,
+      final long hedgeDelayMs,
+      final Optional<ScheduledExecutorService> hedgeExecutor
+  ) {
+    this.balancing = Objects.requireNonNull(balancing, "balancing");
+    this.hedgeDelayMs = hedgeDelayMs;
+    this.hedgeExecutor = Objects.requireNonNull(hedgeExecutor, "hedgeExecutor");
+  }
+
+  boolean isHedgingEnabled() {
+    return hedgeExecutor.isPresent();
+  }
+
+  /**
+   * Order the hosts of each item of a single pull query by preference.
+   *
+   * <p>All items of a query are ordered consistently, so that items with the same hosts still
+   * prefer the same host and can be batched into one request.
+   *
+   * @param nodesByItem the hosts that can serve each item, e.g. each key or partition.
+   * @return the hosts of each item, most preferred first.
+   */
+  <T> Map<T, List<KsqlNode>> order(final Map<T, List<KsqlNode>> nodesByItem) {
+    if (balancing == Balancing.ACTIVE_FIRST) {
+      return nodesByItem;
+    }
+
+    final int rotation = nextRotation.getAndIncrement() & Integer.MAX_VALUE;
+
+    final Map<T, List<KsqlNode>> ordered = new LinkedHashMap<>();
+    nodesByItem.forEach((item, nodes) -> {
+      final List<KsqlNode> copy = new ArrayList<>(nodes);
+      if (balancing == Balancing.ROUND_ROBIN) {
+        if (!copy.isEmpty()) {
+          Collections.rotate(copy, -(rotation % copy.size()));
+        }
+      } else {
+        // Stable sort, so ties keep the active first order:
+        copy.sort(Comparator
+            .comparingInt((KsqlNode node) -> stats(node).outstanding())
+            .thenComparingLong(node -> stats(node).latencyPercentileMicros(0.5).orElse(0)));
+      }
+      ordered.put(item, copy);
+    });
+    return ordered;
+  }
+
+  /**
+   * Route a request to the supplied {@code node}, hedging to {@code hedge} if the node is slow
+   * to answer and hedging is enabled.
+   *
+   * @param node the preferred host.
+   * @param hedge the host to hedge the request to, if any.
+   * @param router the function that sends the request to a host. It should stop waiting for the
+   *     host to answer if the calling thread is interrupted.
+   * @return the first successful result.
+   */
+  <R> R route(
+      final KsqlNode node,
+      final Optional<KsqlNode> hedge,
+      final Function<KsqlNode, R> router
+  ) {
+    final OptionalLong delay = hedgeDelayMs(node);
+    if (!hedgeExecutor.isPresent() || !hedge.isPresent() || !delay.isPresent()) {
+      return timed(node, router);
+    }
+
+    final HedgedRequest<R> request = new HedgedRequest<>(Thread.currentThread());
+    final ScheduledFuture<?> hedgeRequest = hedgeExecutor.get().schedule(
+        () -> request.hedge(() -> timed(hedge.get(), router)),
+        delay.getAsLong(),
+        TimeUnit.MILLISECONDS
+    );
+
+    try {
+      final long start = System.nanoTime();
+      R primaryResult = null;
+      RuntimeException primaryError = null;
+      try {
+        primaryResult = timed(node, router);
+      } catch (final RuntimeException e) {
+        primaryError = e;
+        if (request.isPrimaryAborted()) {
+          // The host took at least this long, which should count towards its hedge delay:
+          recordLatency(node, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
+      }
+
+      return request.result(primaryResult, primaryError);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new KsqlException("Interrupted while waiting for pull query result", e);
+    } finally {
+      // Abort the hedge, if it is still waiting to start or waiting for an answer:
+      hedgeRequest.cancel(true);
+    }
+  }
+
+  @Override
+  public void close() {
+    hedgeExecutor.ifPresent(ScheduledExecutorService::shutdownNow);
+  }
+
+  @VisibleForTesting
+  OptionalLong hedgeDelayMs(final KsqlNode node) {
+    if (hedgeDelayMs > 0) {
+      return OptionalLong.of(hedgeDelayMs);
+    }
+
+    final OptionalLong micros = stats(node).latencyPercentileMicros(HEDGE_PERCENTILE);
+    if (!micros.isPresent()) {
+      return OptionalLong.empty();
+    }
+
+    return OptionalLong.of(TimeUnit.MICROSECONDS.toMillis(micros.getAsLong() + 999));
+  }
+
+  @VisibleForTesting
+  void recordLatency(final KsqlNode node, final long micros) {
+    stats(node).recordLatency(micros);
+  }
+
+  private <R> R timed(final KsqlNode node, final Function<KsqlNode, R> router) {
+    final HostStats stats = stats(node);
+    stats.started();
+    try {
+      final long start = System.nanoTime();
+      final R result = router.apply(node);
+      stats.recordLatency(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+      return result;
+    } finally {
+      stats.finished();
+    }
+  }
+
+  private HostStats stats(final KsqlNode node) {
+    return hostStats.computeIfAbsent(node, n -> new HostStats());
+  }
+
+  private static ScheduledExecutorService hedgeExecutor(final int threads) {
+    final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+        threads,
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("pull-query-hedge-%d")
+            .build()
+    );
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+
+  /**
+   * The race between a request made on the calling thread, the primary, and its hedge.
+   *
+   * <p>The hedge only starts if the primary has not finished. If the hedge answers first, the
+   * primary is aborted by interrupting its thread, and the interrupt is cleared again once the
+   * primary has finished.
+   */
+  private static final class HedgedRequest<R> {
+
+    private final Thread primaryThread;
+    private boolean primaryFinished;
+    private boolean primaryAborted;
+    private boolean hedgeStarted;
+    private boolean hedgeFinished;
+    private R hedgeResult;
+    private RuntimeException hedgeError;
+
+    HedgedRequest(final Thread primaryThread) {
+      this.primaryThread = Objects.requireNonNull(primaryThread, "primaryThread");
+    }
+
+    void hedge(final Supplier<R> router) {
+      synchronized (this) {
+        if (primaryFinished) {
+          return;
+        }
+        hedgeStarted = true;
+      }
+
+      R result = null;
+      RuntimeException error = null;
+      try {
+        result = router.get();
+      } catch (final RuntimeException e) {
+        error = e;
+      }
+
+      synchronized (this) {
+        hedgeFinished = true;
+        hedgeResult = result;
+        hedgeError = error;
+        if (error == null && !primaryFinished) {
+          primaryAborted = true;
+          primaryThread.interrupt();
+        }
+        notifyAll();
+      }
+    }
+
+    synchronized boolean isPrimaryAborted() {
+      return primaryAborted;
+    }
+
+    /**
+     * Called on the primary thread once the primary has finished.
+     *
+     * @return the result of the primary if it succeeded before the hedge, otherwise that of the
+     *     hedge, waiting for the hedge to finish if it is still running.
+     */
+    synchronized R result(
+        final R primaryResult,
+        final RuntimeException primaryError
+    ) throws InterruptedException {
+      primaryFinished = true;
+
+      if (primaryAborted) {
+        // Clear the interrupt that aborted the primary:
+        Thread.interrupted();
+        return hedgeResult;
+      }
+
+      if (primaryError == null) {
+        return primaryResult;
+      }
+
+      if (!hedgeStarted) {
+        throw primaryError;
+      }
+
+      while (!hedgeFinished) {
+        wait();
+      }
+
+      if (hedgeError != null) {
+        throw hedgeError;
+      }
+      return hedgeResult;
+    }
+  }
+
+  /**
+   * Requests in flight to a host and a histogram of the latencies of its successful requests.
+   *
+   * <p>The histogram has four buckets per power of two microseconds, so percentiles are
+   * accurate to within 25%. Counts are halved once the histogram holds {@link #DECAY_AFTER}
+   * samples, so it tracks the recent behaviour of the host.
+   */
+  @VisibleForTesting
+  static final class HostStats {
+
+    private static final int MIN_SAMPLES = 100;
+    private static final int DECAY_AFTER = 2048;
+    private static final long MAX_MICROS = (1L << 32) - 1;
+    private static final int NUM_BUCKETS = bucket(MAX_MICROS) + 1;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final long[] counts = new long[NUM_BUCKETS];
+    private long total;
+
+    int outstanding() {
+      return outstanding.get();
+    }
+
+    void started() {
+      outstanding.incrementAndGet();
+    }
+
+    void finished() {
+      outstanding.decrementAndGet();
+    }
+
+    synchronized void recordLatency(final long micros) {
+      counts[bucket(Math.max(0, Math.min(micros, MAX_MICROS)))]++;
+      total++;
+
+      if (total >= DECAY_AFTER) {
+        total = 0;
+        for (int i = 0; i < counts.length; i++) {
+          counts[i] /= 2;
+          total += counts[i];
+        }
+      }
+    }
+
+    /**
+     * @return the upper bound of the requested percentile, in microseconds, or empty if too
+     *     few latencies have been recorded.
+     */
+    synchronized OptionalLong latencyPercentileMicros(final double percentile) {
+      if (total < MIN_SAMPLES) {
+        return OptionalLong.empty();
+      }
+
+      final long rank = (long) Math.ceil(percentile * total);
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank && seen > 0) {
+          return OptionalLong.of(upperBound(i));
+        }
+      }
+      return OptionalLong.of(MAX_MICROS);
+    }
+
+    @VisibleForTesting
+    static int bucket(final long micros) {
+      if (micros < 4) {
+        return (int) micros;
+      }
+      final int msb = 63 - Long.numberOfLeadingZeros(micros);
+      return 4 * (msb - 1) + (int) ((micros >>> (msb - 2)) & 3);
+    }
+
+    @VisibleForTesting
+    static long upperBound(final int bucket) {
+      if (bucket < 4) {
+        return bucket + 1;
+      }
+      final int msb = bucket / 4 + 1;
+      final int sub = bucket % 4;
+      return (5L + sub) << (msb - 2);
+    }
+  }
+}
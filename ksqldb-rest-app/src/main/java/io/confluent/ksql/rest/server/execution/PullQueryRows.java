@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Rows of a pull query that are produced as they are read, e.g. from a local state store or
+ * from the response of a host the query was forwarded to.
+ *
+ * <p>Must be closed, to release the resources held while reading the rows.
+ */
+interface PullQueryRows extends Iterator<List<?>>, AutoCloseable {
+
+  @Override
+  void close();
+
+  static PullQueryRows empty() {
+    return of(Collections.emptyIterator(), () -> { });
+  }
+
+  static PullQueryRows of(final Iterator<? extends List<?>> rows, final Runnable onClose) {
+    Objects.requireNonNull(rows, "rows");
+    Objects.requireNonNull(onClose, "onClose");
+
+    return new PullQueryRows() {
+      @Override
+      public boolean hasNext() {
+        return rows.hasNext();
+      }
+
+      @Override
+      public List<?> next() {
+        return rows.next();
+      }
+
+      @Override
+      public void close() {
+        onClose.run();
+      }
+    };
+  }
+}
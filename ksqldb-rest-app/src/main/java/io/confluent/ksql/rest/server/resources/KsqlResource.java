@@ -242,7 +242,8 @@ public class KsqlResource implements KsqlConfigurable {
               request.getConfigOverrides(),
               localHost,
               localUrl,
-              requestConfig.getBoolean(KsqlRequestConfig.KSQL_REQUEST_INTERNAL_REQUEST)
+              requestConfig.getBoolean(KsqlRequestConfig.KSQL_REQUEST_INTERNAL_REQUEST),
+              securityContext.getUserPrincipal()
           ),
           request.getKsql()
       );
@@ -254,7 +255,8 @@ public class KsqlResource implements KsqlConfigurable {
               request.getConfigOverrides(),
               localHost,
               localUrl,
-              requestConfig.getBoolean(KsqlRequestConfig.KSQL_REQUEST_INTERNAL_REQUEST)
+              requestConfig.getBoolean(KsqlRequestConfig.KSQL_REQUEST_INTERNAL_REQUEST),
+              securityContext.getUserPrincipal()
           )
       );
 
@@ -22,29 +22,37 @@ import com.google.common.base.Preconditions;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.parser.tree.Query;
 import io.confluent.ksql.rest.entity.StreamedRow;
-import io.confluent.ksql.rest.entity.TableRowsEntity;
 import io.confluent.ksql.rest.server.execution.PullQueryExecutor;
+import io.confluent.ksql.rest.server.execution.PullQueryResult;
 import io.confluent.ksql.rest.server.resources.streaming.Flow.Subscriber;
 import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.statement.ConfiguredStatement;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Callable;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
 
 class PullQueryPublisher implements Flow.Publisher<Collection<StreamedRow>> {
 
+  // The maximum number of rows passed to the subscriber in each call to onNext:
+  @VisibleForTesting
+  static final int MAX_ROWS_PER_BATCH = 500;
+
+  private final Executor exec;
   private final ServiceContext serviceContext;
   private final ConfiguredStatement<Query> query;
   private final PullQueryExecutor pullQueryExecutor;
 
   @VisibleForTesting
   PullQueryPublisher(
+      final Executor exec,
       final ServiceContext serviceContext,
       final ConfiguredStatement<Query> query,
       final PullQueryExecutor pullQueryExecutor
   ) {
+    this.exec = requireNonNull(exec, "exec");
     this.serviceContext = requireNonNull(serviceContext, "serviceContext");
     this.query = requireNonNull(query, "query");
     this.pullQueryExecutor = requireNonNull(pullQueryExecutor, "pullQueryExecutor");
@@ -53,6 +61,7 @@ class PullQueryPublisher implements Flow.Publisher<Collection<StreamedRow>> {
   @Override
   public synchronized void subscribe(final Subscriber<Collection<StreamedRow>> subscriber) {
     final PullQuerySubscription subscription = new PullQuerySubscription(
+        exec,
         subscriber,
         () -> pullQueryExecutor.execute(query, serviceContext, Optional.empty())
     );
@@ -60,16 +69,27 @@ class PullQueryPublisher implements Flow.Publisher<Collection<StreamedRow>> {
     subscriber.onSubscribe(subscription);
   }
 
+  /**
+   * Subscription that delivers the result of the pull query in batches of at most
+   * {@link #MAX_ROWS_PER_BATCH} rows, one batch per request, so that the subscriber controls how
+   * quickly rows are read from the result, serialized and written out.
+   *
+   * <p>Requests may be made on the event loop, so each batch is read on the executor.
+   */
   private static final class PullQuerySubscription implements Flow.Subscription {
 
+    private final Executor exec;
     private final Subscriber<Collection<StreamedRow>> subscriber;
-    private final Callable<TableRowsEntity> executor;
+    private final Callable<PullQueryResult> executor;
+    private PullQueryResult result;
     private boolean done = false;
 
     private PullQuerySubscription(
+        final Executor exec,
         final Subscriber<Collection<StreamedRow>> subscriber,
-        final Callable<TableRowsEntity> executor
+        final Callable<PullQueryResult> executor
     ) {
+      this.exec = requireNonNull(exec, "exec");
       this.subscriber = requireNonNull(subscriber, "subscriber");
       this.executor = requireNonNull(executor, "executor");
     }
@@ -78,31 +98,53 @@ class PullQueryPublisher implements Flow.Publisher<Collection<StreamedRow>> {
     public void request(final long n) {
       Preconditions.checkArgument(n == 1, "number of requested items must be 1");
 
+      exec.execute(this::deliverBatch);
+    }
+
+    @Override
+    public void cancel() {
+      exec.execute(this::close);
+    }
+
+    private synchronized void deliverBatch() {
       if (done) {
         return;
       }
 
-      done = true;
-
       try {
-        final TableRowsEntity entity = executor.call();
+        if (result == null) {
+          result = executor.call();
+
+          subscriber.onSchema(result.getSchema());
+        }
+
+        final List<StreamedRow> batch = new ArrayList<>();
+        while (result.hasNext() && batch.size() < MAX_ROWS_PER_BATCH) {
+          batch.add(StreamedRow.row(toGenericRow(result.next())));
+        }
 
-        subscriber.onSchema(entity.getSchema());
+        // The subscriber may request the next batch from within onNext:
+        final boolean last = !result.hasNext();
+        if (last) {
+          close();
+        }
 
-        final List<StreamedRow> rows = entity.getRows().stream()
-            .map(PullQuerySubscription::toGenericRow)
-            .map(StreamedRow::row)
-            .collect(Collectors.toList());
+        subscriber.onNext(batch);
 
-        subscriber.onNext(rows);
-        subscriber.onComplete();
+        if (last) {
+          subscriber.onComplete();
+        }
       } catch (final Exception e) {
+        close();
         subscriber.onError(e);
       }
     }
 
-    @Override
-    public void cancel() {
+    private synchronized void close() {
+      done = true;
+      if (result != null) {
+        result.close();
+      }
     }
 
     private static GenericRow toGenericRow(final List<?> values) {
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.resources.streaming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.api.server.StreamingOutput;
+import io.confluent.ksql.rest.Errors;
+import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.rest.server.execution.PullQueryResult;
+import io.confluent.ksql.util.KsqlStatementException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Writes the result of a pull query to the response as a JSON array of {@link StreamedRow}s.
+ *
+ * <p>Rows are serialized one at a time directly into the output stream as they are read from
+ * the result, so the result is never held in memory as a whole. If the query fails once rows
+ * have been written, the array is terminated with an error row.
+ */
+class PullQueryStreamWriter implements StreamingOutput {
+
+  private static final byte[] ROW_SEPARATOR =
+      ("," + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+
+  private final PullQueryResult result;
+  private final ObjectMapper objectMapper;
+  private final Runnable onComplete;
+
+  /**
+   * @param result the result to write, which is closed once written.
+   * @param objectMapper the mapper to serialize the rows with.
+   * @param onComplete called once the result has been written, or failed to be.
+   */
+  PullQueryStreamWriter(
+      final PullQueryResult result,
+      final ObjectMapper objectMapper,
+      final Runnable onComplete
+  ) {
+    this.result = Objects.requireNonNull(result, "result");
+    this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+    this.onComplete = Objects.requireNonNull(onComplete, "onComplete");
+  }
+
+  @Override
+  public void write(final OutputStream out) throws IOException {
+    try {
+      out.write("[".getBytes(StandardCharsets.UTF_8));
+      write(out, StreamedRow.header(result.getQueryId(), result.getSchema()));
+
+      try {
+        while (result.hasNext()) {
+          final StreamedRow row = StreamedRow.row(new GenericRow().appendAll(result.next()));
+          out.write(ROW_SEPARATOR);
+          write(out, row);
+        }
+      } catch (final KsqlStatementException e) {
+        out.write(ROW_SEPARATOR);
+        write(out, StreamedRow.error(e, Errors.ERROR_CODE_SERVER_ERROR));
+      }
+
+      out.write("]".getBytes(StandardCharsets.UTF_8));
+      out.flush();
+    } finally {
+      result.close();
+      onComplete.run();
+    }
+  }
+
+  @Override
+  public boolean isBounded() {
+    return true;
+  }
+
+  private void write(final OutputStream out, final StreamedRow row) throws IOException {
+    out.write(objectMapper.writeValueAsBytes(row));
+  }
+}
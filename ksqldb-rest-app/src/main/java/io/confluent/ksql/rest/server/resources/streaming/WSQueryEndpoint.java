@@ -321,13 +321,14 @@ public class WSQueryEndpoint {
   private static void startPullQueryPublisher(
       final KsqlEngine ksqlEngine,
       final ServiceContext serviceContext,
-      final ListeningScheduledExecutorService ignored,
+      final ListeningScheduledExecutorService exec,
       final ConfiguredStatement<Query> query,
       final WebSocketSubscriber<StreamedRow> streamSubscriber,
       final PullQueryExecutor pullQueryExecutor
 
   ) {
     new PullQueryPublisher(
+        exec,
         serviceContext,
         query,
         pullQueryExecutor
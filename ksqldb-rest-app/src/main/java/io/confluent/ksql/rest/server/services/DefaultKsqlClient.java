@@ -31,6 +31,7 @@ import io.confluent.ksql.rest.entity.StreamedRow;
 import io.confluent.ksql.services.SimpleKsqlClient;
 import io.confluent.ksql.util.KsqlHostInfo;
 import io.vertx.core.http.HttpClientOptions;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
@@ -100,6 +101,21 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
     return RestResponse.successful(resp.getStatusCode(), resp.getResponse());
   }
 
+  @Override
+  public RestResponse<InputStream> makeStreamedQueryRequest(
+      final URI serverEndPoint,
+      final String sql,
+      final Map<String, ?> configOverrides,
+      final Map<String, ?> requestProperties
+  ) {
+    final KsqlTarget target = sharedClient
+        .target(serverEndPoint)
+        .properties(configOverrides);
+
+    return getTarget(target, authHeader)
+        .postQueryRequestAsStream(sql, requestProperties, Optional.empty());
+  }
+
   @Override
   public void makeAsyncHeartbeatRequest(
       final URI serverEndPoint,
@@ -30,6 +30,7 @@ import io.confluent.ksql.rest.server.resources.KsqlResource;
 import io.confluent.ksql.security.KsqlSecurityContext;
 import io.confluent.ksql.services.SimpleKsqlClient;
 import io.confluent.ksql.util.KsqlHostInfo;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.Collections;
 import java.util.List;
@@ -84,6 +85,16 @@ public class ServerInternalKsqlClient implements SimpleKsqlClient {
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public RestResponse<InputStream> makeStreamedQueryRequest(
+      final URI serverEndPoint,
+      final String sql,
+      final Map<String, ?> configOverrides,
+      final Map<String, ?> requestProperties
+  ) {
+    throw new UnsupportedOperationException();
+  }
+
   @Override
   public void makeAsyncHeartbeatRequest(
       final URI serverEndPoint,
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.services;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.schema.utils.Pair;
+import io.confluent.ksql.services.ConnectClient;
+import io.confluent.ksql.services.KafkaTopicClient;
+import io.confluent.ksql.services.ServiceContext;
+import io.confluent.ksql.services.SimpleKsqlClient;
+import io.confluent.ksql.util.LeaseCache;
+import io.confluent.ksql.util.ReservedInternalTopics;
+import java.io.Closeable;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.metrics.Sensor;
+import org.apache.kafka.common.metrics.stats.CumulativeCount;
+import org.apache.kafka.common.metrics.stats.Rate;
+import org.apache.kafka.streams.KafkaClientSupplier;
+
+/**
+ * A bounded cache of the {@link ServiceContext}s used to handle requests.
+ *
+ * <p>Service contexts are cached per user principal and authorization header, as the clients of
+ * a service context are created with the credentials of the user and the header is passed on
+ * to other servers and Connect. Reusing a service context means its Kafka admin client keeps its
+ * connections, and its Schema Registry client keeps its cache of schemas, across requests.
+ *
+ * <p>The least recently used service context is evicted once the cache is full, and service
+ * contexts are evicted once older than the time-to-live, so that clients are eventually
+ * recreated with the user's current credentials. Evicted service contexts are closed once no
+ * request is using them.
+ */
+@ThreadSafe
+public final class ServiceContextCache implements Closeable {
+
+  private static final String METRIC_GROUP = "service-context-cache";
+
+  private final LeaseCache<Pair<Optional<String>, Optional<String>>, ServiceContext> cache;
+  private final Metrics metrics;
+  private final List<Sensor> sensors = new ArrayList<>();
+  private final Sensor creationSensor;
+  private final Sensor hitSensor;
+  private final Sensor evictionSensor;
+
+  public ServiceContextCache(
+      final int maxSize,
+      final Duration timeToLive,
+      final Metrics metrics,
+      final String ksqlServiceId,
+      final Map<String, String> customMetricsTags
+  ) {
+    this(maxSize, timeToLive, metrics, ksqlServiceId, customMetricsTags, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  ServiceContextCache(
+      final int maxSize,
+      final Duration timeToLive,
+      final Metrics metrics,
+      final String ksqlServiceId,
+      final Map<String, String> customMetricsTags,
+      final Ticker ticker
+  ) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+    }
+    if (timeToLive.isZero() || timeToLive.isNegative()) {
+      throw new IllegalArgumentException("timeToLive must be positive: " + timeToLive);
+    }
+
+    this.metrics = Objects.requireNonNull(metrics, "metrics");
+    final String group = ReservedInternalTopics.KSQL_INTERNAL_TOPIC_PREFIX
+        + ksqlServiceId + METRIC_GROUP;
+    this.creationSensor = configureSensor(group, "creation", customMetricsTags,
+        "service contexts created");
+    this.hitSensor = configureSensor(group, "hit", customMetricsTags,
+        "requests that reused a cached service context");
+    this.evictionSensor = configureSensor(group, "eviction", customMetricsTags,
+        "service contexts evicted from the cache");
+
+    this.cache = new LeaseCache<>(
+        "service context",
+        CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(timeToLive.toMillis(), TimeUnit.MILLISECONDS)
+            .ticker(ticker),
+        ServiceContext::close,
+        () -> evictionSensor.record(1)
+    );
+  }
+
+  /**
+   * Get the service context for a user, creating it if necessary.
+   *
+   * <p>Closing the returned service context releases it back to the cache, rather than closing
+   * its clients. Each returned service context must be closed once the request is complete.
+   *
+   * @param userPrincipal the principal of the user.
+   * @param authHeader the authorization header of the request.
+   * @param factory the factory used to create any new service context.
+   * @return the service context.
+   */
+  public ServiceContext get(
+      final Optional<Principal> userPrincipal,
+      final Optional<String> authHeader,
+      final Supplier<ServiceContext> factory
+  ) {
+    final AtomicBoolean created = new AtomicBoolean();
+    final LeaseCache.Lease<ServiceContext> lease = cache.acquire(
+        Pair.of(userPrincipal.map(Principal::getName), authHeader),
+        () -> {
+          created.set(true);
+          return factory.get();
+        }
+    );
+
+    (created.get() ? creationSensor : hitSensor).record(1);
+    return new LeasedServiceContext(lease);
+  }
+
+  /**
+   * Evict all service contexts, closing each once no request is using it.
+   */
+  @Override
+  public void close() {
+    cache.invalidateAll();
+    sensors.forEach(sensor -> metrics.removeSensor(sensor.name()));
+  }
+
+  @VisibleForTesting
+  long size() {
+    return cache.size();
+  }
+
+  private Sensor configureSensor(
+      final String group,
+      final String type,
+      final Map<String, String> customMetricsTags,
+      final String description
+  ) {
+    final Sensor sensor = metrics.sensor(METRIC_GROUP + "-" + type);
+    sensor.add(
+        metrics.metricName(
+            METRIC_GROUP + "-" + type + "-total",
+            group,
+            "Total number of " + description,
+            customMetricsTags
+        ),
+        new CumulativeCount()
+    );
+    sensor.add(
+        metrics.metricName(
+            METRIC_GROUP + "-" + type + "-rate",
+            group,
+            "Rate of " + description,
+            customMetricsTags
+        ),
+        new Rate()
+    );
+    sensors.add(sensor);
+    return sensor;
+  }
+
+  /**
+   * A service context acquired from the cache, which is released back to the cache on close.
+   */
+  private static final class LeasedServiceContext implements ServiceContext {
+
+    private final LeaseCache.Lease<ServiceContext> lease;
+
+    LeasedServiceContext(final LeaseCache.Lease<ServiceContext> lease) {
+      this.lease = lease;
+    }
+
+    @Override
+    public Admin getAdminClient() {
+      return lease.get().getAdminClient();
+    }
+
+    @Override
+    public KafkaTopicClient getTopicClient() {
+      return lease.get().getTopicClient();
+    }
+
+    @Override
+    public KafkaClientSupplier getKafkaClientSupplier() {
+      return lease.get().getKafkaClientSupplier();
+    }
+
+    @Override
+    public SchemaRegistryClient getSchemaRegistryClient() {
+      return lease.get().getSchemaRegistryClient();
+    }
+
+    @Override
+    public Supplier<SchemaRegistryClient> getSchemaRegistryClientFactory() {
+      return lease.get().getSchemaRegistryClientFactory();
+    }
+
+    @Override
+    public ConnectClient getConnectClient() {
+      return lease.get().getConnectClient();
+    }
+
+    @Override
+    public SimpleKsqlClient getKsqlClient() {
+      return lease.get().getKsqlClient();
+    }
+
+    @Override
+    public void close() {
+      lease.close();
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.auth;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Ticker;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CredentialCacheTest {
+
+  private static final Duration EXPIRY = Duration.ofSeconds(30);
+
+  @Mock
+  private Ticker ticker;
+
+  private CredentialCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new CredentialCache(EXPIRY, 10, ticker);
+  }
+
+  @Test
+  public void shouldReturnCachedLogin() {
+    // Given:
+    cache.put("fred", "secret", false);
+
+    // When:
+    final Optional<Boolean> result = cache.getAuthorized("fred", "secret");
+
+    // Then:
+    assertThat(result, is(Optional.of(false)));
+  }
+
+  @Test
+  public void shouldNotReturnCachedLoginForDifferentPassword() {
+    // Given:
+    cache.put("fred", "secret", true);
+
+    // When:
+    final Optional<Boolean> result = cache.getAuthorized("fred", "other");
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotConfuseUsernameAndPasswordBoundary() {
+    // Given:
+    cache.put("fred", "secret", true);
+
+    // When:
+    final Optional<Boolean> result = cache.getAuthorized("freds", "ecret");
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldExpireCachedLogin() {
+    // Given:
+    cache.put("fred", "secret", true);
+    when(ticker.read()).thenReturn(EXPIRY.toNanos());
+
+    // When:
+    final Optional<Boolean> result = cache.getAuthorized("fred", "secret");
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldInvalidateAll() {
+    // Given:
+    cache.put("fred", "secret", true);
+
+    // When:
+    cache.invalidateAll();
+
+    // Then:
+    assertThat(cache.getAuthorized("fred", "secret"), is(Optional.empty()));
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.auth;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Ticker;
+import java.security.Principal;
+import java.time.Duration;
+import javax.management.remote.JMXPrincipal;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EndpointAuthorizationCacheTest {
+
+  private static final Duration EXPIRY = Duration.ofSeconds(30);
+
+  @Mock
+  private Ticker ticker;
+  @Mock
+  private Principal principal;
+  @Mock
+  private Principal otherPrincipal;
+
+  private EndpointAuthorizationCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new EndpointAuthorizationCache(EXPIRY, 10, ticker);
+  }
+
+  @Test
+  public void shouldAllowCachedEndpoint() {
+    // Given:
+    cache.putAllowed(principal, "POST", "/ksql");
+
+    // Then:
+    assertThat(cache.isAllowed(principal, "POST", "/ksql"), is(true));
+  }
+
+  @Test
+  public void shouldNotAllowOtherEndpoint() {
+    // Given:
+    cache.putAllowed(principal, "POST", "/ksql");
+
+    // Then:
+    assertThat(cache.isAllowed(principal, "GET", "/ksql"), is(false));
+    assertThat(cache.isAllowed(principal, "POST", "/query"), is(false));
+  }
+
+  @Test
+  public void shouldNotAllowOtherPrincipal() {
+    // Given:
+    cache.putAllowed(principal, "POST", "/ksql");
+
+    // Then:
+    assertThat(cache.isAllowed(otherPrincipal, "POST", "/ksql"), is(false));
+  }
+
+  @Test
+  public void shouldNotAllowOtherPrincipalWithSameName() {
+    // Given:
+    final Principal fred = new JMXPrincipal("fred");
+    final Principal otherFred = () -> "fred";
+    cache.putAllowed(fred, "POST", "/ksql");
+
+    // Then:
+    assertThat(cache.isAllowed(otherFred, "POST", "/ksql"), is(false));
+  }
+
+  @Test
+  public void shouldAllowEqualPrincipal() {
+    // Given:
+    cache.putAllowed(new JMXPrincipal("fred"), "POST", "/ksql");
+
+    // Then:
+    assertThat(cache.isAllowed(new JMXPrincipal("fred"), "POST", "/ksql"), is(true));
+  }
+
+  @Test
+  public void shouldExpireCachedEndpoint() {
+    // Given:
+    cache.putAllowed(principal, "POST", "/ksql");
+    when(ticker.read()).thenReturn(EXPIRY.toNanos());
+
+    // Then:
+    assertThat(cache.isAllowed(principal, "POST", "/ksql"), is(false));
+  }
+
+  @Test
+  public void shouldInvalidateAll() {
+    // Given:
+    cache.putAllowed(principal, "POST", "/ksql");
+
+    // When:
+    cache.invalidateAll();
+
+    // Then:
+    assertThat(cache.isAllowed(principal, "POST", "/ksql"), is(false));
+  }
+}
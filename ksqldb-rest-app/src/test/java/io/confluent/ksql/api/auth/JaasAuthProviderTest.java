@@ -18,29 +18,42 @@ package io.confluent.ksql.api.auth;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.base.Ticker;
+
 import io.confluent.ksql.api.auth.JaasAuthProvider.JaasUser;
 import io.confluent.ksql.api.auth.JaasAuthProvider.LoginContextSupplier;
 import io.confluent.ksql.api.server.Server;
 import io.confluent.ksql.rest.server.KsqlRestConfig;
+import io.confluent.ksql.security.KsqlAuthorizationProvider;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.WorkerExecutor;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
+import io.vertx.ext.web.RoutingContext;
 import java.security.Principal;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 import javax.security.auth.Subject;
 import javax.security.auth.login.LoginContext;
+import javax.security.auth.login.LoginException;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -76,6 +89,10 @@ public class JaasAuthProviderTest {
   private LoginContext loginContext;
   @Mock
   private Subject subject;
+  @Mock
+  private Ticker ticker;
+  @Mock
+  private KsqlAuthorizationProvider authorizationProvider;
 
   private JaasAuthProvider authProvider;
 
@@ -89,7 +106,7 @@ public class JaasAuthProviderTest {
         .thenReturn(loginContext);
     when(loginContext.getSubject()).thenReturn(subject);
 
-    authProvider = new JaasAuthProvider(server, config, loginContextSupplier);
+    authProvider = new JaasAuthProvider(server, config, loginContextSupplier, Optional.empty());
   }
 
   @Test
@@ -194,6 +211,105 @@ public class JaasAuthProviderTest {
     verifyUnauthorizedSuccessfulLogin();
   }
 
+  @Test
+  public void shouldReuseCachedLogin() throws Exception {
+    // Given:
+    givenAllowedRoles("user");
+    givenCredentialCache();
+    givenUserRoles("user");
+    authProvider.authenticate(authInfo, mock(Handler.class));
+
+    // When:
+    authProvider.authenticate(authInfo, userHandler);
+
+    // Then:
+    verifyAuthorizedSuccessfulLogin();
+    verify(loginContext, times(1)).login();
+    verify(worker, times(1)).executeBlocking(any(), any());
+  }
+
+  @Test
+  public void shouldNotReuseCachedLoginWithDifferentPassword() throws Exception {
+    // Given:
+    givenAllowedRoles("user");
+    givenCredentialCache();
+    givenUserRoles("user");
+    authProvider.authenticate(authInfo, mock(Handler.class));
+    when(authInfo.getString("password")).thenReturn("other");
+    when(loginContextSupplier.get(REALM, new BasicCallbackHandler(USERNAME, "other")))
+        .thenReturn(loginContext);
+
+    // When:
+    authProvider.authenticate(authInfo, userHandler);
+
+    // Then:
+    verify(loginContext, times(2)).login();
+  }
+
+  @Test
+  public void shouldNotCacheFailedLogin() throws Exception {
+    // Given:
+    givenAllowedRoles("user");
+    givenCredentialCache();
+    doThrow(new LoginException("boom")).when(loginContext).login();
+    authProvider.authenticate(authInfo, mock(Handler.class));
+
+    // When:
+    authProvider.authenticate(authInfo, userHandler);
+
+    // Then:
+    verifyLoginFailure("Failed to log in: Invalid username/password.");
+    verify(loginContext, times(2)).login();
+    verify(loginContext, never()).getSubject();
+  }
+
+  @Test
+  public void shouldReuseCachedAuthorizationAcrossLogins() {
+    // Given:
+    givenAllowedRoles("user");
+    givenCredentialCache();
+    givenUserRoles("user");
+
+    final KsqlAuthorizationProviderHandler authorizationHandler =
+        new KsqlAuthorizationProviderHandler(worker, authorizationProvider,
+            Optional.of(new EndpointAuthorizationCache(Duration.ofSeconds(30), 10, ticker)));
+
+    // When:
+    authProvider.authenticate(authInfo, userHandler);
+    authProvider.authenticate(authInfo, userHandler);
+
+    verify(userHandler, times(2)).handle(userCaptor.capture());
+    userCaptor.getAllValues().forEach(result ->
+        authorizationHandler.handle(givenRequestBy(result.result())));
+
+    // Then:
+    verify(authorizationProvider, times(1)).checkEndpointAccess(any(), any(), any());
+  }
+
+  @Test
+  public void shouldConsiderPrincipalsWithSameNameEqual() {
+    assertThat(new JaasPrincipal(USERNAME), is(new JaasPrincipal(USERNAME)));
+    assertThat(new JaasPrincipal(USERNAME).hashCode(),
+        is(new JaasPrincipal(USERNAME).hashCode()));
+    assertThat(new JaasPrincipal(USERNAME), is(not(new JaasPrincipal("other"))));
+  }
+
+  private static RoutingContext givenRequestBy(final User user) {
+    final HttpServerRequest request = mock(HttpServerRequest.class);
+    when(request.method()).thenReturn(HttpMethod.POST);
+
+    final RoutingContext routingContext = mock(RoutingContext.class);
+    when(routingContext.normalisedPath()).thenReturn("/ksql");
+    when(routingContext.request()).thenReturn(request);
+    when(routingContext.user()).thenReturn(user);
+    return routingContext;
+  }
+
+  private void givenCredentialCache() {
+    authProvider = new JaasAuthProvider(server, config, loginContextSupplier,
+        Optional.of(new CredentialCache(Duration.ofSeconds(30), 10, ticker)));
+  }
+
   private void givenAllowedRoles(final String... roles) {
     when(config.getList(KsqlRestConfig.AUTHENTICATION_ROLES_CONFIG))
         .thenReturn(Arrays.asList(roles));
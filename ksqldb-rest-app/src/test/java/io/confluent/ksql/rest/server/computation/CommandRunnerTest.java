@@ -44,6 +44,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
@@ -120,7 +121,8 @@ public class CommandRunnerTest {
         Duration.ofMillis(COMMAND_RUNNER_HEALTH_TIMEOUT),
         "",
         clock,
-        compactor
+        compactor,
+        Optional.empty()
     );
   }
 
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.computation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.rest.entity.CommandId;
+import io.confluent.ksql.rest.entity.CommandId.Action;
+import io.confluent.ksql.rest.entity.CommandId.Type;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CommandSnapshotterTest {
+
+  private static final Duration INTERVAL = Duration.ofMinutes(5);
+
+  private static final QueuedCommand CMD_0 = givenCommand(0, "A");
+  private static final QueuedCommand CMD_1 = givenCommand(1, "B");
+  private static final QueuedCommand CMD_2 = givenCommand(2, "C");
+
+  @Rule
+  public final TemporaryFolder tmp = new TemporaryFolder();
+
+  @Mock
+  private CommandQueue commandQueue;
+  @Mock
+  private Clock clock;
+  private Path snapshotDir;
+  private CommandSnapshotter snapshotter;
+
+  @Before
+  public void setUp() throws IOException {
+    snapshotDir = tmp.newFolder().toPath();
+
+    when(clock.instant()).thenReturn(Instant.ofEpochMilli(1000));
+
+    snapshotter = givenSnapshotter();
+  }
+
+  @Test
+  public void shouldReadWholeCommandTopicIfNoSnapshot() {
+    // Given:
+    when(commandQueue.getRestoreCommands()).thenReturn(ImmutableList.of(CMD_0, CMD_1));
+
+    // When:
+    final List<QueuedCommand> result = snapshotter.getRestoreCommands(commandQueue);
+
+    // Then:
+    assertThat(result, contains(CMD_0, CMD_1));
+    verify(commandQueue, never()).getRestoreCommands(anyLong());
+  }
+
+  @Test
+  public void shouldRestoreFromSnapshotAndCommandTopicTail() {
+    // Given:
+    givenSnapshotOf(CMD_0, CMD_1);
+    when(commandQueue.getRestoreCommands(1L)).thenReturn(ImmutableList.of(CMD_1, CMD_2));
+
+    // When:
+    final List<QueuedCommand> result = givenSnapshotter().getRestoreCommands(commandQueue);
+
+    // Then:
+    assertThat(result, contains(CMD_0, CMD_1, CMD_2));
+    verify(commandQueue, never()).getRestoreCommands();
+  }
+
+  @Test
+  public void shouldIgnoreSnapshotIfItDoesNotMatchCommandTopic() {
+    // Given:
+    givenSnapshotOf(CMD_0, CMD_1);
+    when(commandQueue.getRestoreCommands(1L)).thenReturn(ImmutableList.of(givenCommand(1, "X")));
+    when(commandQueue.getRestoreCommands()).thenReturn(ImmutableList.of(CMD_0));
+
+    // When:
+    final List<QueuedCommand> result = givenSnapshotter().getRestoreCommands(commandQueue);
+
+    // Then:
+    assertThat(result, contains(CMD_0));
+  }
+
+  @Test
+  public void shouldIgnoreSnapshotIfCommandTopicIsShorter() {
+    // Given:
+    givenSnapshotOf(CMD_0, CMD_1);
+    when(commandQueue.getRestoreCommands(1L)).thenReturn(ImmutableList.of());
+    when(commandQueue.getRestoreCommands()).thenReturn(ImmutableList.of(CMD_0));
+
+    // When:
+    final List<QueuedCommand> result = givenSnapshotter().getRestoreCommands(commandQueue);
+
+    // Then:
+    assertThat(result, contains(CMD_0));
+  }
+
+  @Test
+  public void shouldIgnoreSnapshotThatCanNotBeRead() throws IOException {
+    // Given:
+    Files.write(
+        snapshotDir.resolve(CommandSnapshotter.SNAPSHOT_FILE_NAME),
+        "not json".getBytes(StandardCharsets.UTF_8)
+    );
+    when(commandQueue.getRestoreCommands()).thenReturn(ImmutableList.of(CMD_0));
+
+    // When:
+    final List<QueuedCommand> result = snapshotter.getRestoreCommands(commandQueue);
+
+    // Then:
+    assertThat(result, contains(CMD_0));
+  }
+
+  @Test
+  public void shouldNotSnapshotBeforeIntervalHasElapsed() {
+    // Given:
+    givenSnapshotOf(CMD_0);
+    snapshotter.recordExecuted(
+        CMD_1.getCommandId(), CMD_1.getCommand(), CMD_1.getOffset(), Optional.empty());
+    snapshotter.recordConsumed(CMD_1);
+
+    // When:
+    when(clock.instant()).thenReturn(Instant.ofEpochMilli(1000).plus(INTERVAL).minusMillis(1));
+    snapshotter.maybeSnapshot();
+
+    // Then:
+    when(commandQueue.getRestoreCommands(0L)).thenReturn(ImmutableList.of(CMD_0));
+    assertThat(givenSnapshotter().getRestoreCommands(commandQueue), contains(CMD_0));
+  }
+
+  @Test
+  public void shouldSnapshotOnceIntervalHasElapsed() {
+    // Given:
+    givenSnapshotOf(CMD_0);
+    snapshotter.recordExecuted(
+        CMD_1.getCommandId(), CMD_1.getCommand(), CMD_1.getOffset(), Optional.empty());
+    snapshotter.recordConsumed(CMD_1);
+
+    // When:
+    when(clock.instant()).thenReturn(Instant.ofEpochMilli(1000).plus(INTERVAL));
+    snapshotter.maybeSnapshot();
+
+    // Then:
+    when(commandQueue.getRestoreCommands(1L)).thenReturn(ImmutableList.of(CMD_1));
+    assertThat(givenSnapshotter().getRestoreCommands(commandQueue), contains(CMD_0, CMD_1));
+  }
+
+  @Test
+  public void shouldNotSnapshotIfNothingNew() throws IOException {
+    // Given:
+    givenSnapshotOf(CMD_0);
+    Files.delete(snapshotDir.resolve(CommandSnapshotter.SNAPSHOT_FILE_NAME));
+
+    // When:
+    snapshotter.maybeSnapshot();
+
+    // Then:
+    assertThat(Files.exists(snapshotDir.resolve(CommandSnapshotter.SNAPSHOT_FILE_NAME)),
+        is(false));
+  }
+
+  private void givenSnapshotOf(final QueuedCommand... commands) {
+    for (final QueuedCommand command : commands) {
+      snapshotter.recordExecuted(
+          command.getCommandId(), command.getCommand(), command.getOffset(), Optional.empty());
+      snapshotter.recordConsumed(command);
+    }
+    snapshotter.maybeSnapshot();
+  }
+
+  private CommandSnapshotter givenSnapshotter() {
+    return new CommandSnapshotter(snapshotDir, INTERVAL, clock, cmds -> cmds);
+  }
+
+  private static QueuedCommand givenCommand(final long offset, final String name) {
+    return new QueuedCommand(
+        new CommandId(Type.STREAM, name, Action.CREATE),
+        new Command(
+            "CREATE STREAM " + name + " (COLUMN STRING) "
+                + "WITH (KAFKA_TOPIC='" + name + "', VALUE_FORMAT='JSON');",
+            ImmutableMap.of(),
+            ImmutableMap.of(),
+            Optional.empty()
+        ),
+        Optional.empty(),
+        offset
+    );
+  }
+}
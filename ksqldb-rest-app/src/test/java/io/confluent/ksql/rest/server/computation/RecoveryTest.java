@@ -56,6 +56,8 @@ import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.services.TestServiceContext;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.PersistentQueryMetadata;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
@@ -74,7 +76,9 @@ import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeDiagnosingMatcher;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mock;
 
 public class RecoveryTest {
@@ -91,6 +95,9 @@ public class RecoveryTest {
 
   private KsqlSecurityContext securityContext;
 
+  @Rule
+  public final TemporaryFolder tmp = new TemporaryFolder();
+
   @Mock
   @SuppressWarnings("unchecked")
   private final Producer<CommandId, Command> transactionalProducer = (Producer<CommandId, Command>) mock(Producer.class);
@@ -160,6 +167,15 @@ public class RecoveryTest {
       return restoreCommands;
     }
 
+    @Override
+    public List<QueuedCommand> getRestoreCommands(final long fromOffset) {
+      final List<QueuedCommand> restoreCommands = commandLog.stream()
+          .filter(cmd -> cmd.getOffset() >= fromOffset)
+          .collect(Collectors.toList());
+      this.offset = commandLog.size();
+      return restoreCommands;
+    }
+
     @Override
     public void ensureConsumedPast(final long seqNum, final Duration timeout) {
     }
@@ -196,6 +212,13 @@ public class RecoveryTest {
     final ServerState serverState;
 
     KsqlServer(final List<QueuedCommand> commandLog) {
+      this(commandLog, Optional.empty());
+    }
+
+    KsqlServer(
+        final List<QueuedCommand> commandLog,
+        final Optional<CommandSnapshotter> snapshotter
+    ) {
       final SpecificQueryIdGenerator queryIdGenerator = new SpecificQueryIdGenerator();
       this.ksqlEngine = createKsqlEngine(queryIdGenerator);
       this.fakeCommandQueue = new FakeCommandQueue(commandLog, transactionalProducer);
@@ -205,7 +228,8 @@ public class RecoveryTest {
       this.statementExecutor = new InteractiveStatementExecutor(
           serviceContext,
           ksqlEngine,
-          queryIdGenerator
+          queryIdGenerator,
+          snapshotter
       );
 
       MetricCollectors.initialize();
@@ -217,7 +241,8 @@ public class RecoveryTest {
           serverState,
           "ksql-service-id",
           Duration.ofMillis(2000),
-          ""
+          "",
+          snapshotter
       );
 
       this.ksqlResource = new KsqlResource(
@@ -554,6 +579,47 @@ public class RecoveryTest {
     topicClient.preconditionTopicExists("A");
   }
 
+  @Test
+  public void shouldRecoverFromSnapshotAndCommandTopicTail() throws IOException {
+    // Given:
+    final Path snapshotDir = tmp.newFolder().toPath();
+    final KsqlServer snapshotServer = new KsqlServer(
+        commands, Optional.of(new CommandSnapshotter(snapshotDir, Duration.ZERO)));
+
+    snapshotServer.submitCommands(
+        "CREATE STREAM A (COLUMN STRING) WITH (KAFKA_TOPIC='A', VALUE_FORMAT='JSON');",
+        "CREATE STREAM B AS SELECT * FROM A;",
+        "CREATE STREAM C AS SELECT * FROM A;",
+        "TERMINATE CSAS_C_2;"
+    );
+
+    server1.executeCommands();
+    server1.submitCommands(
+        "CREATE STREAM D AS SELECT * FROM B;",
+        "TERMINATE CSAS_B_0;"
+    );
+
+    final KsqlServer executeServer = new KsqlServer(commands);
+    executeServer.executeCommands();
+
+    // When:
+    final KsqlServer recoverServer = new KsqlServer(
+        commands, Optional.of(new CommandSnapshotter(snapshotDir, Duration.ZERO)));
+    recoverServer.recover();
+
+    // Then:
+    final KsqlEngine engine = executeServer.ksqlEngine;
+    final KsqlEngine recovered = recoverServer.ksqlEngine;
+    assertThat(recovered.getMetaStore(), sameStore(engine.getMetaStore()));
+    final Map<QueryId, PersistentQueryMetadata> queries
+        = queriesById(engine.getPersistentQueries());
+    final Map<QueryId, PersistentQueryMetadata> recoveredQueries
+        = queriesById(recovered.getPersistentQueries());
+    assertThat(queries.keySet(), equalTo(recoveredQueries.keySet()));
+    queries.forEach(
+        (queryId, query) -> assertThat(query, sameQuery(recoveredQueries.get(queryId))));
+  }
+
   @Test
   public void shouldRecoverCreates() {
     server1.submitCommands(
@@ -142,13 +142,48 @@ public class PullQueryExecutorMetricsTest {
     assertThat(total, is(1.0));
   }
 
+  @Test
+  public void shouldRecordPlanCacheHitsAndMisses() {
+    // Given:
+    pullMetrics.recordPlanCacheHit();
+    pullMetrics.recordPlanCacheHit();
+    pullMetrics.recordPlanCacheMiss();
+
+    // When:
+    final double hits = getPlanCacheMetricValue("-hit-count");
+    final double misses = getPlanCacheMetricValue("-miss-count");
+
+    // Then:
+    assertThat(hits, equalTo(2.0));
+    assertThat(misses, equalTo(1.0));
+  }
+
+  @Test
+  public void shouldRecordPlanCacheEvictions() {
+    // Given:
+    pullMetrics.recordPlanCacheEvictions(3);
+
+    // When:
+    final double rate = getPlanCacheMetricValue("-eviction-rate");
+
+    // Then:
+    assertThat(rate, closeTo(0.03, 0.001));
+  }
 
   private double getMetricValue(final String metricName) {
+    return getMetricValue("pull-query-requests", metricName);
+  }
+
+  private double getPlanCacheMetricValue(final String metricName) {
+    return getMetricValue("pull-query-plan-cache", metricName);
+  }
+
+  private double getMetricValue(final String prefix, final String metricName) {
     final Metrics metrics = pullMetrics.getMetrics();
     return Double.valueOf(
         metrics.metric(
             metrics.metricName(
-                "pull-query-requests" + metricName,
+                prefix + metricName,
                 "_confluent-ksql-" + ksqlEngine.getServiceId()+ "pull-query",
                 CUSTOM_TAGS)
         ).metricValue().toString()
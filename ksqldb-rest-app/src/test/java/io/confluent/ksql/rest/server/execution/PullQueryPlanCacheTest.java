@@ -0,0 +1,204 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.analyzer.ImmutableAnalysis;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.metastore.model.DataSource;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
+import io.confluent.ksql.parser.tree.AllColumns;
+import io.confluent.ksql.parser.tree.Query;
+import io.confluent.ksql.parser.tree.ResultMaterialization;
+import io.confluent.ksql.parser.tree.Select;
+import io.confluent.ksql.parser.tree.Table;
+import io.confluent.ksql.rest.server.execution.PullQueryPlanCache.Key;
+import io.confluent.ksql.statement.ConfiguredStatement;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.PersistentQueryMetadata;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PullQueryPlanCacheTest {
+
+  private static final SourceName TABLE_A = SourceName.of("A");
+  private static final SourceName TABLE_B = SourceName.of("B");
+  private static final ColumnName KEY = ColumnName.of("K");
+
+  @Mock
+  private ImmutableAnalysis analysis;
+  @Mock
+  private DataSource sourceA;
+  @Mock
+  private DataSource sourceB;
+  @Mock
+  private PersistentQueryMetadata query;
+  @Mock
+  private KsqlConfig ksqlConfig;
+
+  private PullQueryPlanCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new PullQueryPlanCache(2);
+  }
+
+  @Test
+  public void shouldShareKeyForQueriesThatDifferOnlyInKeyLiteral() {
+    // Given:
+    final Key key1 = keyFor(TABLE_A, new IntegerLiteral(10), ImmutableMap.of());
+    final Key key2 = keyFor(TABLE_A, new IntegerLiteral(11), ImmutableMap.of());
+
+    // Then:
+    assertThat(key1, is(key2));
+    assertThat(key1.hashCode(), is(key2.hashCode()));
+  }
+
+  @Test
+  public void shouldShareKeyForQueriesThatDifferOnlyInKeyLiteralType() {
+    // Given:
+    final Key key1 = keyFor(TABLE_A, new IntegerLiteral(10), ImmutableMap.of());
+    final Key key2 = keyFor(TABLE_A, new StringLiteral("10"), ImmutableMap.of());
+
+    // Then:
+    assertThat(key1, is(key2));
+  }
+
+  @Test
+  public void shouldNotShareKeyForDifferentSources() {
+    // Given:
+    final Key key1 = keyFor(TABLE_A, new IntegerLiteral(10), ImmutableMap.of());
+    final Key key2 = keyFor(TABLE_B, new IntegerLiteral(10), ImmutableMap.of());
+
+    // Then:
+    assertThat(key1, is(not(key2)));
+  }
+
+  @Test
+  public void shouldNotShareKeyForDifferentOverrides() {
+    // Given:
+    final Key key1 = keyFor(TABLE_A, new IntegerLiteral(10), ImmutableMap.of());
+    final Key key2 = keyFor(TABLE_A, new IntegerLiteral(10), ImmutableMap.of("a", "b"));
+
+    // Then:
+    assertThat(key1, is(not(key2)));
+  }
+
+  @Test
+  public void shouldReturnCachedPlan() {
+    // Given:
+    final Key key = keyFor(TABLE_A, new IntegerLiteral(10), ImmutableMap.of());
+    final PullQueryPlan plan = new PullQueryPlan(analysis, sourceA, query);
+    cache.put(key, plan);
+
+    // When:
+    final Optional<PullQueryPlan> result =
+        cache.get(keyFor(TABLE_A, new IntegerLiteral(99), ImmutableMap.of()));
+
+    // Then:
+    assertThat(result, is(Optional.of(plan)));
+  }
+
+  @Test
+  public void shouldInvalidatePlansForSource() {
+    // Given:
+    when(sourceA.getName()).thenReturn(TABLE_A);
+    when(sourceB.getName()).thenReturn(TABLE_B);
+    final Key keyA = keyFor(TABLE_A, new IntegerLiteral(10), ImmutableMap.of());
+    final Key keyB = keyFor(TABLE_B, new IntegerLiteral(10), ImmutableMap.of());
+    cache.put(keyA, new PullQueryPlan(analysis, sourceA, query));
+    cache.put(keyB, new PullQueryPlan(analysis, sourceB, query));
+
+    // When:
+    cache.invalidate(TABLE_A);
+
+    // Then:
+    assertThat(cache.get(keyA), is(Optional.empty()));
+    assertThat(cache.get(keyB).isPresent(), is(true));
+  }
+
+  @Test
+  public void shouldTrackEvictions() {
+    // Given:
+    cache.put(
+        keyFor(TABLE_A, new IntegerLiteral(1), ImmutableMap.of("a", 1)),
+        new PullQueryPlan(analysis, sourceA, query));
+    cache.put(
+        keyFor(TABLE_A, new IntegerLiteral(1), ImmutableMap.of("a", 2)),
+        new PullQueryPlan(analysis, sourceA, query));
+
+    // When:
+    cache.put(
+        keyFor(TABLE_A, new IntegerLiteral(1), ImmutableMap.of("a", 3)),
+        new PullQueryPlan(analysis, sourceA, query));
+
+    // Then:
+    assertThat(cache.size(), is(lessThanOrEqualTo(2L)));
+    assertThat(cache.drainEvictions(), is(greaterThanOrEqualTo(1L)));
+    assertThat(cache.drainEvictions(), is(0L));
+  }
+
+  private Key keyFor(
+      final SourceName source,
+      final Expression keyLiteral,
+      final Map<String, ?> overrides
+  ) {
+    final Query query = new Query(
+        Optional.empty(),
+        new Select(ImmutableList.of(new AllColumns(Optional.empty()))),
+        new Table(source),
+        Optional.empty(),
+        Optional.of(new ComparisonExpression(
+            ComparisonExpression.Type.EQUAL,
+            new UnqualifiedColumnReferenceExp(KEY),
+            keyLiteral
+        )),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        ResultMaterialization.FINAL,
+        true,
+        OptionalInt.empty()
+    );
+
+    return PullQueryPlanCache.keyFor(ConfiguredStatement.of(
+        PreparedStatement.of("sql", query),
+        overrides,
+        ksqlConfig
+    ));
+  }
+}
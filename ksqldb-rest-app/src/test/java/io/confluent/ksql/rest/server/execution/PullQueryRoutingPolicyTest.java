@@ -0,0 +1,394 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.execution.streams.materialization.Locator.KsqlNode;
+import io.confluent.ksql.rest.server.execution.PullQueryRoutingPolicy.Balancing;
+import io.confluent.ksql.rest.server.execution.PullQueryRoutingPolicy.HostStats;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PullQueryRoutingPolicyTest {
+
+  @Mock
+  private KsqlNode active;
+  @Mock
+  private KsqlNode standby1;
+  @Mock
+  private KsqlNode standby2;
+
+  private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final CountDownLatch aborted = new CountDownLatch(1);
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldNotReorderActiveFirst() {
+    // Given:
+    final PullQueryRoutingPolicy policy = policy(Balancing.ACTIVE_FIRST, 0);
+    final Map<Integer, List<KsqlNode>> nodes = ImmutableMap.of(
+        0, ImmutableList.of(active, standby1, standby2));
+
+    // When:
+    policy.order(nodes);
+    final Map<Integer, List<KsqlNode>> result = policy.order(nodes);
+
+    // Then:
+    assertThat(result.get(0), contains(active, standby1, standby2));
+  }
+
+  @Test
+  public void shouldRotateNodesOnEachQueryForRoundRobin() {
+    // Given:
+    final PullQueryRoutingPolicy policy = policy(Balancing.ROUND_ROBIN, 0);
+    final Map<Integer, List<KsqlNode>> nodes = ImmutableMap.of(
+        0, ImmutableList.of(active, standby1, standby2));
+
+    // When:
+    final Map<Integer, List<KsqlNode>> first = policy.order(nodes);
+    final Map<Integer, List<KsqlNode>> second = policy.order(nodes);
+    final Map<Integer, List<KsqlNode>> third = policy.order(nodes);
+
+    // Then:
+    assertThat(first.get(0), contains(active, standby1, standby2));
+    assertThat(second.get(0), contains(standby1, standby2, active));
+    assertThat(third.get(0), contains(standby2, active, standby1));
+  }
+
+  @Test
+  public void shouldRotateItemsWithSameNodesConsistentlyForRoundRobin() {
+    // Given:
+    final PullQueryRoutingPolicy policy = policy(Balancing.ROUND_ROBIN, 0);
+    final Map<Integer, List<KsqlNode>> nodes = ImmutableMap.of(
+        0, ImmutableList.of(active, standby1),
+        1, ImmutableList.of(active, standby1));
+    policy.order(nodes);
+
+    // When:
+    final Map<Integer, List<KsqlNode>> result = policy.order(nodes);
+
+    // Then:
+    assertThat(result.get(0), contains(standby1, active));
+    assertThat(result.get(1), contains(standby1, active));
+  }
+
+  @Test
+  public void shouldPreferLowerLatencyNodeWhenNoneOutstanding() {
+    // Given:
+    final PullQueryRoutingPolicy policy = policy(Balancing.LEAST_OUTSTANDING, 0);
+    recordLatencies(policy, active, 10_000);
+    recordLatencies(policy, standby1, 1_000);
+
+    // When:
+    final Map<Integer, List<KsqlNode>> result = policy.order(ImmutableMap.of(
+        0, ImmutableList.of(active, standby1)));
+
+    // Then:
+    assertThat(result.get(0), contains(standby1, active));
+  }
+
+  @Test
+  public void shouldPreferNodeWithFewerOutstandingRequests() throws Exception {
+    // Given:
+    final PullQueryRoutingPolicy policy = policy(Balancing.LEAST_OUTSTANDING, 0);
+    final CountDownLatch started = new CountDownLatch(1);
+    executor.submit(() -> policy.route(active, Optional.empty(), node -> {
+      started.countDown();
+      return await(release);
+    }));
+    started.await();
+
+    // When:
+    final Map<Integer, List<KsqlNode>> result = policy.order(ImmutableMap.of(
+        0, ImmutableList.of(active, standby1)));
+
+    // Then:
+    assertThat(result.get(0), contains(standby1, active));
+  }
+
+  @Test
+  public void shouldUseFixedHedgeDelay() {
+    // Given:
+    final PullQueryRoutingPolicy policy = policy(Balancing.ACTIVE_FIRST, 25);
+
+    // Then:
+    assertThat(policy.hedgeDelayMs(active), is(OptionalLong.of(25)));
+  }
+
+  @Test
+  public void shouldNotHedgeUntilEnoughLatenciesObserved() {
+    // Given:
+    final PullQueryRoutingPolicy policy = policy(Balancing.ACTIVE_FIRST, 0);
+    policy.recordLatency(active, 1_000);
+
+    // Then:
+    assertThat(policy.hedgeDelayMs(active), is(OptionalLong.empty()));
+  }
+
+  @Test
+  public void shouldUseObservedP95AsHedgeDelay() {
+    // Given:
+    final PullQueryRoutingPolicy policy = policy(Balancing.ACTIVE_FIRST, 0);
+    for (int i = 0; i < 95; i++) {
+      policy.recordLatency(active, 1_000);
+    }
+    for (int i = 0; i < 5; i++) {
+      policy.recordLatency(active, 500_000);
+    }
+
+    // When:
+    final OptionalLong delay = policy.hedgeDelayMs(active);
+
+    // Then:
+    assertThat(delay.getAsLong(), is(greaterThan(0L)));
+    assertThat(delay.getAsLong(), is(lessThanOrEqualTo(2L)));
+  }
+
+  @Test
+  public void shouldReturnPrimaryResultIfAnsweredBeforeHedgeDelay() {
+    // Given:
+    final PullQueryRoutingPolicy policy = policy(Balancing.ACTIVE_FIRST, 10_000);
+
+    // When:
+    final KsqlNode result = policy.route(active, Optional.of(standby1), node -> node);
+
+    // Then:
+    assertThat(result, is(active));
+  }
+
+  @Test
+  public void shouldRoutePrimaryOnCallingThread() {
+    // Given:
+    final PullQueryRoutingPolicy policy = policy(Balancing.ACTIVE_FIRST, 10_000);
+    final AtomicReference<Thread> thread = new AtomicReference<>();
+
+    // When:
+    policy.route(active, Optional.of(standby1), node -> {
+      thread.set(Thread.currentThread());
+      return node;
+    });
+
+    // Then:
+    assertThat(thread.get(), is(Thread.currentThread()));
+  }
+
+  @Test
+  public void shouldHedgeToSecondNodeIfPrimarySlow() {
+    // Given:
+    final PullQueryRoutingPolicy policy = policy(Balancing.ACTIVE_FIRST, 10);
+
+    // When:
+    final KsqlNode result = policy.route(active, Optional.of(standby1),
+        node -> node == active ? await(release) : node);
+
+    // Then:
+    assertThat(result, is(standby1));
+  }
+
+  @Test
+  public void shouldAbortPrimaryIfHedgeAnswersFirst() throws Exception {
+    // Given:
+    final PullQueryRoutingPolicy policy = policy(Balancing.ACTIVE_FIRST, 10);
+
+    // When:
+    policy.route(active, Optional.of(standby1),
+        node -> node == active ? awaitOrAbort(release) : node);
+
+    // Then:
+    assertThat(aborted.await(30, TimeUnit.SECONDS), is(true));
+    assertThat("interrupt cleared", Thread.interrupted(), is(false));
+  }
+
+  @Test
+  public void shouldAbortHedgeIfPrimaryAnswersFirst() throws Exception {
+    // Given:
+    final PullQueryRoutingPolicy policy = policy(Balancing.ACTIVE_FIRST, 10);
+    final CountDownLatch hedgeStarted = new CountDownLatch(1);
+
+    // When:
+    final KsqlNode result = policy.route(active, Optional.of(standby1), node -> {
+      if (node == standby1) {
+        hedgeStarted.countDown();
+        return awaitOrAbort(release);
+      }
+      await(hedgeStarted);
+      return node;
+    });
+
+    // Then:
+    assertThat(result, is(active));
+    assertThat(aborted.await(30, TimeUnit.SECONDS), is(true));
+  }
+
+  @Test
+  public void shouldNotHedgeIfNoThreadFreeBeforePrimaryAnswers() throws Exception {
+    // Given:
+    final ScheduledExecutorService busy = Executors.newScheduledThreadPool(1);
+    final PullQueryRoutingPolicy policy =
+        new PullQueryRoutingPolicy(Balancing.ACTIVE_FIRST, 1, Optional.of(busy));
+    busy.submit(() -> await(release));
+    final AtomicInteger hedges = new AtomicInteger();
+
+    // When:
+    final KsqlNode result = policy.route(active, Optional.of(standby1), node -> {
+      if (node == standby1) {
+        hedges.incrementAndGet();
+        return node;
+      }
+      sleep(50);
+      return node;
+    });
+
+    // Then:
+    release.countDown();
+    busy.shutdown();
+    assertThat(busy.awaitTermination(30, TimeUnit.SECONDS), is(true));
+    assertThat(result, is(active));
+    assertThat(hedges.get(), is(0));
+  }
+
+  @Test
+  public void shouldWaitForPrimaryIfHedgeFails() {
+    // Given:
+    final PullQueryRoutingPolicy policy = policy(Balancing.ACTIVE_FIRST, 10);
+
+    // When:
+    final KsqlNode result = policy.route(active, Optional.of(standby1), node -> {
+      if (node == standby1) {
+        release.countDown();
+        throw new IllegalStateException("boom");
+      }
+      await(release);
+      return node;
+    });
+
+    // Then:
+    assertThat(result, is(active));
+  }
+
+  @Test
+  public void shouldThrowIfPrimaryFailsBeforeHedgeDelay() {
+    // Given:
+    final PullQueryRoutingPolicy policy = policy(Balancing.ACTIVE_FIRST, 10_000);
+
+    // When:
+    final Exception e = assertThrows(
+        IllegalStateException.class,
+        () -> policy.route(active, Optional.of(standby1), node -> {
+          throw new IllegalStateException("boom");
+        })
+    );
+
+    // Then:
+    assertThat(e.getMessage(), is("boom"));
+  }
+
+  @Test
+  public void shouldRouteWithoutHedgingIfDisabled() {
+    // Given:
+    final PullQueryRoutingPolicy policy =
+        new PullQueryRoutingPolicy(Balancing.ACTIVE_FIRST, 10, Optional.empty());
+
+    // When:
+    final KsqlNode result = policy.route(active, Optional.of(standby1), node -> node);
+
+    // Then:
+    assertThat(result, is(active));
+  }
+
+  @Test
+  public void shouldBucketLatenciesWithinBounds() {
+    for (long micros = 0; micros < 1_000_000; micros = micros * 2 + 1) {
+      for (long value = micros; value < micros + 3; value++) {
+        final int bucket = HostStats.bucket(value);
+        assertThat(value < HostStats.upperBound(bucket), is(true));
+        assertThat(bucket == 0 || value >= HostStats.upperBound(bucket - 1), is(true));
+      }
+    }
+  }
+
+  private PullQueryRoutingPolicy policy(final Balancing balancing, final long hedgeDelayMs) {
+    return new PullQueryRoutingPolicy(balancing, hedgeDelayMs, Optional.of(executor));
+  }
+
+  private static void recordLatencies(
+      final PullQueryRoutingPolicy policy,
+      final KsqlNode node,
+      final long micros
+  ) {
+    for (int i = 0; i < 100; i++) {
+      policy.recordLatency(node, micros);
+    }
+  }
+
+  private KsqlNode awaitOrAbort(final CountDownLatch latch) {
+    try {
+      latch.await(30, TimeUnit.SECONDS);
+      return null;
+    } catch (final InterruptedException e) {
+      aborted.countDown();
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void sleep(final long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static KsqlNode await(final CountDownLatch latch) {
+    try {
+      latch.await(30, TimeUnit.SECONDS);
+      return null;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -15,20 +15,27 @@
 
 package io.confluent.ksql.rest.server.resources.streaming;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.engine.KsqlEngine;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.parser.tree.Query;
 import io.confluent.ksql.rest.entity.StreamedRow;
-import io.confluent.ksql.rest.entity.TableRowsEntity;
+import io.confluent.ksql.query.QueryId;
 import io.confluent.ksql.rest.server.execution.PullQueryExecutor;
+import io.confluent.ksql.rest.server.execution.PullQueryResult;
 import io.confluent.ksql.rest.server.resources.streaming.Flow.Subscriber;
 import io.confluent.ksql.rest.server.resources.streaming.Flow.Subscription;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
@@ -36,7 +43,10 @@ import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.statement.ConfiguredStatement;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -66,9 +76,11 @@ public class PullQueryPublisherTest {
   @Mock
   private PullQueryExecutor pullQueryExecutor;
   @Mock
-  private TableRowsEntity entity;
+  private Runnable onClose;
   @Captor
   private ArgumentCaptor<Subscription> subscriptionCaptor;
+  @Captor
+  private ArgumentCaptor<Collection<StreamedRow>> batchCaptor;
 
   private Subscription subscription;
   private PullQueryPublisher publisher;
@@ -76,12 +88,12 @@ public class PullQueryPublisherTest {
   @Before
   public void setUp() {
     publisher = new PullQueryPublisher(
+        MoreExecutors.directExecutor(),
         serviceContext,
         statement,
         pullQueryExecutor);
 
-    when(pullQueryExecutor.execute(any(), any(), any())).thenReturn(entity);
-    when(entity.getSchema()).thenReturn(SCHEMA);
+    givenRows(ImmutableList.of());
 
     doAnswer(callRequestAgain()).when(subscriber).onNext(any());
   }
@@ -166,7 +178,7 @@ public class PullQueryPublisherTest {
     // Given:
     givenSubscribed();
 
-    when(entity.getRows()).thenReturn(ImmutableList.of(
+    givenRows(ImmutableList.of(
         ImmutableList.of("a", 1, 2L, 3.0f),
         ImmutableList.of("b", 1, 2L, 3.0f)
     ));
@@ -181,6 +193,99 @@ public class PullQueryPublisherTest {
     ));
   }
 
+  @Test
+  public void shouldDeliverRowsInBatches() {
+    // Given:
+    givenSubscribed();
+
+    givenRows(rows(PullQueryPublisher.MAX_ROWS_PER_BATCH + 1));
+
+    // When:
+    subscription.request(1);
+
+    // Then:
+    final InOrder inOrder = inOrder(subscriber);
+    inOrder.verify(subscriber, times(2)).onNext(batchCaptor.capture());
+    inOrder.verify(subscriber).onComplete();
+
+    final List<Collection<StreamedRow>> batches = batchCaptor.getAllValues();
+    assertThat(batches.get(0), hasSize(PullQueryPublisher.MAX_ROWS_PER_BATCH));
+    assertThat(batches.get(1), contains(
+        StreamedRow.row(GenericRow.genericRow(PullQueryPublisher.MAX_ROWS_PER_BATCH))));
+  }
+
+  @Test
+  public void shouldNotDeliverMoreRowsAfterCancel() {
+    // Given:
+    givenSubscribed();
+    doAnswer(inv -> {
+      subscription.cancel();
+      return null;
+    }).when(subscriber).onNext(any());
+
+    givenRows(rows(PullQueryPublisher.MAX_ROWS_PER_BATCH + 1));
+
+    // When:
+    subscription.request(1);
+    subscription.request(1);
+
+    // Then:
+    verify(subscriber, times(1)).onNext(any());
+    verify(subscriber, never()).onComplete();
+  }
+
+  @Test
+  public void shouldCloseResultOnceAllRowsDelivered() {
+    // Given:
+    givenSubscribed();
+    givenRows(rows(PullQueryPublisher.MAX_ROWS_PER_BATCH + 1));
+
+    // When:
+    subscription.request(1);
+
+    // Then:
+    final InOrder inOrder = inOrder(subscriber, onClose);
+    inOrder.verify(subscriber).onNext(any());
+    inOrder.verify(onClose).run();
+    inOrder.verify(subscriber).onNext(any());
+    inOrder.verify(subscriber).onComplete();
+  }
+
+  @Test
+  public void shouldCloseResultOnCancel() {
+    // Given:
+    givenSubscribed();
+    doAnswer(inv -> {
+      subscription.cancel();
+      return null;
+    }).when(subscriber).onNext(any());
+
+    givenRows(rows(PullQueryPublisher.MAX_ROWS_PER_BATCH + 1));
+
+    // When:
+    subscription.request(1);
+
+    // Then:
+    verify(onClose).run();
+  }
+
+  private void givenRows(final List<List<?>> rows) {
+    when(pullQueryExecutor.execute(any(), any(), any())).thenReturn(new PullQueryResult(
+        "SELECT * FROM X;",
+        new QueryId("query"),
+        SCHEMA,
+        rows.iterator(),
+        onClose,
+        Optional.empty()
+    ));
+  }
+
+  private static List<List<?>> rows(final int count) {
+    return IntStream.range(0, count)
+        .<List<?>>mapToObj(i -> ImmutableList.of(i))
+        .collect(Collectors.toList());
+  }
+
   private Answer<Void> callRequestAgain() {
     return inv -> {
       subscription.request(1);
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.resources.streaming;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.rest.ApiJsonMapper;
+import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.rest.server.execution.PullQueryResult;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class PullQueryStreamWriterTest {
+
+  private static final ObjectMapper OBJECT_MAPPER = ApiJsonMapper.INSTANCE.get();
+
+  private static final String STATEMENT = "SELECT * FROM X WHERE ROWKEY='a';";
+
+  private static final QueryId QUERY_ID = new QueryId("pull_query_1");
+
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .keyColumn(ColumnName.of("ROWKEY"), SqlTypes.STRING)
+      .valueColumn(ColumnName.of("COUNT"), SqlTypes.BIGINT)
+      .build();
+
+  @Test
+  public void shouldWriteHeaderOnlyIfNoRows() throws Exception {
+    // Given:
+    final PullQueryStreamWriter writer = givenWriter(ImmutableList.of());
+
+    // When:
+    final String result = write(writer);
+
+    // Then:
+    assertThat(result, is("[" + json(StreamedRow.header(QUERY_ID, SCHEMA)) + "]"));
+  }
+
+  @Test
+  public void shouldWriteHeaderAndRows() throws Exception {
+    // Given:
+    final PullQueryStreamWriter writer = givenWriter(ImmutableList.of(
+        ImmutableList.of("a", 1L),
+        ImmutableList.of("b", 2L)
+    ));
+
+    // When:
+    final String result = write(writer);
+
+    // Then:
+    assertThat(result, is("["
+        + json(StreamedRow.header(QUERY_ID, SCHEMA)) + "," + System.lineSeparator()
+        + json(StreamedRow.row(GenericRow.genericRow("a", 1L))) + "," + System.lineSeparator()
+        + json(StreamedRow.row(GenericRow.genericRow("b", 2L)))
+        + "]"));
+  }
+
+  @Test
+  public void shouldTerminateWithErrorIfQueryFailsAfterRows() throws Exception {
+    // Given:
+    final Iterator<List<?>> rows = ImmutableList.<List<?>>of(ImmutableList.of("a", 1L)).iterator();
+    final PullQueryStreamWriter writer = givenWriter(new Iterator<List<?>>() {
+      @Override
+      public boolean hasNext() {
+        if (!rows.hasNext()) {
+          throw new IllegalStateException("Boom");
+        }
+        return true;
+      }
+
+      @Override
+      public List<?> next() {
+        return rows.next();
+      }
+    });
+
+    // When:
+    final String result = write(writer);
+
+    // Then:
+    assertThat(result, startsWith("["
+        + json(StreamedRow.header(QUERY_ID, SCHEMA)) + "," + System.lineSeparator()
+        + json(StreamedRow.row(GenericRow.genericRow("a", 1L))) + "," + System.lineSeparator()
+        + "{\"errorMessage\":"));
+    assertThat(result, containsString("Boom"));
+    assertThat(OBJECT_MAPPER.readValue(result, StreamedRow[].class)[2].getErrorMessage()
+        .isPresent(), is(true));
+  }
+
+  @Test
+  public void shouldCloseResultAndCompleteOnceWritten() throws Exception {
+    // Given:
+    final AtomicInteger closed = new AtomicInteger();
+    final AtomicInteger completed = new AtomicInteger();
+    final PullQueryStreamWriter writer = new PullQueryStreamWriter(
+        new PullQueryResult(STATEMENT, QUERY_ID, SCHEMA,
+            ImmutableList.<List<?>>of().iterator(), closed::incrementAndGet, Optional.empty()),
+        OBJECT_MAPPER,
+        completed::incrementAndGet
+    );
+
+    // When:
+    write(writer);
+
+    // Then:
+    assertThat(closed.get(), is(1));
+    assertThat(completed.get(), is(1));
+  }
+
+  @Test
+  public void shouldBeBounded() {
+    assertThat(givenWriter(ImmutableList.of()).isBounded(), is(true));
+  }
+
+  private static PullQueryStreamWriter givenWriter(final List<List<?>> rows) {
+    return givenWriter(rows.iterator());
+  }
+
+  private static PullQueryStreamWriter givenWriter(final Iterator<List<?>> rows) {
+    return new PullQueryStreamWriter(
+        new PullQueryResult(STATEMENT, QUERY_ID, SCHEMA, rows, () -> { }, Optional.empty()),
+        OBJECT_MAPPER,
+        () -> { }
+    );
+  }
+
+  private static String write(final PullQueryStreamWriter writer) throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.write(out);
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static String json(final StreamedRow row) throws Exception {
+    return OBJECT_MAPPER.writeValueAsString(row);
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.services;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.services.ServiceContext;
+import io.confluent.ksql.services.SimpleKsqlClient;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.apache.kafka.common.metrics.Metrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ServiceContextCacheTest {
+
+  private static final Duration TTL = Duration.ofMinutes(10);
+  private static final Map<String, String> CUSTOM_TAGS = ImmutableMap.of("tag1", "value1");
+  private static final Optional<String> AUTH_HEADER = Optional.of("Basic abc");
+
+  @Mock
+  private Supplier<ServiceContext> factory;
+  @Mock
+  private ServiceContext serviceContext1;
+  @Mock
+  private ServiceContext serviceContext2;
+  @Mock
+  private SimpleKsqlClient ksqlClient;
+  @Mock
+  private Principal alice;
+  @Mock
+  private Principal bob;
+  @Mock
+  private Ticker ticker;
+  private Metrics metrics;
+  private ServiceContextCache cache;
+
+  @Before
+  public void setUp() {
+    when(factory.get()).thenReturn(serviceContext1, serviceContext2);
+    when(alice.getName()).thenReturn("alice");
+
+    when(ticker.read()).thenReturn(0L);
+
+    metrics = new Metrics();
+    cache = new ServiceContextCache(1, TTL, metrics, "service-id", CUSTOM_TAGS, ticker);
+  }
+
+  @After
+  public void tearDown() {
+    metrics.close();
+  }
+
+  @Test
+  public void shouldThrowOnNonPositiveSize() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ServiceContextCache(0, TTL, metrics, "service-id", CUSTOM_TAGS)
+    );
+  }
+
+  @Test
+  public void shouldThrowOnNonPositiveTimeToLive() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ServiceContextCache(1, Duration.ZERO, metrics, "service-id", CUSTOM_TAGS)
+    );
+  }
+
+  @Test
+  public void shouldReuseServiceContextForSamePrincipalAndAuthHeader() {
+    // Given:
+    when(serviceContext1.getKsqlClient()).thenReturn(ksqlClient);
+    cache.get(Optional.of(alice), AUTH_HEADER, factory).close();
+
+    // When:
+    final ServiceContext result = cache.get(Optional.of(alice), AUTH_HEADER, factory);
+
+    // Then:
+    assertThat(result.getKsqlClient(), is(ksqlClient));
+    verify(factory).get();
+    verify(serviceContext1, never()).close();
+    assertThat(getMetricValue("creation-total"), is(1.0));
+    assertThat(getMetricValue("hit-total"), is(1.0));
+  }
+
+  @Test
+  public void shouldNotShareServiceContextBetweenPrincipals() {
+    // Given:
+    when(bob.getName()).thenReturn("bob");
+    final ServiceContext first = cache.get(Optional.of(alice), AUTH_HEADER, factory);
+
+    // When:
+    final ServiceContext second = cache.get(Optional.of(bob), AUTH_HEADER, factory);
+    second.getAdminClient();
+
+    // Then:
+    verify(serviceContext2).getAdminClient();
+    verify(serviceContext1, never()).getAdminClient();
+    first.close();
+  }
+
+  @Test
+  public void shouldCloseEvictedServiceContext() {
+    // Given:
+    when(bob.getName()).thenReturn("bob");
+    cache.get(Optional.of(alice), AUTH_HEADER, factory).close();
+
+    // When:
+    cache.get(Optional.of(bob), AUTH_HEADER, factory).close();
+
+    // Then:
+    verify(serviceContext1).close();
+    verify(serviceContext2, never()).close();
+    assertThat(getMetricValue("eviction-total"), is(1.0));
+  }
+
+  @Test
+  public void shouldExpireServiceContextAfterTimeToLive() {
+    // Given:
+    cache.get(Optional.of(alice), AUTH_HEADER, factory).close();
+    when(ticker.read()).thenReturn(TTL.toNanos());
+
+    // When:
+    cache.get(Optional.of(alice), AUTH_HEADER, factory).close();
+
+    // Then:
+    verify(serviceContext1).close();
+    verify(serviceContext2, never()).close();
+    assertThat(getMetricValue("creation-total"), is(2.0));
+  }
+
+  @Test
+  public void shouldCloseAllServiceContextsOnClose() {
+    // Given:
+    cache.get(Optional.of(alice), AUTH_HEADER, factory).close();
+
+    // When:
+    cache.close();
+
+    // Then:
+    verify(serviceContext1).close();
+    assertThat(cache.size(), is(0L));
+  }
+
+  private double getMetricValue(final String metricName) {
+    return Double.valueOf(
+        metrics.metric(
+            metrics.metricName(
+                "service-context-cache-" + metricName,
+                "_confluent-ksql-service-idservice-context-cache",
+                CUSTOM_TAGS)
+        ).metricValue().toString()
+    );
+  }
+}
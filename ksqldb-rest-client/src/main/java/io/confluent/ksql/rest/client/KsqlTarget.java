@@ -43,6 +43,7 @@ import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.net.SocketAddress;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -172,6 +173,33 @@ public final class KsqlTarget {
     );
   }
 
+  /**
+   * Issues a query, returning a blocking stream over the body of the response.
+   *
+   * <p>The body can be read as it arrives, rather than waiting for the whole response. The
+   * caller must close the stream, which aborts the request if the body has not all been read.
+   */
+  public RestResponse<InputStream> postQueryRequestAsStream(
+      final String ksql,
+      final Map<String, ?> requestProperties,
+      final Optional<Long> previousCommandSeqNum
+  ) {
+    final AtomicReference<InputStream> streamRef = new AtomicReference<>();
+    return executeSync(
+        HttpMethod.POST,
+        QUERY_PATH,
+        createKsqlRequest(ksql, requestProperties, previousCommandSeqNum),
+        resp -> streamRef.get(),
+        (resp, vcf) -> {
+          if (resp.statusCode() == 200) {
+            streamRef.set(new ResponseInputStream(resp, Vertx.currentContext()));
+            vcf.complete(new ResponseWithBody(resp));
+          } else {
+            resp.bodyHandler(body -> vcf.complete(new ResponseWithBody(resp, body)));
+          }
+        });
+  }
+
   public RestResponse<StreamPublisher<StreamedRow>> postQueryRequestStreamed(
       final String sql,
       final Optional<Long> previousCommandSeqNum
@@ -267,6 +295,12 @@ public final class KsqlTarget {
     final ResponseWithBody response;
     try {
       response = vcf.get();
+    } catch (final InterruptedException e) {
+      // Abort the request, rather than leave it to complete in the background:
+      vcf.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new KsqlRestClientException(
+          "Interrupted issuing " + httpMethod + " to KSQL server. path:" + path, e);
     } catch (Exception e) {
       throw new KsqlRestClientException(
           "Error issuing " + httpMethod + " to KSQL server. path:" + path, e);
@@ -300,6 +334,12 @@ public final class KsqlTarget {
         resp -> responseHandler.accept(resp, vcf))
         .exceptionHandler(vcf::completeExceptionally);
 
+    vcf.whenComplete((response, e) -> {
+      if (vcf.isCancelled()) {
+        httpClientRequest.reset();
+      }
+    });
+
     httpClientRequest.putHeader("Accept", "application/json");
     authHeader.ifPresent(v -> httpClientRequest.putHeader("Authorization", v));
 
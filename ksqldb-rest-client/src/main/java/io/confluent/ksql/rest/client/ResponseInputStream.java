@@ -0,0 +1,174 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.client;
+
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+
+/**
+ * A blocking {@link InputStream} over the body of a response, for reading it as it arrives.
+ *
+ * <p>The response is paused while more than {@link #HIGH_WATER_MARK} bytes are buffered, so a
+ * slow reader applies back pressure to the server rather than the whole body being buffered.
+ * Closing the stream before the end of the body resets the request, which closes the
+ * connection.
+ */
+final class ResponseInputStream extends InputStream {
+
+  static final int HIGH_WATER_MARK = 64 * 1024;
+  private static final int LOW_WATER_MARK = HIGH_WATER_MARK / 2;
+
+  private final HttpClientResponse response;
+  private final Context context;
+  private final Deque<Buffer> buffers = new ArrayDeque<>();
+  private int buffered;
+  private int position;
+  private boolean paused;
+  private boolean ended;
+  private boolean closed;
+  private Throwable error;
+
+  ResponseInputStream(final HttpClientResponse response, final Context context) {
+    this.response = Objects.requireNonNull(response, "response");
+    this.context = Objects.requireNonNull(context, "context");
+
+    response.handler(this::handleData);
+    response.endHandler(v -> handleEnd());
+    response.exceptionHandler(this::handleError);
+  }
+
+  @Override
+  public int read() throws IOException {
+    final byte[] b = new byte[1];
+    return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+  }
+
+  @Override
+  public synchronized int read(final byte[] b, final int off, final int len) throws IOException {
+    if (off < 0 || len < 0 || len > b.length - off) {
+      throw new IndexOutOfBoundsException();
+    }
+
+    if (len == 0) {
+      return 0;
+    }
+
+    awaitData();
+
+    if (buffers.isEmpty()) {
+      return -1;
+    }
+
+    int read = 0;
+    while (read < len && !buffers.isEmpty()) {
+      final Buffer buffer = buffers.peek();
+      final int count = Math.min(len - read, buffer.length() - position);
+      buffer.getBytes(position, position + count, b, off + read);
+      read += count;
+      position += count;
+
+      if (position == buffer.length()) {
+        buffers.remove();
+        position = 0;
+      }
+    }
+
+    buffered -= read;
+
+    if (paused && buffered <= LOW_WATER_MARK) {
+      paused = false;
+      context.runOnContext(v -> response.resume());
+    }
+
+    return read;
+  }
+
+  @Override
+  public synchronized int available() {
+    return buffered;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    buffers.clear();
+    buffered = 0;
+
+    if (!ended && error == null) {
+      // Stop the server sending the rest of the body:
+      response.request().reset();
+    }
+
+    notifyAll();
+  }
+
+  private void awaitData() throws IOException {
+    try {
+      while (buffers.isEmpty() && !ended && error == null && !closed) {
+        wait();
+      }
+    } catch (final InterruptedException e) {
+      close();
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted reading response");
+    }
+
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+
+    if (buffers.isEmpty() && error != null) {
+      throw new IOException("Error reading response", error);
+    }
+  }
+
+  private synchronized void handleData(final Buffer buffer) {
+    if (closed || buffer.length() == 0) {
+      return;
+    }
+
+    buffers.add(buffer);
+    buffered += buffer.length();
+
+    if (!paused && buffered > HIGH_WATER_MARK) {
+      paused = true;
+      response.pause();
+    }
+
+    notifyAll();
+  }
+
+  private synchronized void handleEnd() {
+    ended = true;
+    notifyAll();
+  }
+
+  private synchronized void handleError(final Throwable t) {
+    error = t;
+    notifyAll();
+  }
+}
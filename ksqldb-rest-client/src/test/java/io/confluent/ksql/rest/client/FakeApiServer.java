@@ -48,6 +48,7 @@ public class FakeApiServer extends AbstractVerticle {
   private Buffer responseBuffer;
   private volatile CompletableFuture<Buffer> bodyFuture;
   private boolean connectionClosed;
+  private boolean holdResponse;
   private int errorCode = -1;
 
   public FakeApiServer(final HttpServerOptions httpServerOptions) {
@@ -100,6 +101,9 @@ public class FakeApiServer extends AbstractVerticle {
     if (bodyFuture != null) {
       bodyFuture.complete(body);
     }
+    if (holdResponse) {
+      return;
+    }
     if (errorCode != -1) {
       request.response().setStatusCode(errorCode);
     }
@@ -153,6 +157,10 @@ public class FakeApiServer extends AbstractVerticle {
     return connectionClosed;
   }
 
+  public synchronized void setHoldResponse(final boolean holdResponse) {
+    this.holdResponse = holdResponse;
+  }
+
   public synchronized void setErrorCode(int errorCode) {
     this.errorCode = errorCode;
   }
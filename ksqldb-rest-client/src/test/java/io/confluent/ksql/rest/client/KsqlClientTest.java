@@ -18,6 +18,7 @@ package io.confluent.ksql.rest.client;
 import static io.confluent.ksql.test.util.AssertEventually.assertThatEventually;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 
@@ -63,6 +64,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.apache.kafka.common.config.SslConfigs;
 import org.junit.After;
 import org.junit.Before;
@@ -331,6 +333,31 @@ public class KsqlClientTest {
     )));
   }
 
+  @Test
+  public void shouldAbortQueryRequestIfInterrupted() throws Exception {
+    // Given:
+    server.setHoldResponse(true);
+    final KsqlTarget target = ksqlClient.target(serverUri);
+    final CompletableFuture<Exception> error = new CompletableFuture<>();
+    final Thread thread = new Thread(() -> {
+      try {
+        target.postQueryRequest("some sql", Collections.emptyMap(), Optional.of(321L));
+        error.complete(null);
+      } catch (final Exception e) {
+        error.complete(e);
+      }
+    });
+    thread.start();
+    assertThatEventually(() -> server.getPath(), is("/query"));
+
+    // When:
+    thread.interrupt();
+
+    // Then:
+    assertThat(error.get(30, TimeUnit.SECONDS), is(instanceOf(KsqlRestClientException.class)));
+    assertThatEventually(() -> server.isConnectionClosed(), is(true));
+  }
+
   @Test
   public void shouldPostQueryRequestStreamed() throws Exception {
 
@@ -17,9 +17,11 @@ package io.confluent.ksql.rest;
 
 import io.confluent.ksql.util.KsqlHostInfo;
 import java.net.URL;
+import java.security.Principal;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Wraps the incoming {@link io.confluent.ksql.rest.entity.KsqlRequest} streamsProperties
@@ -32,6 +34,7 @@ public class SessionProperties {
   private final KsqlHostInfo ksqlHostInfo;
   private final URL localUrl;
   private final boolean internalRequest;
+  private final Optional<Principal> userPrincipal;
 
   /**
    * @param mutableScopedProperties   The streamsProperties of the incoming request
@@ -44,12 +47,30 @@ public class SessionProperties {
       final KsqlHostInfo ksqlHostInfo,
       final URL localUrl,
       final boolean internalRequest
+  ) {
+    this(mutableScopedProperties, ksqlHostInfo, localUrl, internalRequest, Optional.empty());
+  }
+
+  /**
+   * @param mutableScopedProperties   The streamsProperties of the incoming request
+   * @param ksqlHostInfo              The ksqlHostInfo of the server that handles the request
+   * @param localUrl                  The url of the server that handles the request
+   * @param internalRequest           Flag indicating if request is from within the KSQL cluster
+   * @param userPrincipal             The authenticated user making the request, if any
+   */
+  public SessionProperties(
+      final Map<String, Object> mutableScopedProperties,
+      final KsqlHostInfo ksqlHostInfo,
+      final URL localUrl,
+      final boolean internalRequest,
+      final Optional<Principal> userPrincipal
   ) {
     this.mutableScopedProperties = 
         new HashMap<>(Objects.requireNonNull(mutableScopedProperties, "mutableScopedProperties"));
     this.ksqlHostInfo = Objects.requireNonNull(ksqlHostInfo, "ksqlHostInfo");
     this.localUrl = Objects.requireNonNull(localUrl, "localUrl");
     this.internalRequest = internalRequest;
+    this.userPrincipal = Objects.requireNonNull(userPrincipal, "userPrincipal");
   }
 
   public Map<String, Object> getMutableScopedProperties() {
@@ -67,4 +88,8 @@ public class SessionProperties {
   public boolean getInternalRequest() {
     return internalRequest;
   }
+
+  public Optional<Principal> getUserPrincipal() {
+    return userPrincipal;
+  }
 }
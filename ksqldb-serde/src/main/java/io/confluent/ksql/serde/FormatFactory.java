@@ -17,6 +17,7 @@ package io.confluent.ksql.serde;
 
 import io.confluent.ksql.serde.avro.AvroFormat;
 import io.confluent.ksql.serde.delimited.DelimitedFormat;
+import io.confluent.ksql.serde.internal.InternalFormat;
 import io.confluent.ksql.serde.json.JsonFormat;
 import io.confluent.ksql.serde.json.JsonSchemaFormat;
 import io.confluent.ksql.serde.kafka.KafkaFormat;
@@ -34,6 +35,7 @@ public final class FormatFactory {
   public static final Format PROTOBUF   = new ProtobufFormat();
   public static final Format KAFKA      = new KafkaFormat();
   public static final Format DELIMITED  = new DelimitedFormat();
+  public static final Format INTERNAL   = new InternalFormat();
 
   private FormatFactory() { }
 
@@ -58,6 +60,7 @@ public final class FormatFactory {
       case ProtobufFormat.NAME:   return PROTOBUF;
       case KafkaFormat.NAME:      return KAFKA;
       case DelimitedFormat.NAME:  return DELIMITED;
+      case InternalFormat.NAME:   return INTERNAL;
       default:
         throw new KsqlException("Unknown format: " + name);
     }
@@ -33,6 +33,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.serialization.Deserializer;
@@ -91,7 +93,30 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
         schemaRegistryClientFactory,
         loggerNamePrefix,
         processingLogContext,
-        getTargetType(schema)
+        getTargetType(schema),
+        Optional.empty()
+    );
+  }
+
+  @Override
+  public Serde<GenericRow> create(
+      final FormatInfo format,
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      final String loggerNamePrefix,
+      final ProcessingLogContext processingLogContext,
+      final Set<Integer> projectedFields
+  ) {
+    return from(
+        format,
+        schema,
+        ksqlConfig,
+        schemaRegistryClientFactory,
+        loggerNamePrefix,
+        processingLogContext,
+        getTargetType(schema),
+        Optional.of(projectedFields)
     );
   }
 
@@ -120,7 +145,8 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
       final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
       final String loggerNamePrefix,
       final ProcessingLogContext processingLogContext,
-      final Class<T> targetType
+      final Class<T> targetType,
+      final Optional<Set<Integer>> projectedFields
   ) {
     try {
       serdeFactories.validate(format, schema);
@@ -144,7 +170,7 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
 
     final Serde<GenericRow> genericRowSerde = schema.isUnwrapped()
           ? unwrapped(serde)
-          : wrapped(serde, schema, targetType);
+          : wrapped(serde, schema, targetType, projectedFields);
 
     final Serde<GenericRow> result = Serdes.serdeFrom(
         genericRowSerde.serializer(),
@@ -175,7 +201,8 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
   private static <T> Serde<GenericRow> wrapped(
       final Serde<T> innerSerde,
       final PersistenceSchema schema,
-      final Class<T> type
+      final Class<T> type,
+      final Optional<Set<Integer>> projectedFields
   ) {
     if (type != Struct.class) {
       throw new IllegalArgumentException("Unwrapped must be of type Struct");
@@ -183,15 +210,32 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
 
     @SuppressWarnings("unchecked") final Serde<Struct> structSerde = (Serde<Struct>) innerSerde;
 
+    final Serializer<Struct> structSerializer = structSerde.serializer();
+
     final Serializer<GenericRow> serializer =
-        new GenericRowSerializer(structSerde.serializer(), schema);
+        structSerializer instanceof RowSerializerFactory
+            ? ((RowSerializerFactory) structSerializer).createRowSerializer()
+            : new GenericRowSerializer(structSerializer, schema);
+
+    final Deserializer<Struct> structDeserializer = structSerde.deserializer();
 
     final Deserializer<GenericRow> deserializer =
-        new GenericRowDeserializer(structSerde.deserializer());
+        structDeserializer instanceof RowDeserializerFactory
+            ? rowDeserializer((RowDeserializerFactory) structDeserializer, projectedFields)
+            : new GenericRowDeserializer(structDeserializer);
 
     return Serdes.serdeFrom(serializer, deserializer);
   }
 
+  private static Deserializer<GenericRow> rowDeserializer(
+      final RowDeserializerFactory factory,
+      final Optional<Set<Integer>> projectedFields
+  ) {
+    return projectedFields
+        .map(fields -> factory.createRowDeserializer(ADDITIONAL_CAPACITY, fields))
+        .orElseGet(() -> factory.createRowDeserializer(ADDITIONAL_CAPACITY));
+  }
+
   private static class UnwrappedGenericRowSerializer<K> implements Serializer<GenericRow> {
 
     private final Serializer<K> inner;
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde;
+
+import io.confluent.ksql.GenericRow;
+import java.util.Set;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Implemented by deserializers of wrapped values that can build a {@link GenericRow} directly
+ * from the serialized bytes, without first building a {@link org.apache.kafka.connect.data.Struct}.
+ */
+public interface RowDeserializerFactory {
+
+  /**
+   * Create a deserializer that builds rows directly.
+   *
+   * @param additionalCapacity the capacity to reserve in each row for additional columns.
+   * @return the row deserializer.
+   */
+  Deserializer<GenericRow> createRowDeserializer(int additionalCapacity);
+
+  /**
+   * Create a deserializer that builds rows directly, but need only decode some of the fields.
+   *
+   * <p>Fields not in {@code projectedFields} may be left {@code null} in the rows, allowing
+   * implementations to skip over them without decoding them. The default implementation decodes
+   * all fields.
+   *
+   * @param additionalCapacity the capacity to reserve in each row for additional columns.
+   * @param projectedFields the indexes of the fields that must be decoded.
+   * @return the row deserializer.
+   */
+  default Deserializer<GenericRow> createRowDeserializer(
+      final int additionalCapacity,
+      final Set<Integer> projectedFields
+  ) {
+    return createRowDeserializer(additionalCapacity);
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.confluent.ksql.serde;
+
+import io.confluent.ksql.GenericRow;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Implemented by serializers of wrapped values that can serialize a {@link GenericRow} directly,
+ * without first building a {@link org.apache.kafka.connect.data.Struct}.
+ */
+public interface RowSerializerFactory {
+
+  /**
+   * Create a serializer that serializes rows directly.
+   *
+   * @return the row serializer.
+   */
+  Serializer<GenericRow> createRowSerializer();
+}
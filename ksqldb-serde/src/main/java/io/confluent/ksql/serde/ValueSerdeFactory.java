@@ -20,6 +20,7 @@ import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.KsqlConfig;
+import java.util.Set;
 import java.util.function.Supplier;
 import org.apache.kafka.common.serialization.Serde;
 
@@ -47,4 +48,38 @@ public interface ValueSerdeFactory {
       String loggerNamePrefix,
       ProcessingLogContext processingLogContext
   );
+
+  /**
+   * Create a value serde whose deserializer need only decode some of the fields.
+   *
+   * <p>Fields not in {@code projectedFields} may be {@code null} in deserialized rows. The
+   * default implementation decodes all fields.
+   *
+   * @param format the format required.
+   * @param schema the schema of the serialized form.
+   * @param ksqlConfig the system config.
+   * @param schemaRegistryClientFactory supplier of SR client.
+   * @param loggerNamePrefix processing logger name prefix
+   * @param processingLogContext processing logger context.
+   * @param projectedFields the indexes of the fields of {@code schema} that must be decoded.
+   * @return the value serde.
+   */
+  default Serde<GenericRow> create(
+      final FormatInfo format,
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      final String loggerNamePrefix,
+      final ProcessingLogContext processingLogContext,
+      final Set<Integer> projectedFields
+  ) {
+    return create(
+        format,
+        schema,
+        ksqlConfig,
+        schemaRegistryClientFactory,
+        loggerNamePrefix,
+        processingLogContext
+    );
+  }
 }
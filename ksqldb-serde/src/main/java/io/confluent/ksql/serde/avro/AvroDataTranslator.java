@@ -15,12 +15,10 @@
 
 package io.confluent.ksql.serde.avro;
 
-import com.google.common.base.Preconditions;
 import io.confluent.ksql.schema.connect.SchemaWalker;
 import io.confluent.ksql.schema.connect.SchemaWalker.Visitor;
 import io.confluent.ksql.serde.connect.ConnectDataTranslator;
 import io.confluent.ksql.serde.connect.DataTranslator;
-import io.confluent.ksql.util.DecimalUtil;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -99,7 +97,7 @@ public class AvroDataTranslator implements DataTranslator {
   }
 
   @SuppressWarnings("unchecked")
-  private static Object replaceSchema(final Schema schema, final Object object) {
+  static Object replaceSchema(final Schema schema, final Object object) {
     if (object == null) {
       return null;
     }
@@ -140,14 +138,6 @@ public class AvroDataTranslator implements DataTranslator {
         return null;
       }
 
-      @Override
-      public Void visitBytes(final Schema schema) {
-        Preconditions.checkArgument(
-            DecimalUtil.isDecimal(schema),
-            "Avro only supports DECIMAL for BYTES type.");
-        return null;
-      }
-
       @Override
       public Void visitSchema(final Schema schema) {
         return null;
@@ -0,0 +1,368 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.avro;
+
+import io.confluent.connect.avro.AvroData;
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.serde.connect.ConnectDataTranslator;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaAndValue;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Decodes binary AVRO records directly into a {@link GenericRow}.
+ *
+ * <p>The writer schema of each schema id is resolved against the columns once, and the
+ * resulting reader is cached. Fields of the writer schema that are not columns are skipped
+ * without being decoded. Primitive columns are decoded straight from the binary encoding,
+ * while nested columns are decoded and converted exactly as the Connect based path would.
+ * Columns that are not projected are skipped in the same way as fields that are not columns,
+ * and are {@code null} in the row.
+ *
+ * <p>Values that are not records, or not prefixed with a schema id, are passed to the Connect
+ * based {@code delegate}, which is responsible for any error handling.
+ */
+final class AvroRowDeserializer implements Deserializer<GenericRow> {
+
+  private static final byte MAGIC_BYTE = 0x0;
+  private static final int SIZE_OF_SR_PREFIX = 1 + Integer.BYTES;
+
+  private final List<Field> columns;
+  private final List<Field> compatibleColumns;
+  private final SchemaRegistryClient srClient;
+  private final AvroData avroData;
+  private final Deserializer<Object> delegate;
+  private final int additionalCapacity;
+  private final Optional<Set<Integer>> projectedFields;
+  private final Map<Integer, Optional<RowReader>> readers = new ConcurrentHashMap<>();
+
+  AvroRowDeserializer(
+      final PersistenceSchema physicalSchema,
+      final String schemaFullName,
+      final SchemaRegistryClient srClient,
+      final AvroData avroData,
+      final Deserializer<Object> delegate,
+      final int additionalCapacity,
+      final Optional<Set<Integer>> projectedFields
+  ) {
+    final Schema schema = physicalSchema.serializedSchema();
+    this.columns = schema.fields();
+    this.compatibleColumns = AvroSchemas
+        .getAvroCompatibleConnectSchema(schema, schemaFullName)
+        .fields();
+    this.srClient = Objects.requireNonNull(srClient, "srClient");
+    this.avroData = Objects.requireNonNull(avroData, "avroData");
+    this.delegate = Objects.requireNonNull(delegate, "delegate");
+    this.additionalCapacity = additionalCapacity;
+    this.projectedFields = Objects.requireNonNull(projectedFields, "projectedFields");
+  }
+
+  @Override
+  public void configure(final Map<String, ?> configs, final boolean isKey) {
+    delegate.configure(configs, isKey);
+  }
+
+  @Override
+  public GenericRow deserialize(final String topic, final byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+
+    if (bytes.length < SIZE_OF_SR_PREFIX || bytes[0] != MAGIC_BYTE) {
+      return toRow(delegate.deserialize(topic, bytes));
+    }
+
+    try {
+      final int schemaId = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+      final Optional<RowReader> reader = readers.computeIfAbsent(schemaId, this::resolve);
+      if (!reader.isPresent()) {
+        return toRow(delegate.deserialize(topic, bytes));
+      }
+
+      final BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(
+          bytes, SIZE_OF_SR_PREFIX, bytes.length - SIZE_OF_SR_PREFIX, null);
+
+      return reader.get().read(decoder);
+    } catch (final SerializationException e) {
+      throw e;
+    } catch (final Exception e) {
+      throw new SerializationException(
+          "Error deserializing message from topic: " + topic, e);
+    }
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  private Optional<RowReader> resolve(final int schemaId) {
+    final ParsedSchema parsed;
+    try {
+      parsed = srClient.getSchemaById(schemaId);
+    } catch (final IOException | RestClientException e) {
+      throw new SerializationException("Error retrieving AVRO schema for id " + schemaId, e);
+    }
+
+    if (!(parsed instanceof AvroSchema)) {
+      return Optional.empty();
+    }
+
+    final org.apache.avro.Schema writerSchema = ((AvroSchema) parsed).rawSchema();
+    if (writerSchema.getType() != org.apache.avro.Schema.Type.RECORD) {
+      return Optional.empty();
+    }
+
+    return Optional.of(new RowReader(writerSchema));
+  }
+
+  private GenericRow toRow(final Object value) {
+    if (value == null) {
+      return null;
+    }
+
+    final Struct struct = (Struct) value;
+    final GenericRow row = new GenericRow(columns.size() + additionalCapacity);
+    for (final Field field : columns) {
+      row.append(struct.get(field));
+    }
+    return row;
+  }
+
+  private interface FieldReader {
+
+    Object read(Decoder decoder) throws IOException;
+  }
+
+  /**
+   * Reads records written with a specific writer schema.
+   */
+  private final class RowReader {
+
+    private final org.apache.avro.Schema[] fieldSchemas;
+    private final int[] columnIndexes;
+    private final FieldReader[] fieldReaders;
+
+    RowReader(final org.apache.avro.Schema writerSchema) {
+      final List<org.apache.avro.Schema.Field> fields = writerSchema.getFields();
+      this.fieldSchemas = new org.apache.avro.Schema[fields.size()];
+      this.columnIndexes = new int[fields.size()];
+      this.fieldReaders = new FieldReader[fields.size()];
+
+      // Matching mirrors ConnectDataTranslator: column names are matched case-insensitively,
+      // with the last field of the writer schema taking precedence:
+      final Map<String, Integer> fieldIndexes = new HashMap<>();
+      for (int i = 0; i < fields.size(); i++) {
+        fieldSchemas[i] = fields.get(i).schema();
+        columnIndexes[i] = -1;
+        fieldIndexes.put(fields.get(i).name().toUpperCase(), i);
+      }
+
+      for (int c = 0; c < compatibleColumns.size(); c++) {
+        if (!isProjected(c)) {
+          continue;
+        }
+
+        final Integer idx = fieldIndexes.get(compatibleColumns.get(c).name().toUpperCase());
+        if (idx != null) {
+          columnIndexes[idx] = c;
+          fieldReaders[idx] = fieldReader(fieldSchemas[idx], c);
+        }
+      }
+    }
+
+    GenericRow read(final Decoder decoder) throws IOException {
+      final Object[] values = new Object[columns.size()];
+      for (int i = 0; i < fieldSchemas.length; i++) {
+        final int idx = columnIndexes[i];
+        if (idx < 0) {
+          GenericDatumReader.skip(fieldSchemas[i], decoder);
+        } else {
+          values[idx] = fieldReaders[i].read(decoder);
+        }
+      }
+
+      final GenericRow row = new GenericRow(values.length + additionalCapacity);
+      for (final Object value : values) {
+        row.append(value);
+      }
+      return row;
+    }
+
+    private boolean isProjected(final int column) {
+      return projectedFields.map(p -> p.contains(column)).orElse(true);
+    }
+
+    private FieldReader fieldReader(final org.apache.avro.Schema writer, final int column) {
+      final Schema columnSchema = columns.get(column).schema();
+      final Optional<FieldReader> primitive = primitiveReader(writer, columnSchema);
+      if (primitive.isPresent()) {
+        return primitive.get();
+      }
+
+      final GenericDatumReader<Object> reader = new GenericDatumReader<>(writer);
+      final ConnectDataTranslator translator =
+          new ConnectDataTranslator(compatibleColumns.get(column).schema());
+
+      return decoder -> {
+        final Object avroValue = reader.read(null, decoder);
+        final SchemaAndValue connectValue = avroData.toConnectData(writer, avroValue);
+        final Object compatible = translator.toKsqlRow(connectValue.schema(), connectValue.value());
+        return AvroDataTranslator.replaceSchema(columnSchema, compatible);
+      };
+    }
+  }
+
+  private static Optional<FieldReader> primitiveReader(
+      final org.apache.avro.Schema writer,
+      final Schema columnSchema
+  ) {
+    if (writer.getType() != org.apache.avro.Schema.Type.UNION) {
+      return nonNullReader(writer, columnSchema);
+    }
+
+    final List<org.apache.avro.Schema> types = writer.getTypes();
+    if (types.size() != 2) {
+      return Optional.empty();
+    }
+
+    final int nullIndex = types.get(0).getType() == org.apache.avro.Schema.Type.NULL ? 0 : 1;
+    if (types.get(nullIndex).getType() != org.apache.avro.Schema.Type.NULL) {
+      return Optional.empty();
+    }
+
+    return nonNullReader(types.get(1 - nullIndex), columnSchema)
+        .map(reader -> decoder -> {
+          if (decoder.readIndex() == nullIndex) {
+            decoder.readNull();
+            return null;
+          }
+          return reader.read(decoder);
+        });
+  }
+
+  // CHECKSTYLE_RULES.OFF: CyclomaticComplexity
+  private static Optional<FieldReader> nonNullReader(
+      final org.apache.avro.Schema writer,
+      final Schema columnSchema
+  ) {
+    // CHECKSTYLE_RULES.ON: CyclomaticComplexity
+    if (writer.getType() == org.apache.avro.Schema.Type.BYTES
+        && columnSchema.type() == Schema.Type.BYTES
+        && writer.getLogicalType() instanceof LogicalTypes.Decimal) {
+      final int scale = ((LogicalTypes.Decimal) writer.getLogicalType()).getScale();
+      return Optional.of(decoder -> readDecimal(decoder, scale));
+    }
+
+    // Logical types, e.g. dates, are converted by AvroData, so can not be read directly:
+    if (writer.getProp("logicalType") != null || writer.getProp("connect.name") != null) {
+      return Optional.empty();
+    }
+
+    // Conversions mirror those of ConnectDataTranslator:
+    final org.apache.avro.Schema.Type type = writer.getType();
+    switch (columnSchema.type()) {
+      case BOOLEAN:
+        return type == org.apache.avro.Schema.Type.BOOLEAN
+            ? Optional.of(Decoder::readBoolean)
+            : Optional.empty();
+      case INT32:
+        return type == org.apache.avro.Schema.Type.INT
+            ? Optional.of(Decoder::readInt)
+            : Optional.empty();
+      case INT64:
+        if (type == org.apache.avro.Schema.Type.INT) {
+          return Optional.of(decoder -> (long) decoder.readInt());
+        }
+        return type == org.apache.avro.Schema.Type.LONG
+            ? Optional.of(Decoder::readLong)
+            : Optional.empty();
+      case FLOAT64:
+        if (type == org.apache.avro.Schema.Type.FLOAT) {
+          return Optional.of(decoder -> (double) decoder.readFloat());
+        }
+        return type == org.apache.avro.Schema.Type.DOUBLE
+            ? Optional.of(Decoder::readDouble)
+            : Optional.empty();
+      case STRING:
+        return stringReader(type);
+      case BYTES:
+        return type == org.apache.avro.Schema.Type.BYTES
+            ? Optional.of(AvroRowDeserializer::readBytes)
+            : Optional.empty();
+      default:
+        return Optional.empty();
+    }
+  }
+
+  private static Optional<FieldReader> stringReader(final org.apache.avro.Schema.Type type) {
+    switch (type) {
+      case STRING:
+        return Optional.of(Decoder::readString);
+      case BOOLEAN:
+        return Optional.of(decoder -> String.valueOf(decoder.readBoolean()));
+      case INT:
+        return Optional.of(decoder -> String.valueOf(decoder.readInt()));
+      case LONG:
+        return Optional.of(decoder -> String.valueOf(decoder.readLong()));
+      case FLOAT:
+        return Optional.of(decoder -> String.valueOf(decoder.readFloat()));
+      case DOUBLE:
+        return Optional.of(decoder -> String.valueOf(decoder.readDouble()));
+      default:
+        return Optional.empty();
+    }
+  }
+
+  private static byte[] readBytes(final Decoder decoder) throws IOException {
+    final ByteBuffer buffer = decoder.readBytes(null);
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static BigDecimal readDecimal(final Decoder decoder, final int scale)
+      throws IOException {
+    final ByteBuffer buffer = decoder.readBytes(null);
+    final byte[] unscaled = new byte[buffer.remaining()];
+    buffer.get(unscaled);
+    return new BigDecimal(new BigInteger(unscaled), scale);
+  }
+}
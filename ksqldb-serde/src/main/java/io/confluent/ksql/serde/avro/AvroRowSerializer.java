@@ -0,0 +1,224 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.avro;
+
+import io.confluent.connect.avro.AvroData;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import io.confluent.kafka.serializers.NonRecordContainer;
+import io.confluent.kafka.serializers.subject.strategy.SubjectNameStrategy;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.Encoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.errors.DataException;
+
+/**
+ * Encodes a {@link GenericRow} directly into a binary AVRO record.
+ *
+ * <p>The AVRO schema is the one the Connect based path would register, and is registered, or
+ * looked up, once per subject. Primitive columns are encoded straight into the binary encoding,
+ * while nested columns are converted and encoded exactly as the Connect based path would.
+ */
+final class AvroRowSerializer implements Serializer<GenericRow> {
+
+  private static final byte MAGIC_BYTE = 0x0;
+
+  private final ConnectSchema schema;
+  private final AvroSchema avroSchema;
+  private final SchemaRegistryClient srClient;
+  private final boolean autoRegister;
+  private final SubjectNameStrategy subjectNameStrategy;
+  private final FieldWriter[] fieldWriters;
+  private final Map<String, Integer> schemaIds = new ConcurrentHashMap<>();
+
+  AvroRowSerializer(
+      final PersistenceSchema physicalSchema,
+      final String schemaFullName,
+      final SchemaRegistryClient srClient,
+      final AvroData avroData,
+      final Map<String, Object> avroConfig
+  ) {
+    this.schema = physicalSchema.serializedSchema();
+    this.srClient = Objects.requireNonNull(srClient, "srClient");
+
+    final Schema compatibleSchema =
+        AvroSchemas.getAvroCompatibleConnectSchema(schema, schemaFullName);
+    final org.apache.avro.Schema rawSchema = avroData.fromConnectSchema(compatibleSchema);
+    this.avroSchema = new AvroSchema(rawSchema);
+
+    final AbstractKafkaSchemaSerDeConfig serdeConfig = new AbstractKafkaSchemaSerDeConfig(
+        AbstractKafkaSchemaSerDeConfig.baseConfigDef(),
+        avroConfig
+    );
+    this.autoRegister = serdeConfig.autoRegisterSchema();
+    this.subjectNameStrategy = (SubjectNameStrategy) serdeConfig.valueSubjectNameStrategy();
+
+    final List<Field> columns = schema.fields();
+    final List<org.apache.avro.Schema.Field> avroFields = rawSchema.getFields();
+    this.fieldWriters = new FieldWriter[columns.size()];
+    for (int i = 0; i < columns.size(); i++) {
+      fieldWriters[i] = fieldWriter(
+          avroFields.get(i).schema(),
+          compatibleSchema.fields().get(i).schema(),
+          avroData
+      );
+    }
+  }
+
+  @Override
+  public byte[] serialize(final String topic, final GenericRow data) {
+    if (data == null) {
+      return null;
+    }
+
+    final List<Field> columns = schema.fields();
+    if (data.size() != columns.size()) {
+      throw new SerializationException("Field count mismatch."
+          + " expected: " + columns.size()
+          + ", got: " + data.size()
+      );
+    }
+
+    for (int i = 0; i < columns.size(); i++) {
+      ConnectSchema.validateValue(columns.get(i).name(), columns.get(i).schema(), data.get(i));
+    }
+
+    try {
+      final String subject = subjectNameStrategy.subjectName(topic, false, avroSchema);
+      final int schemaId = schemaIds.computeIfAbsent(subject, this::schemaId);
+
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      out.write(MAGIC_BYTE);
+      out.write(ByteBuffer.allocate(Integer.BYTES).putInt(schemaId).array());
+
+      final BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+      for (int i = 0; i < fieldWriters.length; i++) {
+        fieldWriters[i].write(data.get(i), encoder);
+      }
+      encoder.flush();
+
+      return out.toByteArray();
+    } catch (final Exception e) {
+      throw new SerializationException(
+          "Error serializing message to topic: " + topic, e);
+    }
+  }
+
+  private int schemaId(final String subject) {
+    try {
+      return autoRegister
+          ? srClient.register(subject, avroSchema)
+          : srClient.getId(subject, avroSchema);
+    } catch (final IOException | RestClientException e) {
+      throw new SerializationException("Error registering AVRO schema for " + subject, e);
+    }
+  }
+
+  private interface FieldWriter {
+
+    void write(Object value, Encoder encoder) throws IOException;
+  }
+
+  private static FieldWriter fieldWriter(
+      final org.apache.avro.Schema avroSchema,
+      final Schema compatibleSchema,
+      final AvroData avroData
+  ) {
+    if (avroSchema.getType() != org.apache.avro.Schema.Type.UNION) {
+      return nonNullWriter(avroSchema, compatibleSchema, avroData);
+    }
+
+    final List<org.apache.avro.Schema> types = avroSchema.getTypes();
+    final int nullIndex = types.get(0).getType() == org.apache.avro.Schema.Type.NULL ? 0 : 1;
+    final FieldWriter writer = nonNullWriter(types.get(1 - nullIndex), compatibleSchema, avroData);
+
+    return (value, encoder) -> {
+      if (value == null) {
+        encoder.writeIndex(nullIndex);
+        encoder.writeNull();
+      } else {
+        encoder.writeIndex(1 - nullIndex);
+        writer.write(value, encoder);
+      }
+    };
+  }
+
+  private static FieldWriter nonNullWriter(
+      final org.apache.avro.Schema avroSchema,
+      final Schema compatibleSchema,
+      final AvroData avroData
+  ) {
+    switch (compatibleSchema.type()) {
+      case BOOLEAN:
+        return (value, encoder) -> encoder.writeBoolean((Boolean) value);
+      case INT32:
+        return (value, encoder) -> encoder.writeInt((Integer) value);
+      case INT64:
+        return (value, encoder) -> encoder.writeLong((Long) value);
+      case FLOAT64:
+        return (value, encoder) -> encoder.writeDouble((Double) value);
+      case STRING:
+        return (value, encoder) -> encoder.writeString((String) value);
+      case BYTES:
+        if (!Decimal.LOGICAL_NAME.equals(compatibleSchema.name())) {
+          return (value, encoder) -> encoder.writeBytes((byte[]) value);
+        }
+        final int scale = Integer.parseInt(compatibleSchema.parameters().get(Decimal.SCALE_FIELD));
+        return (value, encoder) -> writeDecimal((BigDecimal) value, scale, encoder);
+      default:
+        final GenericDatumWriter<Object> writer = new GenericDatumWriter<>(avroSchema);
+        return (value, encoder) -> {
+          final Object compatible = AvroDataTranslator.replaceSchema(compatibleSchema, value);
+          Object avroValue = avroData.fromConnectData(compatibleSchema, compatible);
+          if (avroValue instanceof NonRecordContainer) {
+            avroValue = ((NonRecordContainer) avroValue).getValue();
+          }
+          writer.write(avroValue, encoder);
+        };
+    }
+  }
+
+  private static void writeDecimal(
+      final BigDecimal value,
+      final int scale,
+      final Encoder encoder
+  ) throws IOException {
+    // Mirrors Decimal.fromLogical, used by the Connect based path:
+    if (value.scale() != scale) {
+      throw new DataException("BigDecimal has mismatching scale value for given Decimal schema");
+    }
+    encoder.writeBytes(value.unscaledValue().toByteArray());
+  }
+}
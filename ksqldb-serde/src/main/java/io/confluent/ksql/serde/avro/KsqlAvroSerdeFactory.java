@@ -17,11 +17,15 @@ package io.confluent.ksql.serde.avro;
 
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.connect.avro.AvroConverter;
+import io.confluent.connect.avro.AvroData;
 import io.confluent.connect.avro.AvroDataConfig;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.serde.KsqlSerdeFactory;
+import io.confluent.ksql.serde.RowDeserializerFactory;
+import io.confluent.ksql.serde.RowSerializerFactory;
 import io.confluent.ksql.serde.connect.KsqlConnectDeserializer;
 import io.confluent.ksql.serde.connect.KsqlConnectSerializer;
 import io.confluent.ksql.serde.tls.ThreadLocalDeserializer;
@@ -29,6 +33,8 @@ import io.confluent.ksql.serde.tls.ThreadLocalSerializer;
 import io.confluent.ksql.util.KsqlConfig;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
@@ -73,6 +79,33 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
     serializerSupplier.get();
     deserializerSupplier.get();
 
+    if (!schema.isUnwrapped()
+        && ksqlConfig.getBoolean(KsqlConfig.KSQL_AVRO_NATIVE_SERDE_ENABLED_CONFIG)) {
+      final SchemaRegistryClient srClient = schemaRegistryClientFactory.get();
+      final Map<String, Object> avroConfig = getAvroConfig(ksqlConfig);
+      final AvroData avroData = new AvroData(new AvroDataConfig(avroConfig));
+
+      return Serdes.serdeFrom(
+          new NativeSerializer(
+              serializerSupplier,
+              () -> new AvroRowSerializer(
+                  schema, fullSchemaName, srClient, avroData, avroConfig)
+          ),
+          new NativeDeserializer(
+              deserializerSupplier,
+              (delegate, additionalCapacity, projectedFields) -> new AvroRowDeserializer(
+                  schema,
+                  fullSchemaName,
+                  srClient,
+                  avroData,
+                  delegate,
+                  additionalCapacity,
+                  projectedFields
+              )
+          )
+      );
+    }
+
     return Serdes.serdeFrom(
         new ThreadLocalSerializer<>(serializerSupplier),
         new ThreadLocalDeserializer<>(deserializerSupplier)
@@ -135,7 +168,11 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
       final KsqlConfig ksqlConfig
   ) {
     final AvroConverter avroConverter = new AvroConverter(schemaRegistryClient);
+    avroConverter.configure(getAvroConfig(ksqlConfig), false);
+    return avroConverter;
+  }
 
+  private static Map<String, Object> getAvroConfig(final KsqlConfig ksqlConfig) {
     final Map<String, Object> avroConfig = ksqlConfig
         .originalsWithPrefix(KsqlConfig.KSQL_SCHEMA_REGISTRY_PREFIX);
 
@@ -143,8 +180,70 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
         ksqlConfig.getString(KsqlConfig.SCHEMA_REGISTRY_URL_PROPERTY));
 
     avroConfig.put(AvroDataConfig.CONNECT_META_DATA_CONFIG, false);
+    return avroConfig;
+  }
 
-    avroConverter.configure(avroConfig, false);
-    return avroConverter;
+  /**
+   * Serializes via the Connect API, unless wrapped by a {@code GenericRowSerde}, in which case
+   * rows are encoded directly.
+   */
+  private static final class NativeSerializer
+      extends ThreadLocalSerializer<Object> implements RowSerializerFactory {
+
+    private final Supplier<Serializer<GenericRow>> rowSerializerSupplier;
+
+    NativeSerializer(
+        final Supplier<Serializer<Object>> serializerSupplier,
+        final Supplier<Serializer<GenericRow>> rowSerializerSupplier
+    ) {
+      super(serializerSupplier);
+      this.rowSerializerSupplier = Objects.requireNonNull(rowSerializerSupplier, "rowSerializer");
+    }
+
+    @Override
+    public Serializer<GenericRow> createRowSerializer() {
+      return rowSerializerSupplier.get();
+    }
+  }
+
+  /**
+   * Deserializes via the Connect API, unless wrapped by a {@code GenericRowSerde}, in which case
+   * rows are decoded directly.
+   */
+  private static final class NativeDeserializer
+      extends ThreadLocalDeserializer<Object> implements RowDeserializerFactory {
+
+    private final RowDeserializerSupplier factory;
+
+    NativeDeserializer(
+        final Supplier<Deserializer<Object>> deserializerSupplier,
+        final RowDeserializerSupplier factory
+    ) {
+      super(deserializerSupplier);
+      this.factory = Objects.requireNonNull(factory, "factory");
+    }
+
+    @Override
+    public Deserializer<GenericRow> createRowDeserializer(final int additionalCapacity) {
+      return factory.get(this, additionalCapacity, Optional.empty());
+    }
+
+    @Override
+    public Deserializer<GenericRow> createRowDeserializer(
+        final int additionalCapacity,
+        final Set<Integer> projectedFields
+    ) {
+      return factory.get(this, additionalCapacity, Optional.of(projectedFields));
+    }
+  }
+
+  @FunctionalInterface
+  private interface RowDeserializerSupplier {
+
+    Deserializer<GenericRow> get(
+        Deserializer<Object> delegate,
+        int additionalCapacity,
+        Optional<Set<Integer>> projectedFields
+    );
   }
 }
@@ -18,6 +18,7 @@ package io.confluent.ksql.serde.connect;
 import io.confluent.ksql.util.DecimalUtil;
 import io.confluent.ksql.util.KsqlPreconditions;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -168,7 +169,11 @@ public class ConnectDataTranslator implements DataTranslator {
         validateType(pathStr, schema, connectSchema, FLOAT64_ACCEPTABLE_TYPES);
         break;
       case BYTES:
-        validateType(pathStr, schema, connectSchema, s -> Decimal.LOGICAL_NAME.equals(s.name()));
+        if (DecimalUtil.isDecimal(schema)) {
+          validateType(pathStr, schema, connectSchema, DecimalUtil::isDecimal);
+        } else {
+          validateType(pathStr, schema, connectSchema, ConnectDataTranslator::isPlainBytes);
+        }
         break;
       default:
         throw new RuntimeException(
@@ -247,13 +252,28 @@ public class ConnectDataTranslator implements DataTranslator {
       final Object convertedValue,
       final Schema schema
   ) {
-    KsqlPreconditions.checkArgument(DecimalUtil.isDecimal(schema), "BYTES type must be DECIMAL");
+    if (!DecimalUtil.isDecimal(schema)) {
+      return convertedValue instanceof ByteBuffer
+          ? toByteArray((ByteBuffer) convertedValue)
+          : convertedValue;
+    }
+
     KsqlPreconditions.checkArgument(convertedValue instanceof BigDecimal,
         "must serialize decimal type as BigDecimal. Got: " + convertedValue.getClass());
 
     return convertedValue;
   }
 
+  private static boolean isPlainBytes(final Schema connectSchema) {
+    return connectSchema.type() == Schema.Type.BYTES && !DecimalUtil.isDecimal(connectSchema);
+  }
+
+  private static byte[] toByteArray(final ByteBuffer buffer) {
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+
   private List<?> toKsqlArray(
       final Schema valueSchema,
       final Schema connectValueSchema,
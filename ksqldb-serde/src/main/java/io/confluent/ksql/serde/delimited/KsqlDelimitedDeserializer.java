@@ -16,15 +16,20 @@
 package io.confluent.ksql.serde.delimited;
 
 import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.serde.RowDeserializerFactory;
 import io.confluent.ksql.util.DecimalUtil;
 import io.confluent.ksql.util.KsqlException;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
@@ -37,7 +42,7 @@ import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Schema.Type;
 import org.apache.kafka.connect.data.Struct;
 
-public class KsqlDelimitedDeserializer implements Deserializer<Object> {
+public class KsqlDelimitedDeserializer implements Deserializer<Object>, RowDeserializerFactory {
 
   private static final Map<Type, Function<String, Object>> PARSERS = ImmutableMap.of(
       Type.BOOLEAN, Boolean::parseBoolean,
@@ -70,28 +75,7 @@ public class KsqlDelimitedDeserializer implements Deserializer<Object> {
     }
 
     try {
-      final String recordCsvString = new String(bytes, StandardCharsets.UTF_8);
-      final List<CSVRecord> csvRecords = CSVParser.parse(recordCsvString, csvFormat)
-          .getRecords();
-
-      if (csvRecords.isEmpty()) {
-        throw new KsqlException("No fields in record");
-      }
-
-      final CSVRecord csvRecord = csvRecords.get(0);
-      if (csvRecord == null || csvRecord.size() == 0) {
-        throw new KsqlException("No fields in record.");
-      }
-
-      if (csvRecord.size() != schema.fields().size()) {
-        throw new KsqlException(
-            String.format(
-                "Unexpected field count, csvFields:%d schemaFields:%d",
-              csvRecord.size(),
-                schema.fields().size()
-          )
-        );
-      }
+      final CSVRecord csvRecord = parse(bytes);
 
       final Struct struct = new Struct(schema);
 
@@ -113,10 +97,50 @@ public class KsqlDelimitedDeserializer implements Deserializer<Object> {
     }
   }
 
+  @Override
+  public Deserializer<GenericRow> createRowDeserializer(final int additionalCapacity) {
+    return new RowDeserializer(additionalCapacity, Optional.empty());
+  }
+
+  @Override
+  public Deserializer<GenericRow> createRowDeserializer(
+      final int additionalCapacity,
+      final Set<Integer> projectedFields
+  ) {
+    return new RowDeserializer(additionalCapacity, Optional.of(projectedFields));
+  }
+
   @Override
   public void close() {
   }
 
+  private CSVRecord parse(final byte[] bytes) throws IOException {
+    final String recordCsvString = new String(bytes, StandardCharsets.UTF_8);
+    final List<CSVRecord> csvRecords = CSVParser.parse(recordCsvString, csvFormat)
+        .getRecords();
+
+    if (csvRecords.isEmpty()) {
+      throw new KsqlException("No fields in record");
+    }
+
+    final CSVRecord csvRecord = csvRecords.get(0);
+    if (csvRecord == null || csvRecord.size() == 0) {
+      throw new KsqlException("No fields in record.");
+    }
+
+    if (csvRecord.size() != schema.fields().size()) {
+      throw new KsqlException(
+          String.format(
+              "Unexpected field count, csvFields:%d schemaFields:%d",
+            csvRecord.size(),
+              schema.fields().size()
+        )
+      );
+    }
+
+    return csvRecord;
+  }
+
   private static Object enforceFieldType(
       final Schema fieldSchema,
       final String delimitedField
@@ -150,4 +174,46 @@ public class KsqlDelimitedDeserializer implements Deserializer<Object> {
       }
     });
   }
+
+  /**
+   * Builds rows directly, without first building a {@link Struct}. Fields that are not projected
+   * are not coerced to their column's type, and are {@code null} in the row.
+   */
+  private final class RowDeserializer implements Deserializer<GenericRow> {
+
+    private final int additionalCapacity;
+    private final boolean[] projected;
+
+    RowDeserializer(final int additionalCapacity, final Optional<Set<Integer>> projectedFields) {
+      this.additionalCapacity = additionalCapacity;
+      this.projected = new boolean[schema.fields().size()];
+      for (int i = 0; i < projected.length; i++) {
+        final int idx = i;
+        projected[i] = projectedFields.map(p -> p.contains(idx)).orElse(true);
+      }
+    }
+
+    @Override
+    public GenericRow deserialize(final String topic, final byte[] bytes) {
+      if (bytes == null) {
+        return null;
+      }
+
+      try {
+        final CSVRecord csvRecord = parse(bytes);
+
+        final List<Field> fields = schema.fields();
+        final GenericRow row = new GenericRow(fields.size() + additionalCapacity);
+        for (int i = 0; i < csvRecord.size(); i++) {
+          final String value = csvRecord.get(i);
+          row.append(value == null || !projected[i]
+              ? null
+              : enforceFieldType(fields.get(i).schema(), value));
+        }
+        return row;
+      } catch (final Exception e) {
+        throw new SerializationException("Error deserializing delimited row", e);
+      }
+    }
+  }
 }
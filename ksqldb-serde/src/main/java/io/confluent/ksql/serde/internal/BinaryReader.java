@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.kafka.common.errors.SerializationException;
+
+/**
+ * Reads the primitive encodings written by {@link BinaryWriter}.
+ */
+final class BinaryReader {
+
+  private final byte[] bytes;
+  private int position;
+
+  BinaryReader(final byte[] bytes) {
+    this.bytes = bytes;
+  }
+
+  boolean hasRemaining() {
+    return position < bytes.length;
+  }
+
+  boolean readBoolean() {
+    return readByte() != 0;
+  }
+
+  long readVarLong() {
+    final long raw = readUnsignedVarLong();
+    return (raw >>> 1) ^ -(raw & 1);
+  }
+
+  long readUnsignedVarLong() {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      final byte b = readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new SerializationException("Malformed varint");
+  }
+
+  double readDouble() {
+    require(Double.BYTES);
+
+    long bits = 0;
+    for (int i = 0; i < Double.BYTES; i++) {
+      bits = (bits << 8) | (bytes[position++] & 0xFF);
+    }
+    return Double.longBitsToDouble(bits);
+  }
+
+  byte[] readBytes() {
+    final int length = readLength();
+    require(length);
+
+    final byte[] result = Arrays.copyOfRange(bytes, position, position + length);
+    position += length;
+    return result;
+  }
+
+  String readString() {
+    final int length = readLength();
+    require(length);
+
+    final String result = new String(bytes, position, length, StandardCharsets.UTF_8);
+    position += length;
+    return result;
+  }
+
+  int readLength() {
+    final long length = readUnsignedVarLong();
+    if (length > bytes.length - position) {
+      throw new SerializationException("Length exceeds remaining bytes: " + length);
+    }
+    return (int) length;
+  }
+
+  int readCount() {
+    final long count = readUnsignedVarLong();
+    if (count > Integer.MAX_VALUE) {
+      throw new SerializationException("Invalid count: " + count);
+    }
+    return (int) count;
+  }
+
+  /**
+   * Read a null bitmap covering {@code count} values.
+   *
+   * @return the offset of the bitmap, to pass to {@link #isNull}.
+   */
+  int readNullBitmap(final int count) {
+    final int size = (int) ((count + 7L) / 8);
+    require(size);
+
+    final int offset = position;
+    position += size;
+    return offset;
+  }
+
+  boolean isNull(final int bitmapOffset, final int index) {
+    return (bytes[bitmapOffset + index / 8] & (1 << (index % 8))) != 0;
+  }
+
+  private byte readByte() {
+    require(1);
+    return bytes[position++];
+  }
+
+  private void require(final int count) {
+    if (bytes.length - position < count) {
+      throw new SerializationException("Unexpected end of data");
+    }
+  }
+}
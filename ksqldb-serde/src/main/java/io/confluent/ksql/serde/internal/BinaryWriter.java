@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.internal;
+
+import java.util.Arrays;
+
+/**
+ * A growable byte buffer with the primitive encodings used by the internal format.
+ *
+ * <p>Not thread safe. Instances are reused by a single thread between records.
+ */
+final class BinaryWriter {
+
+  private static final int INITIAL_CAPACITY = 256;
+  private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+  private byte[] buffer = new byte[INITIAL_CAPACITY];
+  private int position;
+
+  void reset() {
+    if (buffer.length > MAX_RETAINED_CAPACITY) {
+      buffer = new byte[INITIAL_CAPACITY];
+    }
+    position = 0;
+  }
+
+  byte[] toByteArray() {
+    return Arrays.copyOf(buffer, position);
+  }
+
+  void writeBoolean(final boolean value) {
+    ensureCapacity(1);
+    buffer[position++] = value ? (byte) 1 : (byte) 0;
+  }
+
+  /**
+   * Write a signed value as a zig-zag encoded varint.
+   */
+  void writeVarLong(final long value) {
+    writeUnsignedVarLong((value << 1) ^ (value >> 63));
+  }
+
+  void writeUnsignedVarLong(final long value) {
+    ensureCapacity(10);
+
+    long remaining = value;
+    while ((remaining & ~0x7FL) != 0) {
+      buffer[position++] = (byte) ((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    buffer[position++] = (byte) remaining;
+  }
+
+  void writeDouble(final double value) {
+    ensureCapacity(Double.BYTES);
+
+    final long bits = Double.doubleToLongBits(value);
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      buffer[position++] = (byte) (bits >>> shift);
+    }
+  }
+
+  /**
+   * Write the length of the supplied {@code bytes} followed by the bytes themselves.
+   */
+  void writeBytes(final byte[] bytes) {
+    writeUnsignedVarLong(bytes.length);
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, buffer, position, bytes.length);
+    position += bytes.length;
+  }
+
+  /**
+   * Reserve space for a null bitmap covering {@code count} values.
+   *
+   * @return the offset of the bitmap, to pass to {@link #setNull}.
+   */
+  int reserveNullBitmap(final int count) {
+    final int size = (int) ((count + 7L) / 8);
+    ensureCapacity(size);
+
+    final int offset = position;
+    Arrays.fill(buffer, offset, offset + size, (byte) 0);
+    position += size;
+    return offset;
+  }
+
+  void setNull(final int bitmapOffset, final int index) {
+    buffer[bitmapOffset + index / 8] |= (byte) (1 << (index % 8));
+  }
+
+  private void ensureCapacity(final int required) {
+    if (position + required <= buffer.length) {
+      return;
+    }
+
+    buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + required));
+  }
+}
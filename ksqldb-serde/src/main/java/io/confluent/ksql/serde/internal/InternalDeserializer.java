@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.serde.RowDeserializerFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.Schema;
+
+/**
+ * Deserializer for the {@link InternalFormat}.
+ */
+final class InternalDeserializer implements Deserializer<Object>, RowDeserializerFactory {
+
+  private final Schema schema;
+
+  InternalDeserializer(final Schema schema) {
+    this.schema = requireNonNull(schema, "schema");
+  }
+
+  @Override
+  public Object deserialize(final String topic, final byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+
+    try {
+      final BinaryReader reader = new BinaryReader(bytes);
+      final Object value = InternalValueCodec.read(schema, reader);
+      checkFullyConsumed(reader);
+      return value;
+    } catch (final Exception e) {
+      throw new SerializationException(
+          "Error deserializing " + InternalFormat.NAME + " message from topic: " + topic, e);
+    }
+  }
+
+  @Override
+  public Deserializer<GenericRow> createRowDeserializer(final int additionalCapacity) {
+    return new RowDeserializer(additionalCapacity);
+  }
+
+  private static void checkFullyConsumed(final BinaryReader reader) {
+    if (reader.hasRemaining()) {
+      throw new SerializationException("Unexpected trailing bytes");
+    }
+  }
+
+  private final class RowDeserializer implements Deserializer<GenericRow> {
+
+    private final int additionalCapacity;
+
+    RowDeserializer(final int additionalCapacity) {
+      this.additionalCapacity = additionalCapacity;
+    }
+
+    @Override
+    public GenericRow deserialize(final String topic, final byte[] bytes) {
+      if (bytes == null) {
+        return null;
+      }
+
+      try {
+        final BinaryReader reader = new BinaryReader(bytes);
+        final GenericRow row =
+            InternalValueCodec.readRow(schema.fields(), reader, additionalCapacity);
+        checkFullyConsumed(reader);
+        return row;
+      } catch (final Exception e) {
+        throw new SerializationException(
+            "Error deserializing " + InternalFormat.NAME + " message from topic: " + topic, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.internal;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.serde.Format;
+import io.confluent.ksql.serde.FormatInfo;
+import io.confluent.ksql.serde.KsqlSerdeFactory;
+import io.confluent.ksql.util.KsqlException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compact, positional binary format for the values of a query's internal topics, i.e. its
+ * repartition and changelog topics, and of the aggregate state stores backed by them.
+ *
+ * <p>The data is only ever read by the query that wrote it, which knows the schema. Hence the
+ * format contains no field names, type information or schema registry ids. See
+ * {@link InternalValueCodec} for the encoding.
+ *
+ * <p>The version of the encoding is held in the {@link #VERSION} property, which is stored in the
+ * query's plan. Queries therefore continue to read and write their internal topics in the version
+ * they were created with.
+ */
+public final class InternalFormat implements Format {
+
+  public static final String NAME = "KSQL_INTERNAL";
+  public static final String VERSION = "version";
+  public static final String CURRENT_VERSION = "1";
+
+  /**
+   * The format info for the current version of the format.
+   */
+  public static final FormatInfo FORMAT_INFO =
+      FormatInfo.of(NAME, ImmutableMap.of(VERSION, CURRENT_VERSION));
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public Set<String> getSupportedProperties() {
+    return ImmutableSet.of(VERSION);
+  }
+
+  @Override
+  public Set<String> getInheritableProperties() {
+    return ImmutableSet.of();
+  }
+
+  @Override
+  public void validateProperties(final Map<String, String> properties) {
+    Format.super.validateProperties(properties);
+
+    final String version = properties.get(VERSION);
+    if (!CURRENT_VERSION.equals(version)) {
+      throw new KsqlException(NAME + " format version not supported: " + version);
+    }
+  }
+
+  @Override
+  public KsqlSerdeFactory getSerdeFactory(final FormatInfo info) {
+    return new InternalSerdeFactory();
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.serde.RowSerializerFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.Schema;
+
+/**
+ * Serializer for the {@link InternalFormat}.
+ *
+ * <p>Each thread reuses its own buffer, so only the final byte array is allocated per record.
+ */
+final class InternalSerializer implements Serializer<Object>, RowSerializerFactory {
+
+  private final Schema schema;
+  private final ThreadLocal<BinaryWriter> writers = ThreadLocal.withInitial(BinaryWriter::new);
+
+  InternalSerializer(final Schema schema) {
+    this.schema = requireNonNull(schema, "schema");
+  }
+
+  @Override
+  public byte[] serialize(final String topic, final Object value) {
+    if (value == null) {
+      return null;
+    }
+
+    try {
+      final BinaryWriter writer = writers.get();
+      writer.reset();
+      InternalValueCodec.write(schema, value, writer);
+      return writer.toByteArray();
+    } catch (final Exception e) {
+      throw new SerializationException(
+          "Error serializing " + InternalFormat.NAME + " message from topic: " + topic, e);
+    }
+  }
+
+  @Override
+  public Serializer<GenericRow> createRowSerializer() {
+    return new RowSerializer();
+  }
+
+  private final class RowSerializer implements Serializer<GenericRow> {
+
+    @Override
+    public byte[] serialize(final String topic, final GenericRow row) {
+      if (row == null) {
+        return null;
+      }
+
+      try {
+        final BinaryWriter writer = writers.get();
+        writer.reset();
+        InternalValueCodec.writeRow(schema.fields(), row, writer);
+        return writer.toByteArray();
+      } catch (final Exception e) {
+        throw new SerializationException(
+            "Error serializing " + InternalFormat.NAME + " message from topic: " + topic, e);
+      }
+    }
+  }
+}
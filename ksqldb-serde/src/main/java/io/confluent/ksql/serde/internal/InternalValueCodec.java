@@ -0,0 +1,287 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.internal;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.util.KsqlException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Schema driven encoding of values in version 1 of the {@link InternalFormat}.
+ *
+ * <p>Values are written positionally, without field names or type information:
+ * <ul>
+ *   <li>BOOLEAN: a single byte.</li>
+ *   <li>INT and BIGINT: zig-zag encoded varints.</li>
+ *   <li>DOUBLE: eight bytes.</li>
+ *   <li>STRING: a varint length followed by the UTF-8 bytes.</li>
+ *   <li>BYTES: a varint length followed by the bytes.</li>
+ *   <li>DECIMAL: a zig-zag varint scale, then a varint length followed by the bytes of the
+ *   unscaled value.</li>
+ *   <li>STRUCT: a null bitmap with a bit per field, followed by the non-null fields in order.</li>
+ *   <li>ARRAY: a varint element count and a null bitmap with a bit per element, followed by the
+ *   non-null elements.</li>
+ *   <li>MAP: a varint entry count and a null bitmap with a bit per value, followed by each key
+ *   and its value, if non-null.</li>
+ * </ul>
+ *
+ * <p>A row is written as a STRUCT.
+ */
+final class InternalValueCodec {
+
+  private InternalValueCodec() {
+  }
+
+  static void validate(final Schema schema) {
+    if (Decimal.LOGICAL_NAME.equals(schema.name())) {
+      return;
+    }
+
+    switch (schema.type()) {
+      case BOOLEAN:
+      case INT32:
+      case INT64:
+      case FLOAT64:
+      case STRING:
+      case BYTES:
+        return;
+      case ARRAY:
+        validate(schema.valueSchema());
+        return;
+      case MAP:
+        validate(schema.keySchema());
+        validate(schema.valueSchema());
+        return;
+      case STRUCT:
+        schema.fields().forEach(field -> validate(field.schema()));
+        return;
+      default:
+        throw new KsqlException("The " + InternalFormat.NAME + " format does not support type: "
+            + schema.type());
+    }
+  }
+
+  static void writeRow(final List<Field> fields, final GenericRow row, final BinaryWriter out) {
+    if (row.size() != fields.size()) {
+      throw new SerializationException("Column count mismatch on serialization."
+          + " expected: " + fields.size()
+          + ", got: " + row.size()
+      );
+    }
+
+    final int bitmap = out.reserveNullBitmap(fields.size());
+    for (int idx = 0; idx < fields.size(); idx++) {
+      final Object value = row.get(idx);
+      if (value == null) {
+        out.setNull(bitmap, idx);
+      } else {
+        write(fields.get(idx).schema(), value, out);
+      }
+    }
+  }
+
+  static GenericRow readRow(
+      final List<Field> fields,
+      final BinaryReader in,
+      final int additionalCapacity
+  ) {
+    final GenericRow row = new GenericRow(fields.size() + additionalCapacity);
+
+    final int bitmap = in.readNullBitmap(fields.size());
+    for (int idx = 0; idx < fields.size(); idx++) {
+      row.append(in.isNull(bitmap, idx) ? null : read(fields.get(idx).schema(), in));
+    }
+
+    return row;
+  }
+
+  static void write(final Schema schema, final Object value, final BinaryWriter out) {
+    if (Decimal.LOGICAL_NAME.equals(schema.name())) {
+      final BigDecimal decimal = (BigDecimal) value;
+      out.writeVarLong(decimal.scale());
+      out.writeBytes(decimal.unscaledValue().toByteArray());
+      return;
+    }
+
+    switch (schema.type()) {
+      case BOOLEAN:
+        out.writeBoolean((Boolean) value);
+        return;
+      case INT32:
+      case INT64:
+        out.writeVarLong(((Number) value).longValue());
+        return;
+      case FLOAT64:
+        out.writeDouble(((Number) value).doubleValue());
+        return;
+      case STRING:
+        out.writeBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+        return;
+      case BYTES:
+        out.writeBytes((byte[]) value);
+        return;
+      case ARRAY:
+        writeArray(schema, (List<?>) value, out);
+        return;
+      case MAP:
+        writeMap(schema, (Map<?, ?>) value, out);
+        return;
+      case STRUCT:
+        writeStruct(schema, (Struct) value, out);
+        return;
+      default:
+        throw new SerializationException("Unsupported type: " + schema.type());
+    }
+  }
+
+  static Object read(final Schema schema, final BinaryReader in) {
+    if (Decimal.LOGICAL_NAME.equals(schema.name())) {
+      final int scale = Math.toIntExact(in.readVarLong());
+      return new BigDecimal(new BigInteger(in.readBytes()), scale);
+    }
+
+    switch (schema.type()) {
+      case BOOLEAN:
+        return in.readBoolean();
+      case INT32:
+        return Math.toIntExact(in.readVarLong());
+      case INT64:
+        return in.readVarLong();
+      case FLOAT64:
+        return in.readDouble();
+      case STRING:
+        return in.readString();
+      case BYTES:
+        return in.readBytes();
+      case ARRAY:
+        return readArray(schema, in);
+      case MAP:
+        return readMap(schema, in);
+      case STRUCT:
+        return readStruct(schema, in);
+      default:
+        throw new SerializationException("Unsupported type: " + schema.type());
+    }
+  }
+
+  private static void writeArray(
+      final Schema schema,
+      final List<?> array,
+      final BinaryWriter out
+  ) {
+    out.writeUnsignedVarLong(array.size());
+
+    final int bitmap = out.reserveNullBitmap(array.size());
+    for (int idx = 0; idx < array.size(); idx++) {
+      final Object element = array.get(idx);
+      if (element == null) {
+        out.setNull(bitmap, idx);
+      } else {
+        write(schema.valueSchema(), element, out);
+      }
+    }
+  }
+
+  private static List<?> readArray(final Schema schema, final BinaryReader in) {
+    final int size = in.readCount();
+    final int bitmap = in.readNullBitmap(size);
+
+    final List<Object> array = new ArrayList<>(size);
+    for (int idx = 0; idx < size; idx++) {
+      array.add(in.isNull(bitmap, idx) ? null : read(schema.valueSchema(), in));
+    }
+    return array;
+  }
+
+  private static void writeMap(
+      final Schema schema,
+      final Map<?, ?> map,
+      final BinaryWriter out
+  ) {
+    out.writeUnsignedVarLong(map.size());
+
+    final int bitmap = out.reserveNullBitmap(map.size());
+    int idx = 0;
+    for (final Map.Entry<?, ?> entry : map.entrySet()) {
+      if (entry.getKey() == null) {
+        throw new SerializationException("Map keys can not be null");
+      }
+
+      write(schema.keySchema(), entry.getKey(), out);
+
+      if (entry.getValue() == null) {
+        out.setNull(bitmap, idx);
+      } else {
+        write(schema.valueSchema(), entry.getValue(), out);
+      }
+      idx++;
+    }
+  }
+
+  private static Map<?, ?> readMap(final Schema schema, final BinaryReader in) {
+    final int size = in.readCount();
+    final int bitmap = in.readNullBitmap(size);
+
+    final Map<Object, Object> map = new HashMap<>();
+    for (int idx = 0; idx < size; idx++) {
+      final Object key = read(schema.keySchema(), in);
+      map.put(key, in.isNull(bitmap, idx) ? null : read(schema.valueSchema(), in));
+    }
+    return map;
+  }
+
+  private static void writeStruct(
+      final Schema schema,
+      final Struct struct,
+      final BinaryWriter out
+  ) {
+    final List<Field> fields = schema.fields();
+
+    final int bitmap = out.reserveNullBitmap(fields.size());
+    for (int idx = 0; idx < fields.size(); idx++) {
+      final Object value = struct.get(fields.get(idx));
+      if (value == null) {
+        out.setNull(bitmap, idx);
+      } else {
+        write(fields.get(idx).schema(), value, out);
+      }
+    }
+  }
+
+  private static Struct readStruct(final Schema schema, final BinaryReader in) {
+    final List<Field> fields = schema.fields();
+    final Struct struct = new Struct(schema);
+
+    final int bitmap = in.readNullBitmap(fields.size());
+    for (int idx = 0; idx < fields.size(); idx++) {
+      if (!in.isNull(bitmap, idx)) {
+        struct.put(fields.get(idx), read(fields.get(idx).schema(), in));
+      }
+    }
+    return struct;
+  }
+}
@@ -27,10 +27,13 @@ import com.fasterxml.jackson.databind.node.NumericNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.connect.SqlSchemaFormatter;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.serde.RowDeserializerFactory;
 import io.confluent.ksql.util.DecimalUtil;
 import io.confluent.ksql.util.KsqlException;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -39,6 +42,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.kafka.common.errors.SerializationException;
@@ -52,7 +57,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 // CHECKSTYLE_RULES.OFF: ClassDataAbstractionCoupling
-public class KsqlJsonDeserializer implements Deserializer<Object> {
+public class KsqlJsonDeserializer implements Deserializer<Object>, RowDeserializerFactory {
   // CHECKSTYLE_RULES.ON: ClassDataAbstractionCoupling
 
   private static final Logger LOG = LoggerFactory.getLogger(KsqlJsonDeserializer.class);
@@ -126,10 +131,37 @@ public class KsqlJsonDeserializer implements Deserializer<Object> {
     }
   }
 
+  @Override
+  public Deserializer<GenericRow> createRowDeserializer(final int additionalCapacity) {
+    return new KsqlJsonRowDeserializer(
+        physicalSchema, isJsonSchema, this, additionalCapacity, Optional.empty());
+  }
+
+  @Override
+  public Deserializer<GenericRow> createRowDeserializer(
+      final int additionalCapacity,
+      final Set<Integer> projectedFields
+  ) {
+    return new KsqlJsonRowDeserializer(
+        physicalSchema, isJsonSchema, this, additionalCapacity, Optional.of(projectedFields));
+  }
+
   public static ObjectReader jsonReader() {
     return MAPPER.reader();
   }
 
+  /**
+   * Coerce the supplied {@code value} to the supplied {@code schema}.
+   *
+   * @param path the path of the value, used in any error message.
+   * @param value the value.
+   * @param schema the schema to coerce to.
+   * @return the coerced value.
+   */
+  static Object coerce(final String path, final JsonNode value, final Schema schema) {
+    return enforceFieldType(path, new JsonValueContext(value, schema));
+  }
+
   private static Object enforceFieldType(
       final String pathPart,
       final JsonValueContext context
@@ -179,10 +211,21 @@ public class KsqlJsonDeserializer implements Deserializer<Object> {
       decimal = new BigDecimal(context.val.textValue());
       DecimalUtil.ensureFit(decimal, context.schema);
       return decimal;
+    } else if (!isDecimal && (context.val instanceof TextNode || context.val.isBinary())) {
+      // Connect's JsonConverter, used to serialize, writes bytes as base64 text:
+      return toBytes(context);
     }
     throw invalidConversionException(context.val, context.schema);
   }
 
+  private static byte[] toBytes(final JsonValueContext context) {
+    try {
+      return context.val.binaryValue();
+    } catch (final IOException e) {
+      throw invalidConversionException(context.val, context.schema);
+    }
+  }
+
   private static List<?> enforceElementTypeForArray(final JsonValueContext context) {
     if (!(context.val instanceof ArrayNode)) {
       throw invalidConversionException(context.val, context.schema);
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.util.DecimalUtil;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Deserializes a JSON object directly into a {@link GenericRow}.
+ *
+ * <p>Unlike {@link KsqlJsonDeserializer}, the payload is not parsed into a {@code JsonNode} tree
+ * and then converted into a {@link Struct}. Instead, the object is streamed: fields not in the
+ * schema are skipped without being materialized, and primitive column values are read directly
+ * from the parser. Values that can not be read directly, e.g. nested types or values needing
+ * coercion, are parsed into a tree and coerced exactly as {@link KsqlJsonDeserializer} would.
+ *
+ * <p>If only some fields are projected, the remaining fields are skipped in the same way as
+ * fields not in the schema, and are {@code null} in the row.
+ */
+final class KsqlJsonRowDeserializer implements Deserializer<GenericRow> {
+
+  private static final ObjectReader READER = KsqlJsonDeserializer.jsonReader();
+  private static final JsonFactory FACTORY = READER.getFactory();
+  private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.withExactBigDecimals(true);
+
+  private static final byte UNSET = 0;
+  private static final byte CASE_INSENSITIVE_MATCH = 1;
+  private static final byte EXACT_MATCH = 2;
+
+  private final boolean isJsonSchema;
+  private final KsqlJsonDeserializer delegate;
+  private final int additionalCapacity;
+  private final ColumnReader[] columns;
+  private final boolean[] projected;
+  private final Map<String, Integer> columnIndexes;
+  private String target = "?";
+
+  KsqlJsonRowDeserializer(
+      final PersistenceSchema physicalSchema,
+      final boolean isJsonSchema,
+      final KsqlJsonDeserializer delegate,
+      final int additionalCapacity,
+      final Optional<Set<Integer>> projectedFields
+  ) {
+    this.isJsonSchema = isJsonSchema;
+    this.delegate = Objects.requireNonNull(delegate, "delegate");
+    this.additionalCapacity = additionalCapacity;
+
+    final List<Field> fields = physicalSchema.serializedSchema().fields();
+    this.columns = new ColumnReader[fields.size()];
+    this.projected = new boolean[fields.size()];
+    this.columnIndexes = new HashMap<>(fields.size());
+    for (int i = 0; i < fields.size(); i++) {
+      final Field field = fields.get(i);
+      columns[i] = new ColumnReader(field.name(), field.schema());
+      projected[i] = projectedFields.map(p -> p.contains(field.index())).orElse(true);
+      columnIndexes.put(field.name(), i);
+    }
+  }
+
+  @Override
+  public void configure(final Map<String, ?> configs, final boolean isKey) {
+    this.target = isKey ? "key" : "value";
+    delegate.configure(configs, isKey);
+  }
+
+  @Override
+  public GenericRow deserialize(final String topic, final byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+
+    if (isJsonSchema && !JsonSerdeUtils.hasMagicByte(bytes)) {
+      return toRow(delegate.deserialize(topic, bytes));
+    }
+
+    final int offset = isJsonSchema ? JsonSerdeUtils.SIZE_OF_SR_PREFIX : 0;
+
+    try (JsonParser parser = FACTORY.createParser(bytes, offset, bytes.length - offset)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        // Not an object: leave the error handling to the tree based deserializer:
+        return toRow(delegate.deserialize(topic, bytes));
+      }
+
+      return readRow(parser);
+    } catch (final SerializationException e) {
+      throw e;
+    } catch (final Exception e) {
+      throw new SerializationException(
+          "Failed to deserialize " + target + " from topic: " + topic, e);
+    }
+  }
+
+  private GenericRow readRow(final JsonParser parser) throws IOException {
+    final Object[] values = new Object[columns.length];
+    final byte[] matches = new byte[columns.length];
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String name = parser.getCurrentName();
+      final JsonToken token = parser.nextToken();
+
+      // Matching mirrors KsqlJsonDeserializer: an exact match of the field name takes precedence
+      // over a match of the upper-cased field name:
+      byte match = EXACT_MATCH;
+      Integer idx = columnIndexes.get(name);
+      if (idx == null) {
+        match = CASE_INSENSITIVE_MATCH;
+        idx = columnIndexes.get(name.toUpperCase());
+      }
+
+      if (idx == null || !projected[idx] || matches[idx] > match) {
+        parser.skipChildren();
+        continue;
+      }
+
+      values[idx] = columns[idx].read(parser, token);
+      matches[idx] = match;
+    }
+
+    final GenericRow row = new GenericRow(columns.length + additionalCapacity);
+    for (final Object value : values) {
+      row.append(value);
+    }
+    return row;
+  }
+
+  private GenericRow toRow(final Object value) {
+    if (value == null) {
+      return null;
+    }
+
+    final Struct struct = (Struct) value;
+    final List<Field> fields = struct.schema().fields();
+    final GenericRow row = new GenericRow(fields.size() + additionalCapacity);
+    for (final Field field : fields) {
+      row.append(struct.get(field));
+    }
+    return row;
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  private static final class ColumnReader {
+
+    private final String path;
+    private final Schema schema;
+    private final Schema.Type type;
+    private final boolean isDecimal;
+
+    ColumnReader(final String name, final Schema schema) {
+      this.path = "$." + name;
+      this.schema = Objects.requireNonNull(schema, "schema");
+      this.type = schema.type();
+      this.isDecimal = DecimalUtil.isDecimal(schema);
+    }
+
+    Object read(final JsonParser parser, final JsonToken token) throws IOException {
+      if (token == JsonToken.VALUE_NULL) {
+        return null;
+      }
+
+      switch (type) {
+        case BOOLEAN:
+          if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+            return parser.getBooleanValue();
+          }
+          break;
+        case INT32:
+          if (token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == NumberType.INT) {
+            return parser.getIntValue();
+          }
+          break;
+        case INT64:
+          if (token == JsonToken.VALUE_NUMBER_INT && isIntOrLong(parser)) {
+            return parser.getLongValue();
+          }
+          break;
+        case FLOAT64:
+          if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDoubleValue();
+          }
+          if (token == JsonToken.VALUE_NUMBER_INT && isIntOrLong(parser)) {
+            return (double) parser.getLongValue();
+          }
+          break;
+        case STRING:
+          if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+          }
+          break;
+        case BYTES:
+          if (isDecimal && token.isNumeric()) {
+            return readDecimal(parser.getDecimalValue());
+          }
+          break;
+        default:
+          break;
+      }
+
+      return KsqlJsonDeserializer.coerce(path, READER.readTree(parser), schema);
+    }
+
+    private Object readDecimal(final BigDecimal decimal) {
+      try {
+        DecimalUtil.ensureFit(decimal, schema);
+        return decimal;
+      } catch (final Exception e) {
+        // Report the failure exactly as the tree based deserializer would:
+        return KsqlJsonDeserializer.coerce(path, NODE_FACTORY.numberNode(decimal), schema);
+      }
+    }
+
+    private static boolean isIntOrLong(final JsonParser parser) throws IOException {
+      final NumberType numberType = parser.getNumberType();
+      return numberType == NumberType.INT || numberType == NumberType.LONG;
+    }
+  }
+}
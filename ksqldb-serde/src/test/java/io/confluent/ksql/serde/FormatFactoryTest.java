@@ -23,6 +23,7 @@ import static org.junit.Assert.assertThrows;
 
 import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.serde.avro.AvroFormat;
+import io.confluent.ksql.serde.internal.InternalFormat;
 import io.confluent.ksql.util.KsqlException;
 import org.junit.Test;
 
@@ -35,6 +36,29 @@ public class FormatFactoryTest {
     assertThat(FormatFactory.of(FormatInfo.of("Delimited")), is(FormatFactory.DELIMITED));
   }
 
+  @Test
+  public void shouldCreateInternalFormat() {
+    assertThat(FormatFactory.of(InternalFormat.FORMAT_INFO), is(FormatFactory.INTERNAL));
+  }
+
+  @Test
+  public void shouldThrowOnUnsupportedInternalFormatVersion() {
+    // Given:
+    final FormatInfo format = FormatInfo.of(
+        InternalFormat.NAME,
+        ImmutableMap.of(InternalFormat.VERSION, "2")
+    );
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> FormatFactory.of(format)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("KSQL_INTERNAL format version not supported: 2"));
+  }
+
   @Test
   public void shouldThrowOnUnknownFormat() {
     // When:
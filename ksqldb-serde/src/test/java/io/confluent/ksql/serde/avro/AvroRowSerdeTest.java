@@ -0,0 +1,269 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.avro;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.serde.RowDeserializerFactory;
+import io.confluent.ksql.serde.RowSerializerFactory;
+import io.confluent.ksql.util.DecimalUtil;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlConstants;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.avro.generic.GenericData;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AvroRowSerdeTest {
+
+  private static final String SOME_TOPIC = "bob";
+
+  private static final Schema ADDRESS_SCHEMA = SchemaBuilder.struct()
+      .field("STREET", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("NUMBER", Schema.OPTIONAL_INT32_SCHEMA)
+      .optional()
+      .build();
+
+  private static final ConnectSchema SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("ID", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("NAME", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("PRICE", DecimalUtil.builder(4, 2).optional().build())
+      .field("SCORES", SchemaBuilder.array(Schema.OPTIONAL_FLOAT64_SCHEMA).optional().build())
+      .field("ADDRESS", ADDRESS_SCHEMA)
+      .optional()
+      .build();
+
+  private static final KsqlConfig CONFIG = new KsqlConfig(ImmutableMap.of(
+      KsqlConfig.SCHEMA_REGISTRY_URL_PROPERTY, "fake-schema-registry-url",
+      KsqlConfig.KSQL_AVRO_NATIVE_SERDE_ENABLED_CONFIG, true
+  ));
+
+  private SchemaRegistryClient srClient;
+  private KafkaAvroSerializer avroSerializer;
+  private Serde<Object> serde;
+  private Deserializer<GenericRow> rowDeserializer;
+  private Serializer<GenericRow> rowSerializer;
+
+  @Before
+  public void setUp() {
+    srClient = new MockSchemaRegistryClient();
+
+    avroSerializer = new KafkaAvroSerializer(srClient, ImmutableMap.of(
+        AbstractKafkaSchemaSerDeConfig.AUTO_REGISTER_SCHEMAS, true,
+        AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, ""
+    ));
+
+    serde = new KsqlAvroSerdeFactory(KsqlConstants.DEFAULT_AVRO_SCHEMA_FULL_NAME)
+        .createSerde(PersistenceSchema.from(SCHEMA, false), CONFIG, () -> srClient);
+
+    rowDeserializer = ((RowDeserializerFactory) serde.deserializer()).createRowDeserializer(0);
+    rowDeserializer.configure(Collections.emptyMap(), false);
+
+    rowSerializer = ((RowSerializerFactory) serde.serializer()).createRowSerializer();
+    rowSerializer.configure(Collections.emptyMap(), false);
+  }
+
+  @Test
+  public void shouldNotUseNativeSerdeByDefault() {
+    // When:
+    final Serde<Object> connectSerde =
+        new KsqlAvroSerdeFactory(KsqlConstants.DEFAULT_AVRO_SCHEMA_FULL_NAME).createSerde(
+            PersistenceSchema.from(SCHEMA, false),
+            new KsqlConfig(ImmutableMap.of(
+                KsqlConfig.SCHEMA_REGISTRY_URL_PROPERTY, "fake-schema-registry-url")),
+            () -> srClient
+        );
+
+    // Then:
+    assertThat(connectSerde.deserializer() instanceof RowDeserializerFactory, is(false));
+    assertThat(connectSerde.serializer() instanceof RowSerializerFactory, is(false));
+  }
+
+  @Test
+  public void shouldRoundTripRow() {
+    // Given:
+    final GenericRow row = givenRow();
+
+    // When:
+    final GenericRow result = rowDeserializer
+        .deserialize(SOME_TOPIC, rowSerializer.serialize(SOME_TOPIC, row));
+
+    // Then:
+    assertThat(result, is(row));
+  }
+
+  @Test
+  public void shouldOnlyDeserializeProjectedColumns() {
+    // Given:
+    final Deserializer<GenericRow> projected = ((RowDeserializerFactory) serde.deserializer())
+        .createRowDeserializer(0, ImmutableSet.of(1, 3));
+    projected.configure(Collections.emptyMap(), false);
+
+    // When:
+    final GenericRow result = projected
+        .deserialize(SOME_TOPIC, rowSerializer.serialize(SOME_TOPIC, givenRow()));
+
+    // Then:
+    assertThat(result, is(GenericRow.genericRow(
+        null, "bob", null, Arrays.asList(1.0, null), null)));
+  }
+
+  @Test
+  public void shouldSerializeSameBytesAsConnectPath() {
+    // Given:
+    final GenericRow row = givenRow();
+
+    // When:
+    final byte[] bytes = rowSerializer.serialize(SOME_TOPIC, row);
+
+    // Then:
+    assertThat(bytes, is(serde.serializer().serialize(SOME_TOPIC, toStruct(row))));
+  }
+
+  @Test
+  public void shouldDeserializeSameAsConnectPath() {
+    // Given:
+    final byte[] bytes = serde.serializer().serialize(SOME_TOPIC, toStruct(givenRow()));
+
+    // When:
+    final GenericRow result = rowDeserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(result, is(toRow((Struct) serde.deserializer().deserialize(SOME_TOPIC, bytes))));
+  }
+
+  @Test
+  public void shouldSkipUnknownFieldsAndMatchCaseInsensitivelyAndCoerce() {
+    // Given:
+    final org.apache.avro.Schema writerSchema = new org.apache.avro.Schema.Parser().parse("{"
+        + "\"type\": \"record\","
+        + "\"name\": \"other\","
+        + "\"fields\": ["
+        + " {\"name\": \"extra\", \"type\": {\"type\": \"array\", \"items\": \"string\"}},"
+        + " {\"name\": \"name\", \"type\": \"long\"},"
+        + " {\"name\": \"id\", \"type\": [\"int\", \"null\"]}"
+        + " ]"
+        + "}");
+
+    final GenericData.Record record = new GenericData.Record(writerSchema);
+    record.put("extra", ImmutableList.of("a", "b"));
+    record.put("name", 10L);
+    record.put("id", 1);
+
+    // When:
+    final GenericRow result = rowDeserializer
+        .deserialize(SOME_TOPIC, avroSerializer.serialize(SOME_TOPIC, record));
+
+    // Then:
+    assertThat(result, is(GenericRow.genericRow(1L, "10", null, null, null)));
+  }
+
+  @Test
+  public void shouldDeserializeNull() {
+    assertThat(rowDeserializer.deserialize(SOME_TOPIC, null), is(nullValue()));
+  }
+
+  @Test
+  public void shouldThrowIfNotARecord() {
+    // Given:
+    final byte[] bytes = avroSerializer.serialize(SOME_TOPIC, 10L);
+
+    // When:
+    final Exception e = assertThrows(
+        SerializationException.class,
+        () -> rowDeserializer.deserialize(SOME_TOPIC, bytes)
+    );
+
+    // Then:
+    assertThat(e.getCause(), is(instanceOf(DataException.class)));
+  }
+
+  @Test
+  public void shouldThrowOnDecimalWithWrongScale() {
+    // Given:
+    final GenericRow row = givenRow();
+    row.set(2, new BigDecimal("1.5"));
+
+    // When:
+    final Exception e = assertThrows(
+        SerializationException.class,
+        () -> rowSerializer.serialize(SOME_TOPIC, row)
+    );
+
+    // Then:
+    assertThat(e.getCause(), is(instanceOf(DataException.class)));
+  }
+
+  @Test
+  public void shouldThrowOnFieldCountMismatch() {
+    assertThrows(
+        SerializationException.class,
+        () -> rowSerializer.serialize(SOME_TOPIC, GenericRow.genericRow(1L))
+    );
+  }
+
+  private static GenericRow givenRow() {
+    final Struct address = new Struct(ADDRESS_SCHEMA)
+        .put("STREET", "Main")
+        .put("NUMBER", 1);
+
+    return GenericRow.genericRow(
+        10L,
+        "bob",
+        new BigDecimal("12.34"),
+        Arrays.asList(1.0, null),
+        address
+    );
+  }
+
+  private static Struct toStruct(final GenericRow row) {
+    final Struct struct = new Struct(SCHEMA);
+    for (int i = 0; i < row.size(); i++) {
+      struct.put(SCHEMA.fields().get(i), row.get(i));
+    }
+    return struct;
+  }
+
+  private static GenericRow toRow(final Struct struct) {
+    final GenericRow row = new GenericRow();
+    SCHEMA.fields().forEach(field -> row.append(struct.get(field)));
+    return row;
+  }
+}
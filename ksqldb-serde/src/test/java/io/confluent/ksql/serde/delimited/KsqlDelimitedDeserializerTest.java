@@ -26,6 +26,8 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
 
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.DecimalUtil;
 import io.confluent.ksql.util.KsqlException;
@@ -80,6 +82,49 @@ public class KsqlDelimitedDeserializerTest {
     assertThat(struct.get("COST"), is(new BigDecimal("10.10")));
   }
 
+  @Test
+  public void shouldDeserializeDelimitedDirectlyToRow() {
+    // Given:
+    final byte[] bytes = "1511897796092,1,item_1,,10.10\r\n".getBytes(StandardCharsets.UTF_8);
+
+    // When:
+    final GenericRow row = deserializer.createRowDeserializer(0).deserialize("", bytes);
+
+    // Then:
+    assertThat(row, is(GenericRow.genericRow(
+        1511897796092L, 1L, "item_1", null, new BigDecimal("10.10"))));
+  }
+
+  @Test
+  public void shouldOnlyCoerceProjectedColumns() {
+    // Given:
+    final byte[] bytes = "not a long,1,item_1,10.0,10.10\r\n".getBytes(StandardCharsets.UTF_8);
+
+    // When:
+    final GenericRow row = deserializer
+        .createRowDeserializer(0, ImmutableSet.of(1, 3))
+        .deserialize("", bytes);
+
+    // Then:
+    assertThat(row, is(GenericRow.genericRow(null, 1L, null, 10.0, null)));
+  }
+
+  @Test
+  public void shouldThrowFromRowDeserializerIfRowHasTooFewColumns() {
+    // Given:
+    final byte[] bytes = "1511897796092,1,item_1,\r\n".getBytes(StandardCharsets.UTF_8);
+
+    // When:
+    final Exception e = assertThrows(
+        SerializationException.class,
+        () -> deserializer.createRowDeserializer(0, ImmutableSet.of(1)).deserialize("", bytes)
+    );
+
+    // Then:
+    assertThat(e.getCause(),
+        hasMessage(is("Unexpected field count, csvFields:4 schemaFields:5")));
+  }
+
   @Test
   public void shouldDeserializeJsonCorrectlyWithEmptyFields() {
     // Given:
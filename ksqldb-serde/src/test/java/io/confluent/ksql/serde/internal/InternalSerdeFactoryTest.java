@@ -0,0 +1,317 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.internal;
+
+import static io.confluent.ksql.GenericRow.genericRow;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableMap;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.serde.RowDeserializerFactory;
+import io.confluent.ksql.serde.RowSerializerFactory;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class InternalSerdeFactoryTest {
+
+  private static final String TOPIC = "some-topic";
+
+  private static final Schema INNER_SCHEMA = SchemaBuilder.struct()
+      .optional()
+      .field("A", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("B", Schema.OPTIONAL_INT64_SCHEMA)
+      .build();
+
+  private static final Schema ARRAY_SCHEMA = SchemaBuilder
+      .array(Schema.OPTIONAL_INT32_SCHEMA)
+      .optional()
+      .build();
+
+  private static final Schema MAP_SCHEMA = SchemaBuilder
+      .map(Schema.OPTIONAL_STRING_SCHEMA, INNER_SCHEMA)
+      .optional()
+      .build();
+
+  private static final PersistenceSchema SCHEMA = PersistenceSchema.from(
+      (ConnectSchema) SchemaBuilder.struct()
+          .field("BOOL", Schema.OPTIONAL_BOOLEAN_SCHEMA)
+          .field("INT", Schema.OPTIONAL_INT32_SCHEMA)
+          .field("BIGINT", Schema.OPTIONAL_INT64_SCHEMA)
+          .field("DOUBLE", Schema.OPTIONAL_FLOAT64_SCHEMA)
+          .field("STRING", Schema.OPTIONAL_STRING_SCHEMA)
+          .field("DECIMAL", Decimal.builder(2).optional().build())
+          .field("ARRAY", ARRAY_SCHEMA)
+          .field("MAP", MAP_SCHEMA)
+          .field("STRUCT", INNER_SCHEMA)
+          .build(),
+      false
+  );
+
+  @Mock
+  private KsqlConfig ksqlConfig;
+  @Mock
+  private Supplier<SchemaRegistryClient> srClientFactory;
+
+  private InternalSerdeFactory factory;
+  private Serializer<GenericRow> serializer;
+  private Deserializer<GenericRow> deserializer;
+
+  @Before
+  public void setUp() {
+    factory = new InternalSerdeFactory();
+
+    final Serde<Object> serde = factory.createSerde(SCHEMA, ksqlConfig, srClientFactory);
+    serializer = ((RowSerializerFactory) serde.serializer()).createRowSerializer();
+    deserializer = ((RowDeserializerFactory) serde.deserializer()).createRowDeserializer(0);
+  }
+
+  @Test
+  public void shouldValidateSupportedSchema() {
+    factory.validate(SCHEMA);
+  }
+
+  @Test
+  public void shouldThrowOnValidateIfTypeNotSupported() {
+    // Given:
+    final PersistenceSchema schema = persistenceSchema(Schema.OPTIONAL_FLOAT32_SCHEMA);
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> factory.validate(schema)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "The KSQL_INTERNAL format does not support type: FLOAT32"));
+  }
+
+  @Test
+  public void shouldRoundTripRow() {
+    // Given:
+    final GenericRow row = genericRow(
+        true,
+        -12,
+        Long.MIN_VALUE,
+        1.5,
+        "é-string",
+        new BigDecimal("-123.45"),
+        Arrays.asList(1, null, 3),
+        ImmutableMap.of("k", inner("a", 1L)),
+        inner(null, 2L)
+    );
+
+    // When:
+    final GenericRow result = roundTrip(row);
+
+    // Then:
+    assertThat(result, is(row));
+  }
+
+  @Test
+  public void shouldRoundTripNulls() {
+    // Given:
+    final Map<String, Struct> mapWithNullValue = new HashMap<>();
+    mapWithNullValue.put("k", null);
+
+    final GenericRow row = genericRow(
+        null, null, null, null, null, null,
+        Collections.emptyList(),
+        mapWithNullValue,
+        null
+    );
+
+    // When:
+    final GenericRow result = roundTrip(row);
+
+    // Then:
+    assertThat(result, is(row));
+  }
+
+  @Test
+  public void shouldWriteSmallIntegersCompactly() {
+    // Given:
+    final GenericRow row = genericRow(null, 1, -1L, null, null, null, null, null, null);
+
+    // When:
+    final byte[] bytes = serializer.serialize(TOPIC, row);
+
+    // Then: 2 byte bitmap + 1 byte per varint:
+    assertThat(bytes.length, is(2 + 1 + 1));
+  }
+
+  @Test
+  public void shouldConvertNumericTypes() {
+    // Given:
+    final GenericRow row = genericRow(null, 1L, 2, 3, null, null, null, null, null);
+
+    // When:
+    final GenericRow result = roundTrip(row);
+
+    // Then:
+    assertThat(result, is(genericRow(null, 1, 2L, 3.0, null, null, null, null, null)));
+  }
+
+  @Test
+  public void shouldRoundTripBytes() {
+    // Given:
+    final Serde<Object> serde = factory.createSerde(
+        persistenceSchema(Schema.OPTIONAL_BYTES_SCHEMA),
+        ksqlConfig,
+        srClientFactory
+    );
+
+    final Serializer<GenericRow> bytesSerializer =
+        ((RowSerializerFactory) serde.serializer()).createRowSerializer();
+    final Deserializer<GenericRow> bytesDeserializer =
+        ((RowDeserializerFactory) serde.deserializer()).createRowDeserializer(0);
+
+    final byte[] sketch = {0, 1, 2, -1};
+
+    // When:
+    final byte[] bytes = bytesSerializer.serialize(TOPIC, genericRow(sketch));
+    final GenericRow result = bytesDeserializer.deserialize(TOPIC, bytes);
+
+    // Then: 1 byte bitmap + 1 byte length + bytes:
+    assertThat(bytes.length, is(1 + 1 + 4));
+    assertThat((byte[]) result.get(0), is(sketch));
+  }
+
+  @Test
+  public void shouldRoundTripValuesViaWrappedSerde() {
+    // Given:
+    final Serde<Object> serde = factory.createSerde(SCHEMA, ksqlConfig, srClientFactory);
+    final Struct struct = new Struct(SCHEMA.serializedSchema())
+        .put("INT", 10)
+        .put("STRUCT", inner("x", null));
+
+    // When:
+    final byte[] bytes = serde.serializer().serialize(TOPIC, struct);
+    final Object result = serde.deserializer().deserialize(TOPIC, bytes);
+
+    // Then:
+    assertThat(result, is(struct));
+  }
+
+  @Test
+  public void shouldSerializeNullAsNull() {
+    assertThat(serializer.serialize(TOPIC, null), is(nullValue()));
+  }
+
+  @Test
+  public void shouldDeserializeNullAsNull() {
+    assertThat(deserializer.deserialize(TOPIC, null), is(nullValue()));
+  }
+
+  @Test
+  public void shouldThrowOnColumnCountMismatch() {
+    // Given:
+    final GenericRow row = genericRow(true, 1);
+
+    // When:
+    final Exception e = assertThrows(
+        SerializationException.class,
+        () -> serializer.serialize(TOPIC, row)
+    );
+
+    // Then:
+    assertThat(e.getCause().getMessage(), containsString("Column count mismatch"));
+  }
+
+  @Test
+  public void shouldThrowOnTrailingBytes() {
+    // Given:
+    final byte[] bytes = serializer.serialize(TOPIC, allNullRow());
+    final byte[] withTrailing = Arrays.copyOf(bytes, bytes.length + 1);
+
+    // When:
+    final Exception e = assertThrows(
+        SerializationException.class,
+        () -> deserializer.deserialize(TOPIC, withTrailing)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "Error deserializing KSQL_INTERNAL message from topic: " + TOPIC));
+    assertThat(e.getCause().getMessage(), containsString("Unexpected trailing bytes"));
+  }
+
+  @Test
+  public void shouldThrowOnTruncatedData() {
+    // Given:
+    final GenericRow row = genericRow(true, 1, 2L, 3.0, null, null, null, null, null);
+    final byte[] bytes = serializer.serialize(TOPIC, row);
+    final byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+    // When:
+    final Exception e = assertThrows(
+        SerializationException.class,
+        () -> deserializer.deserialize(TOPIC, truncated)
+    );
+
+    // Then:
+    assertThat(e.getCause().getMessage(), containsString("Unexpected end of data"));
+  }
+
+  private GenericRow roundTrip(final GenericRow row) {
+    final byte[] bytes = serializer.serialize(TOPIC, row);
+    return deserializer.deserialize(TOPIC, bytes);
+  }
+
+  private static GenericRow allNullRow() {
+    return genericRow(null, null, null, null, null, null, null, null, null);
+  }
+
+  private static Struct inner(final String a, final Long b) {
+    return new Struct(INNER_SCHEMA)
+        .put("A", a)
+        .put("B", b);
+  }
+
+  private static PersistenceSchema persistenceSchema(final Schema fieldSchema) {
+    return PersistenceSchema.from(
+        (ConnectSchema) SchemaBuilder.struct().field("F0", fieldSchema).build(),
+        false
+    );
+  }
+}
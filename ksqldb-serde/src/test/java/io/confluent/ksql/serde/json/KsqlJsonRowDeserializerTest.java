@@ -0,0 +1,205 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.json;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.util.DecimalUtil;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class KsqlJsonRowDeserializerTest {
+
+  private static final String SOME_TOPIC = "bob";
+
+  private static final ConnectSchema SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("BOOL", Schema.OPTIONAL_BOOLEAN_SCHEMA)
+      .field("INT", Schema.OPTIONAL_INT32_SCHEMA)
+      .field("BIGINT", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("DOUBLE", Schema.OPTIONAL_FLOAT64_SCHEMA)
+      .field("STRING", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("DEC", DecimalUtil.builder(4, 2).optional().build())
+      .field("ARRAY", SchemaBuilder.array(Schema.OPTIONAL_INT64_SCHEMA).optional().build())
+      .field("STRUCT", SchemaBuilder.struct()
+          .field("F0", Schema.OPTIONAL_STRING_SCHEMA)
+          .optional()
+          .build())
+      .field("caseField", Schema.OPTIONAL_INT64_SCHEMA)
+      .build();
+
+  @Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][]{{"Plain JSON", false}, {"Magic byte prefixed", true}});
+  }
+
+  @Parameter
+  public String suiteName;
+
+  @Parameter(1)
+  public boolean useSchemas;
+
+  private KsqlJsonDeserializer treeDeserializer;
+  private Deserializer<GenericRow> rowDeserializer;
+
+  @Before
+  public void setUp() {
+    final PersistenceSchema persistenceSchema = PersistenceSchema.from(SCHEMA, false);
+    treeDeserializer = new KsqlJsonDeserializer(persistenceSchema, useSchemas);
+    rowDeserializer = treeDeserializer.createRowDeserializer(2);
+    treeDeserializer.configure(Collections.emptyMap(), false);
+    rowDeserializer.configure(Collections.emptyMap(), false);
+  }
+
+  @Test
+  public void shouldDeserializePrimitiveColumnsDirectly() {
+    // Given:
+    final byte[] bytes = json("{\"BOOL\": true, \"INT\": 1, \"BIGINT\": 2, \"DOUBLE\": 1.5, "
+        + "\"STRING\": \"s\", \"DEC\": 10.01}");
+
+    // When:
+    final GenericRow row = rowDeserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(row, is(GenericRow.genericRow(
+        true, 1, 2L, 1.5, "s", new BigDecimal("10.01"), null, null, null)));
+  }
+
+  @Test
+  public void shouldMatchTreeDeserializer() {
+    assertSameAsTree("{}");
+    assertSameAsTree("{\"BOOL\": false, \"INT\": -7, \"BIGINT\": 12345678901, \"DOUBLE\": 3}");
+    assertSameAsTree("{\"DOUBLE\": 1e-3, \"DEC\": 12, \"STRING\": 10.10}");
+    assertSameAsTree(
+        "{\"INT\": \"12\", \"BIGINT\": \"13\", \"DOUBLE\": \"1.25\", \"DEC\": \"1.1\"}");
+    assertSameAsTree("{\"STRING\": {\"a\": [1, 2]}, \"ARRAY\": [1, null, 3]}");
+    assertSameAsTree("{\"STRING\": [\"a\", 1], \"STRUCT\": {\"f0\": \"x\", \"F0\": \"y\"}}");
+    assertSameAsTree("{\"BOOL\": null, \"INT\": null, \"DEC\": null, \"STRUCT\": null}");
+    assertSameAsTree("{\"int\": 1, \"INT\": 2, \"bigint\": 3, \"Double\": 4.0}");
+    assertSameAsTree("{\"INT\": 1, \"int\": 2, \"caseField\": 3, \"CASEFIELD\": 4}");
+    assertSameAsTree("{\"INT\": 1, \"INT\": 2}");
+    assertSameAsTree("{\"OTHER\": {\"nested\": [1, {\"deep\": true}]}, \"INT\": 5}");
+    assertSameAsTree("null");
+  }
+
+  @Test
+  public void shouldFailLikeTreeDeserializerOnInvalidColumn() {
+    assertSameFailureAsTree("{\"BOOL\": 1}");
+    assertSameFailureAsTree("{\"INT\": \"not a number\"}");
+    assertSameFailureAsTree("{\"DEC\": 123.456}");
+    assertSameFailureAsTree("{\"ARRAY\": [1, \"x\"]}");
+    assertSameFailureAsTree("[1, 2]");
+    assertSameFailureAsTree("{\"INT\": 1");
+  }
+
+  @Test
+  public void shouldOnlyReadProjectedColumns() {
+    // Given:
+    final Deserializer<GenericRow> projected = treeDeserializer
+        .createRowDeserializer(2, ImmutableSet.of(1, 4));
+    projected.configure(Collections.emptyMap(), false);
+
+    final byte[] bytes = json("{\"BOOL\": 1, \"INT\": 1, \"BIGINT\": 2, "
+        + "\"STRING\": \"s\", \"ARRAY\": [1, \"x\"], \"STRUCT\": {\"F0\": \"y\"}}");
+
+    // When:
+    final GenericRow row = projected.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(row, is(GenericRow.genericRow(
+        null, 1, null, null, "s", null, null, null, null)));
+  }
+
+  @Test
+  public void shouldReturnNullForNullBytes() {
+    assertThat(rowDeserializer.deserialize(SOME_TOPIC, null), is(nullValue()));
+  }
+
+  private void assertSameAsTree(final String json) {
+    final byte[] bytes = json(json);
+
+    final GenericRow row = rowDeserializer.deserialize(SOME_TOPIC, bytes);
+    final Struct struct = (Struct) treeDeserializer.deserialize(SOME_TOPIC, bytes);
+
+    assertThat(json, row, is(toRow(struct)));
+  }
+
+  private void assertSameFailureAsTree(final String json) {
+    final byte[] bytes = json(json);
+
+    final Exception treeError = assertThrows(
+        SerializationException.class,
+        () -> treeDeserializer.deserialize(SOME_TOPIC, bytes)
+    );
+
+    final Exception rowError = assertThrows(
+        SerializationException.class,
+        () -> rowDeserializer.deserialize(SOME_TOPIC, bytes)
+    );
+
+    assertThat(json, rowError.getMessage(), is(treeError.getMessage()));
+    assertThat(json, rowError.getCause(), is(instanceOf(treeError.getCause().getClass())));
+    if (!(treeError.getCause() instanceof JsonProcessingException)) {
+      assertThat(json, rowError.getCause().getMessage(), is(treeError.getCause().getMessage()));
+    }
+  }
+
+  private static GenericRow toRow(final Struct struct) {
+    if (struct == null) {
+      return null;
+    }
+
+    final GenericRow row = new GenericRow();
+    for (final Field field : struct.schema().fields()) {
+      row.append(struct.get(field));
+    }
+    return row;
+  }
+
+  private byte[] json(final String json) {
+    final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    if (useSchemas) {
+      return ArrayUtils.addAll(new byte[]{/*magic*/ 0x00, /*schema*/ 0x00, 0x00, 0x00, 0x01}, bytes);
+    } else {
+      return bytes;
+    }
+  }
+}
@@ -73,7 +73,8 @@ public final class ExecutionStepFactory {
       final String topicName,
       final Formats formats,
       final WindowInfo windowInfo,
-      final Optional<TimestampColumn> timestampColumn
+      final Optional<TimestampColumn> timestampColumn,
+      final Optional<List<ColumnName>> projectedColumns
   ) {
     final QueryContext queryContext = stacker.getQueryContext();
     return new WindowedStreamSource(
@@ -82,7 +83,8 @@ public final class ExecutionStepFactory {
         formats,
         windowInfo,
         timestampColumn,
-        sourceSchema
+        sourceSchema,
+        projectedColumns
     );
   }
 
@@ -91,7 +93,8 @@ public final class ExecutionStepFactory {
       final LogicalSchema sourceSchema,
       final String topicName,
       final Formats formats,
-      final Optional<TimestampColumn> timestampColumn
+      final Optional<TimestampColumn> timestampColumn,
+      final Optional<List<ColumnName>> projectedColumns
   ) {
     final QueryContext queryContext = stacker.getQueryContext();
     return new StreamSource(
@@ -99,7 +102,8 @@ public final class ExecutionStepFactory {
         topicName,
         formats,
         timestampColumn,
-        sourceSchema
+        sourceSchema,
+        projectedColumns
     );
   }
 
@@ -108,7 +112,8 @@ public final class ExecutionStepFactory {
       final LogicalSchema sourceSchema,
       final String topicName,
       final Formats formats,
-      final Optional<TimestampColumn> timestampColumn
+      final Optional<TimestampColumn> timestampColumn,
+      final Optional<List<ColumnName>> projectedColumns
   ) {
     final QueryContext queryContext = stacker.getQueryContext();
     return new TableSource(
@@ -116,7 +121,8 @@ public final class ExecutionStepFactory {
         topicName,
         formats,
         timestampColumn,
-        sourceSchema
+        sourceSchema,
+        projectedColumns
     );
   }
 
@@ -126,7 +132,8 @@ public final class ExecutionStepFactory {
       final String topicName,
       final Formats formats,
       final WindowInfo windowInfo,
-      final Optional<TimestampColumn> timestampColumn
+      final Optional<TimestampColumn> timestampColumn,
+      final Optional<List<ColumnName>> projectedColumns
   ) {
     final QueryContext queryContext = stacker.getQueryContext();
     return new WindowedTableSource(
@@ -135,7 +142,8 @@ public final class ExecutionStepFactory {
         formats,
         windowInfo,
         timestampColumn,
-        sourceSchema
+        sourceSchema,
+        projectedColumns
     );
   }
 
@@ -32,6 +32,7 @@ import io.confluent.ksql.execution.plan.WindowedTableSource;
 import io.confluent.ksql.execution.streams.timestamp.TimestampExtractionPolicy;
 import io.confluent.ksql.execution.streams.timestamp.TimestampExtractionPolicyFactory;
 import io.confluent.ksql.execution.timestamp.TimestampColumn;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.Column;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
@@ -42,7 +43,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.config.ConfigException;
 import org.apache.kafka.common.serialization.Serde;
@@ -258,13 +261,33 @@ public final class SourceBuilder {
       final KsqlQueryBuilder queryBuilder,
       final SourceStep<?> streamSource,
       final PhysicalSchema physicalSchema) {
+    if (!streamSource.getProjectedColumns().isPresent()) {
+      return queryBuilder.buildValueSerde(
+          streamSource.getFormats().getValueFormat(),
+          physicalSchema,
+          streamSource.getProperties().getQueryContext()
+      );
+    }
+
     return queryBuilder.buildValueSerde(
         streamSource.getFormats().getValueFormat(),
         physicalSchema,
-        streamSource.getProperties().getQueryContext()
+        streamSource.getProperties().getQueryContext(),
+        projectedFields(streamSource.getSourceSchema(), streamSource.getProjectedColumns().get())
     );
   }
 
+  private static Set<Integer> projectedFields(
+      final LogicalSchema sourceSchema,
+      final List<ColumnName> projectedColumns
+  ) {
+    return projectedColumns.stream()
+        .map(name -> sourceSchema.findValueColumn(name)
+            .orElseThrow(() -> new IllegalStateException("Unknown value column: " + name)))
+        .map(Column::index)
+        .collect(Collectors.toSet());
+  }
+
   private static PhysicalSchema getPhysicalSchema(final SourceStep<?> streamSource) {
     return PhysicalSchema.from(
         streamSource.getSourceSchema(),
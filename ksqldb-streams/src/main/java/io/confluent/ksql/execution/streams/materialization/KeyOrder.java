@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization;
+
+import io.confluent.ksql.schema.ksql.types.SqlType;
+import java.util.Comparator;
+
+/**
+ * The order of the key values of a materialized table, in which
+ * {@link MaterializedTable#scan} returns rows.
+ *
+ * <p>Numeric keys are in numeric order. String keys are in Unicode code point order, which is the
+ * order of their UTF-8 serialized form. This differs from {@link String#compareTo} for strings
+ * containing characters outside the Basic Multilingual Plane.
+ */
+public final class KeyOrder {
+
+  private KeyOrder() {
+  }
+
+  /**
+   * @param keyType the type of the single key column.
+   * @return the comparator of key values of the supplied type.
+   */
+  public static Comparator<Object> of(final SqlType keyType) {
+    switch (keyType.baseType()) {
+      case INTEGER:
+      case BIGINT:
+        // Values read back from another host may be of either width:
+        return Comparator.comparingLong(key -> ((Number) key).longValue());
+      case DOUBLE:
+        return Comparator.comparingDouble(key -> ((Number) key).doubleValue());
+      case STRING:
+        return (a, b) -> compareCodePoints((String) a, (String) b);
+      default:
+        throw new UnsupportedOperationException("Unsupported key type: " + keyType);
+    }
+  }
+
+  private static int compareCodePoints(final String a, final String b) {
+    int i = 0;
+    int j = 0;
+    while (i < a.length() && j < b.length()) {
+      final int cpA = a.codePointAt(i);
+      final int cpB = b.codePointAt(j);
+      if (cpA != cpB) {
+        return Integer.compare(cpA, cpB);
+      }
+
+      i += Character.charCount(cpA);
+      j += Character.charCount(cpB);
+    }
+    return Integer.compare(a.length() - i, b.length() - j);
+  }
+}
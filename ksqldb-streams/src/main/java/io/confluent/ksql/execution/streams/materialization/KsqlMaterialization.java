@@ -28,6 +28,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.apache.kafka.connect.data.Struct;
 
 /**
@@ -140,6 +141,29 @@ class KsqlMaterialization implements Materialization {
               .map(v -> row.withValue(v, schema()))
           );
     }
+
+    @Override
+    public List<Row> getAll(final List<Struct> keys) {
+      final List<Row> result = table.getAll(keys);
+
+      final Builder<Row> builder = ImmutableList.builder();
+
+      for (final Row row : result) {
+        filterAndTransform(row.key(), row.value(), row.rowTime())
+            .ifPresent(v -> builder.add(row.withValue(v, schema())));
+      }
+
+      return builder.build();
+    }
+
+    @Override
+    public Stream<Row> scan(final int partition, final Range<Comparable<Object>> keyRange) {
+      return table.scan(partition, keyRange)
+          .map(row -> filterAndTransform(row.key(), row.value(), row.rowTime())
+              .map(v -> row.withValue(v, schema())))
+          .filter(Optional::isPresent)
+          .map(Optional::get);
+    }
   }
 
   final class KsqlMaterializedWindowedTable implements MaterializedWindowedTable {
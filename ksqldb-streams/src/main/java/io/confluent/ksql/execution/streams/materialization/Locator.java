@@ -19,6 +19,7 @@ import io.confluent.ksql.execution.streams.RoutingFilter.RoutingFilterFactory;
 import io.confluent.ksql.execution.streams.RoutingOptions;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.apache.kafka.connect.data.Struct;
 
@@ -45,6 +46,23 @@ public interface Locator {
       RoutingFilterFactory routingFilterFactory
   );
 
+  /**
+   * Locate which KSQL nodes store each partition of the materialized data.
+   *
+   * <p>If {@link RoutingOptions#getPartitions()} is not empty, only the requested partitions are
+   * located.
+   *
+   * <p>Every partition of the store is located, or a {@link MaterializationException} is thrown,
+   * so that a partition that is not currently assigned to any node is never silently missing.
+   *
+   * @return the list of nodes that can potentially serve each partition, keyed by partition, in
+   *     partition order.
+   */
+  Map<Integer, List<KsqlNode>> locatePartitions(
+      RoutingOptions routingOptions,
+      RoutingFilterFactory routingFilterFactory
+  );
+
   interface KsqlNode {
 
     /**
@@ -15,7 +15,11 @@
 
 package io.confluent.ksql.execution.streams.materialization;
 
+import com.google.common.collect.Range;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.kafka.connect.data.Struct;
 
 /**
@@ -30,4 +34,38 @@ public interface MaterializedTable {
    * @return the value, if one is exists.
    */
   Optional<Row> get(Struct key);
+
+  /**
+   * Get the values, if they exist, of the supplied {@code keys}.
+   *
+   * <p>Implementations should override this method if they can look up multiple keys more
+   * efficiently than one at a time.
+   *
+   * @param keys the keys to look up.
+   * @return the rows of the keys that have a value, in the order of the supplied keys.
+   */
+  default List<Row> getAll(final List<Struct> keys) {
+    return keys.stream()
+        .map(this::get)
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Scan the rows of a single partition of the table, returning those whose key is within the
+   * supplied {@code keyRange}.
+   *
+   * <p>Rows are returned in ascending key order, as defined by {@link KeyOrder}, so the scans of
+   * several partitions can be merged into a single ordered result.
+   *
+   * <p>Rows are streamed from the underlying store as the returned stream is consumed, so
+   * short-circuiting operations, e.g. {@link Stream#limit}, avoid reading the rest of the store.
+   * The returned stream holds resources open on the store and must be closed.
+   *
+   * @param partition the partition to scan.
+   * @param keyRange the range of the value of the single key column to return.
+   * @return the stream of rows whose key is within the range, in ascending key order.
+   */
+  Stream<Row> scan(int partition, Range<Comparable<Object>> keyRange);
 }
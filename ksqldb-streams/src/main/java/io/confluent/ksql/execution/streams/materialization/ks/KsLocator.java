@@ -19,6 +19,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.ksql.execution.streams.RoutingFilter;
 import io.confluent.ksql.execution.streams.RoutingFilter.RoutingFilterFactory;
@@ -28,9 +29,14 @@ import io.confluent.ksql.execution.streams.materialization.MaterializationExcept
 import io.confluent.ksql.util.KsqlHostInfo;
 import java.net.URI;
 import java.net.URL;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.kafka.common.serialization.Serializer;
@@ -38,6 +44,7 @@ import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.KeyQueryMetadata;
 import org.apache.kafka.streams.state.HostInfo;
+import org.apache.kafka.streams.state.StreamsMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -84,9 +91,115 @@ final class KsLocator implements Locator {
           "KeyQueryMetadata not available for state store %s and key %s", stateStoreName, key));
     }
 
-    final HostInfo activeHost = metadata.getActiveHost();
-    final Set<HostInfo> standByHosts = metadata.getStandbyHosts();
+    return filterHosts(
+        metadata.getActiveHost(),
+        metadata.getStandbyHosts(),
+        metadata.getPartition(),
+        routingOptions,
+        routingFilterFactory
+    );
+  }
+
+  @Override
+  public Map<Integer, List<KsqlNode>> locatePartitions(
+      final RoutingOptions routingOptions,
+      final RoutingFilterFactory routingFilterFactory
+  ) {
+    final StoreTopic storeTopic = storeTopic();
+
+    final Collection<StreamsMetadata> allMetadata = kafkaStreams
+        .allMetadataForStore(stateStoreName);
+
+    // Fail fast if Streams not ready. Let client handle it
+    if (allMetadata.isEmpty()) {
+      LOG.debug("StreamsMetadata not available for state store {}", stateStoreName);
+      throw new MaterializationException(String.format(
+          "StreamsMetadata not available for state store %s", stateStoreName));
+    }
+
+    // Hosts also own the partitions of the other topics of the application, so only those of the
+    // topic the store is built from identify the partitions of the store:
+    final Map<Integer, HostInfo> activeHosts = new HashMap<>();
+    final Map<Integer, Set<HostInfo>> standByHosts = new HashMap<>();
+    for (final StreamsMetadata metadata : allMetadata) {
+      if (metadata.stateStoreNames().contains(stateStoreName)) {
+        metadata.topicPartitions().stream()
+            .filter(tp -> tp.topic().equals(storeTopic.name))
+            .forEach(tp -> activeHosts.put(tp.partition(), metadata.hostInfo()));
+      }
+
+      if (metadata.standbyStateStoreNames().contains(stateStoreName)) {
+        metadata.standbyTopicPartitions().stream()
+            .filter(tp -> tp.topic().equals(storeTopic.name))
+            .forEach(tp -> standByHosts
+                .computeIfAbsent(tp.partition(), p -> new HashSet<>())
+                .add(metadata.hostInfo()));
+      }
+    }
+
+    final Set<Integer> requested = routingOptions.getPartitions();
+
+    final Map<Integer, List<KsqlNode>> located = new TreeMap<>();
+    for (int partition = 0; partition < storeTopic.partitions; partition++) {
+      if (!requested.isEmpty() && !requested.contains(partition)) {
+        continue;
+      }
 
+      // A partition without a host would silently be missing from the result:
+      final HostInfo activeHost = activeHosts.get(partition);
+      if (activeHost == null) {
+        LOG.debug("No active host for partition {} of state store {}", partition, stateStoreName);
+        throw new MaterializationException(String.format(
+            "Partition %d of state store %s is not currently assigned to any host",
+            partition, stateStoreName));
+      }
+
+      located.put(partition, filterHosts(
+          activeHost,
+          standByHosts.getOrDefault(partition, ImmutableSet.of()),
+          partition,
+          routingOptions,
+          routingFilterFactory
+      ));
+    }
+    return located;
+  }
+
+  /**
+   * Get the topic the store is built from, and so partitioned by, and its number of partitions.
+   *
+   * <p>Streams passes these to the partitioner used to locate a key.
+   */
+  private StoreTopic storeTopic() {
+    final StoreTopic storeTopic = new StoreTopic();
+    final KeyQueryMetadata metadata = kafkaStreams.queryMetadataForKey(
+        stateStoreName,
+        "",
+        (topic, key, value, numPartitions) -> {
+          storeTopic.name = topic;
+          storeTopic.partitions = numPartitions;
+          return 0;
+        }
+    );
+
+    // Fail fast if Streams not ready. Let client handle it
+    if (metadata == null || metadata == KeyQueryMetadata.NOT_AVAILABLE
+        || storeTopic.name == null) {
+      LOG.debug("KeyQueryMetadata not available for state store {}", stateStoreName);
+      throw new MaterializationException(String.format(
+          "KeyQueryMetadata not available for state store %s", stateStoreName));
+    }
+
+    return storeTopic;
+  }
+
+  private List<KsqlNode> filterHosts(
+      final HostInfo activeHost,
+      final Set<HostInfo> standByHosts,
+      final int partition,
+      final RoutingOptions routingOptions,
+      final RoutingFilterFactory routingFilterFactory
+  ) {
     // If the lookup is for a forwarded request, only filter localhost
     List<KsqlHostInfo> allHosts = null;
     if (routingOptions.skipForwardRequest()) {
@@ -99,7 +212,7 @@ final class KsLocator implements Locator {
           .collect(Collectors.toList());
     }
     final RoutingFilter routingFilter = routingFilterFactory.createRoutingFilter(routingOptions,
-        allHosts, activeHost, applicationId, stateStoreName, metadata.getPartition());
+        allHosts, activeHost, applicationId, stateStoreName, partition);
 
     // Filter out hosts based on active, liveness and max lag filters.
     // The list is ordered by routing preference: active node is first, then standby nodes.
@@ -151,6 +264,12 @@ final class KsLocator implements Locator {
     }
   }
 
+  private static final class StoreTopic {
+
+    private String name;
+    private int partitions;
+  }
+
   @Immutable
   private static final class Node implements KsqlNode {
 
@@ -15,13 +15,30 @@
 
 package io.confluent.ksql.execution.streams.materialization.ks;
 
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.streams.materialization.KeyOrder;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
 import io.confluent.ksql.execution.streams.materialization.MaterializedTable;
 import io.confluent.ksql.execution.streams.materialization.Row;
+import io.confluent.ksql.execution.util.StructKeyUtil;
+import io.confluent.ksql.execution.util.StructKeyUtil.KeyBuilder;
+import io.confluent.ksql.schema.ksql.types.SqlType;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.QueryableStoreTypes;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 import org.apache.kafka.streams.state.ValueAndTimestamp;
@@ -51,4 +68,258 @@ class KsMaterializedTable implements MaterializedTable {
       throw new MaterializationException("Failed to get value from materialized table", e);
     }
   }
+
+  @Override
+  public List<Row> getAll(
+      final List<Struct> keys
+  ) {
+    try {
+      // Resolve the store once for the whole batch, rather than once per key:
+      final ReadOnlyKeyValueStore<Struct, ValueAndTimestamp<GenericRow>> store = stateStore
+          .store(QueryableStoreTypes.timestampedKeyValueStore());
+
+      final ImmutableList.Builder<Row> builder = ImmutableList.builder();
+      for (final Struct key : keys) {
+        final ValueAndTimestamp<GenericRow> value = store.get(key);
+        if (value != null) {
+          builder.add(Row.of(stateStore.schema(), key, value.value(), value.timestamp()));
+        }
+      }
+      return builder.build();
+    } catch (final Exception e) {
+      throw new MaterializationException("Failed to get values from materialized table", e);
+    }
+  }
+
+  @Override
+  public Stream<Row> scan(
+      final int partition,
+      final Range<Comparable<Object>> keyRange
+  ) {
+    final ReadOnlyKeyValueStore<Struct, ValueAndTimestamp<GenericRow>> store;
+    try {
+      store = stateStore.store(QueryableStoreTypes.timestampedKeyValueStore(), partition);
+    } catch (final Exception e) {
+      throw new MaterializationException("Failed to scan materialized table", e);
+    }
+
+    final ScanIterator rows = new ScanIterator(store, segments(keyRange), keyRange);
+
+    return StreamSupport
+        .stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false)
+        .onClose(rows::close);
+  }
+
+  /**
+   * Split the key range into the ranges of the store to read, in ascending key order.
+   *
+   * <p>The store is ordered by the serialized key. Signed numbers serialize with negative values
+   * after positive ones, so their range is read as a negative then a non-negative segment. The
+   * bytes of negative doubles are in descending order of value, so that segment is reversed.
+   * String keys serialize as UTF-8, which orders as {@link KeyOrder} does, but their range can
+   * only be bounded if it has an upper bound and its bounds are in the order of the store.
+   */
+  private List<Segment> segments(final Range<Comparable<Object>> keyRange) {
+    final Optional<Object> lower = keyRange.hasLowerBound()
+        ? Optional.of(keyRange.lowerEndpoint())
+        : Optional.empty();
+    final Optional<Object> upper = keyRange.hasUpperBound()
+        ? Optional.of(keyRange.upperEndpoint())
+        : Optional.empty();
+
+    final SqlType keyType = stateStore.schema().key().get(0).type();
+    switch (keyType.baseType()) {
+      case INTEGER: {
+        final int from = lower.map(v -> ((Number) v).intValue()).orElse(Integer.MIN_VALUE);
+        final int to = upper.map(v -> ((Number) v).intValue()).orElse(Integer.MAX_VALUE);
+        return signedSegments(from, Math.min(to, -1), Math.max(from, 0), to);
+      }
+      case BIGINT: {
+        final long from = lower.map(v -> ((Number) v).longValue()).orElse(Long.MIN_VALUE);
+        final long to = upper.map(v -> ((Number) v).longValue()).orElse(Long.MAX_VALUE);
+        return signedSegments(from, Math.min(to, -1L), Math.max(from, 0L), to);
+      }
+      case DOUBLE: {
+        final Optional<Double> from = lower.map(v -> ((Number) v).doubleValue());
+        final Optional<Double> to = upper.map(v -> ((Number) v).doubleValue());
+        final ImmutableList.Builder<Segment> segments = ImmutableList.builder();
+        if (!from.isPresent() || Double.compare(from.get(), 0.0) < 0) {
+          segments.add(Segment.descending(
+              to.filter(v -> Double.compare(v, 0.0) < 0).orElse(-0.0),
+              from.orElse(Double.NEGATIVE_INFINITY)
+          ));
+        }
+        if (!to.isPresent() || Double.compare(to.get(), 0.0) >= 0) {
+          segments.add(Segment.ascending(
+              from.filter(v -> Double.compare(v, 0.0) > 0).orElse(0.0),
+              to.orElse(Double.NaN)
+          ));
+        }
+        return segments.build();
+      }
+      case STRING: {
+        final boolean bounded = upper.isPresent()
+            && lower.map(v -> isInStoreOrder((String) v)).orElse(true)
+            && isInStoreOrder((String) upper.get());
+        return bounded
+            ? ImmutableList.of(Segment.ascending(lower.orElse(""), upper.get()))
+            : ImmutableList.of(Segment.all());
+      }
+      default:
+        throw new MaterializationException("Unsupported key type for scan: " + keyType);
+    }
+  }
+
+  private static <T extends Comparable<T>> List<Segment> signedSegments(
+      final T negativeFrom,
+      final T negativeTo,
+      final T nonNegativeFrom,
+      final T nonNegativeTo
+  ) {
+    final ImmutableList.Builder<Segment> segments = ImmutableList.builder();
+    if (negativeFrom.compareTo(negativeTo) <= 0) {
+      segments.add(Segment.ascending(negativeFrom, negativeTo));
+    }
+    if (nonNegativeFrom.compareTo(nonNegativeTo) <= 0) {
+      segments.add(Segment.ascending(nonNegativeFrom, nonNegativeTo));
+    }
+    return segments.build();
+  }
+
+  /**
+   * {@link String#compareTo} orders surrogate pairs before the characters from U+E000, while
+   * their UTF-8 bytes order after them. A bound without either compares to every key the same
+   * way under both orders, so can be used to bound the range read from the store.
+   */
+  private static boolean isInStoreOrder(final String bound) {
+    return bound.chars().allMatch(c -> c < Character.MIN_SURROGATE);
+  }
+
+  /**
+   * A range of the store to read, from and to inclusive, or the whole store.
+   */
+  private static final class Segment {
+
+    private final Optional<Object> from;
+    private final Optional<Object> to;
+    private final boolean reversed;
+
+    static Segment all() {
+      return new Segment(Optional.empty(), Optional.empty(), false);
+    }
+
+    static Segment ascending(final Object from, final Object to) {
+      return new Segment(Optional.of(from), Optional.of(to), false);
+    }
+
+    /**
+     * A segment whose keys serialize in descending order: {@code from}, the highest value,
+     * serializes first.
+     */
+    static Segment descending(final Object from, final Object to) {
+      return new Segment(Optional.of(from), Optional.of(to), true);
+    }
+
+    private Segment(
+        final Optional<Object> from,
+        final Optional<Object> to,
+        final boolean reversed
+    ) {
+      this.from = from;
+      this.to = to;
+      this.reversed = reversed;
+    }
+  }
+
+  /**
+   * Iterator that reads the segments of a scan in turn, lazily converting the entries of the
+   * store within the key range into rows, so that keys outside the range never have a row built.
+   */
+  private final class ScanIterator extends AbstractIterator<Row> {
+
+    private final ReadOnlyKeyValueStore<Struct, ValueAndTimestamp<GenericRow>> store;
+    private final Iterator<Segment> segments;
+    private final Range<Comparable<Object>> keyRange;
+    private final KeyBuilder keyBuilder;
+    private KeyValueIterator<Struct, ValueAndTimestamp<GenericRow>> it;
+    private Iterator<KeyValue<Struct, ValueAndTimestamp<GenericRow>>> entries =
+        Collections.emptyIterator();
+    private boolean closed;
+
+    ScanIterator(
+        final ReadOnlyKeyValueStore<Struct, ValueAndTimestamp<GenericRow>> store,
+        final List<Segment> segments,
+        final Range<Comparable<Object>> keyRange
+    ) {
+      this.store = Objects.requireNonNull(store, "store");
+      this.segments = segments.iterator();
+      this.keyRange = Objects.requireNonNull(keyRange, "keyRange");
+      this.keyBuilder = StructKeyUtil.keyBuilder(stateStore.schema());
+
+      // Open the first segment now, so a store that can not be read fails the scan up front:
+      if (this.segments.hasNext()) {
+        entries = open(this.segments.next());
+      }
+    }
+
+    @Override
+    protected Row computeNext() {
+      while (true) {
+        while (!entries.hasNext()) {
+          closeSegment();
+
+          if (closed || !segments.hasNext()) {
+            return endOfData();
+          }
+
+          entries = open(segments.next());
+        }
+
+        final KeyValue<Struct, ValueAndTimestamp<GenericRow>> kv = entries.next();
+        if (kv.value != null && inRange(kv.key)) {
+          return Row.of(stateStore.schema(), kv.key, kv.value.value(), kv.value.timestamp());
+        }
+      }
+    }
+
+    void close() {
+      closed = true;
+      closeSegment();
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean inRange(final Struct key) {
+      final Object value = key.get(key.schema().fields().get(0));
+      return value != null && keyRange.contains((Comparable<Object>) value);
+    }
+
+    private Iterator<KeyValue<Struct, ValueAndTimestamp<GenericRow>>> open(
+        final Segment segment
+    ) {
+      try {
+        it = segment.from.isPresent()
+            ? store.range(keyBuilder.build(segment.from.get()), keyBuilder.build(segment.to.get()))
+            : store.all();
+      } catch (final Exception e) {
+        throw new MaterializationException("Failed to scan materialized table", e);
+      }
+
+      if (!segment.reversed) {
+        return it;
+      }
+
+      // The store can not read a range in reverse, so the segment is read in full and reversed:
+      final List<KeyValue<Struct, ValueAndTimestamp<GenericRow>>> read = Lists.newArrayList(it);
+      closeSegment();
+      return Lists.reverse(read).iterator();
+    }
+
+    private void closeSegment() {
+      if (it != null) {
+        it.close();
+        it = null;
+      }
+      entries = Collections.emptyIterator();
+    }
+  }
 }
@@ -75,4 +75,28 @@ class KsStateStore {
       throw new MaterializationException("State store currently unavailable: " + stateStoreName, e);
     }
   }
+
+  <T> T store(final QueryableStoreType<T> queryableStoreType, final int partition) {
+    try {
+      final StoreQueryParameters<T> parameters = StoreQueryParameters
+          .fromNameAndType(stateStoreName, queryableStoreType)
+          .withPartition(partition);
+
+      if (ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PULL_ENABLE_STANDBY_READS)) {
+        // True flag allows queries on standby and replica state stores
+        return kafkaStreams.store(parameters.enableStaleStores());
+      } else {
+        // False flag allows queries only on active state store
+        return kafkaStreams.store(parameters);
+      }
+    } catch (final Exception e) {
+      final State state = kafkaStreams.state();
+      if (state != State.RUNNING) {
+        throw new NotRunningException("The query was not in a running state. state: " + state);
+      }
+
+      throw new MaterializationException("State store partition currently unavailable: "
+          + stateStoreName + "-" + partition, e);
+    }
+  }
 }
@@ -30,7 +30,9 @@ import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
 import io.confluent.ksql.execution.context.QueryContext;
@@ -383,6 +385,28 @@ public class SourceBuilderTest {
     verify(queryBuilder).buildValueSerde(valueFormatInfo, PHYSICAL_SCHEMA, ctx);
   }
 
+  @Test
+  public void shouldBuildProjectedSourceValueSerde() {
+    // Given:
+    givenUnwindowedSourceStream();
+    when(queryBuilder.buildValueSerde(any(), any(), any(), any())).thenReturn(valueSerde);
+    final StreamSource projected = new StreamSource(
+        new ExecutionStepPropertiesV1(ctx),
+        TOPIC_NAME,
+        Formats.of(keyFormatInfo, valueFormatInfo, SERDE_OPTIONS),
+        TIMESTAMP_COLUMN,
+        SOURCE_SCHEMA,
+        Optional.of(ImmutableList.of(ColumnName.of("field2")))
+    );
+
+    // When:
+    projected.build(planBuilder);
+
+    // Then:
+    verify(queryBuilder)
+        .buildValueSerde(valueFormatInfo, PHYSICAL_SCHEMA, ctx, ImmutableSet.of(1));
+  }
+
   @Test
   public void shouldBuildSourceKeySerdeCorrectly() {
     // Given:
@@ -437,7 +461,8 @@ public class SourceBuilderTest {
             .keyColumn(ColumnName.of("f1"), SqlTypes.INTEGER)
             .keyColumn(ColumnName.of("f2"), SqlTypes.BIGINT)
             .valueColumns(SCHEMA.value())
-            .build()
+            .build(),
+        Optional.empty()
     );
 
     // When:
@@ -675,7 +700,8 @@ public class SourceBuilderTest {
         Formats.of(keyFormatInfo, valueFormatInfo, SERDE_OPTIONS),
         windowInfo,
         TIMESTAMP_COLUMN,
-        SOURCE_SCHEMA
+        SOURCE_SCHEMA,
+        Optional.empty()
     );
   }
 
@@ -687,7 +713,8 @@ public class SourceBuilderTest {
         TOPIC_NAME,
         Formats.of(keyFormatInfo, valueFormatInfo, SERDE_OPTIONS),
         TIMESTAMP_COLUMN,
-        SOURCE_SCHEMA
+        SOURCE_SCHEMA,
+        Optional.empty()
     );
   }
 
@@ -701,7 +728,8 @@ public class SourceBuilderTest {
         Formats.of(keyFormatInfo, valueFormatInfo, SERDE_OPTIONS),
         windowInfo,
         TIMESTAMP_COLUMN,
-        SOURCE_SCHEMA
+        SOURCE_SCHEMA,
+        Optional.empty()
     );
   }
 
@@ -713,7 +741,8 @@ public class SourceBuilderTest {
         TOPIC_NAME,
         Formats.of(keyFormatInfo, valueFormatInfo, SERDE_OPTIONS),
         TIMESTAMP_COLUMN,
-        SOURCE_SCHEMA
+        SOURCE_SCHEMA,
+        Optional.empty()
     );
   }
 
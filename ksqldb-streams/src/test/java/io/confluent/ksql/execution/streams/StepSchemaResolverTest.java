@@ -399,7 +399,8 @@ public class StepSchemaResolverTest {
         "foo",
         formats,
         Optional.empty(),
-        SCHEMA
+        SCHEMA,
+        Optional.empty()
     );
 
     // When:
@@ -417,7 +418,8 @@ public class StepSchemaResolverTest {
         formats,
         WindowInfo.of(WindowType.TUMBLING, Optional.of(Duration.ofMillis(123))),
         Optional.empty(),
-        SCHEMA
+        SCHEMA,
+        Optional.empty()
     );
 
     // When:
@@ -569,7 +571,8 @@ public class StepSchemaResolverTest {
         "foo",
         formats,
         Optional.empty(),
-        SCHEMA
+        SCHEMA,
+        Optional.empty()
     );
 
     // When:
@@ -588,7 +591,8 @@ public class StepSchemaResolverTest {
         formats,
         mock(WindowInfo.class),
         Optional.empty(),
-        SCHEMA
+        SCHEMA,
+        Optional.empty()
     );
 
     // When:
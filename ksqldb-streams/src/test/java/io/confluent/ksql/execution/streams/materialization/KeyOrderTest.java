@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.util.Comparator;
+import org.junit.Test;
+
+public class KeyOrderTest {
+
+  @Test
+  public void shouldOrderIntegersOfEitherWidthNumerically() {
+    // Given:
+    final Comparator<Object> order = KeyOrder.of(SqlTypes.BIGINT);
+
+    // Then:
+    assertThat(order.compare(-1, 1L), is(lessThan(0)));
+    assertThat(order.compare(3L, 3), is(0));
+  }
+
+  @Test
+  public void shouldOrderDoublesNumerically() {
+    // Given:
+    final Comparator<Object> order = KeyOrder.of(SqlTypes.DOUBLE);
+
+    // Then:
+    assertThat(order.compare(-2.5, -0.5), is(lessThan(0)));
+    assertThat(order.compare(Double.NaN, Double.POSITIVE_INFINITY), is(greaterThan(0)));
+  }
+
+  @Test
+  public void shouldOrderStringsByCodePointAsStoreDoes() {
+    // Given:
+    final Comparator<Object> order = KeyOrder.of(SqlTypes.STRING);
+
+    // Then:
+    assertThat(order.compare("a", "ab"), is(lessThan(0)));
+    // U+E000 sorts before U+10000, though its UTF-16 char sorts after the surrogate pair:
+    assertThat(order.compare("\uE000", "\uD800\uDC00"), is(lessThan(0)));
+  }
+}
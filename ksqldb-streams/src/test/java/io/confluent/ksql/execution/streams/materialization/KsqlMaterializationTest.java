@@ -23,6 +23,8 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -44,6 +46,9 @@ import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.Windowed;
 import org.apache.kafka.streams.kstream.internals.SessionWindow;
@@ -424,6 +429,93 @@ public class KsqlMaterializationTest {
     assertThat(result.get(2).windowedKey().window(), is(window3));
   }
 
+  @Test
+  public void shouldReturnSelectTransformedFromNonWindowedGetAll() {
+    // Given:
+    final MaterializedTable table = materialization.nonWindowed();
+    when(innerNonWindowed.getAll(any())).thenReturn(ImmutableList.of(ROW));
+    givenNoopFilter();
+    when(project.apply(any(), any(), any())).thenReturn(Optional.of(TRANSFORMED));
+
+    // When:
+    final List<Row> result = table.getAll(ImmutableList.of(A_KEY));
+
+    // Then:
+    verify(innerNonWindowed).getAll(ImmutableList.of(A_KEY));
+    assertThat(result, hasSize(1));
+    assertThat(result.get(0).key(), is(A_KEY));
+    assertThat(result.get(0).value(), is(TRANSFORMED));
+  }
+
+  @Test
+  public void shouldFilterRowsFromNonWindowedGetAll() {
+    // Given:
+    final MaterializedTable table = materialization.nonWindowed();
+    when(innerNonWindowed.getAll(any())).thenReturn(ImmutableList.of(ROW));
+    givenNoopProject();
+    when(filter.apply(any(), any(), any())).thenReturn(Optional.empty());
+
+    // When:
+    final List<Row> result = table.getAll(ImmutableList.of(A_KEY));
+
+    // Then:
+    assertThat(result, is(empty()));
+  }
+
+  @Test
+  public void shouldReturnSelectTransformedFromNonWindowedScan() {
+    // Given:
+    final MaterializedTable table = materialization.nonWindowed();
+    when(innerNonWindowed.scan(anyInt(), any())).thenReturn(Stream.of(ROW));
+    givenNoopFilter();
+    when(project.apply(any(), any(), any())).thenReturn(Optional.of(TRANSFORMED));
+
+    // When:
+    final List<Row> result;
+    try (Stream<Row> rows = table.scan(1, Range.all())) {
+      result = rows.collect(Collectors.toList());
+    }
+
+    // Then:
+    verify(innerNonWindowed).scan(eq(1), any());
+    assertThat(result, hasSize(1));
+    assertThat(result.get(0).key(), is(A_KEY));
+    assertThat(result.get(0).value(), is(TRANSFORMED));
+  }
+
+  @Test
+  public void shouldFilterRowsFromNonWindowedScan() {
+    // Given:
+    final MaterializedTable table = materialization.nonWindowed();
+    when(innerNonWindowed.scan(anyInt(), any())).thenReturn(Stream.of(ROW));
+    givenNoopProject();
+    when(filter.apply(any(), any(), any())).thenReturn(Optional.empty());
+
+    // When:
+    final List<Row> result;
+    try (Stream<Row> rows = table.scan(1, Range.all())) {
+      result = rows.collect(Collectors.toList());
+    }
+
+    // Then:
+    assertThat(result, is(empty()));
+  }
+
+  @Test
+  public void shouldCloseInnerScanWhenScanClosed() {
+    // Given:
+    final MaterializedTable table = materialization.nonWindowed();
+    final AtomicBoolean closed = new AtomicBoolean();
+    when(innerNonWindowed.scan(anyInt(), any()))
+        .thenReturn(Stream.of(ROW).onClose(() -> closed.set(true)));
+
+    // When:
+    table.scan(1, Range.all()).close();
+
+    // Then:
+    assertThat(closed.get(), is(true));
+  }
+
   private void givenNoopFilter() {
     when(filter.apply(any(), any(), any()))
         .thenAnswer(inv -> Optional.of(inv.getArgument(1)));
@@ -25,6 +25,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.testing.NullPointerTester;
 import com.google.common.testing.NullPointerTester.Visibility;
@@ -41,13 +42,17 @@ import java.net.URI;
 import java.net.URL;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.KeyQueryMetadata;
+import org.apache.kafka.streams.processor.StreamPartitioner;
 import org.apache.kafka.streams.state.HostInfo;
+import org.apache.kafka.streams.state.StreamsMetadata;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -334,6 +339,149 @@ public class KsLocatorTest {
     assertThat(result.stream().findFirst().get(), is(standByNode2));
   }
 
+  @Test
+  public void shouldThrowIfStoreTopicNotAvailable() {
+    // Given:
+    when(kafkaStreams.queryMetadataForKey(any(), any(), any(StreamPartitioner.class)))
+        .thenReturn(KeyQueryMetadata.NOT_AVAILABLE);
+
+    // When:
+    final Exception e = assertThrows(
+        MaterializationException.class,
+        () -> locator.locatePartitions(routingOptions, routingFilterFactoryActive)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "KeyQueryMetadata not available for state store someStoreName"));
+  }
+
+  @Test
+  public void shouldThrowIfStreamsMetadataNotAvailable() {
+    // Given:
+    givenStoreTopic("topic", 2);
+    when(kafkaStreams.allMetadataForStore(STORE_NAME)).thenReturn(ImmutableList.of());
+
+    // When:
+    final Exception e = assertThrows(
+        MaterializationException.class,
+        () -> locator.locatePartitions(routingOptions, routingFilterFactoryActive)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "StreamsMetadata not available for state store someStoreName"));
+  }
+
+  @Test
+  public void shouldLocateActiveAndStandByNodesOfEachPartition() {
+    // Given:
+    getPartitionedMetadata();
+
+    // When:
+    final Map<Integer, List<KsqlNode>> result = locator.locatePartitions(routingOptions,
+        routingFilterFactoryStandby);
+
+    // Then:
+    assertThat(result, is(ImmutableMap.of(
+        0, ImmutableList.of(activeNode, standByNode1),
+        1, ImmutableList.of(standByNode2)
+    )));
+  }
+
+  @Test
+  public void shouldIgnorePartitionsOfOtherTopics() {
+    // Given:
+    givenStoreTopic("topic", 1);
+    when(kafkaStreams.allMetadataForStore(STORE_NAME)).thenReturn(ImmutableList.of(
+        new StreamsMetadata(
+            activeHostInfo,
+            ImmutableSet.of(STORE_NAME),
+            ImmutableSet.of(new TopicPartition("topic", 0), new TopicPartition("other", 4)),
+            ImmutableSet.of(),
+            ImmutableSet.of()
+        )
+    ));
+
+    // When:
+    final Map<Integer, List<KsqlNode>> result = locator.locatePartitions(routingOptions,
+        routingFilterFactoryStandby);
+
+    // Then:
+    assertThat(result, is(ImmutableMap.of(0, ImmutableList.of(activeNode))));
+  }
+
+  @Test
+  public void shouldThrowIfPartitionHasNoActiveHost() {
+    // Given:
+    getPartitionedMetadata();
+    givenStoreTopic("topic", 3);
+
+    // When:
+    final Exception e = assertThrows(
+        MaterializationException.class,
+        () -> locator.locatePartitions(routingOptions, routingFilterFactoryStandby)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "Partition 2 of state store someStoreName is not currently assigned to any host"));
+  }
+
+  @Test
+  public void shouldOnlyLocateRequestedPartitions() {
+    // Given:
+    getPartitionedMetadata();
+    when(routingOptions.getPartitions()).thenReturn(ImmutableSet.of(1));
+
+    // When:
+    final Map<Integer, List<KsqlNode>> result = locator.locatePartitions(routingOptions,
+        routingFilterFactoryStandby);
+
+    // Then:
+    assertThat(result, is(ImmutableMap.of(1, ImmutableList.of(standByNode2))));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void givenStoreTopic(final String topic, final int numPartitions) {
+    // Streams passes the topic the store is built from to the partitioner:
+    when(kafkaStreams.queryMetadataForKey(eq(STORE_NAME), any(), any(StreamPartitioner.class)))
+        .thenAnswer(inv -> {
+          final StreamPartitioner<Object, Object> partitioner = inv.getArgument(2);
+          partitioner.partition(topic, inv.getArgument(1), null, numPartitions);
+          return keyQueryMetadata;
+        });
+  }
+
+  private void getPartitionedMetadata() {
+    // Partition 0 is active on activeHost with a standby on standByHost1,
+    // partition 1 is active on standByHost2:
+    givenStoreTopic("topic", 2);
+    when(kafkaStreams.allMetadataForStore(STORE_NAME)).thenReturn(ImmutableList.of(
+        new StreamsMetadata(
+            activeHostInfo,
+            ImmutableSet.of(STORE_NAME),
+            ImmutableSet.of(new TopicPartition("topic", 0)),
+            ImmutableSet.of(),
+            ImmutableSet.of()
+        ),
+        new StreamsMetadata(
+            standByHostInfo1,
+            ImmutableSet.of(),
+            ImmutableSet.of(),
+            ImmutableSet.of(STORE_NAME),
+            ImmutableSet.of(new TopicPartition("topic", 0))
+        ),
+        new StreamsMetadata(
+            standByHostInfo2,
+            ImmutableSet.of(STORE_NAME),
+            ImmutableSet.of(new TopicPartition("topic", 1)),
+            ImmutableSet.of(),
+            ImmutableSet.of()
+        )
+    ));
+  }
+
   @SuppressWarnings("unchecked")
   private void getEmtpyMetadata() {
     when(kafkaStreams.queryMetadataForKey(any(), any(), any(Serializer.class)))
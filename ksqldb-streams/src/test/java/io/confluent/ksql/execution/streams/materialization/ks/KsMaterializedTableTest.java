@@ -16,14 +16,21 @@
 package io.confluent.ksql.execution.streams.materialization.ks;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Range;
 import com.google.common.testing.NullPointerTester;
 import com.google.common.testing.NullPointerTester.Visibility;
 import io.confluent.ksql.GenericRow;
@@ -34,8 +41,15 @@ import io.confluent.ksql.execution.util.StructKeyUtil;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.QueryableStoreType;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 import org.apache.kafka.streams.state.ValueAndTimestamp;
@@ -55,13 +69,28 @@ public class KsMaterializedTableTest {
       .valueColumn(ColumnName.of("v0"), SqlTypes.STRING)
       .build();
 
+  private static final LogicalSchema INT_SCHEMA = LogicalSchema.builder()
+      .keyColumn(ColumnName.of("K0"), SqlTypes.INTEGER)
+      .valueColumn(ColumnName.of("v0"), SqlTypes.STRING)
+      .build();
+
+  private static final LogicalSchema DOUBLE_SCHEMA = LogicalSchema.builder()
+      .keyColumn(ColumnName.of("K0"), SqlTypes.DOUBLE)
+      .valueColumn(ColumnName.of("v0"), SqlTypes.STRING)
+      .build();
+
   private static final Struct A_KEY = StructKeyUtil
       .keyBuilder(ColumnName.of("K0"), SqlTypes.STRING).build("x");
 
+  private static final Struct ANOTHER_KEY = StructKeyUtil
+      .keyBuilder(ColumnName.of("K0"), SqlTypes.STRING).build("y");
+
   @Mock
   private KsStateStore stateStore;
   @Mock
   private ReadOnlyKeyValueStore<Struct, ValueAndTimestamp<GenericRow>> tableStore;
+  @Mock
+  private KeyValueIterator<Struct, ValueAndTimestamp<GenericRow>> iterator;
   @Captor
   private ArgumentCaptor<QueryableStoreType<?>> storeTypeCaptor;
 
@@ -158,4 +187,268 @@ public class KsMaterializedTableTest {
     // Then:
     assertThat(result, is(Optional.of(Row.of(SCHEMA, A_KEY, value, rowTime))));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldGetStoreOnceForMultipleKeys() {
+    // When:
+    table.getAll(ImmutableList.of(A_KEY, ANOTHER_KEY));
+
+    // Then:
+    verify(stateStore, times(1)).store(any());
+    verify(tableStore).get(A_KEY);
+    verify(tableStore).get(ANOTHER_KEY);
+  }
+
+  @Test
+  public void shouldReturnOnlyPresentValuesForMultipleKeys() {
+    // Given:
+    final GenericRow value = GenericRow.genericRow("col0");
+    final long rowTime = 2343553L;
+    when(tableStore.get(ANOTHER_KEY)).thenReturn(ValueAndTimestamp.make(value, rowTime));
+
+    // When:
+    final List<Row> result = table.getAll(ImmutableList.of(A_KEY, ANOTHER_KEY));
+
+    // Then:
+    assertThat(result, contains(Row.of(SCHEMA, ANOTHER_KEY, value, rowTime)));
+  }
+
+  @Test
+  public void shouldThrowIfStoreGetFailsForMultipleKeys() {
+    // Given:
+    when(tableStore.get(any())).thenThrow(new MaterializationTimeOutException("Boom"));
+
+    // When:
+    final Exception e = assertThrows(
+        MaterializationException.class,
+        () -> table.getAll(ImmutableList.of(A_KEY))
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "Failed to get values from materialized table"));
+    assertThat(e.getCause(), (instanceOf(MaterializationTimeOutException.class)));
+  }
+
+  @Test
+  public void shouldScanRequestedPartition() {
+    // Given:
+    givenScanReturns();
+
+    // When:
+    table.scan(3, Range.all()).close();
+
+    // Then:
+    verify(stateStore).store(storeTypeCaptor.capture(), eq(3));
+    assertThat(storeTypeCaptor.getValue().getClass().getSimpleName(),
+        is("TimestampedKeyValueStoreType"));
+  }
+
+  @Test
+  public void shouldReturnOnlyRowsInKeyRangeFromScan() {
+    // Given:
+    final GenericRow value = GenericRow.genericRow("col0");
+    givenScanReturns(
+        KeyValue.pair(A_KEY, ValueAndTimestamp.make(value, 1L)),
+        KeyValue.pair(ANOTHER_KEY, ValueAndTimestamp.make(value, 2L))
+    );
+
+    // When:
+    final List<Row> result;
+    try (Stream<Row> rows = table.scan(0, Range.greaterThan(asComparable("x")))) {
+      result = rows.collect(Collectors.toList());
+    }
+
+    // Then:
+    assertThat(result, contains(Row.of(SCHEMA, ANOTHER_KEY, value, 2L)));
+  }
+
+  @Test
+  public void shouldReadBoundedStringRangeFromStore() {
+    // Given:
+    when(stateStore.store(any(), anyInt())).thenReturn(tableStore);
+    when(tableStore.range(any(), any())).thenReturn(iterator);
+
+    // When:
+    table.scan(0, Range.closed(asComparable("x"), asComparable("y"))).close();
+
+    // Then:
+    verify(tableStore).range(A_KEY, ANOTHER_KEY);
+    verify(tableStore, never()).all();
+  }
+
+  @Test
+  public void shouldReadWholeStoreIfStringBoundsNotInStoreOrder() {
+    // Given:
+    givenScanReturns();
+
+    // When:
+    table.scan(0, Range.closed(asComparable("x"), asComparable("\uE000"))).close();
+
+    // Then:
+    verify(tableStore).all();
+    verify(tableStore, never()).range(any(), any());
+  }
+
+  @Test
+  public void shouldReadNegativeThenNonNegativeIntegerKeysInKeyOrder() {
+    // Given:
+    when(stateStore.schema()).thenReturn(INT_SCHEMA);
+    when(stateStore.store(any(), anyInt())).thenReturn(tableStore);
+    when(tableStore.range(intKey(-5), intKey(-1))).thenReturn(iteratorOf(
+        KeyValue.pair(intKey(-5), ValueAndTimestamp.make(GenericRow.genericRow("a"), 1L)),
+        KeyValue.pair(intKey(-2), ValueAndTimestamp.make(GenericRow.genericRow("b"), 1L))
+    ));
+    when(tableStore.range(intKey(0), intKey(5))).thenReturn(iteratorOf(
+        KeyValue.pair(intKey(3), ValueAndTimestamp.make(GenericRow.genericRow("c"), 1L)),
+        KeyValue.pair(intKey(5), ValueAndTimestamp.make(GenericRow.genericRow("d"), 1L))
+    ));
+
+    // When:
+    final List<Row> result;
+    try (Stream<Row> rows = table.scan(0, Range.open(asComparable(-5), asComparable(5)))) {
+      result = rows.collect(Collectors.toList());
+    }
+
+    // Then:
+    assertThat(result, contains(
+        Row.of(INT_SCHEMA, intKey(-2), GenericRow.genericRow("b"), 1L),
+        Row.of(INT_SCHEMA, intKey(3), GenericRow.genericRow("c"), 1L)
+    ));
+  }
+
+  @Test
+  public void shouldReverseNegativeDoubleKeysIntoKeyOrder() {
+    // Given:
+    when(stateStore.schema()).thenReturn(DOUBLE_SCHEMA);
+    when(stateStore.store(any(), anyInt())).thenReturn(tableStore);
+    when(tableStore.range(doubleKey(-0.0), doubleKey(-2.0))).thenReturn(iteratorOf(
+        KeyValue.pair(doubleKey(-0.5), ValueAndTimestamp.make(GenericRow.genericRow("a"), 1L)),
+        KeyValue.pair(doubleKey(-1.5), ValueAndTimestamp.make(GenericRow.genericRow("b"), 1L))
+    ));
+    when(tableStore.range(doubleKey(0.0), doubleKey(3.0))).thenReturn(iteratorOf(
+        KeyValue.pair(doubleKey(1.0), ValueAndTimestamp.make(GenericRow.genericRow("c"), 1L))
+    ));
+
+    // When:
+    final List<Row> result;
+    try (Stream<Row> rows = table.scan(0, Range.closed(asComparable(-2.0), asComparable(3.0)))) {
+      result = rows.collect(Collectors.toList());
+    }
+
+    // Then:
+    assertThat(result, contains(
+        Row.of(DOUBLE_SCHEMA, doubleKey(-1.5), GenericRow.genericRow("b"), 1L),
+        Row.of(DOUBLE_SCHEMA, doubleKey(-0.5), GenericRow.genericRow("a"), 1L),
+        Row.of(DOUBLE_SCHEMA, doubleKey(1.0), GenericRow.genericRow("c"), 1L)
+    ));
+  }
+
+  @Test
+  public void shouldNotReadPastLimitOfScan() {
+    // Given:
+    final GenericRow value = GenericRow.genericRow("col0");
+    givenScanReturns(
+        KeyValue.pair(A_KEY, ValueAndTimestamp.make(value, 1L)),
+        KeyValue.pair(ANOTHER_KEY, ValueAndTimestamp.make(value, 2L))
+    );
+
+    // When:
+    try (Stream<Row> rows = table.scan(0, Range.all())) {
+      rows.limit(1).forEach(row -> { });
+    }
+
+    // Then:
+    verify(iterator, times(1)).next();
+  }
+
+  @Test
+  public void shouldCloseIteratorWhenScanClosed() {
+    // Given:
+    givenScanReturns();
+
+    // When:
+    table.scan(0, Range.all()).close();
+
+    // Then:
+    verify(iterator).close();
+  }
+
+  @Test
+  public void shouldThrowIfScanFails() {
+    // Given:
+    when(stateStore.store(any(), anyInt()))
+        .thenThrow(new MaterializationTimeOutException("Boom"));
+
+    // When:
+    final Exception e = assertThrows(
+        MaterializationException.class,
+        () -> table.scan(0, Range.all())
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "Failed to scan materialized table"));
+    assertThat(e.getCause(), (instanceOf(MaterializationTimeOutException.class)));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Comparable<Object> asComparable(final Object value) {
+    return (Comparable<Object>) value;
+  }
+
+  private static Struct intKey(final int value) {
+    return StructKeyUtil.keyBuilder(INT_SCHEMA).build(value);
+  }
+
+  private static Struct doubleKey(final double value) {
+    return StructKeyUtil.keyBuilder(DOUBLE_SCHEMA).build(value);
+  }
+
+  @SafeVarargs
+  private static KeyValueIterator<Struct, ValueAndTimestamp<GenericRow>> iteratorOf(
+      final KeyValue<Struct, ValueAndTimestamp<GenericRow>>... entries
+  ) {
+    final Iterator<KeyValue<Struct, ValueAndTimestamp<GenericRow>>> it =
+        Arrays.asList(entries).iterator();
+
+    return new KeyValueIterator<Struct, ValueAndTimestamp<GenericRow>>() {
+      @Override
+      public void close() {
+      }
+
+      @Override
+      public Struct peekNextKey() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public boolean hasNext() {
+        return it.hasNext();
+      }
+
+      @Override
+      public KeyValue<Struct, ValueAndTimestamp<GenericRow>> next() {
+        return it.next();
+      }
+    };
+  }
+
+  @SafeVarargs
+  private final void givenScanReturns(
+      final KeyValue<Struct, ValueAndTimestamp<GenericRow>>... entries
+  ) {
+    when(stateStore.store(any(), anyInt())).thenReturn(tableStore);
+    when(tableStore.all()).thenReturn(iterator);
+
+    if (entries.length > 0) {
+      final Boolean[] hasNext = new Boolean[entries.length];
+      for (int i = 0; i < entries.length; i++) {
+        hasNext[i] = i + 1 < entries.length;
+      }
+
+      when(iterator.hasNext()).thenReturn(true, hasNext);
+      when(iterator.next()).thenReturn(entries[0], Arrays.copyOfRange(entries, 1, entries.length));
+    }
+  }
+}
@@ -36,10 +36,15 @@ public final class SqlPrimitiveType extends SqlType {
           .put(SqlBaseType.BIGINT, new SqlPrimitiveType(SqlBaseType.BIGINT))
           .put(SqlBaseType.DOUBLE, new SqlPrimitiveType(SqlBaseType.DOUBLE))
           .put(SqlBaseType.STRING, new SqlPrimitiveType(SqlBaseType.STRING))
+          .put(SqlBaseType.BYTES, new SqlPrimitiveType(SqlBaseType.BYTES))
           .build();
 
+  // BYTES is only used internally, for the state of some aggregates, so can not be declared:
   private static final ImmutableSet<String> PRIMITIVE_TYPE_NAMES = ImmutableSet.<String>builder()
-      .addAll(TYPES.keySet().stream().map(SqlBaseType::name).collect(Collectors.toList()))
+      .addAll(TYPES.keySet().stream()
+          .filter(type -> type != SqlBaseType.BYTES)
+          .map(SqlBaseType::name)
+          .collect(Collectors.toList()))
       .add(INT)
       .add(VARCHAR)
       .build();
@@ -49,6 +54,10 @@ public final class SqlPrimitiveType extends SqlType {
   }
 
   public static SqlPrimitiveType of(final String typeName) {
+    if (!isPrimitiveTypeName(typeName)) {
+      throw new DataException("Unknown primitive type: " + typeName);
+    }
+
     switch (typeName.toUpperCase()) {
       case INT:
         return SqlPrimitiveType.of(SqlBaseType.INTEGER);
@@ -67,6 +67,23 @@ public class SqlPrimitiveTypeTest {
     assertThat(e.getMessage(), containsString("Unknown primitive type: WHAT_IS_THIS?"));
   }
 
+  @Test
+  public void shouldThrowOnBytesTypeString() {
+    // When:
+    final DataException e = assertThrows(
+        DataException.class,
+        () -> SqlPrimitiveType.of("BYTES")
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Unknown primitive type: BYTES"));
+  }
+
+  @Test
+  public void shouldNotTreatBytesAsPrimitiveTypeName() {
+    assertThat(SqlPrimitiveType.isPrimitiveTypeName("bytes"), is(false));
+  }
+
   @Test
   public void shouldThrowOnArrayType() {
     // When: